@@ -0,0 +1,105 @@
+package com.example.todoapp.benchmarks;
+
+import com.example.todoapp.clients.transport.RestAssuredTransport;
+import com.example.todoapp.config.AppConfig;
+import com.example.todoapp.fixtures.TestDataConstants;
+import com.example.todoapp.model.TodoItem;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.restassured.RestAssured;
+import io.restassured.path.json.JsonPath;
+import io.restassured.path.json.mapper.factory.Jackson2ObjectMapperFactory;
+import io.restassured.specification.RequestSpecification;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Client-side cost of a TodoApp API call without the network: building the RestAssured request spec,
+ * serializing a {@link TodoItem} body and deserializing a {@code getTodos} response through RestAssured's
+ * GPath-based {@code jsonPath().getList(".", TodoItem.class)} compared with plain Jackson.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class ClientHotPathBenchmark implements TestDataConstants {
+
+    private static final TypeReference<List<TodoItem>> TODO_LIST = new TypeReference<>() {
+    };
+
+    @Param({"10", "1000", "100000"})
+    private int items;
+
+    @Param({"1", "" + LARGE_TEXT_REPEAT_COUNT})
+    private int textRepeat;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private RestAssuredTransport restAssuredTransport;
+    private Jackson2ObjectMapperFactory restAssuredMapperFactory;
+    private TodoItem todoItem;
+    private String responseJson;
+    private byte[] responseBytes;
+
+    @Setup
+    public void setUp() throws Exception {
+        AppConfig appConfig = new AppConfig();
+        appConfig.setBaseUrl("http://localhost:8080");
+        appConfig.setContentType("application/json");
+        restAssuredTransport = new RestAssuredTransport(appConfig);
+        restAssuredMapperFactory = RestAssured.config().getObjectMapperConfig().jackson2ObjectMapperFactory();
+
+        String text = DEFAULT_TODO_TEXT.repeat(textRepeat);
+        todoItem = new TodoItem((long) START_ID, text, false);
+        List<TodoItem> todos = new ArrayList<>(items);
+        for (int id = START_ID; id <= items; id++) {
+            todos.add(new TodoItem((long) id, text + id, id % 2 == 0));
+        }
+        responseBytes = objectMapper.writeValueAsBytes(todos);
+        responseJson = new String(responseBytes, StandardCharsets.UTF_8);
+    }
+
+    @Benchmark
+    public RequestSpecification buildBaseRequest() {
+        return restAssuredTransport.baseRequest();
+    }
+
+    /**
+     * RestAssured asks its mapper factory for a mapper on every request body it serializes.
+     */
+    @Benchmark
+    public byte[] serializeBodyRestAssuredMapper() throws Exception {
+        return restAssuredMapperFactory.create(TodoItem.class, StandardCharsets.UTF_8.name()).writeValueAsBytes(todoItem);
+    }
+
+    @Benchmark
+    public byte[] serializeBodySharedJackson() throws Exception {
+        return objectMapper.writeValueAsBytes(todoItem);
+    }
+
+    @Benchmark
+    public List<TodoItem> deserializeTodosGPath() {
+        return new JsonPath(responseJson).getList(".", TodoItem.class);
+    }
+
+    @Benchmark
+    public List<TodoItem> deserializeTodosJackson() throws Exception {
+        return objectMapper.readValue(responseBytes, TODO_LIST);
+    }
+
+}
@@ -0,0 +1,63 @@
+package com.example.todoapp.benchmarks;
+
+import com.example.todoapp.data.TodoIdGenerator;
+import com.example.todoapp.data.TodoPayloadTemplate;
+import com.example.todoapp.fixtures.TestDataConstants;
+import com.example.todoapp.model.TodoItem;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of producing a distinct todo request body: a fresh {@link TodoItem} serialized by Jackson compared with a
+ * {@link TodoPayloadTemplate}, both with ids from a {@link TodoIdGenerator}. Run with {@code -prof gc} to compare
+ * allocation per body.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TodoDataGeneratorBenchmark implements TestDataConstants {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final TodoIdGenerator idGenerator = new TodoIdGenerator(42);
+    private final TodoPayloadTemplate template = new TodoPayloadTemplate(DEFAULT_TODO_TEXT, false);
+
+    @State(Scope.Thread)
+    public static class Buffer {
+        final byte[] bytes = new byte[256];
+    }
+
+    @Benchmark
+    public long nextId() {
+        return idGenerator.nextId();
+    }
+
+    @Benchmark
+    public byte[] jacksonBody() throws Exception {
+        long id = idGenerator.nextId();
+        return objectMapper.writeValueAsBytes(new TodoItem(id, DEFAULT_TODO_TEXT + id, false));
+    }
+
+    @Benchmark
+    public byte[] templateBody() {
+        return template.body(idGenerator.nextId());
+    }
+
+    @Benchmark
+    public int templateWriteBody(Buffer buffer) {
+        return template.writeBody(idGenerator.nextId(), buffer.bytes, 0);
+    }
+
+}
@@ -4,13 +4,27 @@ import com.example.todoapp.config.AppConfig;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.core.env.Environment;
 
 @SpringBootApplication
 @EnableConfigurationProperties(AppConfig.class)
 public class TodoTestingApplication {
 
     public static void main(String[] args) {
-        SpringApplication.run(TodoTestingApplication.class, args);
+        ConfigurableApplicationContext context = SpringApplication.run(TodoTestingApplication.class, args);
+        if (isHeadlessRun(context.getEnvironment())) {
+            // The runners are done; exit even if an embedded stub server would keep the JVM alive
+            System.exit(SpringApplication.exit(context));
+        }
     }
 
-}
\ No newline at end of file
+    private static boolean isHeadlessRun(Environment environment) {
+        return environment.getProperty("load.enabled", Boolean.class, false)
+                || environment.getProperty("load.capacity.enabled", Boolean.class, false)
+                || environment.containsProperty("load.distributed.role")
+                || environment.containsProperty("load.compare-transports")
+                || environment.containsProperty("replay.file");
+    }
+
+}
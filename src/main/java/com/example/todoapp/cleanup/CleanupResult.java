@@ -0,0 +1,25 @@
+package com.example.todoapp.cleanup;
+
+import lombok.Value;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Outcome of a cleanup run.
+ */
+@Value
+public class CleanupResult {
+    int found;
+    int deleted;
+    /**
+     * Todos that were gone by the time their delete was sent.
+     */
+    int alreadyDeleted;
+    /**
+     * Ids that could still not be deleted after all retries.
+     */
+    List<Long> failedIds;
+    boolean verified;
+    Duration elapsed;
+}
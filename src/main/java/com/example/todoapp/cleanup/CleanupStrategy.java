@@ -0,0 +1,15 @@
+package com.example.todoapp.cleanup;
+
+/**
+ * How tests remove the todos they create.
+ */
+public enum CleanupStrategy {
+    /**
+     * Delete every todo on the server before each test.
+     */
+    WIPE,
+    /**
+     * Delete only the todos each test created, in the background after it finishes.
+     */
+    REGISTRY
+}
@@ -0,0 +1,163 @@
+package com.example.todoapp.cleanup;
+
+import com.example.todoapp.clients.TodoApiClient;
+import com.example.todoapp.config.CleanupConfig;
+import com.example.todoapp.load.LoadThreads;
+import com.example.todoapp.load.RatePacer;
+import com.example.todoapp.model.TodoItem;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.apache.http.HttpStatus.*;
+
+/**
+ * Deletes todos in bulk on a dedicated, bounded executor.
+ * <p>
+ * All ids are collected page by page first, so deletions cannot shift pages that have not been read yet. At most
+ * {@code cleanup.concurrency} deletes run at a time, paced to {@code cleanup.rate} per second. Failed ids are
+ * retried with exponential backoff, and a single list request verifies the result at the end.
+ */
+@Slf4j
+@Component
+public class TodoCleanupEngine {
+
+    private final TodoApiClient todoApiClient;
+    private final CleanupConfig cleanupConfig;
+    private final ExecutorService executor;
+
+    public TodoCleanupEngine(TodoApiClient todoApiClient, CleanupConfig cleanupConfig) {
+        this.todoApiClient = todoApiClient;
+        this.cleanupConfig = cleanupConfig;
+        this.executor = Executors.newFixedThreadPool(cleanupConfig.getConcurrency(), LoadThreads.factory("todo-cleanup", false));
+    }
+
+    /**
+     * Deletes every todo on the server.
+     */
+    public CleanupResult deleteAll() {
+        long start = System.nanoTime();
+        List<Long> ids = collectIds();
+        if (ids.isEmpty()) {
+            log.trace("No Todos to delete");
+            return new CleanupResult(0, 0, 0, List.of(), true, Duration.ofNanos(System.nanoTime() - start));
+        }
+        log.trace("Found {} Todos to delete", ids.size());
+
+        CleanupResult deletion = deleteIds(ids);
+        boolean verified = todoApiClient.getTodos(0, 1).isEmpty();
+        if (!verified) {
+            log.warn("Todo list is not empty after deleting {} Todos", deletion.getDeleted());
+        }
+        return new CleanupResult(ids.size(), deletion.getDeleted(), deletion.getAlreadyDeleted(), deletion.getFailedIds(),
+                verified && deletion.getFailedIds().isEmpty(), Duration.ofNanos(System.nanoTime() - start));
+    }
+
+    /**
+     * Deletes the given todos, retrying failures with backoff. Does not verify the list afterwards.
+     */
+    public CleanupResult deleteIds(Collection<Long> ids) {
+        long start = System.nanoTime();
+        RatePacer ratePacer = new RatePacer(cleanupConfig.getRate());
+        AtomicInteger deleted = new AtomicInteger();
+        AtomicInteger alreadyDeleted = new AtomicInteger();
+        Queue<Long> pending = new ConcurrentLinkedQueue<>(ids);
+        Duration backoff = cleanupConfig.getRetryBackoff();
+
+        for (int attempt = 0; ; attempt++) {
+            Queue<Long> failed = new ConcurrentLinkedQueue<>();
+            runWorkers(pending, failed, ratePacer, deleted, alreadyDeleted);
+            if (failed.isEmpty() || attempt >= cleanupConfig.getMaxRetries()) {
+                if (!failed.isEmpty()) {
+                    log.warn("Failed to delete {} Todos after {} retries", failed.size(), attempt);
+                }
+                return new CleanupResult(ids.size(), deleted.get(), alreadyDeleted.get(), new ArrayList<>(failed),
+                        failed.isEmpty(), Duration.ofNanos(System.nanoTime() - start));
+            }
+            log.debug("Retrying {} failed deletes in {}", failed.size(), backoff);
+            sleep(backoff);
+            backoff = backoff.multipliedBy(2);
+            pending = failed;
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private List<Long> collectIds() {
+        List<Long> ids = new ArrayList<>();
+        int pageSize = cleanupConfig.getPageSize();
+        for (int offset = 0; ; offset += pageSize) {
+            List<TodoItem> page = todoApiClient.getTodos(offset, pageSize);
+            page.forEach(todo -> ids.add(todo.getId()));
+            if (page.size() < pageSize) {
+                return ids;
+            }
+        }
+    }
+
+    private void runWorkers(Queue<Long> pending, Queue<Long> failed, RatePacer ratePacer,
+                            AtomicInteger deleted, AtomicInteger alreadyDeleted) {
+        int workers = Math.min(cleanupConfig.getConcurrency(), pending.size());
+        List<Callable<Void>> tasks = new ArrayList<>(workers);
+        for (int i = 0; i < workers; i++) {
+            tasks.add(() -> {
+                Long id;
+                while ((id = pending.poll()) != null) {
+                    ratePacer.acquire();
+                    switch (deleteQuietly(id)) {
+                        case SC_OK, SC_NO_CONTENT -> deleted.incrementAndGet();
+                        case SC_NOT_FOUND -> alreadyDeleted.incrementAndGet();
+                        default -> failed.add(id);
+                    }
+                }
+                return null;
+            });
+        }
+        try {
+            for (Future<Void> worker : executor.invokeAll(tasks)) {
+                worker.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while deleting Todos", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Cleanup worker failed", e.getCause());
+        }
+    }
+
+    private int deleteQuietly(Long id) {
+        try {
+            return todoApiClient.deleteTodoExpectingStatusCode(id);
+        } catch (RuntimeException e) {
+            log.warn("Failed to delete Todo with id {}: {}", id, e.getMessage());
+            return -1;
+        }
+    }
+
+    private static void sleep(Duration duration) {
+        try {
+            TimeUnit.NANOSECONDS.sleep(duration.toNanos());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while backing off", e);
+        }
+    }
+
+}
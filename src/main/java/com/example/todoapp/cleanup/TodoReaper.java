@@ -0,0 +1,62 @@
+package com.example.todoapp.cleanup;
+
+import com.example.todoapp.load.LoadThreads;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Deletes the todos a finished test created on a background thread, overlapping with the next test.
+ */
+@Slf4j
+@Component
+public class TodoReaper {
+
+    private final TodoCleanupEngine todoCleanupEngine;
+    private final ExecutorService executor = Executors.newSingleThreadExecutor(LoadThreads.factory("todo-reaper", false));
+    private final Set<CompletableFuture<CleanupResult>> pending = ConcurrentHashMap.newKeySet();
+
+    public TodoReaper(TodoCleanupEngine todoCleanupEngine) {
+        this.todoCleanupEngine = todoCleanupEngine;
+    }
+
+    public CompletableFuture<CleanupResult> reap(Collection<Long> ids) {
+        if (ids.isEmpty()) {
+            return CompletableFuture.completedFuture(null);
+        }
+        CompletableFuture<CleanupResult> reaping = CompletableFuture.supplyAsync(() -> todoCleanupEngine.deleteIds(ids), executor);
+        pending.add(reaping);
+        reaping.whenComplete((result, failure) -> {
+            pending.remove(reaping);
+            if (failure != null) {
+                log.warn("Failed to reap {} Todos: {}", ids.size(), failure.getMessage());
+            } else if (!result.getFailedIds().isEmpty()) {
+                log.warn("Failed to reap Todos with ids {}", result.getFailedIds());
+            }
+        });
+        return reaping;
+    }
+
+    /**
+     * Waits until every reap submitted so far has finished.
+     */
+    public void awaitPending() {
+        CompletableFuture.allOf(pending.toArray(CompletableFuture[]::new))
+                .exceptionally(failure -> null)
+                .join();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        awaitPending();
+        executor.shutdown();
+    }
+
+}
@@ -0,0 +1,177 @@
+package com.example.todoapp.clients;
+
+import com.example.todoapp.config.AppConfig;
+import com.example.todoapp.metrics.LatencyRecorder;
+import com.example.todoapp.metrics.TodoOperation;
+import com.example.todoapp.model.TodoItem;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
+
+import static com.example.todoapp.metrics.TodoOperation.*;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.apache.http.HttpStatus.*;
+
+/**
+ * Non-blocking client for the TodoApp API on top of the shared JDK {@link HttpClient}.
+ * <p>
+ * Mirrors {@link TodoApiClient}: operations that assert a status code complete exceptionally with
+ * {@link UnexpectedStatusCodeException}, the {@code *ExpectingStatusCode} variants complete with the status code.
+ */
+@Component
+@RequiredArgsConstructor
+public class AsyncTodoApiClient {
+
+    private static final TypeReference<List<TodoItem>> TODO_LIST = new TypeReference<>() {
+    };
+
+    private final AppConfig appConfig;
+    private final HttpClient httpClient;
+    private final ObjectMapper objectMapper;
+    private final LatencyRecorder latencyRecorder;
+    private final CreatedTodoRegistry createdTodoRegistry;
+
+    public CompletableFuture<List<TodoItem>> getTodos(int offset, int limit) {
+        return latencyRecorder.recordAsync(GET_TODOS, () -> send(listRequest(offset, limit), HttpResponse.BodyHandlers.ofByteArray())
+                .thenApply(response -> {
+                    expectStatusCode(GET_TODOS, response.statusCode(), SC_OK);
+                    return readTodos(response.body());
+                }));
+    }
+
+    public CompletableFuture<Integer> getTodosExpectingStatusCode(int offset, int limit) {
+        return latencyRecorder.recordAsync(GET_TODOS_EXPECTING_STATUS_CODE, () -> sendForStatusCode(listRequest(offset, limit)));
+    }
+
+    /**
+     * Creates the todo; it is recorded as created by the calling thread, although the call completes on another one.
+     */
+    public CompletableFuture<Void> createTodo(TodoItem todoItem) {
+        Consumer<Long> createdTodos = createdTodoRegistry.recorder();
+        return latencyRecorder.recordAsync(CREATE_TODO, () -> sendForStatusCode(request(todosUri()).POST(body(todoItem)))
+                .thenAccept(statusCode -> {
+                    expectStatusCode(CREATE_TODO, statusCode, SC_CREATED);
+                    createdTodos.accept(todoItem.getId());
+                }));
+    }
+
+    public CompletableFuture<Integer> createTodoExpectingStatusCode(TodoItem todoItem) {
+        Consumer<Long> createdTodos = createdTodoRegistry.recorder();
+        return latencyRecorder.recordAsync(CREATE_TODO_EXPECTING_STATUS_CODE,
+                () -> sendForStatusCode(request(todosUri()).POST(body(todoItem)))
+                        .thenApply(statusCode -> {
+                            if (statusCode == SC_CREATED) {
+                                createdTodos.accept(todoItem.getId());
+                            }
+                            return statusCode;
+                        }));
+    }
+
+    public CompletableFuture<Void> updateTodo(Long id, TodoItem todoItem) {
+        return latencyRecorder.recordAsync(UPDATE_TODO, () -> sendForStatusCode(request(todoUri(String.valueOf(id))).PUT(body(todoItem)))
+                .thenAccept(statusCode -> expectStatusCode(UPDATE_TODO, statusCode, SC_OK)));
+    }
+
+    public CompletableFuture<Integer> updateTodoExpectingStatusCode(Long id, TodoItem todoItem) {
+        return latencyRecorder.recordAsync(UPDATE_TODO_EXPECTING_STATUS_CODE,
+                () -> sendForStatusCode(request(todoUri(String.valueOf(id))).PUT(body(todoItem))));
+    }
+
+    public CompletableFuture<Integer> updateTodoWithInvalidIdFormatExpectingStatusCode(String id, TodoItem todoItem) {
+        return latencyRecorder.recordAsync(UPDATE_TODO_WITH_INVALID_ID_FORMAT_EXPECTING_STATUS_CODE,
+                () -> sendForStatusCode(request(todoUri(id)).PUT(body(todoItem))));
+    }
+
+    public CompletableFuture<Void> deleteTodo(Long id) {
+        return latencyRecorder.recordAsync(DELETE_TODO, () -> sendForStatusCode(authorized(request(todoUri(String.valueOf(id)))).DELETE())
+                .thenAccept(statusCode -> expectStatusCode(DELETE_TODO, statusCode, SC_OK, SC_NO_CONTENT)));
+    }
+
+    public CompletableFuture<Integer> deleteTodoExpectingStatusCode(Long id) {
+        return latencyRecorder.recordAsync(DELETE_TODO_EXPECTING_STATUS_CODE,
+                () -> sendForStatusCode(authorized(request(todoUri(String.valueOf(id)))).DELETE()));
+    }
+
+    public CompletableFuture<Integer> deleteTodoWithoutAuthorizationExpectingStatusCode(Long id) {
+        return latencyRecorder.recordAsync(DELETE_TODO_WITHOUT_AUTHORIZATION_EXPECTING_STATUS_CODE,
+                () -> sendForStatusCode(request(todoUri(String.valueOf(id))).DELETE()));
+    }
+
+    private HttpRequest.Builder listRequest(int offset, int limit) {
+        return request(URI.create(appConfig.getBaseUrl() + appConfig.getTodosEndpoint()
+                + "?offset=" + offset + "&limit=" + limit)).GET();
+    }
+
+    private HttpRequest.Builder request(URI uri) {
+        HttpRequest.Builder request = HttpRequest.newBuilder(uri)
+                .header("Content-Type", appConfig.getContentType());
+        Duration readTimeout = appConfig.getReadTimeout();
+        if (readTimeout != null && readTimeout.compareTo(Duration.ZERO) > 0) {
+            request.timeout(readTimeout);
+        }
+        return request;
+    }
+
+    private HttpRequest.Builder authorized(HttpRequest.Builder request) {
+        String credentials = appConfig.getAdminUsername() + ":" + appConfig.getAdminPassword();
+        return request.header("Authorization", "Basic " + Base64.getEncoder().encodeToString(credentials.getBytes(UTF_8)));
+    }
+
+    private URI todosUri() {
+        return URI.create(appConfig.getBaseUrl() + appConfig.getTodosEndpoint());
+    }
+
+    private URI todoUri(String id) {
+        return URI.create(appConfig.getBaseUrl() + appConfig.getTodosEndpoint() + "/"
+                + URLEncoder.encode(id, UTF_8).replace("+", "%20"));
+    }
+
+    private HttpRequest.BodyPublisher body(TodoItem todoItem) {
+        try {
+            return HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(todoItem));
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private <T> CompletableFuture<HttpResponse<T>> send(HttpRequest.Builder request, HttpResponse.BodyHandler<T> bodyHandler) {
+        return httpClient.sendAsync(request.build(), bodyHandler);
+    }
+
+    private CompletableFuture<Integer> sendForStatusCode(HttpRequest.Builder request) {
+        return send(request, HttpResponse.BodyHandlers.discarding()).thenApply(HttpResponse::statusCode);
+    }
+
+    private List<TodoItem> readTodos(byte[] body) {
+        try {
+            return objectMapper.readValue(body, TODO_LIST);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to parse todo list", e);
+        }
+    }
+
+    private static void expectStatusCode(TodoOperation operation, int statusCode, int... expected) {
+        for (int code : expected) {
+            if (code == statusCode) {
+                return;
+            }
+        }
+        throw new UnexpectedStatusCodeException(operation.name(), statusCode);
+    }
+
+}
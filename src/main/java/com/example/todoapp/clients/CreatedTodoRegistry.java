@@ -0,0 +1,97 @@
+package com.example.todoapp.clients;
+
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Remembers the ids of todos created by the current thread between {@link #begin()} and {@link #end()}.
+ * <p>
+ * State is thread-confined, so tests running in parallel each see only their own todos. Work that a test hands to
+ * other threads is recorded for the test when it is wrapped with {@link #propagate(Runnable)} or reports through a
+ * {@link #recorder()} taken on the test's thread.
+ */
+@Component
+public class CreatedTodoRegistry {
+
+    private final ThreadLocal<List<Long>> createdIds = new ThreadLocal<>();
+
+    public void begin() {
+        createdIds.set(Collections.synchronizedList(new ArrayList<>()));
+    }
+
+    /**
+     * Records a created todo if the current thread is tracking, otherwise does nothing.
+     */
+    public void record(Long id) {
+        List<Long> ids = createdIds.get();
+        if (ids != null && id != null) {
+            ids.add(id);
+        }
+    }
+
+    /**
+     * Returns a copy of the ids recorded on the current thread so far; empty if it is not tracking.
+     */
+    public List<Long> recorded() {
+        List<Long> ids = createdIds.get();
+        if (ids == null) {
+            return List.of();
+        }
+        synchronized (ids) {
+            return List.copyOf(ids);
+        }
+    }
+
+    /**
+     * Wraps a task so that the todos it creates on any thread are recorded for the current thread.
+     */
+    public Runnable propagate(Runnable task) {
+        List<Long> ids = createdIds.get();
+        if (ids == null) {
+            return task;
+        }
+        return () -> {
+            List<Long> previous = createdIds.get();
+            createdIds.set(ids);
+            try {
+                task.run();
+            } finally {
+                if (previous == null) {
+                    createdIds.remove();
+                } else {
+                    createdIds.set(previous);
+                }
+            }
+        };
+    }
+
+    /**
+     * Returns a callback that records created todos for the current thread from any thread, e.g. when an async call
+     * completes; it does nothing if the current thread is not tracking.
+     */
+    public Consumer<Long> recorder() {
+        List<Long> ids = createdIds.get();
+        if (ids == null) {
+            return id -> { };
+        }
+        return id -> {
+            if (id != null) {
+                ids.add(id);
+            }
+        };
+    }
+
+    /**
+     * Stops tracking on the current thread and returns the ids recorded since {@link #begin()}.
+     */
+    public List<Long> end() {
+        List<Long> ids = createdIds.get();
+        createdIds.remove();
+        return ids == null ? List.of() : ids;
+    }
+
+}
@@ -1,139 +1,221 @@
 package com.example.todoapp.clients;
 
+import com.example.todoapp.clients.transport.ByteBufferBody;
+import com.example.todoapp.clients.transport.TodoTransport;
+import com.example.todoapp.clients.transport.TransportRequest;
+import com.example.todoapp.clients.transport.TransportResponse;
 import com.example.todoapp.config.AppConfig;
+import com.example.todoapp.metrics.LatencyRecorder;
+import com.example.todoapp.metrics.RequestEventLog;
+import com.example.todoapp.metrics.TodoOperation;
 import com.example.todoapp.model.TodoItem;
-import io.restassured.RestAssured;
-import io.restassured.specification.RequestSpecification;
+import com.example.todoapp.replay.TrafficRecorder;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
+import java.io.InputStream;
 import java.util.List;
 
+import static com.example.todoapp.metrics.RequestEventLog.NO_ID;
+import static com.example.todoapp.metrics.RequestEventLog.NO_RESPONSE;
+import static com.example.todoapp.metrics.TodoOperation.*;
 import static org.apache.http.HttpStatus.*;
-import static org.hamcrest.Matchers.anyOf;
-import static org.hamcrest.Matchers.equalTo;
 
 /**
  * Client for interacting with the TodoApp API.
+ * <p>
+ * Requests are sent through the {@link TodoTransport} selected by {@code app.transport}, and each one is published to
+ * the {@link RequestEventLog} and recorded by the {@link TrafficRecorder} when they are enabled.
  */
 @Component
 @Slf4j
+@RequiredArgsConstructor
 public class TodoApiClient {
 
-    @Autowired
-    private AppConfig appConfig;
+    private final AppConfig appConfig;
+    private final LatencyRecorder latencyRecorder;
+    private final TodoTransport todoTransport;
+    private final CreatedTodoRegistry createdTodoRegistry;
+    private final RequestEventLog requestEventLog;
+    private final TrafficRecorder trafficRecorder;
 
-    private RequestSpecification baseRequest() {
-        return RestAssured.given()
-                .baseUri(appConfig.getBaseUrl())
-                .contentType(appConfig.getContentType());
+    public List<TodoItem> getTodos(int offset, int limit) {
+        return latencyRecorder.record(GET_TODOS, () -> expectStatusCode(GET_TODOS,
+                execute(GET_TODOS, NO_ID, TransportRequest.get(appConfig.getTodosEndpoint(), offset, limit)), SC_OK)
+                .getTodos());
     }
 
-    public List<TodoItem> getTodos(int offset, int limit) {
-        return baseRequest()
-                .queryParam("offset", offset)
-                .queryParam("limit", limit)
-                .when()
-                .get(appConfig.getTodosEndpoint())
-                .then()
-                .statusCode(SC_OK)
-                .extract()
-                .jsonPath()
-                .getList(".", TodoItem.class);
+    /**
+     * Returns the raw JSON body of a page of todos, for callers that parse it incrementally.
+     */
+    public InputStream getTodosAsStream(int offset, int limit) {
+        return latencyRecorder.record(GET_TODOS, () -> expectStatusCode(GET_TODOS,
+                execute(GET_TODOS, NO_ID, TransportRequest.get(appConfig.getTodosEndpoint(), offset, limit)), SC_OK)
+                .getBodyAsStream());
+    }
+
+    /**
+     * Conditional GET of a page of todos. Sends {@code If-None-Match} when an entity tag is known, otherwise
+     * {@code If-Modified-Since} when a modification date is known.
+     */
+    public TodoPage getTodosIfModified(int offset, int limit, String etag, String lastModified) {
+        TransportRequest request = TransportRequest.get(appConfig.getTodosEndpoint(), offset, limit);
+        if (etag != null) {
+            request = request.withHeader("If-None-Match", etag);
+        } else if (lastModified != null) {
+            request = request.withHeader("If-Modified-Since", lastModified);
+        }
+        TransportRequest conditionalRequest = request;
+        return latencyRecorder.record(GET_TODOS_IF_MODIFIED, () -> {
+            TransportResponse response = expectStatusCode(GET_TODOS_IF_MODIFIED,
+                    execute(GET_TODOS_IF_MODIFIED, NO_ID, conditionalRequest), SC_OK, SC_NOT_MODIFIED);
+            return response.getStatusCode() == SC_NOT_MODIFIED
+                    ? new TodoPage(null, etag, lastModified)
+                    : new TodoPage(response.getTodos(), response.getHeader("ETag"), response.getHeader("Last-Modified"));
+        });
     }
 
     public int getTodosExpectingStatusCode(int offset, int limit) {
-        return baseRequest()
-                .queryParam("offset", offset)
-                .queryParam("limit", limit)
-                .when()
-                .get(appConfig.getTodosEndpoint())
-                .then()
-                .extract()
-                .statusCode();
+        return latencyRecorder.record(GET_TODOS_EXPECTING_STATUS_CODE, () ->
+                execute(GET_TODOS_EXPECTING_STATUS_CODE, NO_ID,
+                        TransportRequest.get(appConfig.getTodosEndpoint(), offset, limit))
+                        .getStatusCode());
     }
 
     public void createTodo(TodoItem todoItem) {
-        baseRequest()
-                .body(todoItem)
-                .when()
-                .post(appConfig.getTodosEndpoint())
-                .then()
-                .statusCode(SC_CREATED);
-        log.info("Created Todo: {}", todoItem);
+        latencyRecorder.record(CREATE_TODO, () -> expectStatusCode(CREATE_TODO,
+                execute(CREATE_TODO, idOf(todoItem.getId()), TransportRequest.post(appConfig.getTodosEndpoint(), todoItem)),
+                SC_CREATED));
+        createdTodoRegistry.record(todoItem.getId());
+        log.debug("Created Todo: {}", todoItem);
+    }
+
+    /**
+     * Creates the todo with the given id from its pre-serialized JSON body, e.g. from a {@code TodoPayloadTemplate}.
+     */
+    public void createTodo(Long id, byte[] body) {
+        latencyRecorder.record(CREATE_TODO, () -> expectStatusCode(CREATE_TODO,
+                execute(CREATE_TODO, idOf(id), TransportRequest.post(appConfig.getTodosEndpoint(), body)), SC_CREATED));
+        createdTodoRegistry.record(id);
+        log.debug("Created Todo with id {}", id);
+    }
+
+    /**
+     * Wraps a task that creates todos on another thread so they are recorded as created by the calling thread.
+     */
+    public Runnable inCallerScope(Runnable task) {
+        return createdTodoRegistry.propagate(task);
     }
 
     public int createTodoExpectingStatusCode(TodoItem todoItem) {
-        return baseRequest()
-                .body(todoItem)
-                .when()
-                .post(appConfig.getTodosEndpoint())
-                .then()
-                .extract()
-                .statusCode();
+        int statusCode = latencyRecorder.record(CREATE_TODO_EXPECTING_STATUS_CODE, () ->
+                execute(CREATE_TODO_EXPECTING_STATUS_CODE, idOf(todoItem.getId()),
+                        TransportRequest.post(appConfig.getTodosEndpoint(), todoItem))
+                        .getStatusCode());
+        if (statusCode == SC_CREATED) {
+            createdTodoRegistry.record(todoItem.getId());
+        }
+        return statusCode;
+    }
+
+    /**
+     * Creates the todo with the given id from a pre-serialized JSON body.
+     */
+    public int createTodoExpectingStatusCode(Long id, ByteBufferBody body) {
+        int statusCode = latencyRecorder.record(CREATE_TODO_EXPECTING_STATUS_CODE, () ->
+                execute(CREATE_TODO_EXPECTING_STATUS_CODE, idOf(id),
+                        TransportRequest.post(appConfig.getTodosEndpoint(), body))
+                        .getStatusCode());
+        if (statusCode == SC_CREATED) {
+            createdTodoRegistry.record(id);
+        }
+        return statusCode;
     }
 
     public void updateTodo(Long id, TodoItem todoItem) {
-        baseRequest()
-                .body(todoItem)
-                .when()
-                .put(appConfig.getTodosEndpoint() + "/{id}", id)
-                .then()
-                .statusCode(SC_OK);
+        latencyRecorder.record(UPDATE_TODO, () -> expectStatusCode(UPDATE_TODO,
+                execute(UPDATE_TODO, idOf(id), TransportRequest.put(todoPath(id), todoItem)), SC_OK));
+    }
+
+    /**
+     * Updates the todo with the given id from its pre-serialized JSON body.
+     */
+    public void updateTodo(Long id, byte[] body) {
+        latencyRecorder.record(UPDATE_TODO, () -> expectStatusCode(UPDATE_TODO,
+                execute(UPDATE_TODO, idOf(id), TransportRequest.put(todoPath(id), body)), SC_OK));
     }
 
     public int updateTodoExpectingStatusCode(Long id, TodoItem todoItem) {
-        return baseRequest()
-                .body(todoItem)
-                .when()
-                .put(appConfig.getTodosEndpoint() + "/{id}", id)
-                .then()
-                .extract()
-                .statusCode();
+        return latencyRecorder.record(UPDATE_TODO_EXPECTING_STATUS_CODE, () ->
+                execute(UPDATE_TODO_EXPECTING_STATUS_CODE, idOf(id), TransportRequest.put(todoPath(id), todoItem))
+                        .getStatusCode());
     }
 
     public int updateTodoWithInvalidIdFormatExpectingStatusCode(String id, TodoItem todoItem) {
-        return baseRequest()
-                .body(todoItem)
-                .when()
-                .put(appConfig.getTodosEndpoint() + "/{id}", id)
-                .then()
-                .extract()
-                .statusCode();
+        return latencyRecorder.record(UPDATE_TODO_WITH_INVALID_ID_FORMAT_EXPECTING_STATUS_CODE, () ->
+                execute(UPDATE_TODO_WITH_INVALID_ID_FORMAT_EXPECTING_STATUS_CODE, NO_ID,
+                        TransportRequest.put(todoPath(id), todoItem))
+                        .getStatusCode());
     }
 
     public void deleteTodo(Long id) {
-        baseRequest()
-                .auth()
-                .preemptive()
-                .basic(appConfig.getAdminUsername(), appConfig.getAdminPassword())
-                .when()
-                .delete(appConfig.getTodosEndpoint() + "/{id}", id)
-                .then()
-                .statusCode(anyOf(equalTo(SC_OK), equalTo(SC_NO_CONTENT)));
-        log.info("Deleted Todo with id {}", id);
+        latencyRecorder.record(DELETE_TODO, () -> expectStatusCode(DELETE_TODO,
+                execute(DELETE_TODO, idOf(id), TransportRequest.delete(todoPath(id), true)), SC_OK, SC_NO_CONTENT));
+        log.debug("Deleted Todo with id {}", id);
     }
 
     public int deleteTodoExpectingStatusCode(Long id) {
-        return baseRequest()
-                .auth()
-                .preemptive()
-                .basic(appConfig.getAdminUsername(), appConfig.getAdminPassword())
-                .when()
-                .delete(appConfig.getTodosEndpoint() + "/{id}", id)
-                .then()
-                .extract()
-                .statusCode();
+        return latencyRecorder.record(DELETE_TODO_EXPECTING_STATUS_CODE, () ->
+                execute(DELETE_TODO_EXPECTING_STATUS_CODE, idOf(id), TransportRequest.delete(todoPath(id), true))
+                        .getStatusCode());
     }
 
     public int deleteTodoWithoutAuthorizationExpectingStatusCode(Long id) {
-        return baseRequest()
-                .when()
-                .delete(appConfig.getTodosEndpoint() + "/{id}", id)
-                .then()
-                .extract()
-                .statusCode();
+        return latencyRecorder.record(DELETE_TODO_WITHOUT_AUTHORIZATION_EXPECTING_STATUS_CODE, () ->
+                execute(DELETE_TODO_WITHOUT_AUTHORIZATION_EXPECTING_STATUS_CODE, idOf(id),
+                        TransportRequest.delete(todoPath(id), false))
+                        .getStatusCode());
+    }
+
+    /**
+     * Sends a request and publishes it to the event log and traffic recording, including requests that fail without a
+     * response.
+     */
+    private TransportResponse execute(TodoOperation operation, long id, TransportRequest request) {
+        if (!requestEventLog.isEnabled() && !trafficRecorder.isEnabled()) {
+            return todoTransport.execute(request);
+        }
+        long start = System.nanoTime();
+        int statusCode = NO_RESPONSE;
+        long bytes = 0;
+        try {
+            TransportResponse response = todoTransport.execute(request);
+            statusCode = response.getStatusCode();
+            bytes = response.getBodyLength();
+            return response;
+        } finally {
+            long end = System.nanoTime();
+            requestEventLog.record(operation, id, start, end, statusCode, bytes);
+            trafficRecorder.record(operation, id, request, start, end, statusCode);
+        }
+    }
+
+    private static long idOf(Long id) {
+        return id == null ? NO_ID : id;
+    }
+
+    private String todoPath(Object id) {
+        return TransportRequest.pathWithId(appConfig.getTodosEndpoint(), id);
+    }
+
+    private static TransportResponse expectStatusCode(TodoOperation operation, TransportResponse response, int... expected) {
+        for (int statusCode : expected) {
+            if (response.getStatusCode() == statusCode) {
+                return response;
+            }
+        }
+        throw new UnexpectedStatusCodeException(operation.name(), response.getStatusCode());
     }
 
-}
\ No newline at end of file
+}
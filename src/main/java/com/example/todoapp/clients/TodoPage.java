@@ -0,0 +1,23 @@
+package com.example.todoapp.clients;
+
+import com.example.todoapp.model.TodoItem;
+import lombok.Value;
+
+import java.util.List;
+
+/**
+ * Result of a conditional list request: either a modified page with its validators or a not-modified marker.
+ */
+@Value
+public class TodoPage {
+    /**
+     * Page contents, {@code null} when the server answered {@code 304 Not Modified}.
+     */
+    List<TodoItem> todos;
+    String etag;
+    String lastModified;
+
+    public boolean isNotModified() {
+        return todos == null;
+    }
+}
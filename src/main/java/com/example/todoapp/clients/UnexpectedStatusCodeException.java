@@ -0,0 +1,18 @@
+package com.example.todoapp.clients;
+
+import lombok.Getter;
+
+/**
+ * Thrown when the TodoApp API answers with a status code the operation does not accept.
+ */
+@Getter
+public class UnexpectedStatusCodeException extends RuntimeException {
+
+    private final int statusCode;
+
+    public UnexpectedStatusCodeException(String operation, int statusCode) {
+        super(String.format("%s failed: unexpected status code <%d>", operation, statusCode));
+        this.statusCode = statusCode;
+    }
+
+}
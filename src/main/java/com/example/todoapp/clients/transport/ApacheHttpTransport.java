@@ -0,0 +1,121 @@
+package com.example.todoapp.clients.transport;
+
+import com.example.todoapp.config.AppConfig;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.apache.hc.client5.http.config.ConnectionConfig;
+import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.client5.http.impl.DefaultHttpRequestRetryStrategy;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.core5.http.ContentType;
+import org.apache.hc.core5.http.Header;
+import org.apache.hc.core5.http.HttpRequest;
+import org.apache.hc.core5.http.HttpResponse;
+import org.apache.hc.core5.http.Method;
+import org.apache.hc.core5.http.io.entity.ByteArrayEntity;
+import org.apache.hc.core5.http.io.entity.EntityUtils;
+import org.apache.hc.core5.http.io.support.ClassicRequestBuilder;
+import org.apache.hc.core5.http.protocol.HttpContext;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Transport on top of Apache HttpClient 5 with a pooled connection manager.
+ */
+public class ApacheHttpTransport implements TodoTransport {
+
+    private final AppConfig appConfig;
+    private final ObjectMapper objectMapper;
+    private final String authorization;
+    private final CloseableHttpClient httpClient;
+
+    public ApacheHttpTransport(AppConfig appConfig, ObjectMapper objectMapper) {
+        this.appConfig = appConfig;
+        this.objectMapper = objectMapper;
+        this.authorization = TransportSupport.basicAuthorization(appConfig);
+        PoolingHttpClientConnectionManager connectionManager = new PoolingHttpClientConnectionManager();
+        connectionManager.setMaxTotal(appConfig.getMaxConnections());
+        connectionManager.setDefaultMaxPerRoute(appConfig.getMaxConnections());
+        ConnectionConfig.Builder connectionConfig = ConnectionConfig.custom();
+        RequestConfig.Builder requestConfig = RequestConfig.custom();
+        if (TransportSupport.hasTimeout(appConfig.getConnectTimeout())) {
+            connectionConfig.setConnectTimeout(Timeout.of(appConfig.getConnectTimeout()));
+        }
+        if (TransportSupport.hasTimeout(appConfig.getReadTimeout())) {
+            connectionConfig.setSocketTimeout(Timeout.of(appConfig.getReadTimeout()));
+            requestConfig.setResponseTimeout(Timeout.of(appConfig.getReadTimeout()));
+        }
+        connectionManager.setDefaultConnectionConfig(connectionConfig.build());
+        this.httpClient = HttpClients.custom()
+                .setConnectionManager(connectionManager)
+                .setDefaultRequestConfig(requestConfig.build())
+                .setRetryStrategy(new StaleConnectionRetryStrategy())
+                .build();
+    }
+
+    @Override
+    public TransportResponse execute(TransportRequest request) {
+        ClassicRequestBuilder builder = ClassicRequestBuilder.create(request.getMethod())
+                .setUri(appConfig.getBaseUrl() + request.getPathAndQuery())
+                .setHeader("Content-Type", appConfig.getContentType());
+        if (request.getBody() != null) {
+            builder.setEntity(new ByteArrayEntity(TransportSupport.serialize(request.getBody(), objectMapper),
+                    ContentType.parse(appConfig.getContentType())));
+        }
+        if (request.isAuthorized()) {
+            builder.setHeader("Authorization", authorization);
+        }
+        request.getHeaders().forEach(builder::setHeader);
+        try {
+            return httpClient.execute(builder.build(), response -> {
+                Map<String, String> headers = new HashMap<>();
+                for (Header header : response.getHeaders()) {
+                    headers.putIfAbsent(header.getName().toLowerCase(), header.getValue());
+                }
+                byte[] body = response.getEntity() == null ? new byte[0] : EntityUtils.toByteArray(response.getEntity());
+                return new BufferedTransportResponse(response.getCode(), headers, body, objectMapper);
+            });
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Sends a GET once more when its connection failed, e.g. because the server had closed it while it was idle in
+     * the pool. Other methods may have reached the server and are not repeated, and error responses such as
+     * {@code 503} are returned as they are rather than retried.
+     */
+    private static final class StaleConnectionRetryStrategy extends DefaultHttpRequestRetryStrategy {
+
+        private StaleConnectionRetryStrategy() {
+            super(1, TimeValue.ZERO_MILLISECONDS);
+        }
+
+        @Override
+        protected boolean handleAsIdempotent(HttpRequest request) {
+            return Method.GET.isSame(request.getMethod());
+        }
+
+        @Override
+        public boolean retryRequest(HttpResponse response, int execCount, HttpContext context) {
+            return false;
+        }
+
+    }
+
+    @Override
+    public void close() {
+        try {
+            httpClient.close();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+}
@@ -0,0 +1,61 @@
+package com.example.todoapp.clients.transport;
+
+import com.example.todoapp.model.TodoItem;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Fully read response whose JSON body is mapped with Jackson.
+ */
+@RequiredArgsConstructor
+class BufferedTransportResponse implements TransportResponse {
+
+    private static final TypeReference<List<TodoItem>> TODO_LIST = new TypeReference<>() {
+    };
+
+    private final int statusCode;
+    /**
+     * Header values keyed by lower-case name.
+     */
+    private final Map<String, String> headers;
+    private final byte[] body;
+    private final ObjectMapper objectMapper;
+
+    @Override
+    public int getStatusCode() {
+        return statusCode;
+    }
+
+    @Override
+    public String getHeader(String name) {
+        return headers.get(name.toLowerCase());
+    }
+
+    @Override
+    public List<TodoItem> getTodos() {
+        try {
+            return objectMapper.readValue(body, TODO_LIST);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to parse todo list", e);
+        }
+    }
+
+    @Override
+    public InputStream getBodyAsStream() {
+        return new ByteArrayInputStream(body);
+    }
+
+    @Override
+    public long getBodyLength() {
+        return body.length;
+    }
+
+}
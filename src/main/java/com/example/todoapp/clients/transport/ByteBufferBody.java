@@ -0,0 +1,65 @@
+package com.example.todoapp.clients.transport;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Pre-serialized request body made of buffer segments, e.g. a memory-mapped file between a small JSON head and tail.
+ * <p>
+ * The segments are never consumed: every send works on duplicates, so one body can be sent by many threads. The nio
+ * transport writes the segments straight to the socket; the other transports copy them into one array first.
+ */
+public final class ByteBufferBody {
+
+    private final ByteBuffer[] segments;
+    private final long length;
+
+    private ByteBufferBody(ByteBuffer[] segments) {
+        this.segments = segments;
+        long total = 0;
+        for (ByteBuffer segment : segments) {
+            total += segment.remaining();
+        }
+        this.length = total;
+    }
+
+    /**
+     * Uses the remaining bytes of each segment, in order.
+     */
+    public static ByteBufferBody of(ByteBuffer... segments) {
+        ByteBuffer[] readOnly = new ByteBuffer[segments.length];
+        for (int i = 0; i < segments.length; i++) {
+            readOnly[i] = segments[i].asReadOnlyBuffer();
+        }
+        return new ByteBufferBody(readOnly);
+    }
+
+    public long length() {
+        return length;
+    }
+
+    /**
+     * Returns fresh views of the segments, positioned at their start.
+     */
+    public ByteBuffer[] duplicates() {
+        ByteBuffer[] duplicates = new ByteBuffer[segments.length];
+        for (int i = 0; i < segments.length; i++) {
+            duplicates[i] = segments[i].duplicate();
+        }
+        return duplicates;
+    }
+
+    public byte[] toByteArray() {
+        if (length > Integer.MAX_VALUE - 8) {
+            throw new IllegalStateException("Body of " + length + " bytes does not fit in an array");
+        }
+        byte[] bytes = new byte[(int) length];
+        int offset = 0;
+        for (ByteBuffer segment : duplicates()) {
+            int remaining = segment.remaining();
+            segment.get(bytes, offset, remaining);
+            offset += remaining;
+        }
+        return bytes;
+    }
+
+}
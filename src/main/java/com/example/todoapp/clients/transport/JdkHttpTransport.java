@@ -0,0 +1,60 @@
+package com.example.todoapp.clients.transport;
+
+import com.example.todoapp.config.AppConfig;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Transport on top of the shared, connection-pooled JDK {@link HttpClient}.
+ */
+public class JdkHttpTransport implements TodoTransport {
+
+    private final AppConfig appConfig;
+    private final HttpClient httpClient;
+    private final ObjectMapper objectMapper;
+    private final String authorization;
+
+    public JdkHttpTransport(AppConfig appConfig, HttpClient httpClient, ObjectMapper objectMapper) {
+        this.appConfig = appConfig;
+        this.httpClient = httpClient;
+        this.objectMapper = objectMapper;
+        this.authorization = TransportSupport.basicAuthorization(appConfig);
+    }
+
+    @Override
+    public TransportResponse execute(TransportRequest request) {
+        HttpRequest.BodyPublisher body = request.getBody() == null
+                ? HttpRequest.BodyPublishers.noBody()
+                : HttpRequest.BodyPublishers.ofByteArray(TransportSupport.serialize(request.getBody(), objectMapper));
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(appConfig.getBaseUrl() + request.getPathAndQuery()))
+                .header("Content-Type", appConfig.getContentType())
+                .method(request.getMethod(), body);
+        if (request.isAuthorized()) {
+            builder.header("Authorization", authorization);
+        }
+        if (TransportSupport.hasTimeout(appConfig.getReadTimeout())) {
+            builder.timeout(appConfig.getReadTimeout());
+        }
+        request.getHeaders().forEach(builder::header);
+        try {
+            HttpResponse<byte[]> response = httpClient.send(builder.build(), HttpResponse.BodyHandlers.ofByteArray());
+            Map<String, String> headers = new HashMap<>();
+            response.headers().map().forEach((name, values) -> headers.put(name.toLowerCase(), values.get(0)));
+            return new BufferedTransportResponse(response.statusCode(), headers, response.body(), objectMapper);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for " + request.getMethod() + " " + request.getPath(), e);
+        }
+    }
+
+}
@@ -0,0 +1,298 @@
+package com.example.todoapp.clients.transport;
+
+import com.example.todoapp.config.AppConfig;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.net.InetSocketAddress;
+import java.net.StandardSocketOptions;
+import java.net.URI;
+import java.nio.ByteBuffer;
+import java.nio.channels.SocketChannel;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentLinkedDeque;
+
+import static java.nio.charset.StandardCharsets.US_ASCII;
+
+/**
+ * Minimal HTTP/1.1 client writing and parsing requests directly on blocking {@link SocketChannel}s.
+ * <p>
+ * Keep-alive connections are pooled in a lock-free deque. Only what the TodoApp API needs is supported:
+ * fixed-length request bodies, and {@code Content-Length}, chunked or close-delimited responses. A
+ * {@link ByteBufferBody} is written with a gathering write, without copying it onto the heap. Plain {@code http} only:
+ * an {@code https} base URL is rejected rather than sent in plaintext. Connects and reads are bounded by
+ * {@code app.connect-timeout} and {@code app.read-timeout}.
+ */
+public class NioHttpTransport implements TodoTransport {
+
+    private static final int BUFFER_SIZE = 16 * 1024;
+
+    private final AppConfig appConfig;
+    private final ObjectMapper objectMapper;
+    private final String authorization;
+    private final InetSocketAddress address;
+    private final String hostHeader;
+    private final int connectTimeoutMillis;
+    private final int readTimeoutMillis;
+    private final ConcurrentLinkedDeque<Connection> idleConnections = new ConcurrentLinkedDeque<>();
+
+    public NioHttpTransport(AppConfig appConfig, ObjectMapper objectMapper) {
+        this.appConfig = appConfig;
+        this.objectMapper = objectMapper;
+        this.authorization = TransportSupport.basicAuthorization(appConfig);
+        URI baseUri = URI.create(appConfig.getBaseUrl());
+        if (!"http".equalsIgnoreCase(baseUri.getScheme())) {
+            throw new IllegalArgumentException("NIO transport supports only http base URLs, got " + appConfig.getBaseUrl());
+        }
+        int port = baseUri.getPort() == -1 ? 80 : baseUri.getPort();
+        this.address = new InetSocketAddress(baseUri.getHost(), port);
+        this.hostHeader = baseUri.getHost() + ":" + port;
+        this.connectTimeoutMillis = TransportSupport.timeoutMillis(appConfig.getConnectTimeout());
+        this.readTimeoutMillis = TransportSupport.timeoutMillis(appConfig.getReadTimeout());
+    }
+
+    @Override
+    public TransportResponse execute(TransportRequest request) {
+        ByteBufferBody body = body(request.getBody());
+        ByteBuffer head = ByteBuffer.wrap(requestHead(request, body == null ? 0 : body.length()).getBytes(US_ASCII));
+        Connection pooled = idleConnections.pollFirst();
+        try {
+            if (pooled != null) {
+                try {
+                    return exchange(pooled, head, body);
+                } catch (IOException e) {
+                    if (!isRetryable(request, pooled, e)) {
+                        throw e;
+                    }
+                    head.rewind();
+                }
+            }
+            return exchange(new Connection(address, connectTimeoutMillis, readTimeoutMillis), head, body);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public void close() {
+        Connection connection;
+        while ((connection = idleConnections.pollFirst()) != null) {
+            connection.close();
+        }
+    }
+
+    /**
+     * Whether a request that failed on a pooled connection may be sent again on a new one. The server may have closed
+     * the idle connection, but once it could have received the request, sending it again may repeat a create or
+     * delete. So it is retried only if the connection took none of it, or was closed before any response byte, which
+     * is how a server drops an idle keep-alive connection. GET requests change nothing and are always retried.
+     */
+    private static boolean isRetryable(TransportRequest request, Connection connection, IOException failure) {
+        return connection.bytesWritten == 0
+                || connection.bytesRead == 0 && failure instanceof EOFException
+                || "GET".equals(request.getMethod());
+    }
+
+    private ByteBufferBody body(Object body) {
+        if (body == null || body instanceof ByteBufferBody) {
+            return (ByteBufferBody) body;
+        }
+        return ByteBufferBody.of(ByteBuffer.wrap(TransportSupport.serialize(body, objectMapper)));
+    }
+
+    private TransportResponse exchange(Connection connection, ByteBuffer head, ByteBufferBody body) throws IOException {
+        try {
+            connection.write(head, body == null ? new ByteBuffer[0] : body.duplicates());
+            BufferedTransportResponse response = read(connection);
+            if (connection.reusable && idleConnections.size() < appConfig.getMaxConnections()) {
+                idleConnections.offerFirst(connection);
+            } else {
+                connection.close();
+            }
+            return response;
+        } catch (IOException | RuntimeException e) {
+            connection.close();
+            throw e;
+        }
+    }
+
+    private String requestHead(TransportRequest request, long contentLength) {
+        StringBuilder head = new StringBuilder(256)
+                .append(request.getMethod()).append(' ').append(request.getPathAndQuery()).append(" HTTP/1.1\r\n")
+                .append("Host: ").append(hostHeader).append("\r\n")
+                .append("Content-Type: ").append(appConfig.getContentType()).append("\r\n")
+                .append("Content-Length: ").append(contentLength).append("\r\n");
+        if (request.isAuthorized()) {
+            head.append("Authorization: ").append(authorization).append("\r\n");
+        }
+        request.getHeaders().forEach((name, value) -> head.append(name).append(": ").append(value).append("\r\n"));
+        return head.append("\r\n").toString();
+    }
+
+    private BufferedTransportResponse read(Connection connection) throws IOException {
+        String statusLine = connection.readLine();
+        String[] status = statusLine.split(" ", 3);
+        if (status.length < 2 || !status[0].startsWith("HTTP/1.")) {
+            throw new IOException("Malformed status line: " + statusLine);
+        }
+        int statusCode = Integer.parseInt(status[1]);
+
+        Map<String, String> headers = new HashMap<>();
+        String line;
+        while (!(line = connection.readLine()).isEmpty()) {
+            int separator = line.indexOf(':');
+            if (separator > 0) {
+                headers.putIfAbsent(line.substring(0, separator).trim().toLowerCase(), line.substring(separator + 1).trim());
+            }
+        }
+
+        connection.reusable = !"close".equalsIgnoreCase(headers.get("connection")) && status[0].equals("HTTP/1.1");
+        byte[] body;
+        if ("chunked".equalsIgnoreCase(headers.get("transfer-encoding"))) {
+            body = readChunked(connection);
+        } else if (headers.containsKey("content-length")) {
+            body = connection.readFully(Integer.parseInt(headers.get("content-length")));
+        } else if (statusCode == 204 || statusCode == 304) {
+            body = new byte[0];
+        } else {
+            body = connection.readToEnd();
+            connection.reusable = false;
+        }
+        return new BufferedTransportResponse(statusCode, headers, body, objectMapper);
+    }
+
+    private static byte[] readChunked(Connection connection) throws IOException {
+        ByteArrayOutputStream body = new ByteArrayOutputStream();
+        while (true) {
+            String sizeLine = connection.readLine();
+            int extension = sizeLine.indexOf(';');
+            int size = Integer.parseInt((extension >= 0 ? sizeLine.substring(0, extension) : sizeLine).trim(), 16);
+            if (size == 0) {
+                while (!connection.readLine().isEmpty()) {
+                    // skip trailers
+                }
+                return body.toByteArray();
+            }
+            body.writeBytes(connection.readFully(size));
+            connection.readLine();
+        }
+    }
+
+    private static final class Connection implements Closeable {
+
+        private final SocketChannel channel;
+        /**
+         * Reads through the channel's socket, since only its stream honours the read timeout.
+         */
+        private final InputStream in;
+        private final ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE);
+        private boolean reusable;
+        /**
+         * Bytes of the current exchange's request the channel accepted, and of its response read so far.
+         */
+        private long bytesWritten;
+        private long bytesRead;
+
+        private Connection(InetSocketAddress address, int connectTimeoutMillis, int readTimeoutMillis) throws IOException {
+            channel = SocketChannel.open();
+            try {
+                channel.setOption(StandardSocketOptions.TCP_NODELAY, true);
+                channel.socket().connect(address, connectTimeoutMillis);
+                channel.socket().setSoTimeout(readTimeoutMillis);
+                in = channel.socket().getInputStream();
+            } catch (IOException | RuntimeException e) {
+                close();
+                throw e;
+            }
+            buffer.flip();
+        }
+
+        private void write(ByteBuffer head, ByteBuffer[] body) throws IOException {
+            bytesWritten = 0;
+            bytesRead = 0;
+            ByteBuffer[] buffers = new ByteBuffer[body.length + 1];
+            buffers[0] = head;
+            System.arraycopy(body, 0, buffers, 1, body.length);
+            long remaining = head.remaining();
+            for (ByteBuffer segment : body) {
+                remaining += segment.remaining();
+            }
+            while (remaining > 0) {
+                long written = channel.write(buffers);
+                bytesWritten += written;
+                remaining -= written;
+            }
+        }
+
+        private String readLine() throws IOException {
+            StringBuilder line = new StringBuilder();
+            while (true) {
+                while (buffer.hasRemaining()) {
+                    byte b = buffer.get();
+                    if (b == '\n') {
+                        int length = line.length();
+                        if (length > 0 && line.charAt(length - 1) == '\r') {
+                            line.setLength(length - 1);
+                        }
+                        return line.toString();
+                    }
+                    line.append((char) (b & 0xFF));
+                }
+                if (!fill()) {
+                    throw new EOFException("Connection closed while reading response head");
+                }
+            }
+        }
+
+        private byte[] readFully(int length) throws IOException {
+            byte[] bytes = new byte[length];
+            int read = 0;
+            while (read < length) {
+                if (!buffer.hasRemaining() && !fill()) {
+                    throw new EOFException("Connection closed after " + read + " of " + length + " body bytes");
+                }
+                int chunk = Math.min(buffer.remaining(), length - read);
+                buffer.get(bytes, read, chunk);
+                read += chunk;
+            }
+            return bytes;
+        }
+
+        private byte[] readToEnd() throws IOException {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            do {
+                bytes.write(buffer.array(), buffer.position(), buffer.remaining());
+                buffer.position(buffer.limit());
+            } while (fill());
+            return bytes.toByteArray();
+        }
+
+        private boolean fill() throws IOException {
+            buffer.compact();
+            int read = in.read(buffer.array(), buffer.arrayOffset() + buffer.position(), buffer.remaining());
+            if (read > 0) {
+                buffer.position(buffer.position() + read);
+                bytesRead += read;
+            }
+            buffer.flip();
+            return read >= 0;
+        }
+
+        @Override
+        public void close() {
+            try {
+                channel.close();
+            } catch (IOException ignored) {
+                // nothing left to release
+            }
+        }
+
+    }
+
+}
@@ -0,0 +1,95 @@
+package com.example.todoapp.clients.transport;
+
+import com.example.todoapp.config.AppConfig;
+import com.example.todoapp.model.TodoItem;
+import io.restassured.RestAssured;
+import io.restassured.config.HttpClientConfig;
+import io.restassured.response.Response;
+import io.restassured.specification.RequestSpecification;
+import lombok.RequiredArgsConstructor;
+
+import java.io.InputStream;
+import java.util.List;
+
+/**
+ * Transport on top of RestAssured, the client the test suite has always used.
+ */
+@RequiredArgsConstructor
+public class RestAssuredTransport implements TodoTransport {
+
+    private final AppConfig appConfig;
+
+    public RequestSpecification baseRequest() {
+        HttpClientConfig httpClientConfig = RestAssured.config().getHttpClientConfig()
+                .setParam("http.connection.timeout", TransportSupport.timeoutMillis(appConfig.getConnectTimeout()))
+                .setParam("http.socket.timeout", TransportSupport.timeoutMillis(appConfig.getReadTimeout()));
+        return RestAssured.given()
+                .config(RestAssured.config().httpClient(httpClientConfig))
+                .baseUri(appConfig.getBaseUrl())
+                .contentType(appConfig.getContentType());
+    }
+
+    @Override
+    public TransportResponse execute(TransportRequest request) {
+        RequestSpecification specification = baseRequest();
+        if (!request.getQueryParams().isEmpty()) {
+            specification.queryParams(request.getQueryParams());
+        }
+        if (request.getBody() instanceof ByteBufferBody buffers) {
+            specification.body(buffers.toByteArray());
+        } else if (request.getBody() instanceof byte[] bytes) {
+            // body(Object) would serialize the array as a base64 JSON string
+            specification.body(bytes);
+        } else if (request.getBody() != null) {
+            specification.body(request.getBody());
+        }
+        if (!request.getHeaders().isEmpty()) {
+            specification.headers(request.getHeaders());
+        }
+        if (request.isAuthorized()) {
+            specification.auth()
+                    .preemptive()
+                    .basic(appConfig.getAdminUsername(), appConfig.getAdminPassword());
+        }
+        Response response = specification
+                .when()
+                .request(request.getMethod(), request.getPath());
+        return new RestAssuredTransportResponse(response);
+    }
+
+    @RequiredArgsConstructor
+    private static class RestAssuredTransportResponse implements TransportResponse {
+
+        private final Response response;
+
+        @Override
+        public int getStatusCode() {
+            return response.statusCode();
+        }
+
+        @Override
+        public String getHeader(String name) {
+            return response.header(name);
+        }
+
+        @Override
+        public List<TodoItem> getTodos() {
+            return response.then()
+                    .extract()
+                    .jsonPath()
+                    .getList(".", TodoItem.class);
+        }
+
+        @Override
+        public InputStream getBodyAsStream() {
+            return response.asInputStream();
+        }
+
+        @Override
+        public long getBodyLength() {
+            return response.asByteArray().length;
+        }
+
+    }
+
+}
@@ -0,0 +1,14 @@
+package com.example.todoapp.clients.transport;
+
+/**
+ * Sends a single HTTP exchange to the TodoApp API.
+ */
+public interface TodoTransport extends AutoCloseable {
+
+    TransportResponse execute(TransportRequest request);
+
+    @Override
+    default void close() {
+    }
+
+}
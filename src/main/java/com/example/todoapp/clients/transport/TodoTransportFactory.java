@@ -0,0 +1,30 @@
+package com.example.todoapp.clients.transport;
+
+import com.example.todoapp.config.AppConfig;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.net.http.HttpClient;
+
+/**
+ * Creates {@link TodoTransport}s for the configured TodoApp endpoint.
+ */
+@Component
+@RequiredArgsConstructor
+public class TodoTransportFactory {
+
+    private final AppConfig appConfig;
+    private final HttpClient httpClient;
+    private final ObjectMapper objectMapper;
+
+    public TodoTransport create(Transport transport) {
+        return switch (transport) {
+            case REST_ASSURED -> new RestAssuredTransport(appConfig);
+            case JDK -> new JdkHttpTransport(appConfig, httpClient, objectMapper);
+            case APACHE -> new ApacheHttpTransport(appConfig, objectMapper);
+            case NIO -> new NioHttpTransport(appConfig, objectMapper);
+        };
+    }
+
+}
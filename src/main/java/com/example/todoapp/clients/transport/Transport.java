@@ -0,0 +1,12 @@
+package com.example.todoapp.clients.transport;
+
+/**
+ * HTTP client implementations {@link com.example.todoapp.clients.TodoApiClient} can send requests with,
+ * selected by the {@code app.transport} property.
+ */
+public enum Transport {
+    REST_ASSURED,
+    JDK,
+    APACHE,
+    NIO
+}
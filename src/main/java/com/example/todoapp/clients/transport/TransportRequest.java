@@ -0,0 +1,76 @@
+package com.example.todoapp.clients.transport;
+
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Value;
+
+import java.net.URLEncoder;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * Transport-independent description of a TodoApp API request.
+ */
+@Value
+@AllArgsConstructor(access = AccessLevel.PRIVATE)
+public class TransportRequest {
+    String method;
+    String path;
+    Map<String, Object> queryParams;
+    /**
+     * An object serialized to JSON, or pre-serialized content as {@code byte[]} or {@link ByteBufferBody}.
+     */
+    Object body;
+    boolean authorized;
+    /**
+     * Extra request headers, e.g. conditional GET validators.
+     */
+    Map<String, String> headers;
+
+    public static TransportRequest get(String path, int offset, int limit) {
+        Map<String, Object> queryParams = new LinkedHashMap<>();
+        queryParams.put("offset", offset);
+        queryParams.put("limit", limit);
+        return new TransportRequest("GET", path, queryParams, null, false, Map.of());
+    }
+
+    public static TransportRequest post(String path, Object body) {
+        return new TransportRequest("POST", path, Map.of(), body, false, Map.of());
+    }
+
+    public static TransportRequest put(String path, Object body) {
+        return new TransportRequest("PUT", path, Map.of(), body, false, Map.of());
+    }
+
+    public static TransportRequest delete(String path, boolean authorized) {
+        return new TransportRequest("DELETE", path, Map.of(), null, authorized, Map.of());
+    }
+
+    /**
+     * Returns a copy of this request with an additional header.
+     */
+    public TransportRequest withHeader(String name, String value) {
+        Map<String, String> headers = new LinkedHashMap<>(this.headers);
+        headers.put(name, value);
+        return new TransportRequest(method, path, queryParams, body, authorized, Map.copyOf(headers));
+    }
+
+    /**
+     * Appends an encoded id segment to an endpoint path.
+     */
+    public static String pathWithId(String endpoint, Object id) {
+        return endpoint + "/" + URLEncoder.encode(String.valueOf(id), UTF_8).replace("+", "%20");
+    }
+
+    public String getPathAndQuery() {
+        if (queryParams.isEmpty()) {
+            return path;
+        }
+        return queryParams.entrySet().stream()
+                .map(param -> param.getKey() + "=" + URLEncoder.encode(String.valueOf(param.getValue()), UTF_8))
+                .collect(Collectors.joining("&", path + "?", ""));
+    }
+}
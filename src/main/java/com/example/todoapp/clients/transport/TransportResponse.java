@@ -0,0 +1,26 @@
+package com.example.todoapp.clients.transport;
+
+import com.example.todoapp.model.TodoItem;
+
+import java.io.InputStream;
+import java.util.List;
+
+/**
+ * Response of a {@link TodoTransport} exchange.
+ */
+public interface TransportResponse {
+
+    int getStatusCode();
+
+    String getHeader(String name);
+
+    List<TodoItem> getTodos();
+
+    InputStream getBodyAsStream();
+
+    /**
+     * Size of the response body in bytes.
+     */
+    long getBodyLength();
+
+}
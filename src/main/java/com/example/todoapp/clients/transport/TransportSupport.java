@@ -0,0 +1,51 @@
+package com.example.todoapp.clients.transport;
+
+import com.example.todoapp.config.AppConfig;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.util.Base64;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * Helpers shared by the transports that build requests themselves.
+ */
+final class TransportSupport {
+
+    private TransportSupport() {
+    }
+
+    static byte[] serialize(Object body, ObjectMapper objectMapper) {
+        if (body instanceof byte[] bytes) {
+            return bytes;
+        }
+        if (body instanceof ByteBufferBody buffers) {
+            return buffers.toByteArray();
+        }
+        try {
+            return objectMapper.writeValueAsBytes(body);
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException("Failed to serialize request body", e);
+        }
+    }
+
+    static boolean hasTimeout(Duration timeout) {
+        return timeout != null && timeout.compareTo(Duration.ZERO) > 0;
+    }
+
+    /**
+     * Returns the timeout in milliseconds as socket APIs take it, where zero means none.
+     */
+    static int timeoutMillis(Duration timeout) {
+        return hasTimeout(timeout) ? Math.toIntExact(Math.max(1, timeout.toMillis())) : 0;
+    }
+
+    static String basicAuthorization(AppConfig appConfig) {
+        String credentials = appConfig.getAdminUsername() + ":" + appConfig.getAdminPassword();
+        return "Basic " + Base64.getEncoder().encodeToString(credentials.getBytes(UTF_8));
+    }
+
+}
@@ -1,10 +1,13 @@
 package com.example.todoapp.config;
 
+import com.example.todoapp.clients.transport.Transport;
 import com.fasterxml.jackson.annotation.JsonInclude;
 import lombok.Data;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.context.annotation.Configuration;
 
+import java.time.Duration;
+
 @Data
 @Configuration
 @ConfigurationProperties(prefix = "app")
@@ -15,4 +18,14 @@ public class AppConfig {
     private String adminPassword;
     private String todosEndpoint;
     private String contentType;
+    private Transport transport;
+    private int maxConnections;
+    /**
+     * Longest wait for a connection to be established; none when unset or zero.
+     */
+    private Duration connectTimeout;
+    /**
+     * Longest wait for response data once a request was sent; none when unset or zero.
+     */
+    private Duration readTimeout;
 }
\ No newline at end of file
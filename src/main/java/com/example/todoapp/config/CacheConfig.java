@@ -0,0 +1,20 @@
+package com.example.todoapp.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * Settings of the todo page cache, bound from {@code cache.*} properties.
+ */
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "cache")
+public class CacheConfig {
+    private boolean enabled;
+    private int maxPages;
+    private Duration ttl;
+    private boolean conditional;
+}
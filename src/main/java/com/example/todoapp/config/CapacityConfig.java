@@ -0,0 +1,27 @@
+package com.example.todoapp.config;
+
+import com.example.todoapp.load.CapacityStrategy;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * Settings of the capacity finder, bound from {@code load.capacity.*} properties or CLI arguments.
+ */
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "load.capacity")
+public class CapacityConfig {
+    private boolean enabled;
+    private CapacityStrategy strategy;
+    private int startConcurrency;
+    private int maxConcurrency;
+    private double stepFactor;
+    private Duration stepDuration;
+    private Duration window;
+    private Duration duration;
+    private Duration sloP99;
+    private double sloErrorRate;
+}
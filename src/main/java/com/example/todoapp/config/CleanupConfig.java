@@ -0,0 +1,23 @@
+package com.example.todoapp.config;
+
+import com.example.todoapp.cleanup.CleanupStrategy;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * Settings of the bulk cleanup engine, bound from {@code cleanup.*} properties.
+ */
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "cleanup")
+public class CleanupConfig {
+    private CleanupStrategy strategy;
+    private int concurrency;
+    private double rate;
+    private int pageSize;
+    private int maxRetries;
+    private Duration retryBackoff;
+}
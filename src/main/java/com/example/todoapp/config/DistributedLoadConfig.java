@@ -0,0 +1,40 @@
+package com.example.todoapp.config;
+
+import com.example.todoapp.load.DistributedRole;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Settings of distributed load runs, bound from {@code load.distributed.*} properties or CLI arguments.
+ */
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "load.distributed")
+public class DistributedLoadConfig {
+    private DistributedRole role;
+    private int workers;
+    /**
+     * Whether the coordinator starts its workers as child JVMs instead of waiting for them to connect.
+     */
+    private boolean spawn;
+    /**
+     * Address the coordinator listens on and workers connect to.
+     */
+    private String host;
+    private int port;
+    private Duration connectTimeout;
+    /**
+     * Time between the last worker reporting ready and the common start, so every worker gets the start message in
+     * time.
+     */
+    private Duration startDelay;
+    /**
+     * Extra JVM options of spawned workers, e.g. {@code -Xmx2g}.
+     */
+    private List<String> jvmArgs = new ArrayList<>();
+}
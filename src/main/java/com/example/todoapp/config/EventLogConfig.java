@@ -0,0 +1,22 @@
+package com.example.todoapp.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.nio.file.Path;
+
+/**
+ * Settings of the binary request event log, bound from {@code events.*} properties.
+ */
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "events")
+public class EventLogConfig {
+    private boolean enabled;
+    private Path file;
+    /**
+     * Number of events the ring buffer holds before new ones are dropped; rounded up to a power of two.
+     */
+    private int ringSize;
+}
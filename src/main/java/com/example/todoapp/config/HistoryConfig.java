@@ -0,0 +1,33 @@
+package com.example.todoapp.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.nio.file.Path;
+import java.util.List;
+
+/**
+ * Settings of the run history store and its trend report, bound from {@code history.*} properties.
+ */
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "history")
+public class HistoryConfig {
+    private boolean enabled;
+    private Path dir;
+    private Path reportFile;
+    /**
+     * Commit recorded with each run; read from {@code git rev-parse} when empty.
+     */
+    private String commit;
+    /**
+     * Properties whose values identify the configuration of a run; runs are only compared with equally configured ones.
+     */
+    private List<String> configKeys;
+    /**
+     * Factor by which a metric must change against the median of the preceding runs to be reported as a step change.
+     */
+    private double changeRatio;
+    private int changeWindow;
+}
@@ -0,0 +1,27 @@
+package com.example.todoapp.config;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.net.http.HttpClient;
+import java.time.Duration;
+
+/**
+ * Shared JDK {@link HttpClient}. A single instance keeps one keep-alive connection pool for all callers. Connects are
+ * bounded by {@code app.connect-timeout}; each request sets {@code app.read-timeout} itself.
+ */
+@Configuration
+public class HttpClientConfig {
+
+    @Bean
+    public HttpClient httpClient(AppConfig appConfig) {
+        HttpClient.Builder builder = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1);
+        Duration connectTimeout = appConfig.getConnectTimeout();
+        if (connectTimeout != null && connectTimeout.compareTo(Duration.ZERO) > 0) {
+            builder.connectTimeout(connectTimeout);
+        }
+        return builder.build();
+    }
+
+}
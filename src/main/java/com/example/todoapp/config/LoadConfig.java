@@ -0,0 +1,29 @@
+package com.example.todoapp.config;
+
+import com.example.todoapp.clients.transport.Transport;
+import com.example.todoapp.load.LoadMode;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Settings of the headless load engine, bound from {@code load.*} properties or CLI arguments.
+ */
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "load")
+public class LoadConfig {
+    private boolean enabled;
+    private LoadMode mode;
+    private int users;
+    private int rate;
+    private Duration duration;
+    private int maxInFlight;
+    private boolean virtualThreads;
+    private int pageLimit;
+    private String reportDir;
+    private List<Transport> compareTransports;
+}
@@ -0,0 +1,32 @@
+package com.example.todoapp.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.List;
+
+/**
+ * Settings of the pagination cost suite, bound from {@code perf.pagination.*} properties.
+ */
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "perf.pagination")
+public class PaginationCostConfig {
+    private List<Integer> datasetSizes;
+    private List<Integer> limits;
+    private int offsetPoints;
+    private int repetitions;
+    private int warmupRequests;
+    private int seedMaxInFlight;
+    /**
+     * Highest log-log slope of latency over offset that still counts as offset-independent.
+     */
+    private double maxOffsetSlope;
+    /**
+     * Lowest ratio of deepest-page to first-page latency at which a steep slope is flagged, so noise on flat
+     * curves is not.
+     */
+    private double minDeepToShallowRatio;
+    private String reportDir;
+}
@@ -0,0 +1,29 @@
+package com.example.todoapp.config;
+
+import com.example.todoapp.perf.PayloadBodySource;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.List;
+
+/**
+ * Settings of the payload size sweep, bound from {@code perf.payload.*} properties.
+ */
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "perf.payload")
+public class PayloadSizeConfig {
+    /**
+     * Text sizes in bytes.
+     */
+    private List<Integer> sizes;
+    private int repetitions;
+    private int warmupRequests;
+    private PayloadBodySource bodySource;
+    /**
+     * Share of the best upload rate of the smaller sizes below which a size counts as degraded.
+     */
+    private double degradationRatio;
+    private String reportDir;
+}
@@ -0,0 +1,31 @@
+package com.example.todoapp.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * Settings of the performance regression gate, bound from {@code perf.regression.*} properties.
+ */
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "perf.regression")
+public class RegressionGateConfig {
+    private int users;
+    private int trials;
+    private Duration trialDuration;
+    private String baselineFile;
+    /**
+     * Stores the measured trials as the new baseline instead of comparing against it.
+     */
+    private boolean updateBaseline;
+    private int resamples;
+    private double confidence;
+    /**
+     * Relative change a metric must exceed across its whole confidence interval to count as a regression.
+     */
+    private double tolerance;
+    private String reportDir;
+}
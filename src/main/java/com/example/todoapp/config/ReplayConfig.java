@@ -0,0 +1,33 @@
+package com.example.todoapp.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.nio.file.Path;
+
+/**
+ * Settings of traffic recording and replay, bound from {@code replay.*} properties.
+ */
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "replay")
+public class ReplayConfig {
+    /**
+     * File the API client records its requests to; recording is off when unset.
+     */
+    private Path recordFile;
+    /**
+     * Number of recorded exchanges queued for the file before new ones are dropped and counted.
+     */
+    private int recordQueueSize;
+    /**
+     * Recording to replay on startup.
+     */
+    private Path file;
+    /**
+     * Replay speed relative to the recording, e.g. 2 for twice as fast; 0 replays as fast as possible.
+     */
+    private double speed;
+    private String reportDir;
+}
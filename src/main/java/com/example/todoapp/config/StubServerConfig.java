@@ -0,0 +1,22 @@
+package com.example.todoapp.config;
+
+import com.example.todoapp.stub.StubTodoServer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Starts the in-process {@link StubTodoServer} when {@code stub.enabled=true}, so tests and load runs need no
+ * {@code todo-app} container. {@code stub.port} should match the port of {@code app.base-url}.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "stub", name = "enabled", havingValue = "true")
+public class StubServerConfig {
+
+    @Bean(destroyMethod = "release")
+    public StubTodoServer stubTodoServer(AppConfig appConfig, @Value("${stub.port}") int port) {
+        return StubTodoServer.acquire(port, appConfig.getTodosEndpoint(), appConfig.getAdminUsername(), appConfig.getAdminPassword());
+    }
+
+}
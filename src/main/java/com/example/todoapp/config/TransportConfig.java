@@ -0,0 +1,19 @@
+package com.example.todoapp.config;
+
+import com.example.todoapp.clients.transport.TodoTransport;
+import com.example.todoapp.clients.transport.TodoTransportFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Provides the {@link TodoTransport} selected by {@code app.transport}.
+ */
+@Configuration
+public class TransportConfig {
+
+    @Bean(destroyMethod = "close")
+    public TodoTransport todoTransport(TodoTransportFactory todoTransportFactory, AppConfig appConfig) {
+        return todoTransportFactory.create(appConfig.getTransport());
+    }
+
+}
@@ -0,0 +1,31 @@
+package com.example.todoapp.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * Settings of the warm-up phase that precedes measured load runs, bound from {@code load.warmup.*} properties.
+ */
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "load.warmup")
+public class WarmupConfig {
+    private boolean enabled;
+    private Duration window;
+    /**
+     * Consecutive windows after the last large change whose throughput and median iteration time must agree for a
+     * steady state.
+     */
+    private int stableWindows;
+    /**
+     * Largest spread of a metric across the stable windows, relative to its mean.
+     */
+    private double tolerance;
+    /**
+     * Measurement starts after this long even if no steady state was detected.
+     */
+    private Duration maxDuration;
+}
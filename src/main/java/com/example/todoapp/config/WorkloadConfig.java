@@ -0,0 +1,36 @@
+package com.example.todoapp.config;
+
+import com.example.todoapp.load.WorkloadOperation;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Operation mix of the load engine, bound from {@code load.workload.*} properties, e.g. from a YAML file passed with
+ * {@code --spring.config.import=file:workload.yml}. Distributions are given as {@code fixed:N}, {@code uniform:MIN..MAX},
+ * {@code exponential:MEAN} or {@code normal:MEAN,STDDEV}.
+ */
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "load.workload")
+public class WorkloadConfig {
+    private boolean enabled;
+    /**
+     * Relative weights of the operations; an empty map means the default CRUD mix.
+     */
+    private Map<WorkloadOperation, Double> weights = new EnumMap<>(WorkloadOperation.class);
+    /**
+     * Optional Markov chain: weights of the next operation after each operation, used instead of {@link #weights}.
+     */
+    private Map<WorkloadOperation, Map<WorkloadOperation, Double>> transitions = new EnumMap<>(WorkloadOperation.class);
+    private String offset;
+    private String limit;
+    private String thinkTimeMillis;
+    /**
+     * Todos created before the run, so updates and deletes have targets from the start.
+     */
+    private int initialTodos;
+}
@@ -0,0 +1,89 @@
+package com.example.todoapp.data;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Collision-free source of todo ids that keeps no record of the ids it issued.
+ * <p>
+ * Each thread claims blocks of a shared sequence and counts through them locally, so the hot path is a thread-local
+ * increment. The counter is passed through a keyed Feistel permutation of {@code [0, 2^52)}, which is a bijection and
+ * therefore never repeats, while spreading consecutive ids over the whole range. Ids stay below {@code 2^53} so that
+ * JSON parsers reading numbers as doubles keep them exact.
+ */
+public class TodoIdGenerator {
+
+    private static final int HALF_BITS = 26;
+    private static final long HALF_MASK = (1L << HALF_BITS) - 1;
+    /**
+     * Number of distinct ids a generator can issue.
+     */
+    public static final long CAPACITY = 1L << (2 * HALF_BITS);
+    private static final int ROUNDS = 4;
+    private static final int BLOCK_SIZE = 4096;
+
+    private final long[] roundKeys = new long[ROUNDS];
+    private final AtomicLong nextBlock;
+    private final int partitions;
+    /**
+     * Next counter value and end of the block claimed by the current thread.
+     */
+    private final ThreadLocal<long[]> block = ThreadLocal.withInitial(() -> new long[2]);
+
+    /**
+     * Generators with different keys issue the same ids in different orders.
+     */
+    public TodoIdGenerator(long key) {
+        this(key, 0, 1);
+    }
+
+    /**
+     * Generators with the same key but different partitions out of the same number never issue the same id, so
+     * separate processes can share the id space. Each one claims every {@code partitions}-th block of the sequence.
+     */
+    public TodoIdGenerator(long key, int partition, int partitions) {
+        if (partitions < 1 || partition < 0 || partition >= partitions) {
+            throw new IllegalArgumentException("Partition " + partition + " of " + partitions + " does not exist");
+        }
+        this.nextBlock = new AtomicLong(partition);
+        this.partitions = partitions;
+        long state = key;
+        for (int round = 0; round < ROUNDS; round++) {
+            state += 0x9E3779B97F4A7C15L;
+            roundKeys[round] = mix(state);
+        }
+    }
+
+    /**
+     * Returns an id in {@code [1, CAPACITY]} that this generator has not returned before.
+     */
+    public long nextId() {
+        long[] range = block.get();
+        if (range[0] == range[1]) {
+            long start = nextBlock.getAndAdd(partitions) * BLOCK_SIZE;
+            if (start >= CAPACITY) {
+                throw new IllegalStateException("All " + CAPACITY + " ids have been issued");
+            }
+            range[0] = start;
+            range[1] = start + BLOCK_SIZE;
+        }
+        return permute(range[0]++) + 1;
+    }
+
+    long permute(long value) {
+        long left = value >>> HALF_BITS;
+        long right = value & HALF_MASK;
+        for (long roundKey : roundKeys) {
+            long next = left ^ (mix(right ^ roundKey) & HALF_MASK);
+            left = right;
+            right = next;
+        }
+        return (left << HALF_BITS) | right;
+    }
+
+    private static long mix(long value) {
+        value = (value ^ (value >>> 30)) * 0xBF58476D1CE4E5B9L;
+        value = (value ^ (value >>> 27)) * 0x94D049BB133111EBL;
+        return value ^ (value >>> 31);
+    }
+
+}
@@ -0,0 +1,111 @@
+package com.example.todoapp.data;
+
+import com.example.todoapp.model.TodoItem;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.UncheckedIOException;
+import java.util.Arrays;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * Pre-serialized JSON body of a todo whose text is a fixed prefix followed by its id.
+ * <p>
+ * Only the id digits vary between todos, so {@link #body(long)} costs one exactly sized array and a few copies, and
+ * {@link #writeBody(long, byte[], int)} renders into a caller-owned buffer without allocating at all. The bytes match
+ * what Jackson writes for the equivalent {@link TodoItem}.
+ */
+public class TodoPayloadTemplate {
+
+    private static final int MAX_ID_DIGITS = 20;
+    private static final byte[] ID_FIELD = "{\"id\":".getBytes(UTF_8);
+
+    private final String textPrefix;
+    private final boolean completed;
+    private final byte[] textField;
+    private final byte[] completedField;
+
+    public TodoPayloadTemplate(String textPrefix, boolean completed) {
+        this.textPrefix = textPrefix;
+        this.completed = completed;
+        this.textField = concat(",\"text\":".getBytes(UTF_8), jsonStringWithoutClosingQuote(textPrefix));
+        this.completedField = ("\",\"completed\":" + completed + "}").getBytes(UTF_8);
+    }
+
+    public TodoItem item(long id) {
+        return new TodoItem(id, textPrefix + id, completed);
+    }
+
+    public byte[] body(long id) {
+        int digits = digits(id);
+        byte[] body = new byte[ID_FIELD.length + textField.length + completedField.length + 2 * digits];
+        write(id, digits, body, 0);
+        return body;
+    }
+
+    /**
+     * Writes the body of the todo with the given id into {@code target} and returns its length.
+     */
+    public int writeBody(long id, byte[] target, int offset) {
+        return write(id, digits(id), target, offset) - offset;
+    }
+
+    /**
+     * Upper bound of the body length, for sizing buffers passed to {@link #writeBody(long, byte[], int)}.
+     */
+    public int maxBodyLength() {
+        return ID_FIELD.length + textField.length + completedField.length + 2 * MAX_ID_DIGITS;
+    }
+
+    private int write(long id, int digits, byte[] target, int position) {
+        position = copy(ID_FIELD, target, position);
+        position = writeDigits(id, digits, target, position);
+        position = copy(textField, target, position);
+        position = writeDigits(id, digits, target, position);
+        return copy(completedField, target, position);
+    }
+
+    private static int writeDigits(long value, int digits, byte[] target, int position) {
+        if (value < 0) {
+            target[position] = '-';
+        }
+        int end = position + digits;
+        int index = end;
+        do {
+            target[--index] = (byte) ('0' + Math.abs(value % 10));
+            value /= 10;
+        } while (value != 0);
+        return end;
+    }
+
+    private static int digits(long value) {
+        int digits = value < 0 ? 2 : 1;
+        while ((value /= 10) != 0) {
+            digits++;
+        }
+        return digits;
+    }
+
+    private static int copy(byte[] source, byte[] target, int position) {
+        System.arraycopy(source, 0, target, position, source.length);
+        return position + source.length;
+    }
+
+    private static byte[] jsonStringWithoutClosingQuote(String text) {
+        try {
+            byte[] json = new ObjectMapper().writeValueAsBytes(text);
+            return Arrays.copyOf(json, json.length - 1);
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException("Failed to serialize todo text", e);
+        }
+    }
+
+    private static byte[] concat(byte[] first, byte[] second) {
+        byte[] result = new byte[first.length + second.length];
+        System.arraycopy(first, 0, result, 0, first.length);
+        System.arraycopy(second, 0, result, first.length, second.length);
+        return result;
+    }
+
+}
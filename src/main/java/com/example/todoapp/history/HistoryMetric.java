@@ -0,0 +1,20 @@
+package com.example.todoapp.history;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Per-operation figure kept for every run in the {@link RunHistoryStore}.
+ */
+@Getter
+@RequiredArgsConstructor
+public enum HistoryMetric {
+    THROUGHPUT("requests/s", true),
+    P50("ms", false),
+    P99("ms", false),
+    P999("ms", false),
+    MAX("ms", false);
+
+    private final String unit;
+    private final boolean higherBetter;
+}
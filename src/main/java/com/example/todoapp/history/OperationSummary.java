@@ -0,0 +1,20 @@
+package com.example.todoapp.history;
+
+import lombok.Value;
+
+import java.util.Map;
+
+/**
+ * Call count, errors and {@link HistoryMetric} values of one operation in one run.
+ */
+@Value
+public class OperationSummary {
+    String operation;
+    long count;
+    long errors;
+    Map<HistoryMetric, Double> metrics;
+
+    public double get(HistoryMetric metric) {
+        return metrics.getOrDefault(metric, 0.0);
+    }
+}
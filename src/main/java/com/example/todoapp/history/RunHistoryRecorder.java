@@ -0,0 +1,137 @@
+package com.example.todoapp.history;
+
+import com.example.todoapp.config.HistoryConfig;
+import com.example.todoapp.metrics.LatencyRecorder;
+import com.example.todoapp.metrics.LatencySnapshot;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Appends the summary of a finished run to the {@link RunHistoryStore} in {@code history.dir} and regenerates the
+ * trend report.
+ * <p>
+ * The load, distributed load, replay and regression runners record their own runs; a test suite records everything
+ * the shared {@link LatencyRecorder} saw since the application context started. When the run writes Allure results,
+ * an {@code executor.json} linking the trend report is added to them unless one exists already.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class RunHistoryRecorder {
+
+    static final String EXECUTOR_FILE = "executor.json";
+    static final String ALLURE_RESULTS_PROPERTY = "allure.results.directory";
+
+    private static final String UNKNOWN_COMMIT = "unknown";
+    private static final long GIT_TIMEOUT_SECONDS = 5;
+
+    private final HistoryConfig historyConfig;
+    private final LatencyRecorder latencyRecorder;
+    private final Environment environment;
+    private final ObjectMapper objectMapper;
+    private final Instant contextStart = Instant.now();
+    private volatile boolean recorded;
+    private String commit;
+
+    public void record(String kind, Duration elapsed, LatencySnapshot latency) {
+        recorded = true;
+        if (!historyConfig.isEnabled()) {
+            return;
+        }
+        RunSummary run = RunSummary.of(kind, commit(), config(), Instant.now().minus(elapsed), elapsed, latency);
+        if (run.getOperations().isEmpty()) {
+            return;
+        }
+        RunHistoryStore.append(historyConfig.getDir(), run);
+        TrendReport.write(RunHistoryStore.read(historyConfig.getDir()), historyConfig.getReportFile(),
+                historyConfig.getChangeRatio(), historyConfig.getChangeWindow());
+        linkFromAllure();
+        log.info("Run of {} appended to {}, trend report at {}", kind, historyConfig.getDir(),
+                historyConfig.getReportFile().toAbsolutePath());
+    }
+
+    /**
+     * Records everything the shared latency recorder saw since the context started, unless a runner already
+     * recorded a run in this context.
+     */
+    public void recordSession(String kind) {
+        if (!recorded) {
+            record(kind, Duration.between(contextStart, Instant.now()), latencyRecorder.snapshot());
+        }
+    }
+
+    private synchronized String commit() {
+        if (commit == null) {
+            commit = StringUtils.hasText(historyConfig.getCommit()) ? historyConfig.getCommit() : gitCommit();
+        }
+        return commit;
+    }
+
+    private String config() {
+        return historyConfig.getConfigKeys().stream()
+                .map(key -> key + "=" + environment.getProperty(key, ""))
+                .collect(Collectors.joining(" "));
+    }
+
+    private void linkFromAllure() {
+        String resultsDir = System.getProperty(ALLURE_RESULTS_PROPERTY);
+        if (resultsDir == null) {
+            return;
+        }
+        Path executorFile = Path.of(resultsDir).resolve(EXECUTOR_FILE);
+        if (Files.exists(executorFile)) {
+            return;
+        }
+        Map<String, String> executor = new LinkedHashMap<>();
+        executor.put("name", environment.getProperty("spring.application.name", "todo-app-testing"));
+        executor.put("type", "maven");
+        executor.put("buildName", commit());
+        executor.put("reportName", "Performance trend");
+        executor.put("reportUrl", historyConfig.getReportFile().toAbsolutePath().toUri().toString());
+        try {
+            Files.createDirectories(executorFile.getParent());
+            Files.writeString(executorFile, objectMapper.writeValueAsString(executor));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to write " + executorFile, e);
+        }
+    }
+
+    private static String gitCommit() {
+        try {
+            Process git = new ProcessBuilder("git", "rev-parse", "--short=12", "HEAD")
+                    .redirectError(ProcessBuilder.Redirect.DISCARD).start();
+            if (!git.waitFor(GIT_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+                git.destroyForcibly();
+                log.debug("git rev-parse did not finish within {} s", GIT_TIMEOUT_SECONDS);
+                return UNKNOWN_COMMIT;
+            }
+            // A commit hash fits the pipe buffer, so reading after the exit cannot block
+            String output = new String(git.getInputStream().readAllBytes(), StandardCharsets.UTF_8).trim();
+            if (git.exitValue() == 0 && !output.isEmpty()) {
+                return output;
+            }
+        } catch (IOException e) {
+            log.debug("Failed to read the git commit: {}", e.getMessage());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return UNKNOWN_COMMIT;
+    }
+
+}
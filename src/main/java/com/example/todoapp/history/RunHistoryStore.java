@@ -0,0 +1,187 @@
+package com.example.todoapp.history;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Append-only, columnar store of {@link RunSummary run summaries}, one row per operation of a run.
+ * <p>
+ * Every column is a file of little-endian fixed-width values, so reading a metric for thousands of runs maps one
+ * contiguous file and skips all others. Strings (kind, commit, config and operation) are stored as {@code int} codes
+ * into a per-column dictionary file with one entry per line, so repeating them costs four bytes per row. Appends are
+ * serialized by a file lock, so several JVMs may share a store. A run is appended column by column; readers use the
+ * length of the shortest column, and the next append truncates any column a crashed writer left longer.
+ */
+public final class RunHistoryStore {
+
+    static final String LOCK_FILE = "history.lock";
+    private static final String DICTIONARY_SUFFIX = ".dict";
+
+    private RunHistoryStore() {
+    }
+
+    @Getter
+    @RequiredArgsConstructor
+    enum Column {
+        START("start-epoch-ms.i64", Long.BYTES, false),
+        ELAPSED("elapsed-ms.i64", Long.BYTES, false),
+        KIND("kind.i32", Integer.BYTES, true),
+        COMMIT("commit.i32", Integer.BYTES, true),
+        CONFIG("config.i32", Integer.BYTES, true),
+        OPERATION("operation.i32", Integer.BYTES, true),
+        COUNT("count.i64", Long.BYTES, false),
+        ERRORS("errors.i64", Long.BYTES, false),
+        THROUGHPUT("throughput.f64", Double.BYTES, false),
+        P50("p50-ms.f64", Double.BYTES, false),
+        P99("p99-ms.f64", Double.BYTES, false),
+        P999("p999-ms.f64", Double.BYTES, false),
+        MAX("max-ms.f64", Double.BYTES, false);
+
+        private final String fileName;
+        private final int width;
+        private final boolean dictionary;
+
+        Path file(Path dir) {
+            return dir.resolve(fileName);
+        }
+
+        Path dictionaryFile(Path dir) {
+            return dir.resolve(fileName.substring(0, fileName.indexOf('.')) + DICTIONARY_SUFFIX);
+        }
+
+        static Column of(HistoryMetric metric) {
+            return valueOf(metric.name());
+        }
+    }
+
+    public static void append(Path dir, RunSummary run) {
+        if (run.getOperations().isEmpty()) {
+            return;
+        }
+        // A file lock is held per JVM, so threads of the same JVM queue up here first
+        synchronized (RunHistoryStore.class) {
+            try {
+                Files.createDirectories(dir);
+                try (FileChannel lockChannel = FileChannel.open(dir.resolve(LOCK_FILE), StandardOpenOption.CREATE,
+                        StandardOpenOption.WRITE);
+                     FileLock ignored = lockChannel.lock()) {
+                    long rows = rowCount(dir);
+                    Map<Column, ByteBuffer> columns = encode(dir, run);
+                    for (Map.Entry<Column, ByteBuffer> column : columns.entrySet()) {
+                        try (FileChannel channel = FileChannel.open(column.getKey().file(dir), StandardOpenOption.CREATE,
+                                StandardOpenOption.WRITE)) {
+                            channel.truncate(rows * column.getKey().getWidth());
+                            channel.position(rows * column.getKey().getWidth());
+                            ByteBuffer values = column.getValue().flip();
+                            while (values.hasRemaining()) {
+                                channel.write(values);
+                            }
+                        }
+                    }
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException("Failed to append run to history " + dir, e);
+            }
+        }
+    }
+
+    /**
+     * Reads every complete row; a missing store reads as empty.
+     */
+    public static RunHistoryTable read(Path dir) {
+        try {
+            int rows = (int) rowCount(dir);
+            Map<Column, ByteBuffer> columns = new EnumMap<>(Column.class);
+            Map<Column, List<String>> dictionaries = new EnumMap<>(Column.class);
+            for (Column column : Column.values()) {
+                columns.put(column, map(column.file(dir), (long) rows * column.getWidth()));
+                if (column.isDictionary()) {
+                    dictionaries.put(column, readDictionary(column.dictionaryFile(dir)));
+                }
+            }
+            return new RunHistoryTable(rows, columns, dictionaries);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read history " + dir, e);
+        }
+    }
+
+    private static Map<Column, ByteBuffer> encode(Path dir, RunSummary run) throws IOException {
+        int rows = run.getOperations().size();
+        Map<Column, ByteBuffer> columns = new EnumMap<>(Column.class);
+        for (Column column : Column.values()) {
+            columns.put(column, ByteBuffer.allocate(rows * column.getWidth()).order(ByteOrder.LITTLE_ENDIAN));
+        }
+        int kind = code(dir, Column.KIND, run.getKind());
+        int commit = code(dir, Column.COMMIT, run.getCommit());
+        int config = code(dir, Column.CONFIG, run.getConfig());
+        for (OperationSummary operation : run.getOperations()) {
+            columns.get(Column.START).putLong(run.getStartTime().toEpochMilli());
+            columns.get(Column.ELAPSED).putLong(run.getElapsed().toMillis());
+            columns.get(Column.KIND).putInt(kind);
+            columns.get(Column.COMMIT).putInt(commit);
+            columns.get(Column.CONFIG).putInt(config);
+            columns.get(Column.OPERATION).putInt(code(dir, Column.OPERATION, operation.getOperation()));
+            columns.get(Column.COUNT).putLong(operation.getCount());
+            columns.get(Column.ERRORS).putLong(operation.getErrors());
+            for (HistoryMetric metric : HistoryMetric.values()) {
+                columns.get(Column.of(metric)).putDouble(operation.get(metric));
+            }
+        }
+        return columns;
+    }
+
+    /**
+     * Returns the dictionary code of a value, appending it to the dictionary when new.
+     */
+    private static int code(Path dir, Column column, String value) throws IOException {
+        String entry = value == null ? "" : value.replace('\n', ' ').replace('\r', ' ');
+        Path file = column.dictionaryFile(dir);
+        List<String> dictionary = readDictionary(file);
+        int code = dictionary.indexOf(entry);
+        if (code >= 0) {
+            return code;
+        }
+        Files.writeString(file, entry + "\n", StandardCharsets.UTF_8, StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+        return dictionary.size();
+    }
+
+    private static List<String> readDictionary(Path file) throws IOException {
+        return Files.exists(file) ? new ArrayList<>(Files.readAllLines(file, StandardCharsets.UTF_8)) : new ArrayList<>();
+    }
+
+    private static long rowCount(Path dir) throws IOException {
+        long rows = Long.MAX_VALUE;
+        for (Column column : Column.values()) {
+            Path file = column.file(dir);
+            rows = Math.min(rows, Files.exists(file) ? Files.size(file) / column.getWidth() : 0);
+        }
+        return rows;
+    }
+
+    private static ByteBuffer map(Path file, long bytes) throws IOException {
+        if (bytes == 0) {
+            return ByteBuffer.allocate(0).order(ByteOrder.LITTLE_ENDIAN);
+        }
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            MappedByteBuffer mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, bytes);
+            return mapped.order(ByteOrder.LITTLE_ENDIAN);
+        }
+    }
+
+}
@@ -0,0 +1,76 @@
+package com.example.todoapp.history;
+
+import com.example.todoapp.history.RunHistoryStore.Column;
+
+import java.nio.ByteBuffer;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Rows of a {@link RunHistoryStore}, read column by column from the mapped column files.
+ */
+public class RunHistoryTable {
+
+    private final int size;
+    private final Map<Column, ByteBuffer> columns;
+    private final Map<Column, List<String>> dictionaries;
+
+    RunHistoryTable(int size, Map<Column, ByteBuffer> columns, Map<Column, List<String>> dictionaries) {
+        this.size = size;
+        this.columns = columns;
+        this.dictionaries = dictionaries;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public Instant getStartTime(int row) {
+        return Instant.ofEpochMilli(getLong(Column.START, row));
+    }
+
+    public long getElapsedMillis(int row) {
+        return getLong(Column.ELAPSED, row);
+    }
+
+    public String getKind(int row) {
+        return getString(Column.KIND, row);
+    }
+
+    public String getCommit(int row) {
+        return getString(Column.COMMIT, row);
+    }
+
+    public String getConfig(int row) {
+        return getString(Column.CONFIG, row);
+    }
+
+    public String getOperation(int row) {
+        return getString(Column.OPERATION, row);
+    }
+
+    public long getCount(int row) {
+        return getLong(Column.COUNT, row);
+    }
+
+    public long getErrors(int row) {
+        return getLong(Column.ERRORS, row);
+    }
+
+    public double get(HistoryMetric metric, int row) {
+        Column column = Column.of(metric);
+        return columns.get(column).getDouble(row * column.getWidth());
+    }
+
+    private long getLong(Column column, int row) {
+        return columns.get(column).getLong(row * column.getWidth());
+    }
+
+    private String getString(Column column, int row) {
+        int code = columns.get(column).getInt(row * column.getWidth());
+        List<String> dictionary = dictionaries.get(column);
+        return code < dictionary.size() ? dictionary.get(code) : "";
+    }
+
+}
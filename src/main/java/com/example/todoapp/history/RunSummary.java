@@ -0,0 +1,56 @@
+package com.example.todoapp.history;
+
+import com.example.todoapp.metrics.LatencySnapshot;
+import com.example.todoapp.metrics.TodoOperation;
+import lombok.Value;
+import org.HdrHistogram.Histogram;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Performance summary of one run as appended to the {@link RunHistoryStore}.
+ */
+@Value
+public class RunSummary {
+
+    private static final double MICROS_PER_MILLI = 1000.0;
+
+    Instant startTime;
+    Duration elapsed;
+    /**
+     * What produced the run, e.g. {@code load}, {@code replay} or {@code tests}.
+     */
+    String kind;
+    String commit;
+    String config;
+    List<OperationSummary> operations;
+
+    /**
+     * Summarizes every operation that was called at least once.
+     */
+    public static RunSummary of(String kind, String commit, String config, Instant startTime, Duration elapsed,
+                                LatencySnapshot latency) {
+        double seconds = Math.max(elapsed.toNanos(), 1) / 1e9;
+        List<OperationSummary> operations = new ArrayList<>();
+        for (TodoOperation operation : TodoOperation.values()) {
+            Histogram histogram = latency.getHistogram(operation);
+            if (histogram == null || histogram.getTotalCount() == 0) {
+                continue;
+            }
+            Map<HistoryMetric, Double> metrics = new EnumMap<>(HistoryMetric.class);
+            metrics.put(HistoryMetric.THROUGHPUT, histogram.getTotalCount() / seconds);
+            metrics.put(HistoryMetric.P50, histogram.getValueAtPercentile(50) / MICROS_PER_MILLI);
+            metrics.put(HistoryMetric.P99, histogram.getValueAtPercentile(99) / MICROS_PER_MILLI);
+            metrics.put(HistoryMetric.P999, histogram.getValueAtPercentile(99.9) / MICROS_PER_MILLI);
+            metrics.put(HistoryMetric.MAX, histogram.getMaxValue() / MICROS_PER_MILLI);
+            operations.add(new OperationSummary(operation.name(), histogram.getTotalCount(),
+                    latency.getErrors(operation), metrics));
+        }
+        return new RunSummary(startTime, elapsed, kind, commit, config, operations);
+    }
+}
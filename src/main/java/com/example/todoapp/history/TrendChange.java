@@ -0,0 +1,32 @@
+package com.example.todoapp.history;
+
+import lombok.Value;
+
+import java.time.Instant;
+
+/**
+ * Run at which a metric of an operation first moved by the change ratio against the runs before it.
+ */
+@Value
+public class TrendChange {
+    Instant startTime;
+    String commit;
+    String previousCommit;
+    String kind;
+    String config;
+    String operation;
+    HistoryMetric metric;
+    /**
+     * Median of the preceding runs of the same kind, configuration and operation.
+     */
+    double before;
+    double after;
+
+    public double getRatio() {
+        return before == 0 ? 0 : after / before;
+    }
+
+    public boolean isRegression() {
+        return metric.isHigherBetter() ? after < before : after > before;
+    }
+}
@@ -0,0 +1,212 @@
+package com.example.todoapp.history;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Renders a {@link RunHistoryTable} as a static HTML page: step changes first, then p50 and p99 charts per operation
+ * for every kind and configuration of run.
+ * <p>
+ * A step change is a run whose value of a metric is at least {@code ratio} times the median of up to {@code window}
+ * preceding runs of the same kind, configuration and operation, or at most its inverse. Only the first run of a
+ * step is reported, so the table answers "when did create p99 double?" with one row.
+ * <p>
+ * Run {@code java -cp <classpath> com.example.todoapp.history.TrendReport <history dir> [html file]} to regenerate
+ * the page; step changes are also printed.
+ */
+public final class TrendReport {
+
+    public static final String DEFAULT_FILE = "trend.html";
+    public static final double DEFAULT_RATIO = 2;
+    public static final int DEFAULT_WINDOW = 5;
+
+    private static final HistoryMetric[] CHANGE_METRICS = {HistoryMetric.THROUGHPUT, HistoryMetric.P50, HistoryMetric.P99};
+    private static final HistoryMetric[] CHART_METRICS = {HistoryMetric.P50, HistoryMetric.P99};
+    private static final String[] COLORS = {"#1f77b4", "#d62728"};
+    private static final DateTimeFormatter TIME = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss").withZone(ZoneOffset.UTC);
+    private static final int WIDTH = 640;
+    private static final int HEIGHT = 240;
+    private static final int MARGIN = 40;
+
+    private TrendReport() {
+    }
+
+    public static void main(String[] args) {
+        if (args.length < 1 || args.length > 2) {
+            System.err.println("Usage: TrendReport <history dir> [html file]");
+            System.exit(2);
+        }
+        RunHistoryTable table = RunHistoryStore.read(Path.of(args[0]));
+        Path file = args.length == 2 ? Path.of(args[1]) : Path.of(args[0]).resolve(DEFAULT_FILE);
+        write(table, file, DEFAULT_RATIO, DEFAULT_WINDOW);
+        System.out.printf("%d rows written to %s%n", table.size(), file);
+        changes(table, DEFAULT_RATIO, DEFAULT_WINDOW).forEach(change -> System.out.printf(Locale.ROOT,
+                "%s %s %s %s %s: %.3f -> %.3f %s (%.2fx)%n", TIME.format(change.getStartTime()), change.getCommit(),
+                change.getKind(), change.getOperation(), change.getMetric(), change.getBefore(), change.getAfter(),
+                change.getMetric().getUnit(), change.getRatio()));
+    }
+
+    public static void write(RunHistoryTable table, Path file, double ratio, int window) {
+        try {
+            Path parent = file.toAbsolutePath().getParent();
+            Files.createDirectories(parent);
+            Files.writeString(file, html(table, ratio, window));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to write trend report to " + file, e);
+        }
+    }
+
+    /**
+     * Finds the first run of every step change, newest first.
+     */
+    public static List<TrendChange> changes(RunHistoryTable table, double ratio, int window) {
+        List<TrendChange> changes = new ArrayList<>();
+        for (Map.Entry<String, List<Integer>> series : series(table).entrySet()) {
+            List<Integer> rows = series.getValue();
+            for (HistoryMetric metric : CHANGE_METRICS) {
+                boolean previousChanged = false;
+                for (int i = 1; i < rows.size(); i++) {
+                    double before = median(table, metric, rows.subList(Math.max(0, i - window), i));
+                    double after = table.get(metric, rows.get(i));
+                    boolean changed = before > 0 && (after >= before * ratio || after <= before / ratio);
+                    if (changed && !previousChanged) {
+                        int row = rows.get(i);
+                        changes.add(new TrendChange(table.getStartTime(row), table.getCommit(row),
+                                table.getCommit(rows.get(i - 1)), table.getKind(row), table.getConfig(row),
+                                table.getOperation(row), metric, before, after));
+                    }
+                    previousChanged = changed;
+                }
+            }
+        }
+        changes.sort(Comparator.comparing(TrendChange::getStartTime).reversed());
+        return changes;
+    }
+
+    public static String html(RunHistoryTable table, double ratio, int window) {
+        StringBuilder html = new StringBuilder("<!DOCTYPE html>\n<html><head><meta charset=\"utf-8\">"
+                + "<title>Performance trend</title><style>body{font-family:sans-serif;margin:2em}"
+                + "table{border-collapse:collapse}td,th{border:1px solid #ccc;padding:2px 8px;text-align:right}"
+                + "td:nth-child(-n+5),th{text-align:left}.regression{color:#d62728}</style></head><body>\n");
+        html.append("<h1>Performance trend</h1>\n");
+        if (table.size() == 0) {
+            return html.append("<p>No runs recorded yet.</p>\n</body></html>\n").toString();
+        }
+        html.append(String.format(Locale.ROOT, "<p>%d rows from %s to %s UTC.</p>%n", table.size(),
+                TIME.format(table.getStartTime(0)), TIME.format(table.getStartTime(table.size() - 1))));
+
+        List<TrendChange> changes = changes(table, ratio, window);
+        html.append(String.format(Locale.ROOT, "<h2>Step changes (%.1fx against the median of up to %d preceding runs)</h2>%n",
+                ratio, window));
+        if (changes.isEmpty()) {
+            html.append("<p>None.</p>\n");
+        } else {
+            html.append("<table><tr><th>run</th><th>commit</th><th>previous commit</th><th>kind</th><th>operation</th>"
+                    + "<th>metric</th><th>before</th><th>after</th><th>ratio</th></tr>\n");
+            for (TrendChange change : changes) {
+                html.append(String.format(Locale.ROOT, "<tr class=\"%s\" title=\"%s\"><td>%s</td><td>%s</td><td>%s</td>"
+                                + "<td>%s</td><td>%s</td><td>%s</td><td>%.3f</td><td>%.3f</td><td>%.2fx</td></tr>%n",
+                        change.isRegression() ? "regression" : "", escape(change.getConfig()),
+                        TIME.format(change.getStartTime()), escape(change.getCommit()), escape(change.getPreviousCommit()),
+                        escape(change.getKind()), escape(change.getOperation()), change.getMetric(), change.getBefore(),
+                        change.getAfter(), change.getRatio()));
+            }
+            html.append("</table>\n");
+        }
+
+        Map<String, Map<String, List<Integer>>> groups = new LinkedHashMap<>();
+        series(table).forEach((key, rows) -> groups
+                .computeIfAbsent(table.getKind(rows.get(0)) + " | " + table.getConfig(rows.get(0)), ignored -> new LinkedHashMap<>())
+                .put(table.getOperation(rows.get(0)), rows));
+        groups.forEach((group, operations) -> {
+            html.append("<h2>").append(escape(group)).append("</h2>\n");
+            operations.forEach((operation, rows) -> html.append("<h3>").append(escape(operation)).append("</h3>\n")
+                    .append(chartSvg(table, rows)));
+        });
+        return html.append("</body></html>\n").toString();
+    }
+
+    /**
+     * Groups row indexes by kind, configuration and operation, each in run order.
+     */
+    private static Map<String, List<Integer>> series(RunHistoryTable table) {
+        Map<String, List<Integer>> series = new LinkedHashMap<>();
+        for (int row = 0; row < table.size(); row++) {
+            series.computeIfAbsent(table.getKind(row) + '\n' + table.getConfig(row) + '\n' + table.getOperation(row),
+                    ignored -> new ArrayList<>()).add(row);
+        }
+        series.values().forEach(rows -> rows.sort(Comparator.comparing(table::getStartTime)));
+        return series;
+    }
+
+    private static String chartSvg(RunHistoryTable table, List<Integer> rows) {
+        double maxMillis = Math.max(0.001, rows.stream()
+                .mapToDouble(row -> table.get(HistoryMetric.P99, row)).max().orElse(1));
+        double plotWidth = WIDTH - 2.0 * MARGIN;
+        double plotHeight = HEIGHT - 2.0 * MARGIN;
+        double step = rows.size() > 1 ? plotWidth / (rows.size() - 1) : 0;
+
+        StringBuilder svg = new StringBuilder(String.format(Locale.ROOT,
+                "<svg xmlns=\"http://www.w3.org/2000/svg\" width=\"%d\" height=\"%d\" font-size=\"11\">%n", WIDTH, HEIGHT));
+        svg.append(String.format(Locale.ROOT, "<path d=\"M%d %d V%d H%d\" stroke=\"black\" fill=\"none\"/>%n",
+                MARGIN, MARGIN, HEIGHT - MARGIN, WIDTH - MARGIN));
+        svg.append(String.format(Locale.ROOT, "<text x=\"%d\" y=\"%d\">latency, ms (max %.2f)</text>%n",
+                MARGIN, MARGIN - 10, maxMillis));
+        svg.append(String.format(Locale.ROOT, "<text x=\"%d\" y=\"%d\">%s</text>%n",
+                MARGIN, HEIGHT - MARGIN / 3, TIME.format(table.getStartTime(rows.get(0)))));
+        svg.append(String.format(Locale.ROOT, "<text x=\"%d\" y=\"%d\" text-anchor=\"end\">%s (%d runs)</text>%n",
+                WIDTH - MARGIN, HEIGHT - MARGIN / 3, TIME.format(table.getStartTime(rows.get(rows.size() - 1))), rows.size()));
+        for (int m = 0; m < CHART_METRICS.length; m++) {
+            HistoryMetric metric = CHART_METRICS[m];
+            String color = COLORS[m];
+            double[] x = new double[rows.size()];
+            double[] y = new double[rows.size()];
+            for (int i = 0; i < rows.size(); i++) {
+                x[i] = MARGIN + step * i;
+                y[i] = HEIGHT - MARGIN - plotHeight * table.get(metric, rows.get(i)) / maxMillis;
+            }
+            svg.append(String.format(Locale.ROOT, "<polyline points=\"%s\" stroke=\"%s\" fill=\"none\" stroke-width=\"2\"/>%n",
+                    polylinePoints(x, y), color));
+            for (int i = 0; i < rows.size(); i++) {
+                int row = rows.get(i);
+                svg.append(String.format(Locale.ROOT, "<circle cx=\"%.1f\" cy=\"%.1f\" r=\"3\" fill=\"%s\"><title>%s %s "
+                                + "%s %.3f ms, %.1f requests/s, %d calls, %d errors</title></circle>%n",
+                        x[i], y[i], color, TIME.format(table.getStartTime(row)), escape(table.getCommit(row)), metric,
+                        table.get(metric, row), table.get(HistoryMetric.THROUGHPUT, row), table.getCount(row),
+                        table.getErrors(row)));
+            }
+            svg.append(String.format(Locale.ROOT, "<text x=\"%d\" y=\"%d\" fill=\"%s\">%s</text>%n",
+                    MARGIN + 10, MARGIN + 14 * (m + 1), color, metric));
+        }
+        return svg.append("</svg>\n").toString();
+    }
+
+    private static String polylinePoints(double[] x, double[] y) {
+        StringBuilder points = new StringBuilder();
+        for (int i = 0; i < x.length; i++) {
+            points.append(i == 0 ? "" : " ").append(String.format(Locale.ROOT, "%.1f,%.1f", x[i], y[i]));
+        }
+        return points.toString();
+    }
+
+    private static double median(RunHistoryTable table, HistoryMetric metric, List<Integer> rows) {
+        double[] values = rows.stream().mapToDouble(row -> table.get(metric, row)).sorted().toArray();
+        int middle = values.length / 2;
+        return values.length % 2 == 1 ? values[middle] : (values[middle - 1] + values[middle]) / 2;
+    }
+
+    private static String escape(String text) {
+        return text.replace("&", "&amp;").replace("<", "&lt;").replace(">", "&gt;").replace("\"", "&quot;");
+    }
+
+}
@@ -0,0 +1,270 @@
+package com.example.todoapp.load;
+
+import com.example.todoapp.config.CapacityConfig;
+import com.example.todoapp.config.LoadConfig;
+import com.example.todoapp.config.WorkloadConfig;
+import com.example.todoapp.metrics.LatencyRecorder;
+import com.example.todoapp.metrics.LatencySnapshot;
+import com.example.todoapp.metrics.TodoOperation;
+import com.example.todoapp.service.TodoService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.HdrHistogram.Histogram;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Finds the highest load the Todo API sustains within an SLO, when launched with {@code --load.capacity.enabled=true}.
+ * <p>
+ * Virtual users run the same scenario as {@link LoadRunner} through {@link TodoService}, so every request goes through
+ * the configured {@code TodoApiClient} and {@code app.*} settings. Concurrency is raised in steps or by a
+ * {@link GradientLimit} until the p99 latency of any operation exceeds {@code load.capacity.slo-p99} or the error rate
+ * exceeds {@code load.capacity.slo-error-rate}. The busiest step within the SLO gives the maximum sustainable
+ * throughput per operation.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(prefix = "load.capacity", name = "enabled", havingValue = "true")
+public class CapacityFinder implements ApplicationRunner {
+
+    static final String CAPACITY_REPORT_FILE = "capacity.txt";
+
+    private static final long IDLE_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(5);
+    private static final long SHUTDOWN_GRACE_SECONDS = 30;
+    private static final double MICROS_PER_MILLI = 1000.0;
+
+    private final CapacityConfig capacityConfig;
+    private final LoadConfig loadConfig;
+    private final WorkloadConfig workloadConfig;
+    private final TodoService todoService;
+    private final LatencyRecorder latencyRecorder;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        List<CapacityStep> steps;
+        if (workloadConfig.isEnabled()) {
+            try (WorkloadScenario scenario = new WorkloadScenario(todoService, workloadConfig)) {
+                scenario.seed(workloadConfig.getInitialTodos());
+                steps = find(scenario);
+            }
+        } else {
+            steps = find(new CrudScenario(todoService, loadConfig.getPageLimit()));
+        }
+
+        String report = capacityReport(steps);
+        log.info("Capacity search finished:\n{}", report);
+        Path reportDir = Path.of(loadConfig.getReportDir());
+        try {
+            Files.createDirectories(reportDir);
+            Files.writeString(reportDir.resolve(CAPACITY_REPORT_FILE), report);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to write capacity report to " + reportDir, e);
+        }
+    }
+
+    /**
+     * Raises the load on the scenario until the SLO is breached and returns every measured step, the breaching one last.
+     */
+    public List<CapacityStep> find(LoadScenario scenario) {
+        List<CapacityStep> steps = new ArrayList<>();
+        try (Users users = new Users(scenario, loadConfig.isVirtualThreads())) {
+            // One unmeasured window at the start concurrency warms up connections and the JIT
+            users.setConcurrency(Math.max(1, capacityConfig.getStartConcurrency()));
+            parkUntil(System.nanoTime() + capacityConfig.getWindow().toNanos());
+            if (capacityConfig.getStrategy() == CapacityStrategy.ADAPTIVE) {
+                adaptConcurrency(users, steps);
+            } else {
+                rampConcurrency(users, steps);
+            }
+        }
+        return steps;
+    }
+
+    /**
+     * Returns the step within the SLO with the highest throughput.
+     */
+    public static Optional<CapacityStep> maxSustainable(List<CapacityStep> steps) {
+        return steps.stream()
+                .filter(CapacityStep::isWithinSlo)
+                .max(Comparator.comparingDouble(CapacityStep::getIterationRate));
+    }
+
+    public static String capacityReport(List<CapacityStep> steps) {
+        StringBuilder report = new StringBuilder(String.format("%-12s %10s %10s %8s %12s %6s%n",
+                "concurrency", "it/s", "errors", "error%", "max p99 ms", "slo"));
+        for (CapacityStep step : steps) {
+            report.append(String.format("%-12d %10.1f %10d %8.2f %12.3f %6s%n", step.getConcurrency(),
+                    step.getIterationRate(), step.getErrors(), 100 * step.getErrorRate(),
+                    step.getP99Millis().values().stream().mapToDouble(Double::doubleValue).max().orElse(0),
+                    step.isWithinSlo() ? "ok" : "BREACH"));
+        }
+        Optional<CapacityStep> best = maxSustainable(steps);
+        if (best.isEmpty()) {
+            return report.append("The SLO was breached at the lowest concurrency\n").toString();
+        }
+        CapacityStep step = best.get();
+        report.append(String.format("%nMaximum sustainable throughput at concurrency %d: %.1f it/s%n",
+                step.getConcurrency(), step.getIterationRate()));
+        step.getThroughput().forEach((operation, throughput) -> report.append(String.format(
+                "%-24s %10.1f ops/s  p99 %8.3f ms%n", operation, throughput, step.getP99Millis().get(operation))));
+        return report.toString();
+    }
+
+    private void rampConcurrency(Users users, List<CapacityStep> steps) {
+        int concurrency = Math.max(1, capacityConfig.getStartConcurrency());
+        while (concurrency <= capacityConfig.getMaxConcurrency()) {
+            CapacityStep step = measure(users, concurrency, capacityConfig.getStepDuration());
+            steps.add(step);
+            if (!step.isWithinSlo()) {
+                return;
+            }
+            concurrency = Math.max(concurrency + 1, (int) Math.round(concurrency * capacityConfig.getStepFactor()));
+        }
+    }
+
+    private void adaptConcurrency(Users users, List<CapacityStep> steps) {
+        GradientLimit limit = new GradientLimit(capacityConfig.getStartConcurrency(), capacityConfig.getMaxConcurrency());
+        long deadline = System.nanoTime() + capacityConfig.getDuration().toNanos();
+        while (System.nanoTime() < deadline) {
+            CapacityStep step = measure(users, limit.getLimit(), capacityConfig.getWindow());
+            steps.add(step);
+            if (!step.isWithinSlo()) {
+                return;
+            }
+            limit.update(step.getMeanIterationTime().toNanos());
+        }
+    }
+
+    private CapacityStep measure(Users users, int concurrency, Duration duration) {
+        users.setConcurrency(concurrency);
+        users.resetCounters();
+        latencyRecorder.reset();
+        long start = System.nanoTime();
+        parkUntil(start + duration.toNanos());
+        LatencySnapshot snapshot = latencyRecorder.snapshot();
+        long elapsedNanos = System.nanoTime() - start;
+        long iterations = users.iterations.sumThenReset();
+        long errors = users.errors.sumThenReset();
+        long iterationNanos = users.iterationNanos.sumThenReset();
+
+        Map<TodoOperation, Double> throughput = new EnumMap<>(TodoOperation.class);
+        Map<TodoOperation, Double> p99Millis = new EnumMap<>(TodoOperation.class);
+        snapshot.getHistograms().forEach((operation, histogram) -> {
+            if (histogram.getTotalCount() > 0) {
+                throughput.put(operation, histogram.getTotalCount() / (elapsedNanos / 1e9));
+                p99Millis.put(operation, p99(histogram));
+            }
+        });
+        double sloP99Millis = capacityConfig.getSloP99().toNanos() / 1e6;
+        boolean latencyWithinSlo = p99Millis.values().stream().allMatch(p99 -> p99 <= sloP99Millis);
+        long attempts = iterations + errors;
+        boolean errorsWithinSlo = attempts > 0 && (double) errors / attempts <= capacityConfig.getSloErrorRate();
+
+        CapacityStep step = new CapacityStep(concurrency, Duration.ofNanos(elapsedNanos), iterations, errors,
+                Duration.ofNanos(attempts == 0 ? 0 : iterationNanos / attempts), throughput, p99Millis,
+                latencyWithinSlo && errorsWithinSlo);
+        log.info("Concurrency {}: {} it/s, {} errors, p99 {} ms -> {}", concurrency, String.format("%.1f", step.getIterationRate()),
+                errors, p99Millis, step.isWithinSlo() ? "within SLO" : "SLO breached");
+        return step;
+    }
+
+    private static double p99(Histogram histogram) {
+        return histogram.getValueAtPercentile(99) / MICROS_PER_MILLI;
+    }
+
+    private static void parkUntil(long deadlineNanos) {
+        long remaining;
+        while ((remaining = deadlineNanos - System.nanoTime()) > 0) {
+            LockSupport.parkNanos(remaining);
+        }
+    }
+
+    /**
+     * Closed-loop virtual users of which only the first {@code concurrency} run; the others idle until it is raised.
+     */
+    private static class Users implements AutoCloseable {
+
+        final LongAdder iterations = new LongAdder();
+        final LongAdder errors = new LongAdder();
+        final LongAdder iterationNanos = new LongAdder();
+
+        private final LoadScenario scenario;
+        private final ExecutorService executor;
+        private volatile int concurrency;
+        private volatile boolean stopped;
+        private int started;
+
+        Users(LoadScenario scenario, boolean preferVirtual) {
+            this.scenario = scenario;
+            this.executor = LoadThreads.newPerTaskExecutor("capacity-user", preferVirtual);
+        }
+
+        void setConcurrency(int concurrency) {
+            this.concurrency = concurrency;
+            while (started < concurrency) {
+                int user = started++;
+                executor.execute(() -> run(user));
+            }
+        }
+
+        void resetCounters() {
+            iterations.reset();
+            errors.reset();
+            iterationNanos.reset();
+        }
+
+        private void run(int user) {
+            LoadScenario.Session session = scenario.newSession();
+            while (!stopped) {
+                if (user >= concurrency) {
+                    LockSupport.parkNanos(IDLE_PARK_NANOS);
+                    continue;
+                }
+                long start = System.nanoTime();
+                try {
+                    session.next();
+                    iterations.increment();
+                } catch (Exception | AssertionError e) {
+                    errors.increment();
+                    log.debug("Capacity iteration failed: {}", e.getMessage());
+                }
+                iterationNanos.add(System.nanoTime() - start);
+            }
+        }
+
+        @Override
+        public void close() {
+            stopped = true;
+            executor.shutdown();
+            try {
+                if (!executor.awaitTermination(SHUTDOWN_GRACE_SECONDS, TimeUnit.SECONDS)) {
+                    executor.shutdownNow();
+                }
+            } catch (InterruptedException e) {
+                executor.shutdownNow();
+                Thread.currentThread().interrupt();
+            }
+        }
+
+    }
+
+}
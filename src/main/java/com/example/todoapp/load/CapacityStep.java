@@ -0,0 +1,37 @@
+package com.example.todoapp.load;
+
+import com.example.todoapp.metrics.TodoOperation;
+import lombok.Value;
+
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * Measurements of one {@link CapacityFinder} step at a fixed concurrency.
+ */
+@Value
+public class CapacityStep {
+    int concurrency;
+    Duration elapsed;
+    long iterations;
+    long errors;
+    /**
+     * Mean duration of a scenario iteration.
+     */
+    Duration meanIterationTime;
+    /**
+     * Completed requests per second by operation.
+     */
+    Map<TodoOperation, Double> throughput;
+    Map<TodoOperation, Double> p99Millis;
+    boolean withinSlo;
+
+    public double getIterationRate() {
+        return iterations / Math.max(elapsed.toNanos() / 1e9, 1e-9);
+    }
+
+    public double getErrorRate() {
+        long attempts = iterations + errors;
+        return attempts == 0 ? 0 : (double) errors / attempts;
+    }
+}
@@ -0,0 +1,15 @@
+package com.example.todoapp.load;
+
+/**
+ * How the {@link CapacityFinder} raises concurrency.
+ */
+public enum CapacityStrategy {
+    /**
+     * Fixed-length steps, each multiplying concurrency by {@code load.capacity.step-factor}.
+     */
+    STEP,
+    /**
+     * A {@link GradientLimit} adjusted every {@code load.capacity.window} from the observed latency.
+     */
+    ADAPTIVE
+}
@@ -0,0 +1,35 @@
+package com.example.todoapp.load;
+
+import com.example.todoapp.data.TodoIdGenerator;
+import com.example.todoapp.data.TodoPayloadTemplate;
+import com.example.todoapp.service.TodoService;
+import lombok.RequiredArgsConstructor;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Scenario running a full create, list, update and delete cycle of a fresh todo per iteration.
+ */
+@RequiredArgsConstructor
+public class CrudScenario implements LoadScenario {
+
+    private static final TodoPayloadTemplate LOAD_TODO = new TodoPayloadTemplate("Load Todo ", false);
+    private static final TodoPayloadTemplate COMPLETED_LOAD_TODO = new TodoPayloadTemplate("Load Todo ", true);
+
+    private final TodoService todoService;
+    private final int pageLimit;
+    private final TodoIdGenerator idGenerator = new TodoIdGenerator(ThreadLocalRandom.current().nextLong());
+
+    @Override
+    public Session newSession() {
+        return () -> {
+            long id = idGenerator.nextId();
+
+            todoService.createTodo(id, LOAD_TODO.body(id));
+            todoService.getTodos(0, pageLimit);
+            todoService.updateTodo(id, COMPLETED_LOAD_TODO.body(id));
+            todoService.deleteTodo(id);
+        };
+    }
+
+}
@@ -0,0 +1,155 @@
+package com.example.todoapp.load;
+
+import com.example.todoapp.metrics.LatencySnapshot;
+import com.example.todoapp.metrics.TodoOperation;
+import lombok.Value;
+import org.HdrHistogram.Histogram;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.zip.DataFormatException;
+
+/**
+ * Messages exchanged between the {@link LoadCoordinator} and its {@link LoadWorker}s over one TCP connection each.
+ * <p>
+ * A worker sends {@code HELLO}, receives its {@code ASSIGN}ment, prepares its scenario and answers {@code READY}.
+ * Once every worker is ready the coordinator sends {@code START} with a common wall-clock start time, and each worker
+ * replies with its {@code RESULT}: counters and compressed latency histograms per operation.
+ */
+final class DistributedLoadProtocol {
+
+    private static final int MAGIC = 0x4C4F4144;
+    private static final int VERSION = 1;
+    private static final byte HELLO = 1;
+    private static final byte ASSIGN = 2;
+    private static final byte READY = 3;
+    private static final byte START = 4;
+    private static final byte RESULT = 5;
+
+    private DistributedLoadProtocol() {
+    }
+
+    static void writeHello(DataOutputStream out, long pid) throws IOException {
+        out.writeByte(HELLO);
+        out.writeInt(MAGIC);
+        out.writeInt(VERSION);
+        out.writeLong(pid);
+        out.flush();
+    }
+
+    /**
+     * Returns the process id of the worker.
+     */
+    static long readHello(DataInputStream in) throws IOException {
+        expect(in, HELLO);
+        if (in.readInt() != MAGIC) {
+            throw new IOException("Peer is not a load worker");
+        }
+        int version = in.readInt();
+        if (version != VERSION) {
+            throw new IOException("Unsupported load worker protocol version " + version);
+        }
+        return in.readLong();
+    }
+
+    static void writeAssignment(DataOutputStream out, WorkerAssignment assignment) throws IOException {
+        out.writeByte(ASSIGN);
+        out.writeInt(assignment.getIndex());
+        out.writeInt(assignment.getWorkers());
+        out.writeUTF(assignment.getMode().name());
+        out.writeInt(assignment.getUsers());
+        out.writeInt(assignment.getRate());
+        out.writeLong(assignment.getDuration().toNanos());
+        out.writeInt(assignment.getInitialTodos());
+        out.flush();
+    }
+
+    static WorkerAssignment readAssignment(DataInputStream in) throws IOException {
+        expect(in, ASSIGN);
+        return new WorkerAssignment(in.readInt(), in.readInt(), LoadMode.valueOf(in.readUTF()), in.readInt(),
+                in.readInt(), Duration.ofNanos(in.readLong()), in.readInt());
+    }
+
+    static void writeReady(DataOutputStream out) throws IOException {
+        out.writeByte(READY);
+        out.flush();
+    }
+
+    static void readReady(DataInputStream in) throws IOException {
+        expect(in, READY);
+    }
+
+    static void writeStart(DataOutputStream out, long startEpochMillis) throws IOException {
+        out.writeByte(START);
+        out.writeLong(startEpochMillis);
+        out.flush();
+    }
+
+    /**
+     * Returns the common start time in epoch milliseconds.
+     */
+    static long readStart(DataInputStream in) throws IOException {
+        expect(in, START);
+        return in.readLong();
+    }
+
+    static void writeResult(DataOutputStream out, LoadResult result, LatencySnapshot latency) throws IOException {
+        out.writeByte(RESULT);
+        out.writeUTF(result.getMode().name());
+        out.writeLong(result.getElapsed().toNanos());
+        out.writeLong(result.getIterations());
+        out.writeLong(result.getErrors());
+        out.writeLong(result.getDropped());
+        out.writeInt(latency.getHistograms().size());
+        for (Map.Entry<TodoOperation, Histogram> entry : latency.getHistograms().entrySet()) {
+            Histogram histogram = entry.getValue();
+            ByteBuffer buffer = ByteBuffer.allocate(histogram.getNeededByteBufferCapacity());
+            int length = histogram.encodeIntoCompressedByteBuffer(buffer);
+            out.writeUTF(entry.getKey().name());
+            out.writeLong(latency.getErrors(entry.getKey()));
+            out.writeInt(length);
+            out.write(buffer.array(), 0, length);
+        }
+        out.flush();
+    }
+
+    static WorkerResult readResult(DataInputStream in) throws IOException {
+        expect(in, RESULT);
+        LoadResult result = new LoadResult(LoadMode.valueOf(in.readUTF()), Duration.ofNanos(in.readLong()),
+                in.readLong(), in.readLong(), in.readLong());
+        Map<TodoOperation, Histogram> histograms = new EnumMap<>(TodoOperation.class);
+        Map<TodoOperation, Long> errors = new EnumMap<>(TodoOperation.class);
+        int operations = in.readInt();
+        for (int i = 0; i < operations; i++) {
+            TodoOperation operation = TodoOperation.valueOf(in.readUTF());
+            errors.put(operation, in.readLong());
+            byte[] encoded = new byte[in.readInt()];
+            in.readFully(encoded);
+            try {
+                histograms.put(operation, Histogram.decodeFromCompressedByteBuffer(ByteBuffer.wrap(encoded), 0));
+            } catch (DataFormatException e) {
+                throw new IOException("Corrupt latency histogram for " + operation, e);
+            }
+        }
+        return new WorkerResult(result, new LatencySnapshot(histograms, errors));
+    }
+
+    private static void expect(DataInputStream in, byte type) throws IOException {
+        byte received = in.readByte();
+        if (received != type) {
+            throw new IOException("Expected message " + type + " but received " + received);
+        }
+    }
+
+    @Value
+    static class WorkerResult {
+        LoadResult result;
+        LatencySnapshot latency;
+    }
+
+}
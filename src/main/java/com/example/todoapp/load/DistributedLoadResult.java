@@ -0,0 +1,22 @@
+package com.example.todoapp.load;
+
+import com.example.todoapp.metrics.LatencySnapshot;
+import lombok.Value;
+
+import java.util.List;
+
+/**
+ * Merged outcome of a distributed load run.
+ */
+@Value
+public class DistributedLoadResult {
+    /**
+     * Summed iterations, errors and drops over the longest worker run.
+     */
+    LoadResult total;
+    /**
+     * Results in assignment order.
+     */
+    List<LoadResult> workers;
+    LatencySnapshot latency;
+}
@@ -0,0 +1,15 @@
+package com.example.todoapp.load;
+
+/**
+ * Part a JVM plays in a distributed load run.
+ */
+public enum DistributedRole {
+    /**
+     * Splits the load between the workers, starts them together and merges their results.
+     */
+    COORDINATOR,
+    /**
+     * Runs its share of the load and reports back to the coordinator.
+     */
+    WORKER
+}
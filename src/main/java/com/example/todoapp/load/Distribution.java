@@ -0,0 +1,60 @@
+package com.example.todoapp.load;
+
+import java.util.Random;
+
+/**
+ * Non-negative integer distribution parsed from a {@code load.workload.*} spec.
+ */
+@FunctionalInterface
+public interface Distribution {
+
+    long sample(Random random);
+
+    /**
+     * Parses {@code N} or {@code fixed:N}, {@code uniform:MIN..MAX}, {@code exponential:MEAN} and
+     * {@code normal:MEAN,STDDEV}. Normal samples below zero are clamped to zero.
+     */
+    static Distribution parse(String spec) {
+        String[] parts = spec.trim().split(":", 2);
+        String type = parts.length == 1 ? "fixed" : parts[0].trim();
+        String[] args = parts[parts.length - 1].trim().split("\\s*(\\.\\.|,)\\s*");
+        try {
+            Distribution distribution = switch (type) {
+                case "fixed" -> fixed(Long.parseLong(args[0]));
+                case "uniform" -> uniform(Long.parseLong(args[0]), Long.parseLong(args[1]));
+                case "exponential" -> exponential(Double.parseDouble(args[0]));
+                case "normal" -> normal(Double.parseDouble(args[0]), Double.parseDouble(args[1]));
+                default -> null;
+            };
+            if (distribution != null) {
+                return distribution;
+            }
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Invalid distribution: " + spec, e);
+        }
+        throw new IllegalArgumentException("Invalid distribution: " + spec);
+    }
+
+    private static Distribution fixed(long value) {
+        if (value < 0) {
+            throw new IllegalArgumentException("Negative value: " + value);
+        }
+        return random -> value;
+    }
+
+    private static Distribution uniform(long min, long max) {
+        if (min < 0 || max < min) {
+            throw new IllegalArgumentException("Invalid bounds: " + min + ".." + max);
+        }
+        return random -> min + (long) (random.nextDouble() * (max - min + 1));
+    }
+
+    private static Distribution exponential(double mean) {
+        return random -> Math.round(-mean * Math.log(1 - random.nextDouble()));
+    }
+
+    private static Distribution normal(double mean, double stddev) {
+        return random -> Math.max(0, Math.round(mean + stddev * random.nextGaussian()));
+    }
+
+}
@@ -0,0 +1,40 @@
+package com.example.todoapp.load;
+
+/**
+ * Gradient concurrency limit in the spirit of TCP Vegas: while latency stays within a tolerance of the lowest latency
+ * seen, the limit grows by about its square root per update; above that it shrinks in proportion to the latency
+ * increase. It settles where queueing adds about half the no-load latency, just below the knee.
+ */
+public class GradientLimit {
+
+    private static final double TOLERANCE = 1.5;
+    private static final double MIN_GRADIENT = 0.5;
+    private static final double SMOOTHING = 0.5;
+
+    private final int maxLimit;
+    private double limit;
+    private double minLatency = Double.MAX_VALUE;
+
+    public GradientLimit(int initialLimit, int maxLimit) {
+        this.maxLimit = maxLimit;
+        this.limit = Math.max(1, Math.min(initialLimit, maxLimit));
+    }
+
+    public int getLimit() {
+        return (int) Math.round(limit);
+    }
+
+    /**
+     * Feeds the mean latency observed at the current limit and returns the new limit.
+     */
+    public int update(double latency) {
+        if (latency > 0) {
+            minLatency = Math.min(minLatency, latency);
+            double gradient = Math.max(MIN_GRADIENT, Math.min(1.0, TOLERANCE * minLatency / latency));
+            double newLimit = limit * gradient + Math.sqrt(limit);
+            limit = Math.max(1, Math.min(maxLimit, limit * (1 - SMOOTHING) + newLimit * SMOOTHING));
+        }
+        return getLimit();
+    }
+
+}
@@ -0,0 +1,78 @@
+package com.example.todoapp.load;
+
+import java.util.Arrays;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Ids of the todos a workload created and has not deleted, so updates and deletes target todos that exist.
+ * <p>
+ * Users {@link #take()} an id for the duration of an update or for good on delete, so no two users ever act on the
+ * same todo. Ids are spread over independently locked stripes to keep contention low.
+ */
+class LiveTodoPool {
+
+    private static final int STRIPES = 16;
+
+    private final Stripe[] stripes = new Stripe[STRIPES];
+
+    LiveTodoPool() {
+        for (int stripe = 0; stripe < STRIPES; stripe++) {
+            stripes[stripe] = new Stripe();
+        }
+    }
+
+    void put(long id) {
+        stripes[ThreadLocalRandom.current().nextInt(STRIPES)].put(id);
+    }
+
+    /**
+     * Removes and returns a random live id, or {@code -1} when there is none.
+     */
+    long take() {
+        int first = ThreadLocalRandom.current().nextInt(STRIPES);
+        for (int probe = 0; probe < STRIPES; probe++) {
+            long id = stripes[(first + probe) % STRIPES].take();
+            if (id >= 0) {
+                return id;
+            }
+        }
+        return -1;
+    }
+
+    int size() {
+        int size = 0;
+        for (Stripe stripe : stripes) {
+            size += stripe.size();
+        }
+        return size;
+    }
+
+    private static class Stripe {
+
+        private long[] ids = new long[64];
+        private int size;
+
+        synchronized void put(long id) {
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, size * 2);
+            }
+            ids[size++] = id;
+        }
+
+        synchronized long take() {
+            if (size == 0) {
+                return -1;
+            }
+            int index = ThreadLocalRandom.current().nextInt(size);
+            long id = ids[index];
+            ids[index] = ids[--size];
+            return id;
+        }
+
+        synchronized int size() {
+            return size;
+        }
+
+    }
+
+}
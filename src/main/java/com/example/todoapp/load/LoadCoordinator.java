@@ -0,0 +1,247 @@
+package com.example.todoapp.load;
+
+import com.example.todoapp.TodoTestingApplication;
+import com.example.todoapp.config.DistributedLoadConfig;
+import com.example.todoapp.config.LoadConfig;
+import com.example.todoapp.config.WorkloadConfig;
+import com.example.todoapp.history.RunHistoryRecorder;
+import com.example.todoapp.load.DistributedLoadProtocol.WorkerResult;
+import com.example.todoapp.metrics.LatencyReport;
+import com.example.todoapp.metrics.LatencySnapshot;
+import com.example.todoapp.metrics.TodoOperation;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Runs the load engine across several worker JVMs, when launched with {@code --load.distributed.role=coordinator}.
+ * <p>
+ * The coordinator listens on {@code load.distributed.host:port} and either starts {@code load.distributed.workers}
+ * child JVMs of the same application with the {@code worker} profile, or waits for that many workers to connect. Users
+ * or arrival rate are split between the workers, all of them start at the same instant, and their counters and latency
+ * histograms are merged into one report. The coordinator itself sends no requests.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(prefix = "load.distributed", name = "role", havingValue = "coordinator")
+public class LoadCoordinator implements ApplicationRunner {
+
+    static final String WORKERS_REPORT_FILE = "distributed-load.txt";
+    static final String WORKER_PROFILE = "worker";
+    static final String HISTORY_KIND = "distributed-load";
+
+    private static final int BACKLOG = 128;
+    private static final long PROCESS_EXIT_GRACE_SECONDS = 30;
+    /**
+     * Settings that are either decided by the coordinator or must not be repeated in every worker.
+     */
+    private static final List<String> COORDINATOR_ONLY_PREFIXES = List.of("--load.distributed.", "--load.enabled",
+            "--stub.", "--spring.profiles.active");
+
+    private final DistributedLoadConfig distributedLoadConfig;
+    private final LoadConfig loadConfig;
+    private final WorkloadConfig workloadConfig;
+    private final RunHistoryRecorder runHistoryRecorder;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        DistributedLoadResult result = coordinate(workerArguments(args.getSourceArgs()));
+        LoadResult total = result.getTotal();
+        log.info("Distributed load finished: {} iterations, {} errors, {} dropped on {} workers in {} ({} iterations/s)",
+                total.getIterations(), total.getErrors(), total.getDropped(), result.getWorkers().size(),
+                total.getElapsed(), String.format("%.1f", total.getThroughput()));
+        Path reportDir = Path.of(loadConfig.getReportDir());
+        LatencyReport.write(result.getLatency(), reportDir);
+        try {
+            Files.writeString(reportDir.resolve(WORKERS_REPORT_FILE), workersReport(result));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to write distributed load report to " + reportDir, e);
+        }
+        runHistoryRecorder.record(HISTORY_KIND, total.getElapsed(), result.getLatency());
+    }
+
+    /**
+     * Runs one distributed load and returns the merged result.
+     *
+     * @param workerArguments application arguments passed on to spawned workers, e.g. {@code --app.base-url}
+     */
+    public DistributedLoadResult coordinate(List<String> workerArguments) {
+        int workers = distributedLoadConfig.getWorkers();
+        List<WorkerAssignment> assignments = WorkerAssignment.split(loadConfig,
+                workloadConfig.isEnabled() ? workloadConfig.getInitialTodos() : 0, workers);
+        List<Process> processes = new ArrayList<>();
+        List<Socket> sockets = new ArrayList<>();
+        boolean completed = false;
+        try (ServerSocket server = new ServerSocket(distributedLoadConfig.getPort(), BACKLOG,
+                InetAddress.getByName(distributedLoadConfig.getHost()))) {
+            server.setSoTimeout((int) distributedLoadConfig.getConnectTimeout().toMillis());
+            if (distributedLoadConfig.isSpawn()) {
+                for (int worker = 0; worker < workers; worker++) {
+                    processes.add(spawnWorker(worker, server.getLocalPort(), workerArguments));
+                }
+            }
+            log.info("Waiting for {} load workers on {}:{}", workers, distributedLoadConfig.getHost(),
+                    server.getLocalPort());
+            List<DataInputStream> inputs = new ArrayList<>();
+            List<DataOutputStream> outputs = new ArrayList<>();
+            for (WorkerAssignment assignment : assignments) {
+                Socket socket = server.accept();
+                sockets.add(socket);
+                socket.setTcpNoDelay(true);
+                DataInputStream in = new DataInputStream(new BufferedInputStream(socket.getInputStream()));
+                DataOutputStream out = new DataOutputStream(new BufferedOutputStream(socket.getOutputStream()));
+                long pid = DistributedLoadProtocol.readHello(in);
+                DistributedLoadProtocol.writeAssignment(out, assignment);
+                log.info("Worker {} (pid {}) assigned {} users, {} requests/s", assignment.getIndex(), pid,
+                        assignment.getUsers(), assignment.getRate());
+                inputs.add(in);
+                outputs.add(out);
+            }
+            for (DataInputStream in : inputs) {
+                DistributedLoadProtocol.readReady(in);
+            }
+            long start = System.currentTimeMillis() + distributedLoadConfig.getStartDelay().toMillis();
+            for (DataOutputStream out : outputs) {
+                DistributedLoadProtocol.writeStart(out, start);
+            }
+            List<WorkerResult> results = new ArrayList<>();
+            for (int worker = 0; worker < workers; worker++) {
+                sockets.get(worker).setSoTimeout(0);
+                results.add(DistributedLoadProtocol.readResult(inputs.get(worker)));
+            }
+            completed = true;
+            return merge(results);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Distributed load failed", e);
+        } finally {
+            sockets.forEach(LoadCoordinator::closeQuietly);
+            if (completed) {
+                awaitExit(processes);
+            } else {
+                processes.forEach(Process::destroyForcibly);
+            }
+        }
+    }
+
+    /**
+     * Sums counters and histograms; the elapsed time is that of the longest worker run.
+     */
+    static DistributedLoadResult merge(List<WorkerResult> results) {
+        LatencySnapshot latency = new LatencySnapshot(new EnumMap<>(TodoOperation.class), new EnumMap<>(TodoOperation.class));
+        Duration elapsed = Duration.ZERO;
+        long iterations = 0;
+        long errors = 0;
+        long dropped = 0;
+        List<LoadResult> workers = new ArrayList<>();
+        for (WorkerResult result : results) {
+            LoadResult worker = result.getResult();
+            workers.add(worker);
+            latency.add(result.getLatency());
+            elapsed = elapsed.compareTo(worker.getElapsed()) >= 0 ? elapsed : worker.getElapsed();
+            iterations += worker.getIterations();
+            errors += worker.getErrors();
+            dropped += worker.getDropped();
+        }
+        LoadMode mode = workers.isEmpty() ? null : workers.get(0).getMode();
+        return new DistributedLoadResult(new LoadResult(mode, elapsed, iterations, errors, dropped), workers, latency);
+    }
+
+    public static String workersReport(DistributedLoadResult result) {
+        StringBuilder report = new StringBuilder(String.format("%-8s %12s %10s %10s %12s %12s%n",
+                "worker", "iterations", "errors", "dropped", "elapsed s", "it/s"));
+        List<LoadResult> workers = result.getWorkers();
+        for (int worker = 0; worker < workers.size(); worker++) {
+            appendRow(report, Integer.toString(worker), workers.get(worker));
+        }
+        appendRow(report, "total", result.getTotal());
+        return report.toString();
+    }
+
+    /**
+     * Drops the arguments that only concern the coordinator, e.g. its role and the stub server it may host.
+     */
+    static List<String> workerArguments(String[] sourceArgs) {
+        return Arrays.stream(sourceArgs)
+                .filter(arg -> COORDINATOR_ONLY_PREFIXES.stream().noneMatch(arg::startsWith))
+                .collect(Collectors.toList());
+    }
+
+    private Process spawnWorker(int worker, int port, List<String> workerArguments) throws IOException {
+        List<String> command = new ArrayList<>();
+        command.add(Path.of(System.getProperty("java.home"), "bin", "java").toString());
+        command.addAll(distributedLoadConfig.getJvmArgs());
+        String classPath = System.getProperty("java.class.path");
+        if (classPath.endsWith(".jar") && !classPath.contains(File.pathSeparator)) {
+            command.add("-jar");
+            command.add(classPath);
+        } else {
+            command.add("-cp");
+            command.add(classPath);
+            command.add(TodoTestingApplication.class.getName());
+        }
+        command.add("--spring.profiles.active=" + WORKER_PROFILE);
+        command.add("--load.distributed.host=" + distributedLoadConfig.getHost());
+        command.add("--load.distributed.port=" + port);
+        command.add("--load.distributed.connect-timeout="
+                + distributedLoadConfig.getConnectTimeout().toMillis() + "ms");
+        command.addAll(workerArguments);
+        Path logFile = Path.of(loadConfig.getReportDir()).resolve("worker-" + worker + ".log");
+        Files.createDirectories(logFile.getParent());
+        return new ProcessBuilder(command)
+                .redirectErrorStream(true)
+                .redirectOutput(logFile.toFile())
+                .start();
+    }
+
+    private static void appendRow(StringBuilder report, String worker, LoadResult result) {
+        report.append(String.format("%-8s %12d %10d %10d %12.3f %12.1f%n", worker, result.getIterations(),
+                result.getErrors(), result.getDropped(), result.getElapsed().toNanos() / 1e9, result.getThroughput()));
+    }
+
+    private static void awaitExit(List<Process> processes) {
+        for (Process process : processes) {
+            try {
+                if (!process.waitFor(PROCESS_EXIT_GRACE_SECONDS, TimeUnit.SECONDS)) {
+                    log.warn("Load worker pid {} did not exit, destroying it", process.pid());
+                    process.destroyForcibly();
+                }
+            } catch (InterruptedException e) {
+                process.destroyForcibly();
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    private static void closeQuietly(Socket socket) {
+        try {
+            socket.close();
+        } catch (IOException e) {
+            log.debug("Failed to close worker connection: {}", e.getMessage());
+        }
+    }
+
+}
@@ -0,0 +1,226 @@
+package com.example.todoapp.load;
+
+import com.example.todoapp.config.LoadConfig;
+import com.example.todoapp.metrics.IntendedStartTime;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Drives a {@link LoadScenario} from many concurrent users, either closed-loop (a fixed number of users)
+ * or open-loop (a fixed arrival rate).
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class LoadEngine {
+
+    private static final long SHUTDOWN_GRACE_SECONDS = 30;
+
+    private final LoadConfig loadConfig;
+
+    public LoadResult run(LoadScenario scenario) {
+        return run(scenario, Warmup.none());
+    }
+
+    /**
+     * Runs the scenario for {@code load.duration} after the warm-up, on the same users and connections.
+     */
+    public LoadResult run(LoadScenario scenario, Warmup warmup) {
+        validate();
+        log.info("Starting {} load for {}{} on {} threads", loadConfig.getMode(), loadConfig.getDuration(),
+                warmup.isEnabled() ? " after warm-up" : "",
+                loadConfig.isVirtualThreads() && LoadThreads.virtualThreadsAvailable() ? "virtual" : "platform");
+        LoadResult result = loadConfig.getMode() == LoadMode.OPEN ? runOpenLoop(scenario, warmup) : runClosedLoop(scenario, warmup);
+        WarmupResult warmupResult = warmup.getResult();
+        if (warmupResult != null) {
+            log.info("Warm-up {} after {} ({} iterations, {} errors, {} discarded)", warmupResult.isSteady()
+                            ? "reached a steady state" : "was cut off without a steady state", warmupResult.getElapsed(),
+                    warmupResult.getIterations(), warmupResult.getErrors(), warmupResult.getDiscarded());
+        }
+        return result;
+    }
+
+    /**
+     * Fails fast on settings that would make the run divide by zero or generate no load at all.
+     */
+    private void validate() {
+        if (loadConfig.getMode() == LoadMode.OPEN) {
+            if (loadConfig.getRate() < 1) {
+                throw new IllegalArgumentException("load.rate must be at least 1 arrival per second in open mode, got "
+                        + loadConfig.getRate());
+            }
+            if (loadConfig.getMaxInFlight() < 1) {
+                throw new IllegalArgumentException("load.max-in-flight must be at least 1 in open mode, got "
+                        + loadConfig.getMaxInFlight());
+            }
+        } else if (loadConfig.getUsers() < 1) {
+            throw new IllegalArgumentException("load.users must be at least 1 in closed mode, got " + loadConfig.getUsers());
+        }
+    }
+
+    private LoadResult runClosedLoop(LoadScenario scenario, Warmup warmup) {
+        LongAdder iterations = new LongAdder();
+        LongAdder errors = new LongAdder();
+        Phase phase = new Phase(System.nanoTime(), warmup);
+
+        ExecutorService executor = LoadThreads.newPerTaskExecutor("load-user", loadConfig.isVirtualThreads());
+        for (int user = 0; user < loadConfig.getUsers(); user++) {
+            executor.execute(() -> {
+                LoadScenario.Session session = scenario.newSession();
+                while (System.nanoTime() < phase.deadline && !Thread.currentThread().isInterrupted()) {
+                    boolean warming = warmup.startIteration();
+                    execute(session, System.nanoTime(), warming, warmup, iterations, errors);
+                }
+            });
+        }
+        while (warmup.isActive()) {
+            parkUntil(warmup.windowEndNanos());
+            phase.endWindow(System.nanoTime());
+        }
+        awaitTermination(executor, phase.deadline);
+
+        return new LoadResult(LoadMode.CLOSED, Duration.ofNanos(System.nanoTime() - phase.start),
+                iterations.sum(), errors.sum(), 0);
+    }
+
+    private LoadResult runOpenLoop(LoadScenario scenario, Warmup warmup) {
+        LongAdder iterations = new LongAdder();
+        LongAdder errors = new LongAdder();
+        long dropped = 0;
+        Semaphore inFlight = new Semaphore(loadConfig.getMaxInFlight());
+        long intervalNanos = TimeUnit.SECONDS.toNanos(1) / loadConfig.getRate();
+        long scheduleStart = System.nanoTime();
+        Phase phase = new Phase(scheduleStart, warmup);
+
+        ExecutorService executor = LoadThreads.newPerTaskExecutor("load-arrival", loadConfig.isVirtualThreads());
+        long arrival = 0;
+        while (true) {
+            long intendedStart = scheduleStart + arrival * intervalNanos;
+            if (warmup.isActive() && intendedStart >= warmup.windowEndNanos()) {
+                parkUntil(warmup.windowEndNanos());
+                if (phase.endWindow(warmup.windowEndNanos())) {
+                    // Measured arrivals are scheduled from the end of the drain, so waiting for it is not charged to them
+                    scheduleStart = phase.start;
+                    arrival = 0;
+                }
+                continue;
+            }
+            if (intendedStart >= phase.deadline) {
+                break;
+            }
+            arrival++;
+            parkUntil(intendedStart);
+            if (!inFlight.tryAcquire()) {
+                if (!warmup.isActive()) {
+                    dropped++;
+                }
+                continue;
+            }
+            // The arrival's phase is decided when it is scheduled, not when a thread picks it up
+            boolean warming = warmup.startIteration();
+            executor.execute(() -> {
+                IntendedStartTime.set(intendedStart);
+                try {
+                    execute(scenario.newSession(), intendedStart, warming, warmup, iterations, errors);
+                } finally {
+                    IntendedStartTime.clear();
+                    inFlight.release();
+                }
+            });
+        }
+        awaitTermination(executor, phase.deadline);
+
+        if (dropped > 0) {
+            log.warn("Dropped {} arrivals because {} requests were already in flight", dropped, loadConfig.getMaxInFlight());
+        }
+        return new LoadResult(LoadMode.OPEN, Duration.ofNanos(System.nanoTime() - phase.start),
+                iterations.sum(), errors.sum(), dropped);
+    }
+
+    /**
+     * Runs one iteration; if it started during the warm-up its time goes to the warm-up instead of the measured
+     * counters. Open-loop iterations are timed from their intended start, so queueing behind a stalled server counts.
+     */
+    private void execute(LoadScenario.Session session, long startNanos, boolean warming, Warmup warmup,
+                         LongAdder iterations, LongAdder errors) {
+        boolean failed = false;
+        if (warming) {
+            warmup.enterIteration();
+        }
+        try {
+            session.next();
+        } catch (Exception | AssertionError e) {
+            failed = true;
+            log.debug("Load iteration failed: {}", e.getMessage());
+        }
+        if (warming) {
+            warmup.endIteration(System.nanoTime() - startNanos, failed);
+        } else if (failed) {
+            errors.increment();
+        } else {
+            iterations.increment();
+        }
+    }
+
+    /**
+     * Start and deadline of the measured part of a run, which move to the end of the warm-up once it is over.
+     */
+    private class Phase {
+        private final Warmup warmup;
+        private volatile long start;
+        private volatile long deadline;
+
+        Phase(long nowNanos, Warmup warmup) {
+            this.warmup = warmup;
+            if (warmup.isEnabled()) {
+                warmup.begin(nowNanos);
+                deadline = Long.MAX_VALUE;
+            } else {
+                start = nowNanos;
+                deadline = nowNanos + loadConfig.getDuration().toNanos();
+            }
+        }
+
+        /**
+         * Ends a warm-up window; once the warm-up is over, the measured part starts when its iterations have drained.
+         */
+        boolean endWindow(long nowNanos) {
+            if (!warmup.endWindow(nowNanos)) {
+                return false;
+            }
+            start = System.nanoTime();
+            deadline = start + loadConfig.getDuration().toNanos();
+            return true;
+        }
+    }
+
+    private static void parkUntil(long deadlineNanos) {
+        long remaining;
+        while ((remaining = deadlineNanos - System.nanoTime()) > 0) {
+            LockSupport.parkNanos(remaining);
+        }
+    }
+
+    private static void awaitTermination(ExecutorService executor, long deadlineNanos) {
+        executor.shutdown();
+        try {
+            long remaining = Math.max(0, deadlineNanos - System.nanoTime());
+            if (!executor.awaitTermination(remaining + TimeUnit.SECONDS.toNanos(SHUTDOWN_GRACE_SECONDS), TimeUnit.NANOSECONDS)) {
+                log.warn("Load threads did not finish within the grace period, interrupting them");
+                executor.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            executor.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+    }
+
+}
@@ -0,0 +1,15 @@
+package com.example.todoapp.load;
+
+/**
+ * Scheduling model of a load run.
+ */
+public enum LoadMode {
+    /**
+     * A fixed number of users, each sending its next request when the previous one completes.
+     */
+    CLOSED,
+    /**
+     * A fixed arrival rate, independent of how fast the server responds.
+     */
+    OPEN
+}
@@ -0,0 +1,22 @@
+package com.example.todoapp.load;
+
+import lombok.Value;
+
+import java.time.Duration;
+
+/**
+ * Outcome of a load run.
+ */
+@Value
+public class LoadResult {
+    LoadMode mode;
+    Duration elapsed;
+    long iterations;
+    long errors;
+    long dropped;
+
+    public double getThroughput() {
+        double seconds = elapsed.toNanos() / 1_000_000_000.0;
+        return seconds > 0 ? iterations / seconds : 0;
+    }
+}
@@ -0,0 +1,80 @@
+package com.example.todoapp.load;
+
+import com.example.todoapp.config.LoadConfig;
+import com.example.todoapp.config.WarmupConfig;
+import com.example.todoapp.config.WorkloadConfig;
+import com.example.todoapp.history.RunHistoryRecorder;
+import com.example.todoapp.metrics.LatencyRecorder;
+import com.example.todoapp.metrics.LatencyReport;
+import com.example.todoapp.metrics.LatencySnapshot;
+import com.example.todoapp.service.TodoService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Runs the load engine on startup when the application is launched with {@code --load.enabled=true}: the
+ * {@link WorkloadScenario} mix with {@code --load.workload.enabled=true}, otherwise the fixed {@link CrudScenario}.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(prefix = "load", name = "enabled", havingValue = "true")
+public class LoadRunner implements ApplicationRunner {
+
+    static final String WORKLOAD_REPORT_FILE = "workload-operations.txt";
+    static final String HISTORY_KIND = "load";
+
+    private final LoadEngine loadEngine;
+    private final LoadConfig loadConfig;
+    private final WorkloadConfig workloadConfig;
+    private final WarmupConfig warmupConfig;
+    private final TodoService todoService;
+    private final LatencyRecorder latencyRecorder;
+    private final RunHistoryRecorder runHistoryRecorder;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (!workloadConfig.isEnabled()) {
+            runAndReport(new CrudScenario(todoService, loadConfig.getPageLimit()));
+            return;
+        }
+        try (WorkloadScenario scenario = new WorkloadScenario(todoService, workloadConfig)) {
+            scenario.seed(workloadConfig.getInitialTodos());
+            LoadResult result = runAndReport(scenario);
+            String table = scenario.operationTable(result.getElapsed());
+            log.info("Workload operations:\n{}", table);
+            Path reportFile = Path.of(loadConfig.getReportDir()).resolve(WORKLOAD_REPORT_FILE);
+            try {
+                Files.writeString(reportFile, table);
+            } catch (IOException e) {
+                throw new UncheckedIOException("Failed to write workload report to " + reportFile, e);
+            }
+        }
+    }
+
+    private LoadResult runAndReport(LoadScenario scenario) {
+        latencyRecorder.reset();
+        Warmup warmup = new Warmup(warmupConfig, latencyRecorder);
+        LoadResult result = loadEngine.run(scenario, warmup);
+        if (warmup.getResult() != null) {
+            Warmup.writeReport(warmup.getResult(), Path.of(loadConfig.getReportDir()));
+        }
+        log.info("Load finished: {} iterations, {} errors, {} dropped in {} ({} iterations/s)",
+                result.getIterations(), result.getErrors(), result.getDropped(), result.getElapsed(),
+                String.format("%.1f", result.getThroughput()));
+        LatencySnapshot latency = latencyRecorder.snapshot();
+        LatencyReport.write(latency, Path.of(loadConfig.getReportDir()));
+        runHistoryRecorder.record(HISTORY_KIND, result.getElapsed(), latency);
+        return result;
+    }
+
+}
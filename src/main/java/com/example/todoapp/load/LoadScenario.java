@@ -0,0 +1,20 @@
+package com.example.todoapp.load;
+
+/**
+ * Unit of work driven by the {@link LoadEngine}.
+ */
+public interface LoadScenario {
+
+    /**
+     * Creates the state of one virtual user. Closed-loop users keep their session for the whole run,
+     * open-loop arrivals get a fresh session each.
+     */
+    Session newSession();
+
+    interface Session {
+
+        void next() throws Exception;
+
+    }
+
+}
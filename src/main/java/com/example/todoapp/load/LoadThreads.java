@@ -0,0 +1,73 @@
+package com.example.todoapp.load;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Creates the threads virtual users run on: virtual threads when the JVM offers them (JDK 21+),
+ * daemon platform threads otherwise. The lookup is reflective so the same build runs on JDK 17.
+ */
+@Slf4j
+public final class LoadThreads {
+
+    private static final ThreadFactory VIRTUAL_THREAD_FACTORY = lookupVirtualThreadFactory();
+    private static final Method THREAD_PER_TASK_EXECUTOR = lookupThreadPerTaskExecutor();
+
+    private LoadThreads() {
+    }
+
+    public static boolean virtualThreadsAvailable() {
+        return VIRTUAL_THREAD_FACTORY != null;
+    }
+
+    public static ThreadFactory factory(String name, boolean preferVirtual) {
+        if (preferVirtual && VIRTUAL_THREAD_FACTORY != null) {
+            return VIRTUAL_THREAD_FACTORY;
+        }
+        AtomicInteger counter = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, name + "-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    /**
+     * Executor starting a new thread per task; platform threads are cached and reused.
+     */
+    public static ExecutorService newPerTaskExecutor(String name, boolean preferVirtual) {
+        ThreadFactory threadFactory = factory(name, preferVirtual);
+        if (threadFactory == VIRTUAL_THREAD_FACTORY && THREAD_PER_TASK_EXECUTOR != null) {
+            try {
+                return (ExecutorService) THREAD_PER_TASK_EXECUTOR.invoke(null, threadFactory);
+            } catch (ReflectiveOperationException e) {
+                throw new IllegalStateException("Unable to create virtual thread executor", e);
+            }
+        }
+        return Executors.newCachedThreadPool(threadFactory);
+    }
+
+    private static ThreadFactory lookupVirtualThreadFactory() {
+        try {
+            Object builder = Thread.class.getMethod("ofVirtual").invoke(null);
+            return (ThreadFactory) Class.forName("java.lang.Thread$Builder").getMethod("factory").invoke(builder);
+        } catch (ReflectiveOperationException e) {
+            log.debug("Virtual threads are not available, falling back to platform threads");
+            return null;
+        }
+    }
+
+    private static Method lookupThreadPerTaskExecutor() {
+        try {
+            return Executors.class.getMethod("newThreadPerTaskExecutor", ThreadFactory.class);
+        } catch (NoSuchMethodException e) {
+            return null;
+        }
+    }
+
+}
@@ -0,0 +1,134 @@
+package com.example.todoapp.load;
+
+import com.example.todoapp.config.DistributedLoadConfig;
+import com.example.todoapp.config.LoadConfig;
+import com.example.todoapp.config.WarmupConfig;
+import com.example.todoapp.config.WorkloadConfig;
+import com.example.todoapp.metrics.LatencyRecorder;
+import com.example.todoapp.service.TodoService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.ConnectException;
+import java.net.Socket;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Function;
+
+/**
+ * Runs its share of a distributed load for a {@link LoadCoordinator}, when launched with the {@code worker} profile.
+ * <p>
+ * The worker connects to {@code load.distributed.host:port}, builds the same scenario as {@link LoadRunner} for its
+ * assignment, warms up on its share of the load, waits for the common start and reports its counters and latency
+ * histograms back before exiting.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(prefix = "load.distributed", name = "role", havingValue = "worker")
+public class LoadWorker implements ApplicationRunner {
+
+    private static final long CONNECT_RETRY_MILLIS = 100;
+
+    private final DistributedLoadConfig distributedLoadConfig;
+    private final LoadConfig loadConfig;
+    private final WorkloadConfig workloadConfig;
+    private final WarmupConfig warmupConfig;
+    private final TodoService todoService;
+    private final LatencyRecorder latencyRecorder;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        work(this::scenario);
+    }
+
+    /**
+     * Connects to the coordinator and runs one assignment with the scenario built for it.
+     */
+    public void work(Function<WorkerAssignment, LoadScenario> scenarios) {
+        try (Socket socket = connect()) {
+            socket.setTcpNoDelay(true);
+            DataInputStream in = new DataInputStream(new BufferedInputStream(socket.getInputStream()));
+            DataOutputStream out = new DataOutputStream(new BufferedOutputStream(socket.getOutputStream()));
+            DistributedLoadProtocol.writeHello(out, ProcessHandle.current().pid());
+            WorkerAssignment assignment = DistributedLoadProtocol.readAssignment(in);
+            LoadScenario scenario = scenarios.apply(assignment);
+            try {
+                warmUp(assignment, scenario);
+                DistributedLoadProtocol.writeReady(out);
+                long start = DistributedLoadProtocol.readStart(in);
+                log.info("Worker {} of {} starting {} users, {} requests/s at {}", assignment.getIndex(),
+                        assignment.getWorkers(), assignment.getUsers(), assignment.getRate(), start);
+                parkUntilEpochMillis(start);
+                latencyRecorder.reset();
+                LoadResult result = new LoadEngine(assignment.toLoadConfig(loadConfig)).run(scenario);
+                DistributedLoadProtocol.writeResult(out, result, latencyRecorder.snapshot());
+            } finally {
+                if (scenario instanceof AutoCloseable closeable) {
+                    closeable.close();
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Load worker failed", e);
+        } catch (Exception e) {
+            throw new IllegalStateException("Load worker failed", e);
+        }
+    }
+
+    /**
+     * Runs the warm-up on the assignment's load before reporting ready, so all workers measure from the common start.
+     */
+    private void warmUp(WorkerAssignment assignment, LoadScenario scenario) {
+        if (!warmupConfig.isEnabled()) {
+            return;
+        }
+        LoadConfig warmupLoad = assignment.toLoadConfig(loadConfig);
+        warmupLoad.setDuration(Duration.ZERO);
+        new LoadEngine(warmupLoad).run(scenario, new Warmup(warmupConfig, latencyRecorder));
+    }
+
+    private LoadScenario scenario(WorkerAssignment assignment) {
+        if (!workloadConfig.isEnabled()) {
+            return new CrudScenario(todoService, loadConfig.getPageLimit());
+        }
+        WorkloadScenario scenario = new WorkloadScenario(todoService, workloadConfig);
+        scenario.seed(assignment.getInitialTodos());
+        return scenario;
+    }
+
+    /**
+     * Retries until the coordinator listens, so workers may be started before it.
+     */
+    private Socket connect() throws IOException {
+        long deadline = System.nanoTime() + distributedLoadConfig.getConnectTimeout().toNanos();
+        while (true) {
+            try {
+                return new Socket(distributedLoadConfig.getHost(), distributedLoadConfig.getPort());
+            } catch (ConnectException e) {
+                if (System.nanoTime() > deadline) {
+                    throw e;
+                }
+                LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(CONNECT_RETRY_MILLIS));
+            }
+        }
+    }
+
+    private static void parkUntilEpochMillis(long epochMillis) {
+        long remaining;
+        while ((remaining = epochMillis - System.currentTimeMillis()) > 0) {
+            LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(remaining));
+        }
+    }
+
+}
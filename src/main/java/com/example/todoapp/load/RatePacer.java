@@ -0,0 +1,40 @@
+package com.example.todoapp.load;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Spaces out permits to a maximum rate across any number of threads without locking: every caller reserves
+ * the next free time slot with a single atomic update and parks until it arrives.
+ */
+public class RatePacer {
+
+    private final long intervalNanos;
+    private final AtomicLong nextSlot = new AtomicLong(System.nanoTime());
+
+    /**
+     * @param permitsPerSecond maximum rate; zero or negative means unlimited
+     */
+    public RatePacer(double permitsPerSecond) {
+        this.intervalNanos = permitsPerSecond > 0 ? (long) (TimeUnit.SECONDS.toNanos(1) / permitsPerSecond) : 0;
+    }
+
+    /**
+     * Blocks until the caller may proceed and returns the time slot it was given.
+     */
+    public long acquire() {
+        long now = System.nanoTime();
+        if (intervalNanos == 0) {
+            return now;
+        }
+        long previous = nextSlot.getAndUpdate(slot -> Math.max(slot, now) + intervalNanos);
+        long slot = Math.max(previous, now);
+        long remaining;
+        while ((remaining = slot - System.nanoTime()) > 0) {
+            LockSupport.parkNanos(remaining);
+        }
+        return slot;
+    }
+
+}
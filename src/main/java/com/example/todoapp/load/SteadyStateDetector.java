@@ -0,0 +1,66 @@
+package com.example.todoapp.load;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+
+/**
+ * Decides from per-window throughput and median iteration time when a warm-up has reached a steady state: the last
+ * {@code windows} windows must each have iterations, for both metrics the spread between the highest and the lowest
+ * window may be at most {@code tolerance} of their mean, and all of them must come after the last large change.
+ * <p>
+ * A large change is a window whose throughput or median moved more than {@code tolerance} away from the window that
+ * started the current level. The first window starts the first level. Comparing against the start of the level rather
+ * than the previous window also catches a slow drift, which would otherwise pass as stable windows one step at a time.
+ */
+public class SteadyStateDetector {
+
+    private final int windows;
+    private final double tolerance;
+    private final Deque<double[]> recent = new ArrayDeque<>();
+    private double[] level;
+    private int windowsSinceChange;
+
+    public SteadyStateDetector(int windows, double tolerance) {
+        if (windows < 2) {
+            throw new IllegalArgumentException("Steady state needs at least 2 windows to compare, got " + windows);
+        }
+        this.windows = windows;
+        this.tolerance = tolerance;
+    }
+
+    /**
+     * Adds the figures of the window that just ended and returns whether the last windows are steady.
+     */
+    public boolean add(double throughput, double medianMillis) {
+        double[] window = {throughput, medianMillis};
+        if (level == null || isLargeChange(window, 0) || isLargeChange(window, 1)) {
+            level = window;
+            windowsSinceChange = 0;
+        } else {
+            windowsSinceChange++;
+        }
+        recent.addLast(window);
+        if (recent.size() > windows) {
+            recent.removeFirst();
+        }
+        return windowsSinceChange >= windows && isStable(0) && isStable(1);
+    }
+
+    private boolean isLargeChange(double[] window, int metric) {
+        return Math.abs(window[metric] - level[metric]) > tolerance * level[metric];
+    }
+
+    private boolean isStable(int metric) {
+        double min = Double.MAX_VALUE;
+        double max = 0;
+        double sum = 0;
+        for (double[] window : recent) {
+            min = Math.min(min, window[metric]);
+            max = Math.max(max, window[metric]);
+            sum += window[metric];
+        }
+        double mean = sum / recent.size();
+        return min > 0 && max - min <= tolerance * mean;
+    }
+
+}
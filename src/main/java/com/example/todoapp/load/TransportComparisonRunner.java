@@ -0,0 +1,118 @@
+package com.example.todoapp.load;
+
+import com.example.todoapp.clients.CreatedTodoRegistry;
+import com.example.todoapp.clients.TodoApiClient;
+import com.example.todoapp.clients.transport.TodoTransport;
+import com.example.todoapp.clients.transport.TodoTransportFactory;
+import com.example.todoapp.clients.transport.Transport;
+import com.example.todoapp.config.AppConfig;
+import com.example.todoapp.config.LoadConfig;
+import com.example.todoapp.config.WarmupConfig;
+import com.example.todoapp.metrics.LatencyRecorder;
+import com.example.todoapp.metrics.LatencyReport;
+import com.example.todoapp.metrics.LatencySnapshot;
+import com.example.todoapp.metrics.RequestEventLog;
+import com.example.todoapp.metrics.TodoOperation;
+import com.example.todoapp.replay.TrafficRecorder;
+import com.example.todoapp.service.TodoServiceImpl;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.HdrHistogram.Histogram;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+import static com.example.todoapp.metrics.TodoOperation.*;
+
+/**
+ * Runs the same load against the same endpoint once per transport listed in {@code load.compare-transports}
+ * and prints their throughput and latency side by side, separating client overhead from server time.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(prefix = "load", name = "compare-transports")
+public class TransportComparisonRunner implements ApplicationRunner {
+
+    static final String COMPARISON_FILE = "transport-comparison.txt";
+
+    private static final List<TodoOperation> COMPARED_OPERATIONS = List.of(CREATE_TODO, GET_TODOS, UPDATE_TODO, DELETE_TODO);
+    private static final double MICROS_PER_MILLI = 1000.0;
+
+    private final LoadEngine loadEngine;
+    private final LoadConfig loadConfig;
+    private final WarmupConfig warmupConfig;
+    private final AppConfig appConfig;
+    private final TodoTransportFactory todoTransportFactory;
+    private final RequestEventLog requestEventLog;
+    private final TrafficRecorder trafficRecorder;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        Map<Transport, LoadResult> results = new EnumMap<>(Transport.class);
+        Map<Transport, LatencySnapshot> latencies = new EnumMap<>(Transport.class);
+        Path reportDir = Path.of(loadConfig.getReportDir());
+
+        for (Transport transport : loadConfig.getCompareTransports()) {
+            log.info("Measuring transport {}", transport);
+            LatencyRecorder latencyRecorder = new LatencyRecorder();
+            Warmup warmup = new Warmup(warmupConfig, latencyRecorder);
+            Path transportReportDir = reportDir.resolve(transport.name().toLowerCase(Locale.ROOT));
+            try (TodoTransport todoTransport = todoTransportFactory.create(transport)) {
+                TodoApiClient client = new TodoApiClient(appConfig, latencyRecorder, todoTransport, new CreatedTodoRegistry(),
+                        requestEventLog, trafficRecorder);
+                results.put(transport, loadEngine.run(new CrudScenario(new TodoServiceImpl(client), loadConfig.getPageLimit()), warmup));
+            }
+            if (warmup.getResult() != null) {
+                Warmup.writeReport(warmup.getResult(), transportReportDir);
+            }
+            LatencySnapshot snapshot = latencyRecorder.snapshot();
+            latencies.put(transport, snapshot);
+            LatencyReport.write(snapshot, transportReportDir);
+        }
+
+        String table = comparisonTable(results, latencies);
+        log.info("Transport comparison (latency in ms):\n{}", table);
+        try {
+            Files.createDirectories(reportDir);
+            Files.writeString(reportDir.resolve(COMPARISON_FILE), table);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to write transport comparison to " + reportDir, e);
+        }
+    }
+
+    private static String comparisonTable(Map<Transport, LoadResult> results, Map<Transport, LatencySnapshot> latencies) {
+        StringBuilder table = new StringBuilder(String.format(Locale.ROOT, "%-14s %12s %8s", "transport", "iterations/s", "errors"));
+        for (TodoOperation operation : COMPARED_OPERATIONS) {
+            table.append(String.format(Locale.ROOT, " %14s %14s", shortName(operation) + " p50", shortName(operation) + " p99"));
+        }
+        table.append(System.lineSeparator());
+
+        results.forEach((transport, result) -> {
+            table.append(String.format(Locale.ROOT, "%-14s %12.1f %8d", transport, result.getThroughput(), result.getErrors()));
+            for (TodoOperation operation : COMPARED_OPERATIONS) {
+                Histogram histogram = latencies.get(transport).getHistogram(operation);
+                table.append(String.format(Locale.ROOT, " %14.3f %14.3f",
+                        histogram.getValueAtPercentile(50) / MICROS_PER_MILLI,
+                        histogram.getValueAtPercentile(99) / MICROS_PER_MILLI));
+            }
+            table.append(System.lineSeparator());
+        });
+        return table.toString();
+    }
+
+    private static String shortName(TodoOperation operation) {
+        return operation.name().substring(0, operation.name().indexOf('_')).toLowerCase(Locale.ROOT);
+    }
+
+}
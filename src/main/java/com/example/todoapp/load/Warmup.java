@@ -0,0 +1,219 @@
+package com.example.todoapp.load;
+
+import com.example.todoapp.config.WarmupConfig;
+import com.example.todoapp.metrics.LatencyRecorder;
+import com.example.todoapp.metrics.LatencyReport;
+import com.example.todoapp.metrics.LatencySnapshot;
+import lombok.extern.slf4j.Slf4j;
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Warm-up phase of one {@link LoadEngine} run.
+ * <p>
+ * While it lasts the engine feeds it the time of every iteration, and closes a window every
+ * {@code load.warmup.window}. Once a {@link SteadyStateDetector} finds the windows stable, or after
+ * {@code max-duration}, the warm-up takes a snapshot of the latency recorder and resets it, so the measured run's
+ * histograms start from the steady state. Iterations of the warm-up are not counted in the measured result.
+ * <p>
+ * An iteration belongs to the phase it started in. Before the snapshot the warm-up holds back new iterations and
+ * waits for its own to finish, until {@code max-duration} but at least one window, so a request hung on a stalled
+ * server cannot stop the run. Iterations still running then are discarded: their threads are pinned to the warm-up's
+ * recorder epoch, so their latencies are counted in neither phase.
+ */
+@Slf4j
+public class Warmup {
+
+    public static final String REPORT_DIR = "warmup";
+    public static final String WINDOWS_FILE = "warmup-windows.txt";
+
+    private static final int SIGNIFICANT_DIGITS = 3;
+    private static final double MICROS_PER_MILLI = 1000.0;
+
+    private final WarmupConfig config;
+    private final LatencyRecorder latencyRecorder;
+    private final SteadyStateDetector detector;
+    private final Recorder iterationMicros = new Recorder(SIGNIFICANT_DIGITS);
+    private final LongAdder windowErrors = new LongAdder();
+    private final List<WarmupWindow> windows = new ArrayList<>();
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition drained = lock.newCondition();
+    private final Condition ended = lock.newCondition();
+    private int inFlight;
+    private boolean ending;
+    private long epoch;
+    private long startNanos;
+    private long windowStartNanos;
+    private long iterations;
+    private long errors;
+    private volatile WarmupResult result;
+
+    public Warmup(WarmupConfig config, LatencyRecorder latencyRecorder) {
+        this.config = config;
+        this.latencyRecorder = latencyRecorder;
+        this.detector = config.isEnabled() ? new SteadyStateDetector(config.getStableWindows(), config.getTolerance()) : null;
+    }
+
+    /**
+     * A warm-up that is over before it starts, for runs measured from their first iteration.
+     */
+    public static Warmup none() {
+        return new Warmup(new WarmupConfig(), null);
+    }
+
+    public boolean isEnabled() {
+        return config.isEnabled();
+    }
+
+    /**
+     * Whether iterations still belong to the warm-up.
+     */
+    public boolean isActive() {
+        return config.isEnabled() && result == null;
+    }
+
+    /**
+     * Returns the warm-up's outcome, or {@code null} while it is active or when it is disabled.
+     */
+    public WarmupResult getResult() {
+        return result;
+    }
+
+    /**
+     * Logs the warm-up windows and writes them, with the warm-up's latency percentiles, to {@code directory/warmup}.
+     */
+    public static void writeReport(WarmupResult result, Path directory) {
+        String windows = result.windowTable();
+        log.info("Warm-up windows:\n{}", windows);
+        Path warmupDir = directory.resolve(REPORT_DIR);
+        try {
+            Files.createDirectories(warmupDir);
+            Files.writeString(warmupDir.resolve(WINDOWS_FILE), windows);
+            Files.writeString(warmupDir.resolve(LatencyReport.PERCENTILES_FILE), LatencyReport.percentileTable(result.getLatency()));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to write warm-up report to " + warmupDir, e);
+        }
+    }
+
+    void begin(long nowNanos) {
+        epoch = latencyRecorder.epoch();
+        startNanos = nowNanos;
+        windowStartNanos = nowNanos;
+    }
+
+    long windowEndNanos() {
+        return windowStartNanos + config.getWindow().toNanos();
+    }
+
+    /**
+     * Starts an iteration and returns whether it belongs to the warm-up, in which case it must be ended with
+     * {@link #endIteration}. While the warm-up is ending, waits until it is over.
+     */
+    boolean startIteration() {
+        if (!isActive()) {
+            return false;
+        }
+        lock.lock();
+        try {
+            while (ending) {
+                ended.awaitUninterruptibly();
+            }
+            if (result != null) {
+                return false;
+            }
+            inFlight++;
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Ties the latencies the current thread records to the warm-up until {@link #endIteration}.
+     */
+    void enterIteration() {
+        latencyRecorder.pin(epoch);
+    }
+
+    void endIteration(long iterationNanos, boolean failed) {
+        latencyRecorder.unpin();
+        iterationMicros.recordValue(Math.max(0, TimeUnit.NANOSECONDS.toMicros(iterationNanos)));
+        if (failed) {
+            windowErrors.increment();
+        }
+        lock.lock();
+        try {
+            if (--inFlight == 0) {
+                drained.signalAll();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Closes the current window; returns {@code true} when the warm-up has ended with it, which it does only once its
+     * iterations in flight have finished or the drain has timed out.
+     */
+    boolean endWindow(long nowNanos) {
+        Histogram window = iterationMicros.getIntervalHistogram();
+        long windowIterations = window.getTotalCount();
+        long windowErrorCount = windowErrors.sumThenReset();
+        double seconds = Math.max(1, nowNanos - windowStartNanos) / 1e9;
+        double throughput = (windowIterations - windowErrorCount) / seconds;
+        double p50Millis = window.getValueAtPercentile(50) / MICROS_PER_MILLI;
+        windows.add(new WarmupWindow(Duration.ofNanos(nowNanos - startNanos), windowIterations, windowErrorCount,
+                throughput, p50Millis, window.getValueAtPercentile(99) / MICROS_PER_MILLI));
+        iterations += windowIterations;
+        errors += windowErrorCount;
+        windowStartNanos = nowNanos;
+
+        boolean steady = detector.add(throughput, p50Millis);
+        if (!steady && nowNanos - startNanos < config.getMaxDuration().toNanos()) {
+            return false;
+        }
+        lock.lock();
+        try {
+            ending = true;
+            awaitDrained(Math.max(startNanos + config.getMaxDuration().toNanos(), nowNanos + config.getWindow().toNanos()));
+            if (inFlight > 0) {
+                log.warn("Discarding {} warm-up iterations still running after {}", inFlight,
+                        Duration.ofNanos(System.nanoTime() - startNanos));
+            }
+            LatencySnapshot latency = latencyRecorder.snapshot();
+            latencyRecorder.reset();
+            result = new WarmupResult(steady, Duration.ofNanos(nowNanos - startNanos), iterations, errors, inFlight,
+                    List.copyOf(windows), latency);
+            ending = false;
+            ended.signalAll();
+        } finally {
+            lock.unlock();
+        }
+        return true;
+    }
+
+    private void awaitDrained(long deadlineNanos) {
+        long remaining;
+        while (inFlight > 0 && (remaining = deadlineNanos - System.nanoTime()) > 0) {
+            try {
+                drained.awaitNanos(remaining);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+}
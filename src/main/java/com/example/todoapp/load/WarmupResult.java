@@ -0,0 +1,42 @@
+package com.example.todoapp.load;
+
+import com.example.todoapp.metrics.LatencySnapshot;
+import lombok.Value;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Outcome of a warm-up phase, kept apart from the measured run.
+ */
+@Value
+public class WarmupResult {
+    /**
+     * Whether a steady state was detected, rather than the warm-up being cut off at its maximum duration.
+     */
+    boolean steady;
+    Duration elapsed;
+    long iterations;
+    long errors;
+    /**
+     * Warm-up iterations still running when the drain timed out, whose latencies are counted in neither phase.
+     */
+    long discarded;
+    List<WarmupWindow> windows;
+    /**
+     * Per-operation latencies recorded during the warm-up, which the measured run's histograms do not include.
+     */
+    LatencySnapshot latency;
+
+    public String windowTable() {
+        StringBuilder table = new StringBuilder(String.format(Locale.ROOT, "%8s %10s %8s %12s %10s %10s%n",
+                "end s", "iterations", "errors", "it/s", "p50 ms", "p99 ms"));
+        for (WarmupWindow window : windows) {
+            table.append(String.format(Locale.ROOT, "%8.1f %10d %8d %12.1f %10.3f %10.3f%n",
+                    window.getEnd().toMillis() / 1000.0, window.getIterations(), window.getErrors(),
+                    window.getThroughput(), window.getP50Millis(), window.getP99Millis()));
+        }
+        return table.toString();
+    }
+}
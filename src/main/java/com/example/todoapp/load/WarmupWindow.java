@@ -0,0 +1,18 @@
+package com.example.todoapp.load;
+
+import lombok.Value;
+
+import java.time.Duration;
+
+/**
+ * Figures of one window of a warm-up phase.
+ */
+@Value
+public class WarmupWindow {
+    Duration end;
+    long iterations;
+    long errors;
+    double throughput;
+    double p50Millis;
+    double p99Millis;
+}
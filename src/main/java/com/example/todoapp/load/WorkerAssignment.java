@@ -0,0 +1,66 @@
+package com.example.todoapp.load;
+
+import com.example.todoapp.config.LoadConfig;
+import lombok.Value;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Share of a distributed load run given to one worker.
+ */
+@Value
+public class WorkerAssignment {
+    int index;
+    int workers;
+    LoadMode mode;
+    int users;
+    int rate;
+    Duration duration;
+    /**
+     * Todos the worker seeds before the run when the workload mix is enabled.
+     */
+    int initialTodos;
+
+    /**
+     * Splits users, rate and seeded todos as evenly as possible; the first workers get the remainders.
+     */
+    public static List<WorkerAssignment> split(LoadConfig loadConfig, int initialTodos, int workers) {
+        if (workers < 1) {
+            throw new IllegalArgumentException("At least one worker is needed, got " + workers);
+        }
+        int share = loadConfig.getMode() == LoadMode.OPEN ? loadConfig.getRate() : loadConfig.getUsers();
+        if (share < workers) {
+            throw new IllegalArgumentException("Cannot split " + share + (loadConfig.getMode() == LoadMode.OPEN
+                    ? " requests/s" : " users") + " between " + workers + " workers");
+        }
+        List<WorkerAssignment> assignments = new ArrayList<>();
+        for (int index = 0; index < workers; index++) {
+            assignments.add(new WorkerAssignment(index, workers, loadConfig.getMode(),
+                    share(loadConfig.getUsers(), index, workers), share(loadConfig.getRate(), index, workers),
+                    loadConfig.getDuration(), share(initialTodos, index, workers)));
+        }
+        return assignments;
+    }
+
+    /**
+     * Returns a copy of {@code template} running this worker's share.
+     */
+    public LoadConfig toLoadConfig(LoadConfig template) {
+        LoadConfig loadConfig = new LoadConfig();
+        loadConfig.setMode(mode);
+        loadConfig.setUsers(users);
+        loadConfig.setRate(rate);
+        loadConfig.setDuration(duration);
+        loadConfig.setMaxInFlight(template.getMaxInFlight());
+        loadConfig.setVirtualThreads(template.isVirtualThreads());
+        loadConfig.setPageLimit(template.getPageLimit());
+        loadConfig.setReportDir(template.getReportDir());
+        return loadConfig;
+    }
+
+    private static int share(int total, int index, int workers) {
+        return total / workers + (index < total % workers ? 1 : 0);
+    }
+}
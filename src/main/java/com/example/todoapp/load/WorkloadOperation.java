@@ -0,0 +1,12 @@
+package com.example.todoapp.load;
+
+/**
+ * Operations a {@link WorkloadScenario} mixes, named {@code get-todos}, {@code create-todo}, {@code update-todo} and
+ * {@code delete-todo} in {@code load.workload.*} properties.
+ */
+public enum WorkloadOperation {
+    GET_TODOS,
+    CREATE_TODO,
+    UPDATE_TODO,
+    DELETE_TODO
+}
@@ -0,0 +1,198 @@
+package com.example.todoapp.load;
+
+import com.example.todoapp.config.WorkloadConfig;
+import com.example.todoapp.data.TodoIdGenerator;
+import com.example.todoapp.data.TodoPayloadTemplate;
+import com.example.todoapp.service.TodoService;
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+
+import static com.example.todoapp.load.WorkloadOperation.*;
+
+/**
+ * Scenario mixing todo operations by weight or along a Markov chain, configured by {@code load.workload.*}.
+ * <p>
+ * Each session picks its next operation from the transition row of its previous operation when the chain has one,
+ * otherwise from the global weights, and then waits for a sampled think time. Created ids enter a
+ * {@link LiveTodoPool}; updates and deletes take their targets from it and fall back to a create while it is empty.
+ * Counts and errors are kept per operation actually executed.
+ */
+@Slf4j
+public class WorkloadScenario implements LoadScenario, AutoCloseable {
+
+    static final Map<WorkloadOperation, Double> DEFAULT_WEIGHTS = Map.of(
+            GET_TODOS, 70.0, CREATE_TODO, 20.0, UPDATE_TODO, 7.0, DELETE_TODO, 3.0);
+
+    private static final TodoPayloadTemplate WORKLOAD_TODO = new TodoPayloadTemplate("Workload Todo ", false);
+    private static final TodoPayloadTemplate COMPLETED_WORKLOAD_TODO = new TodoPayloadTemplate("Workload Todo ", true);
+
+    private final TodoService todoService;
+    private final WeightedChoice weights;
+    private final Map<WorkloadOperation, WeightedChoice> transitions = new EnumMap<>(WorkloadOperation.class);
+    private final Distribution offset;
+    private final Distribution limit;
+    private final Distribution thinkTimeMillis;
+    private final TodoIdGenerator idGenerator = new TodoIdGenerator(ThreadLocalRandom.current().nextLong());
+    private final LiveTodoPool liveTodos = new LiveTodoPool();
+    private final Map<WorkloadOperation, LongAdder> counts = new EnumMap<>(WorkloadOperation.class);
+    private final Map<WorkloadOperation, LongAdder> errors = new EnumMap<>(WorkloadOperation.class);
+
+    public WorkloadScenario(TodoService todoService, WorkloadConfig workloadConfig) {
+        this.todoService = todoService;
+        this.weights = new WeightedChoice(workloadConfig.getWeights().isEmpty() ? DEFAULT_WEIGHTS : workloadConfig.getWeights());
+        workloadConfig.getTransitions().forEach((from, row) -> transitions.put(from, new WeightedChoice(row)));
+        this.offset = Distribution.parse(workloadConfig.getOffset());
+        this.limit = Distribution.parse(workloadConfig.getLimit());
+        this.thinkTimeMillis = Distribution.parse(workloadConfig.getThinkTimeMillis());
+        for (WorkloadOperation operation : WorkloadOperation.values()) {
+            counts.put(operation, new LongAdder());
+            errors.put(operation, new LongAdder());
+        }
+    }
+
+    /**
+     * Creates todos for updates and deletes to target; they are not counted as workload operations.
+     */
+    public void seed(int todos) {
+        for (int i = 0; i < todos; i++) {
+            long id = idGenerator.nextId();
+            todoService.createTodo(id, WORKLOAD_TODO.body(id));
+            liveTodos.put(id);
+        }
+    }
+
+    @Override
+    public Session newSession() {
+        return new Session() {
+            private WorkloadOperation previous;
+
+            @Override
+            public void next() throws Exception {
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                WeightedChoice choice = previous == null ? weights : transitions.getOrDefault(previous, weights);
+                previous = execute(choice.pick(random), random);
+                long thinkTime = thinkTimeMillis.sample(random);
+                if (thinkTime > 0) {
+                    Thread.sleep(thinkTime);
+                }
+            }
+        };
+    }
+
+    public long getCount(WorkloadOperation operation) {
+        return counts.get(operation).sum();
+    }
+
+    public long getErrors(WorkloadOperation operation) {
+        return errors.get(operation).sum();
+    }
+
+    public int getLiveTodos() {
+        return liveTodos.size();
+    }
+
+    /**
+     * Formats count, errors and throughput per operation over the given run time.
+     */
+    public String operationTable(Duration elapsed) {
+        double seconds = Math.max(elapsed.toNanos(), 1) / 1e9;
+        StringBuilder table = new StringBuilder(String.format("%-12s %10s %8s %10s%n", "operation", "count", "errors", "ops/s"));
+        for (WorkloadOperation operation : WorkloadOperation.values()) {
+            table.append(String.format("%-12s %10d %8d %10.1f%n", operation.name().toLowerCase().replace('_', '-'),
+                    getCount(operation), getErrors(operation), getCount(operation) / seconds));
+        }
+        return table.toString();
+    }
+
+    /**
+     * Deletes the todos the workload left behind.
+     */
+    @Override
+    public void close() {
+        int failed = 0;
+        for (long id = liveTodos.take(); id >= 0; id = liveTodos.take()) {
+            try {
+                todoService.deleteTodo(id);
+            } catch (RuntimeException e) {
+                failed++;
+            }
+        }
+        if (failed > 0) {
+            log.warn("Failed to delete {} todos left by the workload", failed);
+        }
+    }
+
+    private WorkloadOperation execute(WorkloadOperation operation, Random random) {
+        long id = operation == UPDATE_TODO || operation == DELETE_TODO ? liveTodos.take() : -1;
+        if (id < 0 && (operation == UPDATE_TODO || operation == DELETE_TODO)) {
+            operation = CREATE_TODO;
+        }
+        counts.get(operation).increment();
+        boolean failed = true;
+        try {
+            switch (operation) {
+                case GET_TODOS -> todoService.getTodos((int) offset.sample(random), (int) limit.sample(random));
+                case CREATE_TODO -> {
+                    long newId = idGenerator.nextId();
+                    todoService.createTodo(newId, WORKLOAD_TODO.body(newId));
+                    liveTodos.put(newId);
+                }
+                case UPDATE_TODO -> todoService.updateTodo(id, COMPLETED_WORKLOAD_TODO.body(id));
+                case DELETE_TODO -> todoService.deleteTodo(id);
+            }
+            failed = false;
+        } finally {
+            if (failed) {
+                errors.get(operation).increment();
+            }
+            if (operation == UPDATE_TODO || operation == DELETE_TODO && failed) {
+                liveTodos.put(id);
+            }
+        }
+        return operation;
+    }
+
+    /**
+     * Picks operations in proportion to their weights.
+     */
+    private static class WeightedChoice {
+
+        private final WorkloadOperation[] operations;
+        private final double[] cumulativeWeights;
+
+        WeightedChoice(Map<WorkloadOperation, Double> weights) {
+            operations = weights.keySet().toArray(new WorkloadOperation[0]);
+            cumulativeWeights = new double[operations.length];
+            double total = 0;
+            for (int i = 0; i < operations.length; i++) {
+                double weight = weights.get(operations[i]);
+                if (weight < 0) {
+                    throw new IllegalArgumentException("Negative weight of " + operations[i] + ": " + weight);
+                }
+                total += weight;
+                cumulativeWeights[i] = total;
+            }
+            if (total <= 0) {
+                throw new IllegalArgumentException("Workload weights must not all be zero: " + weights);
+            }
+        }
+
+        WorkloadOperation pick(Random random) {
+            double point = random.nextDouble() * cumulativeWeights[cumulativeWeights.length - 1];
+            for (int i = 0; i < operations.length; i++) {
+                if (point < cumulativeWeights[i]) {
+                    return operations[i];
+                }
+            }
+            return operations[operations.length - 1];
+        }
+
+    }
+
+}
@@ -0,0 +1,37 @@
+package com.example.todoapp.metrics;
+
+/**
+ * Carries the time a request was scheduled to be sent from the load scheduler to the recorder.
+ * <p>
+ * Measuring from the intended send time instead of the actual one corrects for coordinated omission:
+ * when a slow server delays the sender, the delay is charged to the server's latency.
+ */
+public final class IntendedStartTime {
+
+    private static final long NONE = Long.MIN_VALUE;
+
+    private static final ThreadLocal<long[]> INTENDED_START = ThreadLocal.withInitial(() -> new long[]{NONE});
+
+    private IntendedStartTime() {
+    }
+
+    public static void set(long nanoTime) {
+        INTENDED_START.get()[0] = nanoTime;
+    }
+
+    public static void clear() {
+        INTENDED_START.get()[0] = NONE;
+    }
+
+    /**
+     * Returns the intended start of the next request and clears it, so only the first request of an
+     * iteration is measured from the schedule. Falls back to {@code actualStart} when none is set.
+     */
+    public static long consume(long actualStart) {
+        long[] holder = INTENDED_START.get();
+        long intended = holder[0];
+        holder[0] = NONE;
+        return intended == NONE ? actualStart : Math.min(intended, actualStart);
+    }
+
+}
@@ -0,0 +1,146 @@
+package com.example.todoapp.metrics;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Records per-operation latency of TodoApp API calls into HdrHistograms.
+ * <p>
+ * Writers never block each other: every operation has its own wait-free {@link Recorder}, and the
+ * interval histograms are only merged on the reader side when a snapshot is taken.
+ * <p>
+ * Every {@link #reset()} starts a new epoch. A call is only recorded if it ends in the epoch it started in, or the
+ * one its thread was pinned to, so a call still in flight across a reset is counted in neither phase.
+ */
+@Component
+public class LatencyRecorder {
+
+    static final long HIGHEST_TRACKABLE_MICROS = TimeUnit.HOURS.toMicros(1);
+    static final int SIGNIFICANT_DIGITS = 3;
+    private static final long UNPINNED = -1;
+
+    private final Map<TodoOperation, Recorder> recorders = new EnumMap<>(TodoOperation.class);
+    private final Map<TodoOperation, Histogram> accumulated = new EnumMap<>(TodoOperation.class);
+    private final Map<TodoOperation, LongAdder> errors = new EnumMap<>(TodoOperation.class);
+    private final AtomicLong epoch = new AtomicLong();
+    private final ThreadLocal<long[]> pinnedEpoch = ThreadLocal.withInitial(() -> new long[]{UNPINNED});
+
+    public LatencyRecorder() {
+        for (TodoOperation operation : TodoOperation.values()) {
+            recorders.put(operation, new Recorder(HIGHEST_TRACKABLE_MICROS, SIGNIFICANT_DIGITS));
+            accumulated.put(operation, newHistogram());
+            errors.put(operation, new LongAdder());
+        }
+    }
+
+    public <T> T record(TodoOperation operation, Supplier<T> call) {
+        long callEpoch = callEpoch();
+        long start = IntendedStartTime.consume(System.nanoTime());
+        boolean failed = true;
+        try {
+            T result = call.get();
+            failed = false;
+            return result;
+        } finally {
+            // RestAssured rethrows checked exceptions such as ConnectException undeclared
+            recordCall(operation, System.nanoTime() - start, failed, callEpoch);
+        }
+    }
+
+    public void record(TodoOperation operation, Runnable call) {
+        record(operation, () -> {
+            call.run();
+            return null;
+        });
+    }
+
+    /**
+     * Times an asynchronous call from the moment it is issued until its future completes.
+     */
+    public <T> CompletableFuture<T> recordAsync(TodoOperation operation, Supplier<CompletableFuture<T>> call) {
+        long callEpoch = callEpoch();
+        long start = IntendedStartTime.consume(System.nanoTime());
+        CompletableFuture<T> future;
+        try {
+            future = call.get();
+        } catch (RuntimeException e) {
+            future = CompletableFuture.failedFuture(e);
+        }
+        return future.whenComplete((result, failure) ->
+                recordCall(operation, System.nanoTime() - start, failure != null, callEpoch));
+    }
+
+    public long epoch() {
+        return epoch.get();
+    }
+
+    /**
+     * Ties the calls of the current thread to the given epoch until {@link #unpin()}, so once a reset has moved past
+     * it they are dropped instead of being counted in the next phase.
+     */
+    public void pin(long epoch) {
+        pinnedEpoch.get()[0] = epoch;
+    }
+
+    public void unpin() {
+        pinnedEpoch.get()[0] = UNPINNED;
+    }
+
+    public void recordValue(TodoOperation operation, long latencyNanos) {
+        long micros = Math.min(TimeUnit.NANOSECONDS.toMicros(latencyNanos), HIGHEST_TRACKABLE_MICROS);
+        recorders.get(operation).recordValue(Math.max(micros, 0));
+    }
+
+    /**
+     * Merges everything recorded since the previous call into the run totals and returns a copy of them.
+     */
+    public synchronized LatencySnapshot snapshot() {
+        Map<TodoOperation, Histogram> histograms = new EnumMap<>(TodoOperation.class);
+        Map<TodoOperation, Long> errorCounts = new EnumMap<>(TodoOperation.class);
+        for (TodoOperation operation : TodoOperation.values()) {
+            Histogram total = accumulated.get(operation);
+            total.add(recorders.get(operation).getIntervalHistogram());
+            histograms.put(operation, total.copy());
+            errorCounts.put(operation, errors.get(operation).sum());
+        }
+        return new LatencySnapshot(histograms, errorCounts);
+    }
+
+    public synchronized void reset() {
+        epoch.incrementAndGet();
+        for (TodoOperation operation : TodoOperation.values()) {
+            recorders.get(operation).reset();
+            accumulated.get(operation).reset();
+            errors.get(operation).reset();
+        }
+    }
+
+    private long callEpoch() {
+        long pinned = pinnedEpoch.get()[0];
+        return pinned == UNPINNED ? epoch.get() : pinned;
+    }
+
+    private void recordCall(TodoOperation operation, long latencyNanos, boolean failed, long callEpoch) {
+        if (callEpoch != epoch.get()) {
+            return;
+        }
+        recordValue(operation, latencyNanos);
+        if (failed) {
+            errors.get(operation).increment();
+        }
+    }
+
+    static Histogram newHistogram() {
+        return new Histogram(HIGHEST_TRACKABLE_MICROS, SIGNIFICANT_DIGITS);
+    }
+
+}
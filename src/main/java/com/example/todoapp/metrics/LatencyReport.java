@@ -0,0 +1,79 @@
+package com.example.todoapp.metrics;
+
+import lombok.extern.slf4j.Slf4j;
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.HistogramLogWriter;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Locale;
+
+/**
+ * Writes a {@link LatencySnapshot} as an HdrHistogram log and as a text percentile table.
+ */
+@Slf4j
+public final class LatencyReport {
+
+    public static final String HDR_LOG_FILE = "latency.hlog";
+    public static final String PERCENTILES_FILE = "latency-percentiles.txt";
+
+    private static final String HEADER_FORMAT = "%-58s %10s %8s %10s %10s %10s %10s%n";
+    private static final String ROW_FORMAT = "%-58s %10d %8d %10.3f %10.3f %10.3f %10.3f%n";
+    private static final double MICROS_PER_MILLI = 1000.0;
+
+    private LatencyReport() {
+    }
+
+    public static void write(LatencySnapshot snapshot, Path directory) {
+        try {
+            Files.createDirectories(directory);
+            writeHdrLog(snapshot, directory.resolve(HDR_LOG_FILE));
+            String table = percentileTable(snapshot);
+            Files.writeString(directory.resolve(PERCENTILES_FILE), table);
+            log.info("Latency percentiles (ms):\n{}", table);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to write latency report to " + directory, e);
+        }
+    }
+
+    /**
+     * Formats p50, p99, p99.9 and max in milliseconds for every operation that was called.
+     */
+    public static String percentileTable(LatencySnapshot snapshot) {
+        StringBuilder table = new StringBuilder();
+        table.append(String.format(Locale.ROOT, HEADER_FORMAT, "operation", "count", "errors", "p50", "p99", "p99.9", "max"));
+        for (TodoOperation operation : TodoOperation.values()) {
+            Histogram histogram = snapshot.getHistogram(operation);
+            if (histogram == null || histogram.getTotalCount() == 0) {
+                continue;
+            }
+            table.append(String.format(Locale.ROOT, ROW_FORMAT, operation, histogram.getTotalCount(),
+                    snapshot.getErrors(operation),
+                    histogram.getValueAtPercentile(50) / MICROS_PER_MILLI,
+                    histogram.getValueAtPercentile(99) / MICROS_PER_MILLI,
+                    histogram.getValueAtPercentile(99.9) / MICROS_PER_MILLI,
+                    histogram.getMaxValue() / MICROS_PER_MILLI));
+        }
+        return table.toString();
+    }
+
+    private static void writeHdrLog(LatencySnapshot snapshot, Path file) throws IOException {
+        try (PrintStream out = new PrintStream(Files.newOutputStream(file))) {
+            HistogramLogWriter writer = new HistogramLogWriter(out);
+            writer.outputComment("Latency per TodoApp API operation, in microseconds");
+            writer.outputLogFormatVersion();
+            writer.outputLegend();
+            for (TodoOperation operation : TodoOperation.values()) {
+                Histogram histogram = snapshot.getHistogram(operation);
+                if (histogram != null && histogram.getTotalCount() > 0) {
+                    histogram.setTag(operation.name());
+                    writer.outputIntervalHistogram(histogram);
+                }
+            }
+        }
+    }
+
+}
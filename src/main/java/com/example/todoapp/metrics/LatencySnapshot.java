@@ -0,0 +1,36 @@
+package com.example.todoapp.metrics;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import org.HdrHistogram.Histogram;
+
+import java.util.Map;
+
+/**
+ * Point-in-time copy of the recorded latencies, in microseconds, and error counts per operation.
+ */
+@Getter
+@RequiredArgsConstructor
+public class LatencySnapshot {
+
+    private final Map<TodoOperation, Histogram> histograms;
+    private final Map<TodoOperation, Long> errors;
+
+    public Histogram getHistogram(TodoOperation operation) {
+        return histograms.get(operation);
+    }
+
+    public long getErrors(TodoOperation operation) {
+        return errors.getOrDefault(operation, 0L);
+    }
+
+    /**
+     * Adds the values of another snapshot, e.g. one taken in a different JVM.
+     */
+    public void add(LatencySnapshot other) {
+        other.histograms.forEach((operation, histogram) ->
+                histograms.computeIfAbsent(operation, ignored -> LatencyRecorder.newHistogram()).add(histogram));
+        other.errors.forEach((operation, count) -> errors.merge(operation, count, Long::sum));
+    }
+
+}
@@ -0,0 +1,28 @@
+package com.example.todoapp.metrics;
+
+import lombok.Value;
+
+/**
+ * One request decoded from a {@link RequestEventLog} file.
+ */
+@Value
+public class RequestEvent {
+    TodoOperation operation;
+    /**
+     * Todo id, or {@link RequestEventLog#NO_ID}.
+     */
+    long id;
+    /**
+     * Start of the request relative to the start of the log.
+     */
+    long startNanos;
+    long latencyNanos;
+    /**
+     * HTTP status code, or {@link RequestEventLog#NO_RESPONSE}.
+     */
+    int statusCode;
+    /**
+     * Size of the response body.
+     */
+    long bytes;
+}
@@ -0,0 +1,74 @@
+package com.example.todoapp.metrics;
+
+import com.example.todoapp.config.EventLogConfig;
+import jakarta.annotation.PreDestroy;
+import org.springframework.stereotype.Component;
+
+/**
+ * Optional binary log of every TodoApp API request, enabled with {@code events.enabled}.
+ * <p>
+ * Callers only publish a fixed-size event into a lock-free {@link RequestEventRing}; a background thread drains it
+ * into a memory-mapped file. When the writer falls a full ring behind, events are dropped and counted rather than
+ * slowing the caller down. Decode the file with {@link RequestEventLogReader}.
+ * <p>
+ * File layout, little-endian: a {@value #HEADER_BYTES}-byte header of magic, version, record size, wall-clock start
+ * in epoch nanoseconds and the matching {@link System#nanoTime()}, followed by {@value #RECORD_BYTES}-byte records of
+ * operation ordinal plus one, status code, id, start and end {@code nanoTime}, and response body bytes. A zero
+ * operation marks the end of the records.
+ */
+@Component
+public class RequestEventLog {
+
+    public static final long MAGIC = 0x544F444F45565453L;
+    public static final int VERSION = 1;
+    public static final int HEADER_BYTES = 32;
+    public static final int RECORD_BYTES = 40;
+    /**
+     * Id of requests that do not address a single todo.
+     */
+    public static final long NO_ID = Long.MIN_VALUE;
+    /**
+     * Status of requests that failed without a response.
+     */
+    public static final int NO_RESPONSE = -1;
+
+    private final RequestEventWriter writer;
+    private final RequestEventRing ring;
+    private boolean closed;
+
+    public RequestEventLog(EventLogConfig eventLogConfig) {
+        writer = eventLogConfig.isEnabled()
+                ? RequestEventWriter.acquire(eventLogConfig.getFile(), eventLogConfig.getRingSize())
+                : null;
+        ring = writer == null ? null : writer.getRing();
+    }
+
+    public boolean isEnabled() {
+        return ring != null;
+    }
+
+    /**
+     * Publishes a request event without blocking; does nothing when the log is disabled.
+     */
+    public void record(TodoOperation operation, long id, long startNanos, long endNanos, int status, long bytes) {
+        if (ring != null) {
+            ring.offer(operation.ordinal() + 1, status, id, startNanos, endNanos, bytes);
+        }
+    }
+
+    public long getDropped() {
+        return ring == null ? 0 : ring.getDropped();
+    }
+
+    /**
+     * Stops using the file; the last log of a file writes the remaining events and closes it.
+     */
+    @PreDestroy
+    public synchronized void close() {
+        if (writer != null && !closed) {
+            closed = true;
+            writer.release();
+        }
+    }
+
+}
@@ -0,0 +1,175 @@
+package com.example.todoapp.metrics;
+
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+
+import static com.example.todoapp.metrics.RequestEventLog.*;
+
+/**
+ * Decodes a {@link RequestEventLog} file into CSV and a per-operation summary table.
+ * <p>
+ * Run {@code java -cp <classpath> com.example.todoapp.metrics.RequestEventLogReader <events file> [csv file]} after
+ * a run; the CSV is written next to the events file by default. A log that is still being written is read up to the
+ * last complete record.
+ */
+public final class RequestEventLogReader {
+
+    public static final String CSV_SUFFIX = ".csv";
+
+    private static final String HEADER_FORMAT = "%-58s %10s %10s %10s %10s %10s %14s  %s%n";
+    private static final String ROW_FORMAT = "%-58s %10d %10d %10.3f %10.3f %10.3f %14d  %s%n";
+    private static final double NANOS_PER_MILLI = 1_000_000.0;
+    private static final double MICROS_PER_MILLI = 1000.0;
+
+    private RequestEventLogReader() {
+    }
+
+    public static void main(String[] args) {
+        if (args.length < 1 || args.length > 2) {
+            System.err.println("Usage: RequestEventLogReader <events file> [csv file]");
+            System.exit(2);
+        }
+        Path file = Path.of(args[0]);
+        Path csvFile = args.length == 2 ? Path.of(args[1]) : file.resolveSibling(file.getFileName() + CSV_SUFFIX);
+        List<RequestEvent> events = read(file);
+        try {
+            Files.writeString(csvFile, toCsv(events));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to write " + csvFile, e);
+        }
+        System.out.printf("%d events since %s written to %s%n", events.size(), readStartTime(file), csvFile);
+        System.out.print(summaryTable(events));
+    }
+
+    /**
+     * Returns the wall-clock time the log was started.
+     */
+    public static Instant readStartTime(Path file) {
+        ByteBuffer header = readHeader(file);
+        long epochNanos = header.getLong(Long.BYTES + 2 * Integer.BYTES);
+        return Instant.ofEpochSecond(0, epochNanos);
+    }
+
+    public static List<RequestEvent> read(Path file) {
+        try (FileChannel channel = FileChannel.open(file)) {
+            ByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()).order(ByteOrder.LITTLE_ENDIAN);
+            long startNanoTime = checkHeader(buffer, file).getLong();
+            TodoOperation[] operations = TodoOperation.values();
+            List<RequestEvent> events = new ArrayList<>();
+            while (buffer.remaining() >= RECORD_BYTES) {
+                int operation = buffer.getInt();
+                if (operation == 0) {
+                    break;
+                }
+                int statusCode = buffer.getInt();
+                long id = buffer.getLong();
+                long startNanos = buffer.getLong();
+                long endNanos = buffer.getLong();
+                long bytes = buffer.getLong();
+                events.add(new RequestEvent(operations[operation - 1], id, startNanos - startNanoTime,
+                        endNanos - startNanos, statusCode, bytes));
+            }
+            return events;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read request event log " + file, e);
+        }
+    }
+
+    /**
+     * One row per event with its start relative to the log start and its latency in milliseconds; the id column is
+     * empty for requests that do not address a single todo.
+     */
+    public static String toCsv(List<RequestEvent> events) {
+        StringBuilder csv = new StringBuilder("operation,id,start_ms,latency_ms,status,bytes\n");
+        for (RequestEvent event : events) {
+            csv.append(event.getOperation()).append(',')
+                    .append(event.getId() == NO_ID ? "" : Long.toString(event.getId())).append(',')
+                    .append(String.format(Locale.ROOT, "%.3f,%.3f", event.getStartNanos() / NANOS_PER_MILLI,
+                            event.getLatencyNanos() / NANOS_PER_MILLI)).append(',')
+                    .append(event.getStatusCode()).append(',')
+                    .append(event.getBytes()).append('\n');
+        }
+        return csv.toString();
+    }
+
+    /**
+     * Formats count, requests without a response, p50, p99 and max latency in milliseconds, response bytes and the
+     * status codes seen, e.g. {@code 201x98 400x2}, for every operation that was called.
+     */
+    public static String summaryTable(List<RequestEvent> events) {
+        Map<TodoOperation, Histogram> histograms = new EnumMap<>(TodoOperation.class);
+        Map<TodoOperation, Map<Integer, Integer>> statusCodes = new EnumMap<>(TodoOperation.class);
+        Map<TodoOperation, Long> bytes = new EnumMap<>(TodoOperation.class);
+        for (RequestEvent event : events) {
+            long micros = Math.min(TimeUnit.NANOSECONDS.toMicros(event.getLatencyNanos()),
+                    LatencyRecorder.HIGHEST_TRACKABLE_MICROS);
+            histograms.computeIfAbsent(event.getOperation(), ignored -> LatencyRecorder.newHistogram())
+                    .recordValue(Math.max(micros, 0));
+            statusCodes.computeIfAbsent(event.getOperation(), ignored -> new TreeMap<>())
+                    .merge(event.getStatusCode(), 1, Integer::sum);
+            bytes.merge(event.getOperation(), event.getBytes(), Long::sum);
+        }
+        StringBuilder table = new StringBuilder();
+        table.append(String.format(Locale.ROOT, HEADER_FORMAT, "operation", "count", "no response", "p50", "p99", "max",
+                "bytes", "status codes"));
+        histograms.forEach((operation, histogram) -> {
+            Map<Integer, Integer> codes = statusCodes.get(operation);
+            StringBuilder codeCounts = new StringBuilder();
+            codes.forEach((statusCode, count) ->
+                    codeCounts.append(codeCounts.length() == 0 ? "" : " ").append(statusCode).append('x').append(count));
+            table.append(String.format(Locale.ROOT, ROW_FORMAT, operation, histogram.getTotalCount(),
+                    codes.getOrDefault(NO_RESPONSE, 0),
+                    histogram.getValueAtPercentile(50) / MICROS_PER_MILLI,
+                    histogram.getValueAtPercentile(99) / MICROS_PER_MILLI,
+                    histogram.getMaxValue() / MICROS_PER_MILLI,
+                    bytes.get(operation), codeCounts));
+        });
+        return table.toString();
+    }
+
+    private static ByteBuffer readHeader(Path file) {
+        try (FileChannel channel = FileChannel.open(file)) {
+            ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+            while (header.hasRemaining() && channel.read(header) >= 0) {
+                // Read until the header is complete or the file ends
+            }
+            header.flip();
+            checkHeader(header, file);
+            return header.rewind();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read request event log " + file, e);
+        }
+    }
+
+    /**
+     * Validates the header and leaves the buffer positioned at its {@code nanoTime} field.
+     */
+    private static ByteBuffer checkHeader(ByteBuffer buffer, Path file) {
+        if (buffer.remaining() < HEADER_BYTES || buffer.getLong() != MAGIC) {
+            throw new IllegalArgumentException(file + " is not a request event log");
+        }
+        int version = buffer.getInt();
+        int recordBytes = buffer.getInt();
+        if (version != VERSION || recordBytes != RECORD_BYTES) {
+            throw new IllegalArgumentException("Unsupported request event log version " + version + " in " + file);
+        }
+        buffer.getLong();
+        return buffer;
+    }
+
+}
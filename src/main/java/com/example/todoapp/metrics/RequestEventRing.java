@@ -0,0 +1,95 @@
+package com.example.todoapp.metrics;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Bounded multi-producer, single-consumer ring of fixed-size request events.
+ * <p>
+ * Producers claim a sequence with a CAS and never wait: when the consumer is a full ring behind, the event is
+ * dropped and counted instead. Each slot starts with the sequence it was published for, written last with release
+ * semantics, so the consumer reads a slot only once all of its fields are visible.
+ */
+final class RequestEventRing {
+
+    static final int SLOT_LONGS = 6;
+
+    private static final VarHandle SLOTS = MethodHandles.arrayElementVarHandle(long[].class);
+
+    private final long[] slots;
+    private final int mask;
+    private final AtomicLong claimed = new AtomicLong();
+    private final LongAdder dropped = new LongAdder();
+    private volatile long drained;
+
+    RequestEventRing(int capacity) {
+        int size = Integer.highestOneBit(Math.max(capacity - 1, 1)) << 1;
+        slots = new long[size * SLOT_LONGS];
+        mask = size - 1;
+    }
+
+    /**
+     * Publishes an event unless the ring is full.
+     *
+     * @return {@code false} when the event was dropped
+     */
+    boolean offer(int operation, int status, long id, long startNanos, long endNanos, long bytes) {
+        long sequence;
+        do {
+            sequence = claimed.get();
+            if (sequence - drained > mask) {
+                dropped.increment();
+                return false;
+            }
+        } while (!claimed.compareAndSet(sequence, sequence + 1));
+        int base = (int) (sequence & mask) * SLOT_LONGS;
+        slots[base + 1] = (long) operation << 32 | (status & 0xFFFFFFFFL);
+        slots[base + 2] = id;
+        slots[base + 3] = startNanos;
+        slots[base + 4] = endNanos;
+        slots[base + 5] = bytes;
+        SLOTS.setRelease(slots, base, sequence + 1);
+        return true;
+    }
+
+    /**
+     * Hands the published events to {@code sink} in sequence order, stopping at the first slot that is still being
+     * written. Must only be called from the consumer thread.
+     *
+     * @return the number of events drained
+     */
+    int drain(Sink sink) {
+        long next = drained;
+        int count = 0;
+        while (true) {
+            int base = (int) (next & mask) * SLOT_LONGS;
+            if ((long) SLOTS.getAcquire(slots, base) != next + 1) {
+                break;
+            }
+            long operationAndStatus = slots[base + 1];
+            sink.accept((int) (operationAndStatus >>> 32), (int) operationAndStatus, slots[base + 2], slots[base + 3],
+                    slots[base + 4], slots[base + 5]);
+            next++;
+            count++;
+            // Frees the slot for producers
+            drained = next;
+        }
+        return count;
+    }
+
+    long getDropped() {
+        return dropped.sum();
+    }
+
+    int capacity() {
+        return mask + 1;
+    }
+
+    @FunctionalInterface
+    interface Sink {
+        void accept(int operation, int status, long id, long startNanos, long endNanos, long bytes);
+    }
+
+}
@@ -0,0 +1,144 @@
+package com.example.todoapp.metrics;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+import static com.example.todoapp.metrics.RequestEventLog.*;
+import static java.nio.file.StandardOpenOption.*;
+
+/**
+ * Drains a {@link RequestEventRing} into a memory-mapped {@link RequestEventLog} file on a background thread.
+ * <p>
+ * One writer exists per file in a JVM, shared by every Spring context of a test run, so contexts append to the same
+ * log instead of truncating each other's; it closes the file when the last one releases it.
+ */
+@Slf4j
+final class RequestEventWriter {
+
+    private static final long REGION_BYTES = 8L << 20;
+    private static final long IDLE_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+    private static final Map<Path, RequestEventWriter> OPEN = new ConcurrentHashMap<>();
+
+    private final Path file;
+    private final RequestEventRing ring;
+    private final FileChannel channel;
+    private final Thread thread;
+    private MappedByteBuffer region;
+    private long regionStart;
+    private long written;
+    private volatile boolean running = true;
+    private int references;
+
+    private RequestEventWriter(Path file, int ringSize) {
+        this.file = file;
+        ring = new RequestEventRing(ringSize);
+        try {
+            if (file.getParent() != null) {
+                Files.createDirectories(file.getParent());
+            }
+            channel = FileChannel.open(file, CREATE, TRUNCATE_EXISTING, READ, WRITE);
+            mapRegion(0);
+            region.putLong(MAGIC)
+                    .putInt(VERSION)
+                    .putInt(RECORD_BYTES)
+                    .putLong(TimeUnit.MILLISECONDS.toNanos(System.currentTimeMillis()))
+                    .putLong(System.nanoTime());
+            written = HEADER_BYTES;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to open request event log " + file, e);
+        }
+        thread = new Thread(this::writeLoop, "request-event-writer");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /**
+     * Returns the writer of {@code file}, opening it first if no other log in this JVM has.
+     */
+    static RequestEventWriter acquire(Path file, int ringSize) {
+        Path key = file.toAbsolutePath().normalize();
+        return OPEN.compute(key, (ignored, writer) -> {
+            RequestEventWriter acquired = writer != null ? writer : new RequestEventWriter(key, ringSize);
+            acquired.references++;
+            return acquired;
+        });
+    }
+
+    /**
+     * Writes the remaining events, truncates the file to its records and closes it once no log uses it any more.
+     */
+    void release() {
+        boolean last = OPEN.computeIfPresent(file, (ignored, writer) -> --writer.references == 0 ? null : writer) == null;
+        if (last) {
+            close();
+        }
+    }
+
+    RequestEventRing getRing() {
+        return ring;
+    }
+
+    private void close() {
+        running = false;
+        LockSupport.unpark(thread);
+        try {
+            thread.join();
+            ring.drain(this::write);
+            region.force();
+            channel.truncate(written);
+            channel.close();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to close request event log " + file, e);
+        }
+        log.info("Request event log: {} events written to {}, {} dropped", (written - HEADER_BYTES) / RECORD_BYTES,
+                file, ring.getDropped());
+    }
+
+    private void writeLoop() {
+        while (running) {
+            if (ring.drain(this::write) == 0) {
+                LockSupport.parkNanos(IDLE_PARK_NANOS);
+            }
+        }
+    }
+
+    private void write(int operation, int status, long id, long startNanos, long endNanos, long bytes) {
+        if (written + RECORD_BYTES > regionStart + REGION_BYTES) {
+            mapRegion(written);
+        }
+        region.putInt(operation)
+                .putInt(status)
+                .putLong(id)
+                .putLong(startNanos)
+                .putLong(endNanos)
+                .putLong(bytes);
+        written += RECORD_BYTES;
+    }
+
+    private void mapRegion(long position) {
+        try {
+            if (region != null) {
+                region.force();
+            }
+            region = channel.map(FileChannel.MapMode.READ_WRITE, position, REGION_BYTES);
+            region.order(ByteOrder.LITTLE_ENDIAN);
+            regionStart = position;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to map request event log " + file, e);
+        }
+    }
+
+}
@@ -0,0 +1,18 @@
+package com.example.todoapp.metrics;
+
+/**
+ * Operations of the TodoApp API client that latency is recorded for.
+ */
+public enum TodoOperation {
+    GET_TODOS,
+    GET_TODOS_EXPECTING_STATUS_CODE,
+    GET_TODOS_IF_MODIFIED,
+    CREATE_TODO,
+    CREATE_TODO_EXPECTING_STATUS_CODE,
+    UPDATE_TODO,
+    UPDATE_TODO_EXPECTING_STATUS_CODE,
+    UPDATE_TODO_WITH_INVALID_ID_FORMAT_EXPECTING_STATUS_CODE,
+    DELETE_TODO,
+    DELETE_TODO_EXPECTING_STATUS_CODE,
+    DELETE_TODO_WITHOUT_AUTHORIZATION_EXPECTING_STATUS_CODE
+}
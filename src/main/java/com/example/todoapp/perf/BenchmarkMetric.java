@@ -0,0 +1,18 @@
+package com.example.todoapp.perf;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Per-operation figure measured in every trial of the regression benchmark.
+ */
+@Getter
+@RequiredArgsConstructor
+public enum BenchmarkMetric {
+    THROUGHPUT("requests/s", true),
+    P50("ms", false),
+    P99("ms", false);
+
+    private final String unit;
+    private final boolean higherBetter;
+}
@@ -0,0 +1,94 @@
+package com.example.todoapp.perf;
+
+import com.example.todoapp.metrics.TodoOperation;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Value of every {@link BenchmarkMetric} per operation and trial, as measured or as stored in a baseline file.
+ * <p>
+ * The CSV form keeps one row per operation, metric and trial, so a baseline holds the spread of its trials and not
+ * just their average.
+ */
+public class BenchmarkTrials {
+
+    private static final String HEADER = "operation,metric,trial,value";
+
+    private final Map<TodoOperation, Map<BenchmarkMetric, List<Double>>> values = new EnumMap<>(TodoOperation.class);
+
+    public void add(TodoOperation operation, BenchmarkMetric metric, double value) {
+        values.computeIfAbsent(operation, ignored -> new EnumMap<>(BenchmarkMetric.class))
+                .computeIfAbsent(metric, ignored -> new ArrayList<>())
+                .add(value);
+    }
+
+    /**
+     * Returns the trial values of a metric in trial order, or an empty array when it was not measured.
+     */
+    public double[] get(TodoOperation operation, BenchmarkMetric metric) {
+        return values.getOrDefault(operation, Map.of()).getOrDefault(metric, List.of()).stream()
+                .mapToDouble(Double::doubleValue)
+                .toArray();
+    }
+
+    public Set<TodoOperation> getOperations() {
+        return values.keySet();
+    }
+
+    public String toCsv() {
+        StringBuilder csv = new StringBuilder(HEADER).append('\n');
+        values.forEach((operation, metrics) -> metrics.forEach((metric, trials) -> {
+            for (int trial = 0; trial < trials.size(); trial++) {
+                csv.append(String.format(Locale.ROOT, "%s,%s,%d,%.6f%n", operation, metric, trial + 1, trials.get(trial)));
+            }
+        }));
+        return csv.toString();
+    }
+
+    public static BenchmarkTrials fromCsv(String csv) {
+        List<String> lines = csv.lines().toList();
+        if (lines.isEmpty() || !lines.get(0).equals(HEADER)) {
+            throw new IllegalArgumentException("Not a benchmark trials file, expected header: " + HEADER);
+        }
+        BenchmarkTrials trials = new BenchmarkTrials();
+        for (String line : lines.subList(1, lines.size())) {
+            if (line.isBlank()) {
+                continue;
+            }
+            String[] columns = line.split(",");
+            if (columns.length != 4) {
+                throw new IllegalArgumentException("Malformed benchmark trial row: " + line);
+            }
+            trials.add(TodoOperation.valueOf(columns[0]), BenchmarkMetric.valueOf(columns[1]), Double.parseDouble(columns[3]));
+        }
+        return trials;
+    }
+
+    public static BenchmarkTrials read(Path file) {
+        try {
+            return fromCsv(Files.readString(file));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read benchmark trials from " + file, e);
+        }
+    }
+
+    public void write(Path file) {
+        try {
+            Path parent = file.toAbsolutePath().getParent();
+            Files.createDirectories(parent);
+            Files.writeString(file, toCsv());
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to write benchmark trials to " + file, e);
+        }
+    }
+
+}
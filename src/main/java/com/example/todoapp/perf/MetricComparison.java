@@ -0,0 +1,78 @@
+package com.example.todoapp.perf;
+
+import com.example.todoapp.metrics.TodoOperation;
+import lombok.Value;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+/**
+ * Change of one metric of one operation between the baseline trials and the current trials.
+ * <p>
+ * The change is the ratio of the trial means minus one, e.g. {@code 0.2} for 20% more. Its confidence interval is a
+ * percentile bootstrap: both sets of trials are resampled with replacement and the ratio recomputed for every
+ * resample. A change only counts as a regression or an improvement when the whole interval lies beyond the tolerance,
+ * so neither trial-to-trial noise nor a significant but negligible shift fails the gate.
+ * <p>
+ * Any rise from a zero baseline mean is an infinite change, so it always counts.
+ */
+@Value
+public class MetricComparison {
+    TodoOperation operation;
+    BenchmarkMetric metric;
+    double baselineMean;
+    double currentMean;
+    double change;
+    double changeLow;
+    double changeHigh;
+    boolean regression;
+    boolean improvement;
+
+    public static MetricComparison compare(TodoOperation operation, BenchmarkMetric metric, double[] baseline,
+                                           double[] current, int resamples, double confidence, double tolerance,
+                                           SplittableRandom random) {
+        if (baseline.length == 0 || current.length == 0) {
+            throw new IllegalArgumentException("No trials of " + metric + " for " + operation + " to compare");
+        }
+        if (resamples < 1) {
+            throw new IllegalArgumentException("At least one bootstrap resample is needed, got " + resamples);
+        }
+        if (confidence <= 0 || confidence >= 1) {
+            throw new IllegalArgumentException("Confidence must be between 0 and 1, got " + confidence);
+        }
+        double baselineMean = mean(baseline);
+        double currentMean = mean(current);
+        double[] changes = new double[resamples];
+        for (int i = 0; i < resamples; i++) {
+            changes[i] = change(resampledMean(baseline, random), resampledMean(current, random));
+        }
+        Arrays.sort(changes);
+        double tail = (1 - confidence) / 2;
+        double low = changes[(int) Math.floor(tail * (resamples - 1))];
+        double high = changes[(int) Math.ceil((1 - tail) * (resamples - 1))];
+
+        boolean worse = metric.isHigherBetter() ? high < -tolerance : low > tolerance;
+        boolean better = metric.isHigherBetter() ? low > tolerance : high < -tolerance;
+        return new MetricComparison(operation, metric, baselineMean, currentMean, change(baselineMean, currentMean),
+                low, high, worse, better);
+    }
+
+    private static double change(double baseline, double current) {
+        if (baseline == 0) {
+            return current == 0 ? 0 : Double.POSITIVE_INFINITY;
+        }
+        return current / baseline - 1;
+    }
+
+    private static double resampledMean(double[] trials, SplittableRandom random) {
+        double sum = 0;
+        for (int i = 0; i < trials.length; i++) {
+            sum += trials[random.nextInt(trials.length)];
+        }
+        return sum / trials.length;
+    }
+
+    private static double mean(double[] trials) {
+        return Arrays.stream(trials).average().orElse(0);
+    }
+}
@@ -0,0 +1,54 @@
+package com.example.todoapp.perf;
+
+import lombok.Value;
+
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Growth of page latency with the offset for one dataset size and page size.
+ * <p>
+ * The slope is fitted by least squares on {@code ln(latency)} over {@code ln(offset)} across the deepest decade of
+ * offsets: about 0 when paging costs the same at any depth, approaching 1 when the server scans past every skipped
+ * row. Shallower offsets are left out, since fixed per-request costs hide a scan there.
+ */
+@Value
+public class OffsetCostFit {
+    int datasetSize;
+    int limit;
+    double slope;
+    /**
+     * Median latency of the deepest page divided by that of the first page.
+     */
+    double deepToShallowRatio;
+    boolean superlinear;
+
+    /**
+     * Fits the samples of one curve; flags it when both the slope and the ratio exceed their limits.
+     */
+    public static OffsetCostFit fit(List<PaginationSample> curve, double maxSlope, double minRatio) {
+        List<PaginationSample> sorted = curve.stream().sorted(Comparator.comparingInt(PaginationSample::getOffset)).toList();
+        PaginationSample first = sorted.get(0);
+        PaginationSample deepest = sorted.get(sorted.size() - 1);
+
+        long deepDecade = Math.min(deepest.getOffset() / 10, sorted.get(Math.max(0, sorted.size() - 2)).getOffset());
+        double sumX = 0, sumY = 0, sumXX = 0, sumXY = 0;
+        int n = 0;
+        for (PaginationSample sample : sorted) {
+            if (sample.getOffset() > 0 && sample.getOffset() >= deepDecade && sample.getMedianMillis() > 0) {
+                double x = Math.log(sample.getOffset());
+                double y = Math.log(sample.getMedianMillis());
+                sumX += x;
+                sumY += y;
+                sumXX += x * x;
+                sumXY += x * y;
+                n++;
+            }
+        }
+        double denominator = n * sumXX - sumX * sumX;
+        double slope = n < 2 || denominator == 0 ? 0 : (n * sumXY - sumX * sumY) / denominator;
+        double ratio = first.getMedianMillis() > 0 ? deepest.getMedianMillis() / first.getMedianMillis() : 1;
+        return new OffsetCostFit(first.getDatasetSize(), first.getLimit(), slope, ratio,
+                slope > maxSlope && ratio > minRatio);
+    }
+}
@@ -0,0 +1,91 @@
+package com.example.todoapp.perf;
+
+import lombok.Value;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Result of a {@link PaginationCostSuite} run: every sample, one fit per curve, and their CSV and SVG renderings.
+ */
+@Value
+public class PaginationCostReport {
+
+    private static final int WIDTH = 720;
+    private static final int HEIGHT = 420;
+    private static final int MARGIN = 60;
+    private static final String[] COLORS = {"#1f77b4", "#ff7f0e", "#2ca02c", "#d62728", "#9467bd", "#8c564b",
+            "#e377c2", "#7f7f7f", "#bcbd22", "#17becf"};
+
+    List<PaginationSample> samples;
+    List<OffsetCostFit> fits;
+
+    public List<OffsetCostFit> getSuperlinear() {
+        return fits.stream().filter(OffsetCostFit::isSuperlinear).collect(Collectors.toList());
+    }
+
+    public String samplesCsv() {
+        StringBuilder csv = new StringBuilder("dataset_size,limit,offset,returned,median_ms,p95_ms\n");
+        for (PaginationSample sample : samples) {
+            csv.append(String.format(Locale.ROOT, "%d,%d,%d,%d,%.3f,%.3f%n", sample.getDatasetSize(), sample.getLimit(),
+                    sample.getOffset(), sample.getReturned(), sample.getMedianMillis(), sample.getP95Millis()));
+        }
+        return csv.toString();
+    }
+
+    public String fitsCsv() {
+        StringBuilder csv = new StringBuilder("dataset_size,limit,slope,deep_to_shallow_ratio,superlinear\n");
+        for (OffsetCostFit fit : fits) {
+            csv.append(String.format(Locale.ROOT, "%d,%d,%.3f,%.2f,%s%n", fit.getDatasetSize(), fit.getLimit(),
+                    fit.getSlope(), fit.getDeepToShallowRatio(), fit.isSuperlinear()));
+        }
+        return csv.toString();
+    }
+
+    /**
+     * Plots median latency over offset, on a logarithmic offset axis, with one line per dataset size and page size.
+     */
+    public String latencyChartSvg() {
+        Map<String, List<PaginationSample>> curves = new LinkedHashMap<>();
+        for (PaginationSample sample : samples) {
+            curves.computeIfAbsent(sample.getDatasetSize() + " todos, limit " + sample.getLimit(), key -> new ArrayList<>())
+                    .add(sample);
+        }
+        double maxOffset = Math.max(10, samples.stream().mapToInt(PaginationSample::getOffset).max().orElse(10));
+        double maxMillis = Math.max(0.001, samples.stream().mapToDouble(PaginationSample::getMedianMillis).max().orElse(1));
+        double plotWidth = WIDTH - 2.0 * MARGIN;
+        double plotHeight = HEIGHT - 2.0 * MARGIN;
+
+        StringBuilder svg = new StringBuilder(String.format(Locale.ROOT,
+                "<svg xmlns=\"http://www.w3.org/2000/svg\" width=\"%d\" height=\"%d\" font-family=\"sans-serif\" font-size=\"11\">%n",
+                WIDTH, HEIGHT));
+        svg.append(String.format(Locale.ROOT, "<rect width=\"%d\" height=\"%d\" fill=\"white\"/>%n", WIDTH, HEIGHT));
+        svg.append(String.format(Locale.ROOT, "<path d=\"M%d %d V%d H%d\" stroke=\"black\" fill=\"none\"/>%n",
+                MARGIN, MARGIN, HEIGHT - MARGIN, WIDTH - MARGIN));
+        svg.append(String.format(Locale.ROOT, "<text x=\"%d\" y=\"%d\" text-anchor=\"middle\">offset (log scale, up to %.0f)</text>%n",
+                WIDTH / 2, HEIGHT - MARGIN / 3, maxOffset));
+        svg.append(String.format(Locale.ROOT, "<text x=\"%d\" y=\"%d\">median latency, ms (max %.2f)</text>%n",
+                MARGIN, MARGIN - 10, maxMillis));
+
+        int index = 0;
+        for (Map.Entry<String, List<PaginationSample>> curve : curves.entrySet()) {
+            String color = COLORS[index % COLORS.length];
+            String points = curve.getValue().stream()
+                    .map(sample -> String.format(Locale.ROOT, "%.1f,%.1f",
+                            MARGIN + plotWidth * Math.log10(Math.max(1, sample.getOffset())) / Math.log10(maxOffset),
+                            HEIGHT - MARGIN - plotHeight * sample.getMedianMillis() / maxMillis))
+                    .collect(Collectors.joining(" "));
+            svg.append(String.format(Locale.ROOT, "<polyline points=\"%s\" stroke=\"%s\" fill=\"none\" stroke-width=\"2\"/>%n",
+                    points, color));
+            svg.append(String.format(Locale.ROOT, "<text x=\"%d\" y=\"%d\" fill=\"%s\">%s</text>%n",
+                    MARGIN + 10, MARGIN + 14 * (index + 1), color, curve.getKey()));
+            index++;
+        }
+        return svg.append("</svg>\n").toString();
+    }
+
+}
@@ -0,0 +1,163 @@
+package com.example.todoapp.perf;
+
+import com.example.todoapp.clients.TodoApiClient;
+import com.example.todoapp.config.PaginationCostConfig;
+import com.example.todoapp.data.TodoIdGenerator;
+import com.example.todoapp.data.TodoPayloadTemplate;
+import com.example.todoapp.service.BulkCreateOptions;
+import com.example.todoapp.service.BulkCreateResult;
+import com.example.todoapp.service.TodoService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.TreeSet;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.stream.Stream;
+
+/**
+ * Characterizes how page latency grows with the offset.
+ * <p>
+ * Grows one dataset through the configured sizes, seeding only the todos each size adds. At every size and page
+ * size it requests geometrically spaced offsets from the first to the last page, in shuffled order per repetition
+ * so drift does not line up with depth, and fits the growth of the median latency with {@link OffsetCostFit}.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class PaginationCostSuite {
+
+    public static final String SAMPLES_FILE = "pagination-cost.csv";
+    public static final String FITS_FILE = "pagination-cost-fits.csv";
+    public static final String CHART_FILE = "pagination-cost.svg";
+
+    private static final TodoPayloadTemplate SEED_TODO = new TodoPayloadTemplate("Pagination cost todo ", false);
+
+    private final PaginationCostConfig config;
+    private final TodoService todoService;
+    private final TodoApiClient todoApiClient;
+
+    /**
+     * Seeds and measures every configured size, writes the CSV files and the chart to the report directory, and
+     * returns the report. The seeded todos are left on the server.
+     */
+    public PaginationCostReport run() {
+        TodoIdGenerator ids = new TodoIdGenerator(ThreadLocalRandom.current().nextLong());
+        List<PaginationSample> samples = new ArrayList<>();
+        List<OffsetCostFit> fits = new ArrayList<>();
+        int seeded = todoApiClient.getTodos(0, 1).isEmpty() ? 0 : countTodos();
+        for (int datasetSize : new TreeSet<>(config.getDatasetSizes())) {
+            seeded += seed(datasetSize - seeded, ids);
+            for (int limit : config.getLimits()) {
+                List<PaginationSample> curve = measureCurve(seeded, limit);
+                OffsetCostFit fit = OffsetCostFit.fit(curve, config.getMaxOffsetSlope(), config.getMinDeepToShallowRatio());
+                log.info("{} todos, limit {}: slope {}, deepest page {}x the first{}", seeded, limit,
+                        String.format("%.3f", fit.getSlope()), String.format("%.2f", fit.getDeepToShallowRatio()),
+                        fit.isSuperlinear() ? " - offset cost grows with the offset" : "");
+                samples.addAll(curve);
+                fits.add(fit);
+            }
+        }
+        PaginationCostReport report = new PaginationCostReport(samples, fits);
+        write(report);
+        return report;
+    }
+
+    private int seed(int count, TodoIdGenerator ids) {
+        if (count <= 0) {
+            return 0;
+        }
+        BulkCreateResult result = todoService.bulkCreate(Stream.generate(() -> SEED_TODO.item(ids.nextId())).limit(count),
+                BulkCreateOptions.defaults().withMaxInFlight(config.getSeedMaxInFlight()).withProgressEvery(Long.MAX_VALUE));
+        log.info("Seeded {} todos in {} ({} per second)", result.getCreated(), result.getElapsed(),
+                String.format("%.0f", result.getCreatesPerSecond()));
+        if (!result.isComplete()) {
+            throw new IllegalStateException("Failed to seed " + result.getFailed() + " of " + count + " todos: "
+                    + result.getFailures().get(0).getError());
+        }
+        return (int) result.getCreated();
+    }
+
+    private List<PaginationSample> measureCurve(int datasetSize, int limit) {
+        int[] offsets = offsets(datasetSize, limit);
+        for (int i = 0; i < config.getWarmupRequests(); i++) {
+            todoApiClient.getTodos(offsets[i % offsets.length], limit);
+        }
+
+        long[][] nanos = new long[offsets.length][config.getRepetitions()];
+        int[] returned = new int[offsets.length];
+        List<Integer> order = new ArrayList<>();
+        for (int i = 0; i < offsets.length; i++) {
+            order.add(i);
+        }
+        for (int repetition = 0; repetition < config.getRepetitions(); repetition++) {
+            Collections.shuffle(order);
+            for (int i : order) {
+                long start = System.nanoTime();
+                returned[i] = todoApiClient.getTodos(offsets[i], limit).size();
+                nanos[i][repetition] = System.nanoTime() - start;
+            }
+        }
+
+        List<PaginationSample> curve = new ArrayList<>(offsets.length);
+        for (int i = 0; i < offsets.length; i++) {
+            Arrays.sort(nanos[i]);
+            curve.add(new PaginationSample(datasetSize, limit, offsets[i], returned[i],
+                    percentile(nanos[i], 0.5) / 1e6, percentile(nanos[i], 0.95) / 1e6));
+        }
+        return curve;
+    }
+
+    /**
+     * Offset 0 plus offsets spaced geometrically from one page in up to the last full page.
+     */
+    private int[] offsets(int datasetSize, int limit) {
+        TreeSet<Integer> offsets = new TreeSet<>(List.of(0));
+        int last = datasetSize - limit;
+        if (last > limit) {
+            int points = Math.max(2, config.getOffsetPoints());
+            double ratio = Math.pow((double) last / limit, 1.0 / (points - 1));
+            for (int i = 0; i < points; i++) {
+                offsets.add((int) Math.min(last, Math.round(limit * Math.pow(ratio, i))));
+            }
+        }
+        return offsets.stream().mapToInt(Integer::intValue).toArray();
+    }
+
+    private int countTodos() {
+        int pageSize = 1000;
+        int count = 0;
+        for (int offset = 0; ; offset += pageSize) {
+            int page = todoApiClient.getTodos(offset, pageSize).size();
+            count += page;
+            if (page < pageSize) {
+                return count;
+            }
+        }
+    }
+
+    private void write(PaginationCostReport report) {
+        Path reportDir = Path.of(config.getReportDir());
+        try {
+            Files.createDirectories(reportDir);
+            Files.writeString(reportDir.resolve(SAMPLES_FILE), report.samplesCsv());
+            Files.writeString(reportDir.resolve(FITS_FILE), report.fitsCsv());
+            Files.writeString(reportDir.resolve(CHART_FILE), report.latencyChartSvg());
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to write pagination cost report to " + reportDir, e);
+        }
+    }
+
+    private static double percentile(long[] sorted, double quantile) {
+        return sorted[(int) Math.min(sorted.length - 1, Math.ceil(quantile * sorted.length) - 1)];
+    }
+
+}
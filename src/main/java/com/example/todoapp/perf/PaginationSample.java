@@ -0,0 +1,16 @@
+package com.example.todoapp.perf;
+
+import lombok.Value;
+
+/**
+ * Latency of one page request shape, measured over several repetitions.
+ */
+@Value
+public class PaginationSample {
+    int datasetSize;
+    int limit;
+    int offset;
+    int returned;
+    double medianMillis;
+    double p95Millis;
+}
@@ -0,0 +1,107 @@
+package com.example.todoapp.perf;
+
+import com.example.todoapp.clients.transport.ByteBufferBody;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
+
+import static java.nio.charset.StandardCharsets.US_ASCII;
+import static java.nio.file.StandardOpenOption.*;
+
+/**
+ * Todo request bodies with texts of any size, built without Java strings.
+ * <p>
+ * The text of each size is written once, to a memory-mapped file or a direct buffer, and shared by every body of
+ * that size. Only the head with the id is built per request, so producing a multi-megabyte body costs a few dozen
+ * bytes of allocation.
+ */
+public class PayloadBodies implements AutoCloseable {
+
+    private static final byte[] TEXT_PATTERN = "abcdefghijklmnopqrstuvwxyz0123456789".getBytes(US_ASCII);
+    private static final ByteBuffer TAIL = ByteBuffer.wrap("\",\"completed\":false}".getBytes(US_ASCII)).asReadOnlyBuffer();
+    private static final int FILL_CHUNK = 64 * 1024;
+
+    private final PayloadBodySource source;
+    private final Map<Integer, ByteBuffer> texts = new HashMap<>();
+    private Path directory;
+
+    public PayloadBodies(PayloadBodySource source) {
+        this.source = source;
+    }
+
+    /**
+     * Returns the JSON body of a todo with the id and a text of {@code textBytes} ASCII characters.
+     */
+    public synchronized ByteBufferBody body(long id, int textBytes) {
+        ByteBuffer text = texts.computeIfAbsent(textBytes, this::text);
+        ByteBuffer head = ByteBuffer.wrap(("{\"id\":" + id + ",\"text\":\"").getBytes(US_ASCII));
+        return ByteBufferBody.of(head, text, TAIL);
+    }
+
+    /**
+     * The character at a position of every text, for checking what the server returns.
+     */
+    public static byte textByteAt(int position) {
+        return TEXT_PATTERN[position % TEXT_PATTERN.length];
+    }
+
+    @Override
+    public synchronized void close() {
+        texts.clear();
+        if (directory != null) {
+            try (var files = Files.list(directory)) {
+                for (Path file : (Iterable<Path>) files::iterator) {
+                    Files.deleteIfExists(file);
+                }
+                Files.deleteIfExists(directory);
+            } catch (IOException e) {
+                throw new UncheckedIOException("Failed to delete payload files in " + directory, e);
+            }
+        }
+    }
+
+    private ByteBuffer text(int textBytes) {
+        return source == PayloadBodySource.MAPPED ? mappedText(textBytes) : directText(textBytes);
+    }
+
+    private ByteBuffer directText(int textBytes) {
+        ByteBuffer text = ByteBuffer.allocateDirect(textBytes);
+        while (text.hasRemaining()) {
+            text.put(textByteAt(text.position()));
+        }
+        return text.flip().asReadOnlyBuffer();
+    }
+
+    private ByteBuffer mappedText(int textBytes) {
+        try {
+            if (directory == null) {
+                directory = Files.createTempDirectory("todo-payloads");
+            }
+            Path file = directory.resolve(textBytes + ".txt");
+            try (FileChannel channel = FileChannel.open(file, CREATE, READ, WRITE, TRUNCATE_EXISTING)) {
+                ByteBuffer chunk = ByteBuffer.allocate(Math.min(FILL_CHUNK, Math.max(textBytes, 1)));
+                for (long written = 0; written < textBytes; ) {
+                    chunk.clear();
+                    while (chunk.hasRemaining() && written + chunk.position() < textBytes) {
+                        chunk.put(textByteAt((int) (written + chunk.position())));
+                    }
+                    chunk.flip();
+                    while (chunk.hasRemaining()) {
+                        written += channel.write(chunk);
+                    }
+                }
+                // The mapping stays valid after the channel is closed
+                return channel.map(FileChannel.MapMode.READ_ONLY, 0, textBytes);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to map a payload of " + textBytes + " bytes", e);
+        }
+    }
+
+}
@@ -0,0 +1,15 @@
+package com.example.todoapp.perf;
+
+/**
+ * Where {@link PayloadBodies} keeps the text of large request bodies.
+ */
+public enum PayloadBodySource {
+    /**
+     * A temporary file mapped read-only into memory.
+     */
+    MAPPED,
+    /**
+     * A direct buffer allocated once per size and reused for every request.
+     */
+    DIRECT
+}
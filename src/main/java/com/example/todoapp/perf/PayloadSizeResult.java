@@ -0,0 +1,36 @@
+package com.example.todoapp.perf;
+
+import lombok.Value;
+
+import java.util.Map;
+
+/**
+ * Measurements of creating and reading back todos with one text size.
+ */
+@Value
+public class PayloadSizeResult {
+    int textBytes;
+    long requestBytes;
+    int posts;
+    /**
+     * Creates answered with another status than 201, by status code.
+     */
+    Map<Integer, Integer> rejected;
+    double postsPerSecond;
+    double uploadBytesPerSecond;
+    double postP50Millis;
+    double postP99Millis;
+    int readBacks;
+    /**
+     * Read-backs whose text was shorter than sent or differed from it.
+     */
+    int mismatches;
+    double downloadBytesPerSecond;
+    double getP50Millis;
+    double getP99Millis;
+    boolean degraded;
+
+    public boolean isAccepted() {
+        return rejected.isEmpty();
+    }
+}
@@ -0,0 +1,227 @@
+package com.example.todoapp.perf;
+
+import com.example.todoapp.clients.TodoApiClient;
+import com.example.todoapp.config.PayloadSizeConfig;
+import com.example.todoapp.data.TodoIdGenerator;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ThreadLocalRandom;
+
+import static org.apache.http.HttpStatus.SC_CREATED;
+
+/**
+ * Sweeps the size of the todo text and measures creating and reading back todos of each size.
+ * <p>
+ * Bodies come from {@link PayloadBodies}, so the client does not build or copy multi-megabyte strings; with
+ * {@code app.transport=nio} they go from the mapped file or direct buffer to the socket without touching the heap.
+ * Each repetition creates a todo at the end of the list, reads it back as the single-item page at that position
+ * while counting and checking the bytes of its text, and deletes it again. Requests are sent one at a time, so
+ * latencies are server round trips.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class PayloadSizeSuite {
+
+    public static final String RESULTS_FILE = "payload-size.csv";
+    /**
+     * Status recorded for creates that failed without a response, e.g. when the server closed the connection.
+     */
+    public static final int CONNECTION_FAILED = -1;
+
+    private static final int READ_CHUNK = 64 * 1024;
+    private static final String TEXT_FIELD = "\"text\":\"";
+
+    private final PayloadSizeConfig config;
+    private final TodoApiClient todoApiClient;
+
+    public List<PayloadSizeResult> run() {
+        TodoIdGenerator ids = new TodoIdGenerator(ThreadLocalRandom.current().nextLong());
+        int position = countTodos();
+        List<PayloadSizeResult> results = new ArrayList<>();
+        double bestUploadRate = 0;
+        try (PayloadBodies bodies = new PayloadBodies(config.getBodySource())) {
+            for (int size : config.getSizes()) {
+                PayloadSizeResult result = measure(bodies, ids, size, position, bestUploadRate);
+                results.add(result);
+                bestUploadRate = Math.max(bestUploadRate, result.getUploadBytesPerSecond());
+                log.info("{} B texts: {} posts/s, {} MB/s up, {} MB/s down, POST p50 {} ms, GET p50 {} ms{}{}", size,
+                        format(result.getPostsPerSecond()), format(result.getUploadBytesPerSecond() / 1e6),
+                        format(result.getDownloadBytesPerSecond() / 1e6), format(result.getPostP50Millis()),
+                        format(result.getGetP50Millis()), result.isAccepted() ? "" : ", rejected " + result.getRejected(),
+                        result.isDegraded() ? ", degraded" : "");
+            }
+        }
+        write(results);
+        return results;
+    }
+
+    public static String resultsCsv(List<PayloadSizeResult> results) {
+        StringBuilder csv = new StringBuilder("text_bytes,request_bytes,posts,rejected,posts_per_s,upload_bytes_per_s,"
+                + "post_p50_ms,post_p99_ms,read_backs,mismatches,download_bytes_per_s,get_p50_ms,get_p99_ms,degraded\n");
+        for (PayloadSizeResult result : results) {
+            csv.append(String.format(Locale.ROOT, "%d,%d,%d,%s,%.1f,%.0f,%.3f,%.3f,%d,%d,%.0f,%.3f,%.3f,%s%n",
+                    result.getTextBytes(), result.getRequestBytes(), result.getPosts(),
+                    rejectedCodes(result.getRejected()), result.getPostsPerSecond(),
+                    result.getUploadBytesPerSecond(), result.getPostP50Millis(), result.getPostP99Millis(),
+                    result.getReadBacks(), result.getMismatches(), result.getDownloadBytesPerSecond(),
+                    result.getGetP50Millis(), result.getGetP99Millis(), result.isDegraded()));
+        }
+        return csv.toString();
+    }
+
+    private static String rejectedCodes(Map<Integer, Integer> rejected) {
+        StringBuilder codes = new StringBuilder();
+        rejected.forEach((statusCode, count) -> codes.append(codes.length() == 0 ? "" : " ").append(statusCode).append('x').append(count));
+        return codes.toString();
+    }
+
+    private PayloadSizeResult measure(PayloadBodies bodies, TodoIdGenerator ids, int size, int position, double bestUploadRate) {
+        for (int i = 0; i < config.getWarmupRequests(); i++) {
+            roundTrip(bodies, ids.nextId(), size, position, new long[2], new long[1]);
+        }
+        int repetitions = config.getRepetitions();
+        long[] postNanos = new long[repetitions];
+        long[] getNanos = new long[repetitions];
+        Map<Integer, Integer> rejected = new TreeMap<>();
+        long requestBytes = bodies.body(0, size).length();
+        long downloaded = 0;
+        int readBacks = 0;
+        int mismatches = 0;
+        int posts = 0;
+        for (int i = 0; i < repetitions; i++) {
+            long[] nanos = new long[2];
+            long[] bytes = new long[1];
+            int statusCode = roundTrip(bodies, ids.nextId(), size, position, nanos, bytes);
+            postNanos[posts++] = nanos[0];
+            if (statusCode != SC_CREATED) {
+                rejected.merge(statusCode, 1, Integer::sum);
+                continue;
+            }
+            getNanos[readBacks++] = nanos[1];
+            downloaded += Math.abs(bytes[0]);
+            if (bytes[0] < 0) {
+                mismatches++;
+            }
+        }
+
+        double postSeconds = Arrays.stream(postNanos, 0, posts).sum() / 1e9;
+        double getSeconds = Arrays.stream(getNanos, 0, readBacks).sum() / 1e9;
+        double uploadRate = postSeconds > 0 ? requestBytes * posts / postSeconds : 0;
+        return new PayloadSizeResult(size, requestBytes, posts, rejected,
+                postSeconds > 0 ? posts / postSeconds : 0, uploadRate,
+                percentile(postNanos, posts, 0.5), percentile(postNanos, posts, 0.99),
+                readBacks, mismatches, getSeconds > 0 ? downloaded / getSeconds : 0,
+                percentile(getNanos, readBacks, 0.5), percentile(getNanos, readBacks, 0.99),
+                uploadRate < config.getDegradationRatio() * bestUploadRate);
+    }
+
+    /**
+     * Creates, reads back and deletes one todo. Stores the POST and GET durations in {@code nanos} and the response
+     * size in {@code bytes}, negated when the text did not come back intact. Returns the status code of the POST.
+     */
+    private int roundTrip(PayloadBodies bodies, long id, int size, int position, long[] nanos, long[] bytes) {
+        long start = System.nanoTime();
+        int statusCode;
+        try {
+            statusCode = todoApiClient.createTodoExpectingStatusCode(id, bodies.body(id, size));
+        } catch (RuntimeException e) {
+            log.debug("Create of a todo with {} B text failed: {}", size, e.getMessage());
+            statusCode = CONNECTION_FAILED;
+        }
+        nanos[0] = System.nanoTime() - start;
+        if (statusCode != SC_CREATED) {
+            return statusCode;
+        }
+        try {
+            start = System.nanoTime();
+            try (InputStream page = todoApiClient.getTodosAsStream(position, 1)) {
+                bytes[0] = readBack(page, size);
+            }
+            nanos[1] = System.nanoTime() - start;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read back a todo of " + size + " bytes", e);
+        } finally {
+            todoApiClient.deleteTodo(id);
+        }
+        return statusCode;
+    }
+
+    /**
+     * Counts the response bytes and checks the text against the pattern it was built from, without decoding it.
+     * Returns the byte count, negated on a mismatch.
+     */
+    private static long readBack(InputStream page, int size) throws IOException {
+        byte[] chunk = new byte[READ_CHUNK];
+        long total = 0;
+        int matched = 0;
+        int textPosition = -TEXT_FIELD.length();
+        boolean intact = true;
+        int read;
+        while ((read = page.read(chunk)) >= 0) {
+            for (int i = 0; i < read && intact && matched <= size; i++) {
+                byte b = chunk[i];
+                if (textPosition < 0) {
+                    // Still looking for the opening of the text field
+                    textPosition = b == TEXT_FIELD.charAt(TEXT_FIELD.length() + textPosition) ? textPosition + 1 : -TEXT_FIELD.length();
+                } else if (matched < size) {
+                    intact = b == PayloadBodies.textByteAt(matched++);
+                } else {
+                    intact = b == '"';
+                    matched++;
+                }
+            }
+            total += read;
+        }
+        return intact && matched == size + 1 ? total : -total;
+    }
+
+    private int countTodos() {
+        int pageSize = 1000;
+        int count = 0;
+        for (int offset = 0; ; offset += pageSize) {
+            int page = todoApiClient.getTodos(offset, pageSize).size();
+            count += page;
+            if (page < pageSize) {
+                return count;
+            }
+        }
+    }
+
+    private void write(List<PayloadSizeResult> results) {
+        Path reportDir = Path.of(config.getReportDir());
+        try {
+            Files.createDirectories(reportDir);
+            Files.writeString(reportDir.resolve(RESULTS_FILE), resultsCsv(results));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to write payload size report to " + reportDir, e);
+        }
+    }
+
+    private static double percentile(long[] nanos, int count, double quantile) {
+        if (count == 0) {
+            return 0;
+        }
+        long[] sorted = Arrays.copyOf(nanos, count);
+        Arrays.sort(sorted);
+        return sorted[(int) Math.min(count - 1, Math.ceil(quantile * count) - 1)] / 1e6;
+    }
+
+    private static String format(double value) {
+        return String.format(Locale.ROOT, "%.2f", value);
+    }
+
+}
@@ -0,0 +1,156 @@
+package com.example.todoapp.perf;
+
+import com.example.todoapp.config.LoadConfig;
+import com.example.todoapp.config.RegressionGateConfig;
+import com.example.todoapp.config.WarmupConfig;
+import com.example.todoapp.history.RunHistoryRecorder;
+import com.example.todoapp.load.CrudScenario;
+import com.example.todoapp.load.LoadEngine;
+import com.example.todoapp.load.LoadMode;
+import com.example.todoapp.load.LoadResult;
+import com.example.todoapp.load.Warmup;
+import com.example.todoapp.metrics.LatencyRecorder;
+import com.example.todoapp.metrics.LatencySnapshot;
+import com.example.todoapp.metrics.TodoOperation;
+import com.example.todoapp.service.TodoService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.HdrHistogram.Histogram;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.SplittableRandom;
+
+/**
+ * Fixed benchmark of the regression gate: {@code perf.regression.users} closed-loop users running the
+ * {@link CrudScenario}, repeated for {@code trials} trials after the {@code load.warmup} phase.
+ * <p>
+ * Every trial yields the throughput, p50 and p99 of each operation. Comparing them with a stored baseline uses
+ * trials rather than single requests as samples, since requests within a trial share the same JIT state, GC
+ * pressure and server load and are not independent.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class RegressionBenchmark {
+
+    public static final String TRIALS_FILE = "regression-trials.csv";
+    public static final String REPORT_FILE = "regression.txt";
+    static final String HISTORY_KIND = "regression";
+    /**
+     * Resampling seed, so the same trials always get the same verdict.
+     */
+    private static final long BOOTSTRAP_SEED = 42;
+
+    private final RegressionGateConfig config;
+    private final LoadConfig loadConfig;
+    private final WarmupConfig warmupConfig;
+    private final TodoService todoService;
+    private final LatencyRecorder latencyRecorder;
+    private final RunHistoryRecorder runHistoryRecorder;
+
+    public BenchmarkTrials run() {
+        CrudScenario scenario = new CrudScenario(todoService, loadConfig.getPageLimit());
+        log.info("Regression benchmark: {} users, {} trials of {}", config.getUsers(), config.getTrials(),
+                config.getTrialDuration());
+        if (warmupConfig.isEnabled()) {
+            Warmup warmup = new Warmup(warmupConfig, latencyRecorder);
+            trial(scenario, Duration.ZERO, warmup);
+            Warmup.writeReport(warmup.getResult(), Path.of(config.getReportDir()));
+        }
+        BenchmarkTrials trials = new BenchmarkTrials();
+        LatencySnapshot allTrials = new LatencySnapshot(new EnumMap<>(TodoOperation.class), new EnumMap<>(TodoOperation.class));
+        Duration elapsed = Duration.ZERO;
+        for (int trial = 1; trial <= config.getTrials(); trial++) {
+            latencyRecorder.reset();
+            LoadResult result = trial(scenario, config.getTrialDuration(), Warmup.none());
+            if (result.getErrors() > 0) {
+                throw new IllegalStateException("Benchmark trial " + trial + " had " + result.getErrors()
+                        + " failed iterations, latencies of failing requests are not comparable");
+            }
+            LatencySnapshot latency = latencyRecorder.snapshot();
+            allTrials.add(latency);
+            elapsed = elapsed.plus(result.getElapsed());
+            double seconds = result.getElapsed().toNanos() / 1e9;
+            for (TodoOperation operation : TodoOperation.values()) {
+                Histogram histogram = latency.getHistogram(operation);
+                if (histogram.getTotalCount() > 0) {
+                    trials.add(operation, BenchmarkMetric.THROUGHPUT, histogram.getTotalCount() / seconds);
+                    trials.add(operation, BenchmarkMetric.P50, histogram.getValueAtPercentile(50) / 1000.0);
+                    trials.add(operation, BenchmarkMetric.P99, histogram.getValueAtPercentile(99) / 1000.0);
+                }
+            }
+            log.info("Trial {}: {} iterations/s", trial, String.format(Locale.ROOT, "%.1f", result.getThroughput()));
+        }
+        trials.write(Path.of(config.getReportDir()).resolve(TRIALS_FILE));
+        runHistoryRecorder.record(HISTORY_KIND, elapsed, allTrials);
+        return trials;
+    }
+
+    /**
+     * Compares every metric of every baseline operation; operations missing from the current trials are an error.
+     */
+    public List<MetricComparison> compare(BenchmarkTrials baseline, BenchmarkTrials current) {
+        SplittableRandom random = new SplittableRandom(BOOTSTRAP_SEED);
+        List<MetricComparison> comparisons = new ArrayList<>();
+        for (TodoOperation operation : baseline.getOperations()) {
+            for (BenchmarkMetric metric : BenchmarkMetric.values()) {
+                comparisons.add(MetricComparison.compare(operation, metric, baseline.get(operation, metric),
+                        current.get(operation, metric), config.getResamples(), config.getConfidence(),
+                        config.getTolerance(), random));
+            }
+        }
+        return comparisons;
+    }
+
+    public String writeReport(List<MetricComparison> comparisons) {
+        String table = comparisonTable(comparisons, config.getConfidence());
+        Path reportDir = Path.of(config.getReportDir());
+        try {
+            Files.createDirectories(reportDir);
+            Files.writeString(reportDir.resolve(REPORT_FILE), table);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to write regression report to " + reportDir, e);
+        }
+        return table;
+    }
+
+    public static String comparisonTable(List<MetricComparison> comparisons, double confidence) {
+        StringBuilder table = new StringBuilder(String.format(Locale.ROOT, "%-12s %-10s %12s %12s %9s %20s  %s%n",
+                "operation", "metric", "baseline", "current", "change",
+                String.format(Locale.ROOT, "%.0f%% interval", confidence * 100), "verdict"));
+        for (MetricComparison comparison : comparisons) {
+            table.append(String.format(Locale.ROOT, "%-12s %-10s %12.3f %12.3f %+8.1f%% %+7.1f%% .. %+7.1f%%  %s%n",
+                    comparison.getOperation(), comparison.getMetric(), comparison.getBaselineMean(),
+                    comparison.getCurrentMean(), comparison.getChange() * 100, comparison.getChangeLow() * 100,
+                    comparison.getChangeHigh() * 100, verdict(comparison)));
+        }
+        return table.toString();
+    }
+
+    private static String verdict(MetricComparison comparison) {
+        if (comparison.isRegression()) {
+            return "REGRESSION";
+        }
+        return comparison.isImprovement() ? "improvement" : "";
+    }
+
+    private LoadResult trial(CrudScenario scenario, Duration duration, Warmup warmup) {
+        LoadConfig trialConfig = new LoadConfig();
+        trialConfig.setMode(LoadMode.CLOSED);
+        trialConfig.setUsers(config.getUsers());
+        trialConfig.setDuration(duration);
+        trialConfig.setMaxInFlight(loadConfig.getMaxInFlight());
+        trialConfig.setVirtualThreads(loadConfig.isVirtualThreads());
+        return new LoadEngine(trialConfig).run(scenario, warmup);
+    }
+
+}
@@ -0,0 +1,46 @@
+package com.example.todoapp.replay;
+
+import com.example.todoapp.metrics.RequestEventLog;
+import com.example.todoapp.metrics.TodoOperation;
+import lombok.Value;
+
+/**
+ * One request of a traffic recording, with the response status and latency it originally got.
+ */
+@Value
+public class RecordedExchange {
+    /**
+     * Id of exchanges that do not address a single todo.
+     */
+    public static final long NO_ID = RequestEventLog.NO_ID;
+    /**
+     * Offset and limit of exchanges that are not list requests.
+     */
+    public static final int NO_PAGE = -1;
+    /**
+     * Status of exchanges that failed without a response.
+     */
+    public static final int NO_RESPONSE = RequestEventLog.NO_RESPONSE;
+
+    /**
+     * Start of the request relative to the start of the recording.
+     */
+    long startNanos;
+    long latencyNanos;
+    /**
+     * Thread the request was sent from; requests of one lane are replayed in order on one thread.
+     */
+    long lane;
+    TodoOperation operation;
+    String method;
+    String path;
+    int offset;
+    int limit;
+    long id;
+    boolean authorized;
+    /**
+     * JSON request body, or {@code null}.
+     */
+    byte[] body;
+    int statusCode;
+}
@@ -0,0 +1,35 @@
+package com.example.todoapp.replay;
+
+import lombok.Value;
+
+import java.time.Duration;
+
+/**
+ * Outcome of replaying a traffic recording.
+ */
+@Value
+public class ReplayResult {
+    int exchanges;
+    int lanes;
+    /**
+     * Exchanges that failed without a response.
+     */
+    long failures;
+    /**
+     * Exchanges whose status code differs from the recorded one.
+     */
+    long statusMismatches;
+    Duration recordedDuration;
+    Duration elapsed;
+    /**
+     * Longest delay of a send behind its scaled schedule; zero when replaying as fast as possible.
+     */
+    Duration maxLag;
+
+    /**
+     * How many times faster than recorded the replay ran.
+     */
+    public double getSpeedup() {
+        return elapsed.isZero() ? 0 : (double) recordedDuration.toNanos() / elapsed.toNanos();
+    }
+}
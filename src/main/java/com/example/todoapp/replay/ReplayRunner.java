@@ -0,0 +1,52 @@
+package com.example.todoapp.replay;
+
+import com.example.todoapp.config.ReplayConfig;
+import com.example.todoapp.history.RunHistoryRecorder;
+import com.example.todoapp.metrics.LatencyRecorder;
+import com.example.todoapp.metrics.LatencyReport;
+import com.example.todoapp.metrics.LatencySnapshot;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.nio.file.Path;
+import java.util.List;
+
+/**
+ * Replays {@code replay.file} on startup at {@code replay.speed} and writes the latency report to
+ * {@code replay.report-dir}.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(prefix = "replay", name = "file")
+public class ReplayRunner implements ApplicationRunner {
+
+    static final String HISTORY_KIND = "replay";
+
+    private final ReplayConfig replayConfig;
+    private final TrafficReplayer trafficReplayer;
+    private final LatencyRecorder latencyRecorder;
+    private final RunHistoryRecorder runHistoryRecorder;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        List<RecordedExchange> exchanges = TrafficRecording.read(replayConfig.getFile());
+        log.info("Replaying {} exchanges recorded at {} at speed {}", exchanges.size(),
+                TrafficRecording.readStartTime(replayConfig.getFile()),
+                replayConfig.getSpeed() == 0 ? "max" : replayConfig.getSpeed());
+        latencyRecorder.reset();
+        ReplayResult result = trafficReplayer.replay(exchanges, replayConfig.getSpeed());
+        log.info("Replay finished: {} exchanges on {} lanes in {} (recorded in {}, {}x), {} failures, "
+                        + "{} status mismatches, max lag {}", result.getExchanges(), result.getLanes(), result.getElapsed(),
+                result.getRecordedDuration(), String.format("%.2f", result.getSpeedup()), result.getFailures(),
+                result.getStatusMismatches(), result.getMaxLag());
+        LatencySnapshot latency = latencyRecorder.snapshot();
+        LatencyReport.write(latency, Path.of(replayConfig.getReportDir()));
+        runHistoryRecorder.record(HISTORY_KIND, result.getElapsed(), latency);
+    }
+
+}
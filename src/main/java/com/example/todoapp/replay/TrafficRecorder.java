@@ -0,0 +1,99 @@
+package com.example.todoapp.replay;
+
+import com.example.todoapp.clients.transport.ByteBufferBody;
+import com.example.todoapp.clients.transport.TransportRequest;
+import com.example.todoapp.config.ReplayConfig;
+import com.example.todoapp.metrics.TodoOperation;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.io.UncheckedIOException;
+
+import static com.example.todoapp.replay.RecordedExchange.NO_PAGE;
+
+/**
+ * Records the requests of the API client to {@code replay.record-file} for {@link TrafficReplayer}.
+ * <p>
+ * Bodies are serialized on the calling thread once the request has completed; writing happens on a background thread.
+ * Recording never fails the request: an exchange that cannot be recorded, or that finds the writer's queue full, is
+ * dropped and counted.
+ */
+@Slf4j
+@Component
+public class TrafficRecorder {
+
+    private final ObjectMapper objectMapper;
+    private final TrafficRecordingWriter writer;
+    private boolean closed;
+
+    public TrafficRecorder(ReplayConfig replayConfig, ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+        writer = replayConfig.getRecordFile() == null
+                ? null
+                : TrafficRecordingWriter.acquire(replayConfig.getRecordFile(), replayConfig.getRecordQueueSize());
+    }
+
+    public boolean isEnabled() {
+        return writer != null;
+    }
+
+    /**
+     * Records a sent request; does nothing when recording is off.
+     */
+    public void record(TodoOperation operation, long id, TransportRequest request, long startNanos, long endNanos,
+                       int statusCode) {
+        if (writer == null) {
+            return;
+        }
+        RecordedExchange exchange;
+        try {
+            exchange = new RecordedExchange(writer.sinceStart(startNanos), endNanos - startNanos,
+                    Thread.currentThread().getId(), operation, request.getMethod(), request.getPath(),
+                    pageParam(request, "offset"), pageParam(request, "limit"), id, request.isAuthorized(),
+                    serialize(request.getBody()), statusCode);
+        } catch (RuntimeException e) {
+            log.warn("Dropped a {} request from the traffic recording", operation, e);
+            writer.drop();
+            return;
+        }
+        writer.append(exchange);
+    }
+
+    /**
+     * Number of exchanges left out of the recording so far.
+     */
+    public long getDropped() {
+        return writer == null ? 0 : writer.getDropped();
+    }
+
+    @PreDestroy
+    public synchronized void close() {
+        if (writer != null && !closed) {
+            closed = true;
+            writer.release();
+        }
+    }
+
+    private byte[] serialize(Object body) {
+        if (body == null || body instanceof byte[]) {
+            return (byte[]) body;
+        }
+        if (body instanceof ByteBufferBody buffers) {
+            return buffers.toByteArray();
+        }
+        try {
+            return objectMapper.writeValueAsBytes(body);
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException("Failed to record request body", e);
+        }
+    }
+
+    private static int pageParam(TransportRequest request, String name) {
+        Object value = request.getQueryParams().get(name);
+        return value == null ? NO_PAGE : Integer.parseInt(value.toString());
+    }
+
+}
@@ -0,0 +1,152 @@
+package com.example.todoapp.replay;
+
+import com.example.todoapp.metrics.TodoOperation;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+import java.util.zip.ZipException;
+
+/**
+ * Reads and writes the gzip-compressed binary traffic recording format.
+ * <p>
+ * A recording is a header of magic, version and the wall-clock start in epoch milliseconds, followed by one record
+ * per {@link RecordedExchange}. Traffic captured elsewhere, e.g. by a proxy, can be converted with
+ * {@link #write(Path, Instant, List)} and replayed like a recording of the API client.
+ */
+public final class TrafficRecording {
+
+    private static final int MAGIC = 0x54524146;
+    private static final int VERSION = 1;
+    private static final int NO_BODY = -1;
+
+    private TrafficRecording() {
+    }
+
+    public static void write(Path file, Instant start, List<RecordedExchange> exchanges) {
+        try (DataOutputStream out = openWriter(file, start)) {
+            for (RecordedExchange exchange : exchanges) {
+                writeExchange(out, exchange);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to write traffic recording " + file, e);
+        }
+    }
+
+    public static List<RecordedExchange> read(Path file) {
+        try (DataInputStream in = openReader(file)) {
+            in.readLong();
+            List<RecordedExchange> exchanges = new ArrayList<>();
+            TodoOperation[] operations = TodoOperation.values();
+            while (true) {
+                long startNanos;
+                try {
+                    startNanos = in.readLong();
+                } catch (EOFException e) {
+                    return exchanges;
+                }
+                long latencyNanos = in.readLong();
+                long lane = in.readLong();
+                TodoOperation operation = operations[in.readUnsignedByte()];
+                String method = in.readUTF();
+                String path = in.readUTF();
+                int offset = in.readInt();
+                int limit = in.readInt();
+                long id = in.readLong();
+                boolean authorized = in.readBoolean();
+                int bodyLength = in.readInt();
+                byte[] body = null;
+                if (bodyLength != NO_BODY) {
+                    body = new byte[bodyLength];
+                    in.readFully(body);
+                }
+                exchanges.add(new RecordedExchange(startNanos, latencyNanos, lane, operation, method, path, offset,
+                        limit, id, authorized, body, in.readInt()));
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read traffic recording " + file, e);
+        }
+    }
+
+    /**
+     * Returns the wall-clock time the recording was started.
+     */
+    public static Instant readStartTime(Path file) {
+        try (DataInputStream in = openReader(file)) {
+            return Instant.ofEpochMilli(in.readLong());
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read traffic recording " + file, e);
+        }
+    }
+
+    static DataOutputStream openWriter(Path file, Instant start) throws IOException {
+        if (file.getParent() != null) {
+            Files.createDirectories(file.getParent());
+        }
+        DataOutputStream out = new DataOutputStream(
+                new BufferedOutputStream(new GZIPOutputStream(Files.newOutputStream(file))));
+        out.writeInt(MAGIC);
+        out.writeInt(VERSION);
+        out.writeLong(start.toEpochMilli());
+        return out;
+    }
+
+    static void writeExchange(DataOutputStream out, RecordedExchange exchange) throws IOException {
+        out.writeLong(exchange.getStartNanos());
+        out.writeLong(exchange.getLatencyNanos());
+        out.writeLong(exchange.getLane());
+        out.writeByte(exchange.getOperation().ordinal());
+        out.writeUTF(exchange.getMethod());
+        out.writeUTF(exchange.getPath());
+        out.writeInt(exchange.getOffset());
+        out.writeInt(exchange.getLimit());
+        out.writeLong(exchange.getId());
+        out.writeBoolean(exchange.isAuthorized());
+        byte[] body = exchange.getBody();
+        out.writeInt(body == null ? NO_BODY : body.length);
+        if (body != null) {
+            out.write(body);
+        }
+        out.writeInt(exchange.getStatusCode());
+    }
+
+    /**
+     * Opens a recording and checks its header, leaving the stream positioned at the start time.
+     */
+    private static DataInputStream openReader(Path file) throws IOException {
+        DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)));
+        try {
+            in = new DataInputStream(new BufferedInputStream(new GZIPInputStream(in)));
+            checkHeader(in, file);
+            return in;
+        } catch (ZipException e) {
+            in.close();
+            throw new IllegalArgumentException(file + " is not a traffic recording", e);
+        } catch (IllegalArgumentException e) {
+            in.close();
+            throw e;
+        }
+    }
+
+    private static void checkHeader(DataInputStream in, Path file) throws IOException {
+        if (in.readInt() != MAGIC) {
+            throw new IllegalArgumentException(file + " is not a traffic recording");
+        }
+        int version = in.readInt();
+        if (version != VERSION) {
+            throw new IllegalArgumentException("Unsupported traffic recording version " + version + " in " + file);
+        }
+    }
+
+}
@@ -0,0 +1,135 @@
+package com.example.todoapp.replay;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Appends recorded exchanges to a {@link TrafficRecording} file on a background thread, so callers only enqueue. The
+ * queue is bounded: when the writer falls behind, new exchanges are dropped and counted rather than held in memory.
+ * <p>
+ * One writer exists per file in a JVM, shared by every Spring context of a test run; it closes the file when the last
+ * one releases it.
+ */
+@Slf4j
+final class TrafficRecordingWriter {
+
+    private static final Map<Path, TrafficRecordingWriter> OPEN = new ConcurrentHashMap<>();
+    private static final RecordedExchange END = new RecordedExchange(0, 0, 0, null, null, null, 0, 0, 0, false, null, 0);
+
+    private final Path file;
+    private final long startNanos = System.nanoTime();
+    private final DataOutputStream out;
+    private final BlockingQueue<RecordedExchange> queue;
+    private final LongAdder dropped = new LongAdder();
+    private final Thread thread;
+    private volatile IOException failure;
+    private long written;
+    private int references;
+
+    private TrafficRecordingWriter(Path file, int queueSize) {
+        this.file = file;
+        this.queue = new ArrayBlockingQueue<>(Math.max(queueSize, 1));
+        try {
+            out = TrafficRecording.openWriter(file, Instant.now());
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to open traffic recording " + file, e);
+        }
+        thread = new Thread(this::writeLoop, "traffic-recording-writer");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /**
+     * Returns the writer of {@code file}, opening it first if no other recorder in this JVM has. The queue size of the
+     * recorder that opens it applies.
+     */
+    static TrafficRecordingWriter acquire(Path file, int queueSize) {
+        Path key = file.toAbsolutePath().normalize();
+        return OPEN.compute(key, (ignored, writer) -> {
+            TrafficRecordingWriter acquired = writer != null ? writer : new TrafficRecordingWriter(key, queueSize);
+            acquired.references++;
+            return acquired;
+        });
+    }
+
+    /**
+     * Writes the queued exchanges and closes the file once no recorder uses it any more.
+     */
+    void release() {
+        boolean last = OPEN.computeIfPresent(file, (ignored, writer) -> --writer.references == 0 ? null : writer) == null;
+        if (last) {
+            close();
+        }
+    }
+
+    /**
+     * Nanoseconds since the recording started.
+     */
+    long sinceStart(long nanoTime) {
+        return nanoTime - startNanos;
+    }
+
+    /**
+     * Queues the exchange for writing, or drops it when the queue is full.
+     */
+    void append(RecordedExchange exchange) {
+        if (!queue.offer(exchange)) {
+            dropped.increment();
+        }
+    }
+
+    /**
+     * Counts an exchange that could not be recorded at all.
+     */
+    void drop() {
+        dropped.increment();
+    }
+
+    long getDropped() {
+        return dropped.sum();
+    }
+
+    private void close() {
+        try {
+            queue.put(END);
+            thread.join();
+            out.close();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to close traffic recording " + file, e);
+        }
+        if (failure != null) {
+            throw new UncheckedIOException("Failed to write traffic recording " + file, failure);
+        }
+        log.info("Traffic recording: {} exchanges written to {}, {} dropped", written, file, dropped.sum());
+    }
+
+    private void writeLoop() {
+        try {
+            for (RecordedExchange exchange = queue.take(); exchange != END; exchange = queue.take()) {
+                if (failure == null) {
+                    try {
+                        TrafficRecording.writeExchange(out, exchange);
+                        written++;
+                    } catch (IOException e) {
+                        failure = e;
+                    }
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+}
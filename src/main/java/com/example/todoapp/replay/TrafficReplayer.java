@@ -0,0 +1,197 @@
+package com.example.todoapp.replay;
+
+import com.example.todoapp.clients.transport.TodoTransport;
+import com.example.todoapp.clients.transport.TransportRequest;
+import com.example.todoapp.config.AppConfig;
+import com.example.todoapp.data.TodoIdGenerator;
+import com.example.todoapp.load.LoadThreads;
+import com.example.todoapp.metrics.LatencyRecorder;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import lombok.RequiredArgsConstructor;
+import lombok.Value;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+import static com.example.todoapp.replay.RecordedExchange.NO_ID;
+
+/**
+ * Replays a traffic recording against the configured {@code app.base-url} and todos endpoint.
+ * <p>
+ * Every recorded thread becomes a lane replayed in order on its own thread, and each request is sent at its recorded
+ * start divided by the speed, so overlap and concurrency follow the recording. A request for a todo also waits until the
+ * previous recorded request for that todo has finished, so a late lane cannot reorder, say, a create and a delete sent
+ * from different threads. Todo ids are rewritten to fresh ones
+ * from a {@link TodoIdGenerator} consistently across paths and bodies, so a recording replays against a server that
+ * already holds its todos or against an empty one. Latency goes to the {@link LatencyRecorder}, measured from the
+ * scheduled send time.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class TrafficReplayer {
+
+    private final AppConfig appConfig;
+    private final TodoTransport todoTransport;
+    private final LatencyRecorder latencyRecorder;
+    private final ObjectMapper objectMapper;
+
+    /**
+     * @param speed replay speed relative to the recording; 0 sends every lane's requests back to back
+     */
+    public ReplayResult replay(List<RecordedExchange> exchanges, double speed) {
+        if (speed < 0) {
+            throw new IllegalArgumentException("Replay speed must not be negative: " + speed);
+        }
+        Map<Long, List<PreparedExchange>> lanes = prepare(exchanges);
+        LongAdder failures = new LongAdder();
+        LongAdder statusMismatches = new LongAdder();
+        AtomicLong maxLagNanos = new AtomicLong();
+        long start = System.nanoTime();
+        ExecutorService executor = LoadThreads.newPerTaskExecutor("replay", true);
+        try {
+            List<CompletableFuture<Void>> replays = new ArrayList<>();
+            for (List<PreparedExchange> lane : lanes.values()) {
+                replays.add(CompletableFuture.runAsync(() -> {
+                    for (PreparedExchange exchange : lane) {
+                        send(exchange, start, speed, failures, statusMismatches, maxLagNanos);
+                    }
+                }, executor));
+            }
+            CompletableFuture.allOf(replays.toArray(CompletableFuture[]::new)).join();
+        } finally {
+            executor.shutdown();
+        }
+        long recordedNanos = exchanges.stream()
+                .mapToLong(exchange -> exchange.getStartNanos() + exchange.getLatencyNanos())
+                .max()
+                .orElse(0);
+        return new ReplayResult(exchanges.size(), lanes.size(), failures.sum(), statusMismatches.sum(),
+                Duration.ofNanos(recordedNanos), Duration.ofNanos(System.nanoTime() - start),
+                Duration.ofNanos(maxLagNanos.get()));
+    }
+
+    /**
+     * Groups the exchanges into lanes in start order and builds their requests with rewritten ids, before the clock
+     * starts.
+     */
+    private Map<Long, List<PreparedExchange>> prepare(List<RecordedExchange> exchanges) {
+        TodoIdGenerator idGenerator = new TodoIdGenerator(ThreadLocalRandom.current().nextLong());
+        Map<Long, Long> ids = new HashMap<>();
+        Map<Long, PreparedExchange> previousForId = new HashMap<>();
+        Map<Long, List<PreparedExchange>> lanes = new LinkedHashMap<>();
+        exchanges.stream()
+                .sorted(Comparator.comparingLong(RecordedExchange::getStartNanos))
+                .forEach(exchange -> {
+                    PreparedExchange previous = exchange.getId() == NO_ID ? null : previousForId.get(exchange.getId());
+                    PreparedExchange prepared = new PreparedExchange(exchange, request(exchange, ids, idGenerator), previous);
+                    if (exchange.getId() != NO_ID) {
+                        previousForId.put(exchange.getId(), prepared);
+                    }
+                    lanes.computeIfAbsent(exchange.getLane(), lane -> new ArrayList<>()).add(prepared);
+                });
+        return lanes;
+    }
+
+    private TransportRequest request(RecordedExchange exchange, Map<Long, Long> ids, TodoIdGenerator idGenerator) {
+        String endpoint = appConfig.getTodosEndpoint();
+        String path = exchange.getId() == NO_ID
+                ? exchange.getPath()
+                : TransportRequest.pathWithId(endpoint, ids.computeIfAbsent(exchange.getId(), id -> idGenerator.nextId()));
+        return switch (exchange.getMethod()) {
+            case "GET" -> TransportRequest.get(endpoint, exchange.getOffset(), exchange.getLimit());
+            case "POST" -> TransportRequest.post(endpoint, rewriteBody(exchange.getBody(), ids, idGenerator));
+            case "PUT" -> TransportRequest.put(path, rewriteBody(exchange.getBody(), ids, idGenerator));
+            case "DELETE" -> TransportRequest.delete(path, exchange.isAuthorized());
+            default -> throw new IllegalArgumentException("Unsupported recorded method " + exchange.getMethod());
+        };
+    }
+
+    private byte[] rewriteBody(byte[] body, Map<Long, Long> ids, TodoIdGenerator idGenerator) {
+        if (body == null) {
+            return null;
+        }
+        try {
+            JsonNode json = objectMapper.readTree(body);
+            if (json instanceof ObjectNode todo && todo.path("id").canConvertToExactIntegral()) {
+                todo.put("id", ids.computeIfAbsent(todo.get("id").longValue(), id -> idGenerator.nextId()));
+                return objectMapper.writeValueAsBytes(todo);
+            }
+            return body;
+        } catch (IOException e) {
+            // Malformed bodies are replayed as recorded, like the requests that produced them
+            return body;
+        }
+    }
+
+    private void send(PreparedExchange prepared, long start, double speed, LongAdder failures,
+                      LongAdder statusMismatches, AtomicLong maxLagNanos) {
+        RecordedExchange exchange = prepared.getExchange();
+        long sendStart = System.nanoTime();
+        if (speed > 0) {
+            long scheduled = start + (long) (exchange.getStartNanos() / speed);
+            for (long remaining = scheduled - sendStart; remaining > 0; remaining = scheduled - System.nanoTime()) {
+                LockSupport.parkNanos(remaining);
+            }
+            long now = System.nanoTime();
+            maxLagNanos.accumulateAndGet(now - scheduled, Math::max);
+            sendStart = Math.min(scheduled, now);
+        }
+        try {
+            prepared.awaitPrevious();
+            int statusCode = todoTransport.execute(prepared.getRequest()).getStatusCode();
+            if (statusCode != exchange.getStatusCode()) {
+                statusMismatches.increment();
+            }
+        } catch (RuntimeException e) {
+            failures.increment();
+            log.debug("Replay of {} failed: {}", exchange.getOperation(), e.getMessage());
+        } finally {
+            latencyRecorder.recordValue(exchange.getOperation(), System.nanoTime() - sendStart);
+            prepared.getCompleted().countDown();
+        }
+    }
+
+    /**
+     * A recorded exchange with its rewritten request and the earlier exchange for the same todo, if any. Waiting only
+     * for exchanges that started earlier cannot deadlock, since the earliest unfinished one never waits.
+     */
+    @Value
+    private static class PreparedExchange {
+        RecordedExchange exchange;
+        TransportRequest request;
+        PreparedExchange previous;
+        CountDownLatch completed = new CountDownLatch(1);
+
+        void awaitPrevious() {
+            if (previous == null) {
+                return;
+            }
+            try {
+                previous.getCompleted().await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while waiting for an earlier request", e);
+            }
+        }
+    }
+
+}
@@ -0,0 +1,21 @@
+package com.example.todoapp.service;
+
+import com.example.todoapp.model.TodoItem;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Non-blocking service interface for {@link TodoItem} operations.
+ */
+public interface AsyncTodoService {
+
+    CompletableFuture<List<TodoItem>> getTodos(int offset, int limit);
+
+    CompletableFuture<Void> createTodo(TodoItem todoItem);
+
+    CompletableFuture<Void> updateTodo(Long id, TodoItem todoItem);
+
+    CompletableFuture<Void> deleteTodo(Long id);
+
+}
@@ -0,0 +1,40 @@
+package com.example.todoapp.service;
+
+import com.example.todoapp.clients.AsyncTodoApiClient;
+import com.example.todoapp.model.TodoItem;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Implementation of the {@link AsyncTodoService} interface.
+ */
+@Service
+@RequiredArgsConstructor
+public class AsyncTodoServiceImpl implements AsyncTodoService {
+
+    private final AsyncTodoApiClient asyncTodoApiClient;
+
+    @Override
+    public CompletableFuture<List<TodoItem>> getTodos(int offset, int limit) {
+        return asyncTodoApiClient.getTodos(offset, limit);
+    }
+
+    @Override
+    public CompletableFuture<Void> createTodo(TodoItem todoItem) {
+        return asyncTodoApiClient.createTodo(todoItem);
+    }
+
+    @Override
+    public CompletableFuture<Void> updateTodo(Long id, TodoItem todoItem) {
+        return asyncTodoApiClient.updateTodo(id, todoItem);
+    }
+
+    @Override
+    public CompletableFuture<Void> deleteTodo(Long id) {
+        return asyncTodoApiClient.deleteTodo(id);
+    }
+
+}
@@ -0,0 +1,98 @@
+package com.example.todoapp.service;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collection;
+import java.util.Properties;
+import java.util.TreeSet;
+import java.util.stream.Collectors;
+
+import static java.nio.file.StandardCopyOption.ATOMIC_MOVE;
+import static java.nio.file.StandardCopyOption.REPLACE_EXISTING;
+
+/**
+ * Progress of a bulk create run by stream position: every item before {@code next} is done, plus the items in
+ * {@code done}, except for the items in {@code failed}. Since items complete out of order, {@code done} holds at
+ * most about one in-flight window.
+ */
+class BulkCreateCheckpoint {
+
+    private static final String NEXT = "next";
+    private static final String DONE = "done";
+    private static final String FAILED = "failed";
+
+    final long next;
+    final TreeSet<Long> done;
+    final TreeSet<Long> failed;
+
+    BulkCreateCheckpoint(long next, Collection<Long> done, Collection<Long> failed) {
+        this.next = next;
+        this.done = new TreeSet<>(done);
+        this.failed = new TreeSet<>(failed);
+    }
+
+    /**
+     * Whether the item at the index still has to be sent.
+     */
+    boolean isPending(long index) {
+        return failed.contains(index) || index >= next && !done.contains(index);
+    }
+
+    /**
+     * Reads the checkpoint, or returns an empty one when the file does not exist.
+     */
+    static BulkCreateCheckpoint read(Path file) {
+        if (!Files.exists(file)) {
+            return new BulkCreateCheckpoint(0, new TreeSet<>(), new TreeSet<>());
+        }
+        Properties properties = new Properties();
+        try (Reader reader = Files.newBufferedReader(file)) {
+            properties.load(reader);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read bulk create checkpoint " + file, e);
+        }
+        return new BulkCreateCheckpoint(Long.parseLong(properties.getProperty(NEXT, "0")),
+                parseIndexes(properties.getProperty(DONE, "")), parseIndexes(properties.getProperty(FAILED, "")));
+    }
+
+    /**
+     * Replaces the file atomically, so an interrupted write leaves the previous checkpoint intact.
+     */
+    void write(Path file) {
+        Properties properties = new Properties();
+        properties.setProperty(NEXT, String.valueOf(next));
+        properties.setProperty(DONE, joinIndexes(done));
+        properties.setProperty(FAILED, joinIndexes(failed));
+        Path temp = file.resolveSibling(file.getFileName() + ".tmp");
+        try {
+            if (file.getParent() != null) {
+                Files.createDirectories(file.getParent());
+            }
+            try (Writer writer = Files.newBufferedWriter(temp)) {
+                properties.store(writer, "Todo bulk create checkpoint");
+            }
+            Files.move(temp, file, REPLACE_EXISTING, ATOMIC_MOVE);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to write bulk create checkpoint " + file, e);
+        }
+    }
+
+    private static TreeSet<Long> parseIndexes(String value) {
+        TreeSet<Long> indexes = new TreeSet<>();
+        for (String index : value.trim().split("\\s+")) {
+            if (!index.isEmpty()) {
+                indexes.add(Long.parseLong(index));
+            }
+        }
+        return indexes;
+    }
+
+    private static String joinIndexes(Collection<Long> indexes) {
+        return indexes.stream().map(String::valueOf).collect(Collectors.joining(" "));
+    }
+
+}
@@ -0,0 +1,16 @@
+package com.example.todoapp.service;
+
+import lombok.Value;
+
+/**
+ * An item of a {@link TodoService#bulkCreate} run that could not be created.
+ */
+@Value
+public class BulkCreateFailure {
+    /**
+     * Position of the item in the stream.
+     */
+    long index;
+    Long id;
+    String error;
+}
@@ -0,0 +1,40 @@
+package com.example.todoapp.service;
+
+import lombok.Value;
+import lombok.With;
+
+import java.nio.file.Path;
+import java.util.function.Consumer;
+
+/**
+ * Settings of one {@link TodoService#bulkCreate} run. Start from {@link #defaults()} and adjust with the
+ * {@code with*} methods.
+ */
+@Value
+@With
+public class BulkCreateOptions {
+
+    private static final BulkCreateOptions DEFAULTS = new BulkCreateOptions(64, 1000, null, 10_000, progress -> {
+    }, 10_000);
+
+    /**
+     * Most create requests in flight at a time.
+     */
+    int maxInFlight;
+    /**
+     * Failures after which no further items are sent. Failed items are retried when the run is resumed.
+     */
+    int maxFailures;
+    /**
+     * File that records which items are done, or {@code null} to run without one. A run resumes from an existing file.
+     */
+    Path checkpoint;
+    long checkpointEvery;
+    Consumer<BulkCreateProgress> progressListener;
+    long progressEvery;
+
+    public static BulkCreateOptions defaults() {
+        return DEFAULTS;
+    }
+
+}
@@ -0,0 +1,24 @@
+package com.example.todoapp.service;
+
+import lombok.Value;
+
+import java.time.Duration;
+
+/**
+ * Counts of a running {@link TodoService#bulkCreate}, reported to its progress listener.
+ */
+@Value
+public class BulkCreateProgress {
+    /**
+     * Items that a resumed run found done in its checkpoint.
+     */
+    long skipped;
+    long created;
+    long failed;
+    int inFlight;
+    Duration elapsed;
+
+    public double getCreatesPerSecond() {
+        return created / Math.max(elapsed.toNanos() / 1e9, 1e-9);
+    }
+}
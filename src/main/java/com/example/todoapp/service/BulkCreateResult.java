@@ -0,0 +1,32 @@
+package com.example.todoapp.service;
+
+import lombok.Value;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Outcome of a {@link TodoService#bulkCreate} run.
+ */
+@Value
+public class BulkCreateResult {
+    /**
+     * Items that a resumed run found done in its checkpoint.
+     */
+    long skipped;
+    long created;
+    List<BulkCreateFailure> failures;
+    /**
+     * Whether every item of the stream has been created, counting earlier runs of the same checkpoint.
+     */
+    boolean complete;
+    Duration elapsed;
+
+    public long getFailed() {
+        return failures.size();
+    }
+
+    public double getCreatesPerSecond() {
+        return created / Math.max(elapsed.toNanos() / 1e9, 1e-9);
+    }
+}
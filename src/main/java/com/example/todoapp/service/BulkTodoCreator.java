@@ -0,0 +1,151 @@
+package com.example.todoapp.service;
+
+import com.example.todoapp.clients.TodoApiClient;
+import com.example.todoapp.load.LoadThreads;
+import com.example.todoapp.model.TodoItem;
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.TreeSet;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.stream.Stream;
+
+/**
+ * Creates the todos of a stream with concurrent POSTs, for {@link TodoService#bulkCreate}.
+ * <p>
+ * The stream is read lazily on the calling thread and at most {@code maxInFlight} creates run at a time, so memory
+ * use does not depend on the number of items. Completions advance a low-water mark over stream positions, which is
+ * written to the checkpoint file together with the items completed beyond it and the failed items. A resumed run
+ * reads the stream again from the start and sends only the items that are not done. Items in flight when a run was
+ * killed are sent again; a server that rejects duplicate ids reports them as failures.
+ * <p>
+ * A creator runs once; {@link TodoServiceImpl} makes a new one per call.
+ */
+@Slf4j
+class BulkTodoCreator {
+
+    private final TodoApiClient todoApiClient;
+    private final BulkCreateOptions options;
+    private final Semaphore window;
+
+    private final List<BulkCreateFailure> failures = new ArrayList<>();
+    private long next;
+    private TreeSet<Long> done;
+    private TreeSet<Long> failed;
+    private long skipped;
+    private long created;
+    private long completed;
+    private long start;
+
+    BulkTodoCreator(TodoApiClient todoApiClient, BulkCreateOptions options) {
+        this.todoApiClient = todoApiClient;
+        this.options = options;
+        this.window = new Semaphore(options.getMaxInFlight());
+    }
+
+    BulkCreateResult run(Stream<TodoItem> todos) {
+        start = System.nanoTime();
+        BulkCreateCheckpoint checkpoint = options.getCheckpoint() == null
+                ? new BulkCreateCheckpoint(0, List.of(), List.of())
+                : BulkCreateCheckpoint.read(options.getCheckpoint());
+        next = checkpoint.next;
+        done = checkpoint.done;
+        failed = checkpoint.failed;
+
+        boolean exhausted = false;
+        ExecutorService executor = LoadThreads.newPerTaskExecutor("bulk-create", true);
+        try (todos) {
+            Iterator<TodoItem> items = todos.iterator();
+            for (long index = 0; items.hasNext() && !tooManyFailures(); index++) {
+                TodoItem item = items.next();
+                if (!checkpoint.isPending(index)) {
+                    synchronized (this) {
+                        skipped++;
+                    }
+                    continue;
+                }
+                window.acquire();
+                long itemIndex = index;
+                executor.execute(todoApiClient.inCallerScope(() -> create(itemIndex, item)));
+            }
+            exhausted = !items.hasNext();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while creating Todos", e);
+        } finally {
+            window.acquireUninterruptibly(options.getMaxInFlight());
+            executor.shutdown();
+            synchronized (this) {
+                if (options.getCheckpoint() != null) {
+                    checkpoint().write(options.getCheckpoint());
+                }
+                options.getProgressListener().accept(progress());
+            }
+        }
+
+        synchronized (this) {
+            if (!exhausted) {
+                log.warn("Stopped bulk create after {} failures", failures.size());
+            }
+            return new BulkCreateResult(skipped, created, List.copyOf(failures), exhausted && failed.isEmpty(),
+                    Duration.ofNanos(System.nanoTime() - start));
+        }
+    }
+
+    private void create(long index, TodoItem item) {
+        String error = null;
+        try {
+            todoApiClient.createTodo(item);
+        } catch (RuntimeException | AssertionError e) {
+            error = e.getMessage() != null ? e.getMessage() : e.toString();
+        } finally {
+            try {
+                complete(index, item, error);
+            } finally {
+                window.release();
+            }
+        }
+    }
+
+    private synchronized void complete(long index, TodoItem item, String error) {
+        if (error == null) {
+            created++;
+            failed.remove(index);
+        } else {
+            failures.add(new BulkCreateFailure(index, item.getId(), error));
+            failed.add(index);
+            log.debug("Failed to create Todo #{} with id {}: {}", index, item.getId(), error);
+        }
+        if (index >= next) {
+            done.add(index);
+            while (done.remove(next)) {
+                next++;
+            }
+        }
+        completed++;
+        if (options.getCheckpoint() != null && completed % options.getCheckpointEvery() == 0) {
+            checkpoint().write(options.getCheckpoint());
+        }
+        if (completed % options.getProgressEvery() == 0) {
+            options.getProgressListener().accept(progress());
+        }
+    }
+
+    private synchronized boolean tooManyFailures() {
+        return failures.size() >= options.getMaxFailures();
+    }
+
+    private BulkCreateCheckpoint checkpoint() {
+        return new BulkCreateCheckpoint(next, done, failed);
+    }
+
+    private BulkCreateProgress progress() {
+        return new BulkCreateProgress(skipped, created, failures.size(),
+                options.getMaxInFlight() - window.availablePermits(), Duration.ofNanos(System.nanoTime() - start));
+    }
+
+}
@@ -0,0 +1,30 @@
+package com.example.todoapp.service;
+
+import lombok.Value;
+
+/**
+ * Counters of a {@link CachingTodoService}.
+ */
+@Value
+public class CacheStats {
+    /**
+     * Pages served from the cache without a request.
+     */
+    long hits;
+    /**
+     * Pages fetched in full, because they were not cached or had changed.
+     */
+    long misses;
+    /**
+     * Expired pages confirmed unchanged by a conditional request.
+     */
+    long revalidations;
+    /**
+     * Pages evicted to stay within {@code cache.max-pages}.
+     */
+    long evictions;
+    /**
+     * Pages dropped because a write changed them in a way the cache cannot replay.
+     */
+    long invalidations;
+}
@@ -0,0 +1,296 @@
+package com.example.todoapp.service;
+
+import com.example.todoapp.clients.TodoApiClient;
+import com.example.todoapp.clients.TodoPage;
+import com.example.todoapp.config.CacheConfig;
+import com.example.todoapp.model.TodoItem;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.Value;
+import lombok.With;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.BiPredicate;
+import java.util.stream.Stream;
+
+/**
+ * Caching decorator of {@link TodoServiceImpl}, enabled with {@code cache.enabled=true}.
+ * <p>
+ * Pages of {@link #getTodos(int, int)} are kept up to {@code cache.max-pages}, least recently used first out, and
+ * are served without a request for {@code cache.ttl}. After that they are revalidated with a conditional GET when the
+ * server sent validators, otherwise reloaded. Writes go to the server first and are then applied to the cached
+ * pages whose new contents are known; every other affected page is dropped.
+ */
+@Slf4j
+@Primary
+@Service
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "cache.enabled", havingValue = "true")
+public class CachingTodoService implements TodoService {
+
+    private final TodoServiceImpl delegate;
+    private final TodoApiClient todoApiClient;
+    private final CacheConfig cacheConfig;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder revalidations = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private final LongAdder invalidations = new LongAdder();
+
+    /**
+     * Cached pages in access order; guarded by itself, as is {@link #generation}.
+     */
+    private final Map<PageKey, CachedPage> pages = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<PageKey, CachedPage> eldest) {
+            if (size() <= cacheConfig.getMaxPages()) {
+                return false;
+            }
+            evictions.increment();
+            return true;
+        }
+    };
+    /**
+     * Incremented by every write, so that a page fetched while a write was in flight is not cached.
+     */
+    private long generation;
+
+    @Override
+    public List<TodoItem> getTodos(int offset, int limit) {
+        PageKey key = new PageKey(offset, limit);
+        CachedPage cached;
+        long fetchGeneration;
+        synchronized (pages) {
+            cached = pages.get(key);
+            fetchGeneration = generation;
+        }
+        if (cached != null && System.nanoTime() < cached.getExpiresAt()) {
+            hits.increment();
+            return copy(cached.getTodos());
+        }
+
+        List<TodoItem> todos;
+        String etag = null;
+        String lastModified = null;
+        if (!cacheConfig.isConditional()) {
+            todos = delegate.getTodos(offset, limit);
+            misses.increment();
+        } else {
+            TodoPage page = cached == null
+                    ? todoApiClient.getTodosIfModified(offset, limit, null, null)
+                    : todoApiClient.getTodosIfModified(offset, limit, cached.getEtag(), cached.getLastModified());
+            if (page.isNotModified()) {
+                todos = cached.getTodos();
+                revalidations.increment();
+            } else {
+                todos = page.getTodos();
+                misses.increment();
+            }
+            etag = page.getEtag();
+            lastModified = page.getLastModified();
+        }
+
+        synchronized (pages) {
+            if (generation == fetchGeneration) {
+                pages.put(key, new CachedPage(copy(todos), etag, lastModified, System.nanoTime() + cacheConfig.getTtl().toNanos()));
+            }
+        }
+        return copy(todos);
+    }
+
+    @Override
+    public Stream<TodoItem> streamAll(int pageSize) {
+        return delegate.streamAll(pageSize);
+    }
+
+    /**
+     * Appends the todo to the pages that end the list. Empty pages past the start are dropped, since the cache does
+     * not know whether the new todo lands on them.
+     */
+    @Override
+    public void createTodo(TodoItem todoItem) {
+        delegate.createTodo(todoItem);
+        synchronized (pages) {
+            generation++;
+            for (Iterator<Map.Entry<PageKey, CachedPage>> entries = pages.entrySet().iterator(); entries.hasNext(); ) {
+                Map.Entry<PageKey, CachedPage> entry = entries.next();
+                List<TodoItem> todos = entry.getValue().getTodos();
+                if (todos.size() >= entry.getKey().getLimit()) {
+                    continue;
+                }
+                if (todos.isEmpty() && entry.getKey().getOffset() > 0) {
+                    entries.remove();
+                    invalidations.increment();
+                    continue;
+                }
+                List<TodoItem> updated = copy(todos);
+                updated.add(copy(todoItem));
+                entry.setValue(entry.getValue().withTodos(updated));
+            }
+        }
+    }
+
+    /**
+     * Drops the pages that end the list, since the cache does not parse the body to append the todo to them.
+     */
+    @Override
+    public void createTodo(Long id, byte[] body) {
+        delegate.createTodo(id, body);
+        synchronized (pages) {
+            generation++;
+            dropPages((key, todos) -> todos.size() < key.getLimit());
+        }
+    }
+
+    /**
+     * Drops every page, since the created todos may land on any of them.
+     */
+    @Override
+    public BulkCreateResult bulkCreate(Stream<TodoItem> todos, BulkCreateOptions options) {
+        try {
+            return delegate.bulkCreate(todos, options);
+        } finally {
+            synchronized (pages) {
+                generation++;
+                invalidations.add(pages.size());
+                pages.clear();
+            }
+        }
+    }
+
+    @Override
+    public void updateTodo(Long id, TodoItem todoItem) {
+        delegate.updateTodo(id, todoItem);
+        synchronized (pages) {
+            generation++;
+            for (Map.Entry<PageKey, CachedPage> entry : pages.entrySet()) {
+                List<TodoItem> todos = entry.getValue().getTodos();
+                if (todos.stream().anyMatch(todo -> todo.getId().equals(id))) {
+                    List<TodoItem> updated = copy(todos);
+                    updated.replaceAll(todo -> todo.getId().equals(id)
+                            ? new TodoItem(id, todoItem.getText(), todoItem.getCompleted())
+                            : todo);
+                    entry.setValue(entry.getValue().withTodos(updated));
+                }
+            }
+        }
+    }
+
+    /**
+     * Drops the pages holding the todo, since the cache does not parse the body to replace it in them.
+     */
+    @Override
+    public void updateTodo(Long id, byte[] body) {
+        delegate.updateTodo(id, body);
+        synchronized (pages) {
+            generation++;
+            dropPages((key, todos) -> todos.stream().anyMatch(todo -> todo.getId().equals(id)));
+        }
+    }
+
+    /**
+     * Removes the todo from the page that ends the list. Pages before it are kept and pages it shifts are dropped;
+     * when no cached page holds it, its position is unknown and every page is dropped. So is a short page that ends
+     * before the todo, since pages fetched at different times no longer agree on where the list ends.
+     */
+    @Override
+    public void deleteTodo(Long id) {
+        delegate.deleteTodo(id);
+        synchronized (pages) {
+            generation++;
+            long index = indexOf(id);
+            for (Iterator<Map.Entry<PageKey, CachedPage>> entries = pages.entrySet().iterator(); entries.hasNext(); ) {
+                Map.Entry<PageKey, CachedPage> entry = entries.next();
+                PageKey key = entry.getKey();
+                List<TodoItem> todos = entry.getValue().getTodos();
+                boolean full = todos.size() >= key.getLimit();
+                if (index >= 0 && full && key.getOffset() + todos.size() <= index) {
+                    continue;
+                }
+                if (index >= 0 && !full && index >= key.getOffset() && index < key.getOffset() + todos.size()) {
+                    List<TodoItem> updated = copy(todos);
+                    updated.remove((int) (index - key.getOffset()));
+                    entry.setValue(entry.getValue().withTodos(updated));
+                    continue;
+                }
+                entries.remove();
+                invalidations.increment();
+            }
+        }
+    }
+
+    public CacheStats getStats() {
+        return new CacheStats(hits.sum(), misses.sum(), revalidations.sum(), evictions.sum(), invalidations.sum());
+    }
+
+    @PreDestroy
+    public void logStats() {
+        CacheStats stats = getStats();
+        log.info("Todo page cache: {} hits (list requests saved), {} misses, {} revalidations, {} evictions, {} invalidations",
+                stats.getHits(), stats.getMisses(), stats.getRevalidations(), stats.getEvictions(), stats.getInvalidations());
+    }
+
+    /**
+     * Drops the pages matching the condition; callers hold the lock on {@link #pages}.
+     */
+    private void dropPages(BiPredicate<PageKey, List<TodoItem>> condition) {
+        for (Iterator<Map.Entry<PageKey, CachedPage>> entries = pages.entrySet().iterator(); entries.hasNext(); ) {
+            Map.Entry<PageKey, CachedPage> entry = entries.next();
+            if (condition.test(entry.getKey(), entry.getValue().getTodos())) {
+                entries.remove();
+                invalidations.increment();
+            }
+        }
+    }
+
+    private long indexOf(Long id) {
+        for (Map.Entry<PageKey, CachedPage> entry : pages.entrySet()) {
+            List<TodoItem> todos = entry.getValue().getTodos();
+            for (int position = 0; position < todos.size(); position++) {
+                if (todos.get(position).getId().equals(id)) {
+                    return entry.getKey().getOffset() + position;
+                }
+            }
+        }
+        return -1;
+    }
+
+    private static List<TodoItem> copy(List<TodoItem> todos) {
+        List<TodoItem> copy = new ArrayList<>(todos.size());
+        todos.forEach(todo -> copy.add(copy(todo)));
+        return copy;
+    }
+
+    private static TodoItem copy(TodoItem todo) {
+        return new TodoItem(todo.getId(), todo.getText(), todo.getCompleted());
+    }
+
+    @Value
+    private static class PageKey {
+        int offset;
+        int limit;
+    }
+
+    /**
+     * Cached page; its list is never modified once the page is published, writes replace the page instead.
+     */
+    @Value
+    @With
+    private static class CachedPage {
+        List<TodoItem> todos;
+        String etag;
+        String lastModified;
+        long expiresAt;
+    }
+
+}
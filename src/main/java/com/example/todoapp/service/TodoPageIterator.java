@@ -0,0 +1,115 @@
+package com.example.todoapp.service;
+
+import com.example.todoapp.load.LoadThreads;
+import com.example.todoapp.model.TodoItem;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+
+/**
+ * Iterates over all todos with offset/limit paging, prefetching the next page while the current one is consumed.
+ * Pages are parsed with Jackson's streaming parser straight from the response body.
+ */
+class TodoPageIterator implements Iterator<TodoItem>, AutoCloseable {
+
+    private static final ObjectReader TODO_READER = new ObjectMapper().readerFor(TodoItem.class);
+    private static final ExecutorService PREFETCH_EXECUTOR = LoadThreads.newPerTaskExecutor("todo-prefetch", true);
+
+    @FunctionalInterface
+    interface PageFetcher {
+
+        InputStream fetch(int offset, int limit);
+
+    }
+
+    private final PageFetcher pageFetcher;
+    private final int pageSize;
+    private Iterator<TodoItem> currentPage;
+    private CompletableFuture<List<TodoItem>> nextPage;
+    private int nextOffset;
+
+    TodoPageIterator(PageFetcher pageFetcher, int pageSize) {
+        if (pageSize <= 0) {
+            throw new IllegalArgumentException("Page size must be positive: " + pageSize);
+        }
+        this.pageFetcher = pageFetcher;
+        this.pageSize = pageSize;
+        this.currentPage = List.<TodoItem>of().iterator();
+        this.nextPage = prefetch();
+    }
+
+    @Override
+    public boolean hasNext() {
+        while (!currentPage.hasNext()) {
+            if (nextPage == null) {
+                return false;
+            }
+            List<TodoItem> page = await(nextPage);
+            nextPage = page.size() < pageSize ? null : prefetch();
+            currentPage = page.iterator();
+        }
+        return true;
+    }
+
+    @Override
+    public TodoItem next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        return currentPage.next();
+    }
+
+    @Override
+    public void close() {
+        if (nextPage != null) {
+            nextPage.cancel(true);
+            nextPage = null;
+        }
+        currentPage = List.<TodoItem>of().iterator();
+    }
+
+    private CompletableFuture<List<TodoItem>> prefetch() {
+        int offset = nextOffset;
+        nextOffset += pageSize;
+        return CompletableFuture.supplyAsync(() -> parsePage(pageFetcher.fetch(offset, pageSize)), PREFETCH_EXECUTOR);
+    }
+
+    private List<TodoItem> parsePage(InputStream body) {
+        List<TodoItem> page = new ArrayList<>(pageSize);
+        try (body; JsonParser parser = TODO_READER.createParser(body)) {
+            if (parser.nextToken() != JsonToken.START_ARRAY) {
+                throw new IOException("Expected a JSON array of todos");
+            }
+            while (parser.nextToken() == JsonToken.START_OBJECT) {
+                page.add(TODO_READER.readValue(parser));
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to parse todo page", e);
+        }
+        return page;
+    }
+
+    private static List<TodoItem> await(CompletableFuture<List<TodoItem>> page) {
+        try {
+            return page.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+}
@@ -3,6 +3,7 @@ package com.example.todoapp.service;
 import com.example.todoapp.model.TodoItem;
 
 import java.util.List;
+import java.util.stream.Stream;
 
 /**
  * Service interface for {@link TodoItem} operations.
@@ -11,10 +12,39 @@ public interface TodoService {
 
     List<TodoItem> getTodos(int offset, int limit);
 
+    /**
+     * Lazily streams every todo on the server, page by page. The next page is fetched in the background while
+     * the current one is consumed, so at most about two pages are held in memory. Close the stream to stop
+     * prefetching early.
+     */
+    Stream<TodoItem> streamAll(int pageSize);
+
     void createTodo(TodoItem todoItem);
 
+    /**
+     * Creates the todo with the given id from its pre-serialized JSON body, sparing load scenarios a todo object and
+     * its serialization per request.
+     */
+    void createTodo(Long id, byte[] body);
+
+    /**
+     * Creates every todo of the stream with concurrent requests, reading the stream lazily. Failed items are
+     * reported, not thrown. With a checkpoint file, an interrupted run resumes where it stopped when it is called
+     * again with the same stream.
+     */
+    BulkCreateResult bulkCreate(Stream<TodoItem> todos, BulkCreateOptions options);
+
+    default BulkCreateResult bulkCreate(Stream<TodoItem> todos) {
+        return bulkCreate(todos, BulkCreateOptions.defaults());
+    }
+
     void updateTodo(Long id, TodoItem todoItem);
 
+    /**
+     * Updates the todo with the given id from its pre-serialized JSON body.
+     */
+    void updateTodo(Long id, byte[] body);
+
     void deleteTodo(Long id);
 
 }
\ No newline at end of file
@@ -6,6 +6,10 @@ import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 /**
  * Implementation of the {@link TodoService} interface.
@@ -21,16 +25,38 @@ public class TodoServiceImpl implements TodoService {
         return todoApiClient.getTodos(offset, limit);
     }
 
+    @Override
+    public Stream<TodoItem> streamAll(int pageSize) {
+        TodoPageIterator iterator = new TodoPageIterator(todoApiClient::getTodosAsStream, pageSize);
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(iterator, Spliterator.ORDERED | Spliterator.NONNULL), false)
+                .onClose(iterator::close);
+    }
+
     @Override
     public void createTodo(TodoItem todoItem) {
         todoApiClient.createTodo(todoItem);
     }
 
+    @Override
+    public void createTodo(Long id, byte[] body) {
+        todoApiClient.createTodo(id, body);
+    }
+
+    @Override
+    public BulkCreateResult bulkCreate(Stream<TodoItem> todos, BulkCreateOptions options) {
+        return new BulkTodoCreator(todoApiClient, options).run(todos);
+    }
+
     @Override
     public void updateTodo(Long id, TodoItem todoItem) {
         todoApiClient.updateTodo(id, todoItem);
     }
 
+    @Override
+    public void updateTodo(Long id, byte[] body) {
+        todoApiClient.updateTodo(id, body);
+    }
+
     @Override
     public void deleteTodo(Long id) {
         todoApiClient.deleteTodo(id);
@@ -0,0 +1,249 @@
+package com.example.todoapp.stub;
+
+import com.example.todoapp.load.LoadThreads;
+import com.example.todoapp.model.TodoItem;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.net.InetSocketAddress;
+import java.util.Base64;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.apache.http.HttpStatus.*;
+
+/**
+ * In-process stand-in for the {@code todo-app} server, built on the JDK {@link HttpServer}.
+ * <p>
+ * Implements {@code GET/POST /todos} and {@code PUT/DELETE /todos/{id}} with offset/limit paging,
+ * Basic-auth-protected deletes and the status codes the API tests assert. List responses carry an {@code ETag} derived
+ * from the store version and honour {@code If-None-Match}. It serves as a fast offline target
+ * and as the client-only throughput ceiling for benchmarks. For transport tests it counts client connections and can
+ * send list responses chunked.
+ */
+@Slf4j
+public class StubTodoServer {
+
+    private static final int BACKLOG = 4096;
+    private static final Map<Integer, StubTodoServer> RUNNING = new ConcurrentHashMap<>();
+
+    static {
+        // Read once when the JDK server is first used; without it, headers and body of a list response are sent as
+        // separate segments and Nagle's algorithm holds the body until the client's delayed ACK, about 40 ms
+        System.getProperties().putIfAbsent("sun.net.httpserver.nodelay", "true");
+    }
+
+    private final int port;
+    private final String endpoint;
+    private final String authorization;
+    private final StubTodoStore store = new StubTodoStore();
+    /**
+     * Distinguishes the entity tags of successive server instances, whose store versions restart at zero.
+     */
+    private final String epoch = Long.toString(System.nanoTime(), Character.MAX_RADIX);
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    /**
+     * Remote addresses requests came from, one per client connection.
+     */
+    private final Set<InetSocketAddress> clients = ConcurrentHashMap.newKeySet();
+    private volatile boolean chunkedResponses;
+    private HttpServer server;
+    private ExecutorService executor;
+    private int references;
+
+    public StubTodoServer(int port, String endpoint, String adminUsername, String adminPassword) {
+        this.port = port;
+        this.endpoint = endpoint;
+        this.authorization = "Basic " + Base64.getEncoder().encodeToString((adminUsername + ":" + adminPassword).getBytes(UTF_8));
+    }
+
+    /**
+     * Returns the server running on {@code port} in this JVM, starting it first if needed. Every Spring context
+     * of a test run acquires the same instance; it stops when the last one releases it.
+     */
+    public static StubTodoServer acquire(int port, String endpoint, String adminUsername, String adminPassword) {
+        StubTodoServer server = RUNNING.computeIfAbsent(port, ignored -> new StubTodoServer(port, endpoint, adminUsername, adminPassword));
+        synchronized (server) {
+            if (server.references++ == 0) {
+                server.start();
+            }
+        }
+        return server;
+    }
+
+    public void release() {
+        synchronized (this) {
+            if (--references > 0) {
+                return;
+            }
+            RUNNING.remove(port, this);
+            stop();
+        }
+    }
+
+    public synchronized void start() {
+        try {
+            server = HttpServer.create(new InetSocketAddress(port), BACKLOG);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to bind stub Todo server to port " + port, e);
+        }
+        executor = LoadThreads.newPerTaskExecutor("stub-server", true);
+        server.setExecutor(executor);
+        server.createContext(endpoint, this::handle);
+        server.start();
+        log.info("Stub Todo server listening on port {}", getPort());
+    }
+
+    public synchronized void stop() {
+        if (server != null) {
+            server.stop(0);
+            executor.shutdownNow();
+            server = null;
+            log.info("Stub Todo server on port {} stopped", port);
+        }
+    }
+
+    public int getPort() {
+        return server == null ? port : server.getAddress().getPort();
+    }
+
+    public StubTodoStore getStore() {
+        return store;
+    }
+
+    /**
+     * Number of client connections that have sent requests to this server.
+     */
+    public int getConnectionCount() {
+        return clients.size();
+    }
+
+    /**
+     * Sends list responses with chunked transfer encoding instead of a {@code Content-Length}.
+     */
+    public void setChunkedResponses(boolean chunkedResponses) {
+        this.chunkedResponses = chunkedResponses;
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            clients.add(exchange.getRemoteAddress());
+            String path = exchange.getRequestURI().getPath();
+            String id = path.length() > endpoint.length() + 1 ? path.substring(endpoint.length() + 1) : null;
+            switch (exchange.getRequestMethod()) {
+                case "GET" -> list(exchange);
+                case "POST" -> create(exchange);
+                case "PUT" -> update(exchange, id);
+                case "DELETE" -> delete(exchange, id);
+                default -> respond(exchange, SC_METHOD_NOT_ALLOWED);
+            }
+        } catch (RuntimeException e) {
+            log.warn("Stub Todo server failed to handle {} {}", exchange.getRequestMethod(), exchange.getRequestURI(), e);
+            respond(exchange, SC_INTERNAL_SERVER_ERROR);
+        }
+    }
+
+    private void list(HttpExchange exchange) throws IOException {
+        long offset = 0;
+        long limit = Long.MAX_VALUE;
+        String query = exchange.getRequestURI().getRawQuery();
+        try {
+            if (query != null) {
+                for (String param : query.split("&")) {
+                    int separator = param.indexOf('=');
+                    String name = separator < 0 ? param : param.substring(0, separator);
+                    String value = separator < 0 ? "" : param.substring(separator + 1);
+                    if (name.equals("offset")) {
+                        offset = Long.parseLong(value);
+                    } else if (name.equals("limit")) {
+                        limit = Long.parseLong(value);
+                    }
+                }
+            }
+        } catch (NumberFormatException e) {
+            respond(exchange, SC_BAD_REQUEST);
+            return;
+        }
+        if (offset < 0 || limit < 0) {
+            respond(exchange, SC_BAD_REQUEST);
+            return;
+        }
+        // Read the version before the page, so a concurrent write can only make the tag stale, never too new
+        String etag = "\"" + epoch + "-" + store.version() + "\"";
+        exchange.getResponseHeaders().set("ETag", etag);
+        if (etag.equals(exchange.getRequestHeaders().getFirst("If-None-Match"))) {
+            respond(exchange, SC_NOT_MODIFIED);
+            return;
+        }
+        byte[] body = objectMapper.writeValueAsBytes(store.page(offset, limit));
+        exchange.getResponseHeaders().set("Content-Type", "application/json");
+        exchange.sendResponseHeaders(SC_OK, chunkedResponses ? 0 : body.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(body);
+        }
+    }
+
+    private void create(HttpExchange exchange) throws IOException {
+        TodoItem todoItem = readTodo(exchange.getRequestBody());
+        if (todoItem == null) {
+            respond(exchange, SC_BAD_REQUEST);
+        } else {
+            respond(exchange, store.create(todoItem) ? SC_CREATED : SC_BAD_REQUEST);
+        }
+    }
+
+    private void update(HttpExchange exchange, String id) throws IOException {
+        Long todoId = parseId(id);
+        TodoItem todoItem = readTodo(exchange.getRequestBody());
+        if (todoId == null) {
+            respond(exchange, SC_NOT_FOUND);
+        } else if (todoItem == null) {
+            respond(exchange, SC_BAD_REQUEST);
+        } else {
+            respond(exchange, store.update(todoId, todoItem) ? SC_OK : SC_NOT_FOUND);
+        }
+    }
+
+    private void delete(HttpExchange exchange, String id) throws IOException {
+        if (!authorization.equals(exchange.getRequestHeaders().getFirst("Authorization"))) {
+            respond(exchange, SC_UNAUTHORIZED);
+            return;
+        }
+        Long todoId = parseId(id);
+        respond(exchange, todoId != null && store.delete(todoId) ? SC_NO_CONTENT : SC_NOT_FOUND);
+    }
+
+    private TodoItem readTodo(InputStream body) {
+        try (body) {
+            TodoItem todoItem = objectMapper.readValue(body, TodoItem.class);
+            boolean complete = todoItem.getId() != null && todoItem.getText() != null && todoItem.getCompleted() != null;
+            return complete ? todoItem : null;
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    private static Long parseId(String id) {
+        try {
+            return id == null ? null : Long.parseLong(id);
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    private static void respond(HttpExchange exchange, int statusCode) throws IOException {
+        // Closing drains the request; otherwise the JDK server drops the connection after a body-less response
+        exchange.getRequestBody().close();
+        exchange.sendResponseHeaders(statusCode, -1);
+    }
+
+}
@@ -0,0 +1,93 @@
+package com.example.todoapp.stub;
+
+import com.example.todoapp.model.TodoItem;
+
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+/**
+ * Concurrent in-memory todo store keeping insertion order.
+ * <p>
+ * Ids map to their insertion sequence number in a {@link ConcurrentHashMap}; a {@link ConcurrentSkipListMap}
+ * keyed by sequence holds the todos in the order they were created, which is the order pages are served in.
+ * Creates and deletes change both maps inside {@code compute} on the id, so a delete cannot run between the two
+ * halves of a create of the same id and leave a todo that is listed but cannot be deleted.
+ */
+public class StubTodoStore {
+
+    private final ConcurrentHashMap<Long, Long> sequenceById = new ConcurrentHashMap<>();
+    private final ConcurrentSkipListMap<Long, TodoItem> todosBySequence = new ConcurrentSkipListMap<>();
+    private final AtomicLong sequence = new AtomicLong();
+    private final AtomicLong version = new AtomicLong();
+
+    public boolean create(TodoItem todoItem) {
+        boolean[] created = new boolean[1];
+        sequenceById.compute(todoItem.getId(), (id, existing) -> {
+            if (existing != null) {
+                return existing;
+            }
+            long next = sequence.incrementAndGet();
+            todosBySequence.put(next, copy(todoItem));
+            created[0] = true;
+            return next;
+        });
+        if (created[0]) {
+            version.incrementAndGet();
+        }
+        return created[0];
+    }
+
+    public boolean update(long id, TodoItem todoItem) {
+        Long existing = sequenceById.get(id);
+        if (existing == null || todosBySequence.replace(existing, copy(todoItem)) == null) {
+            return false;
+        }
+        version.incrementAndGet();
+        return true;
+    }
+
+    public boolean delete(long id) {
+        boolean[] deleted = new boolean[1];
+        sequenceById.computeIfPresent(id, (key, existing) -> {
+            todosBySequence.remove(existing);
+            deleted[0] = true;
+            return null;
+        });
+        if (deleted[0]) {
+            version.incrementAndGet();
+        }
+        return deleted[0];
+    }
+
+    public List<TodoItem> page(long offset, long limit) {
+        return todosBySequence.values().stream()
+                .skip(offset)
+                .limit(limit)
+                .collect(Collectors.toList());
+    }
+
+    public int size() {
+        return sequenceById.size();
+    }
+
+    /**
+     * Incremented by every successful change.
+     */
+    public long version() {
+        return version.get();
+    }
+
+    public void clear() {
+        sequenceById.clear();
+        todosBySequence.clear();
+        version.incrementAndGet();
+    }
+
+    private static TodoItem copy(TodoItem todoItem) {
+        return new TodoItem(todoItem.getId(), todoItem.getText(), todoItem.getCompleted());
+    }
+
+}
@@ -8,6 +8,7 @@ public interface TestDataConstants {
     int LARGE_TOTAL_TODOS = 100;
     int LARGE_OFFSET = 90;
     int LARGE_LIMIT = 20;
+    int BULK_MAX_IN_FLIGHT = 16;
     int MAX_ATTEMPTS = 5;
     int RETRY_DELAY_MS = 100;
     int EXPECTED_LARGE_SIZE = 10;
@@ -22,4 +23,5 @@ public interface TestDataConstants {
     String SQL_INJECTION_TEXT = "Test'); DROP TABLE todos; --";
     String XSS_TEXT = "<script>alert('XSS')</script>";
     int LARGE_TEXT_REPEAT_COUNT = 100;
+    int NAMESPACE_PAGE_SIZE = 100;
 }
\ No newline at end of file
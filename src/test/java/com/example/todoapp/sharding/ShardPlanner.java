@@ -0,0 +1,72 @@
+package com.example.todoapp.sharding;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Assigns test classes to shards, longest first, each to the shard with the least work so far. The plan depends only on
+ * its input, so every shard computes the same one from the same timings and runs its own part of it.
+ */
+public final class ShardPlanner {
+
+    private static final Duration DEFAULT_TEST_DURATION = Duration.ofMillis(100);
+
+    private ShardPlanner() {
+    }
+
+    /**
+     * Returns the classes of each shard. Ties are broken by class name and shard index.
+     */
+    public static List<Set<String>> plan(Map<String, Duration> durations, int shards) {
+        if (shards < 1) {
+            throw new IllegalArgumentException("Shard count must be positive: " + shards);
+        }
+        List<Set<String>> plan = new ArrayList<>();
+        long[] loads = new long[shards];
+        for (int shard = 0; shard < shards; shard++) {
+            plan.add(new TreeSet<>());
+        }
+        durations.entrySet().stream()
+                .sorted(Map.Entry.<String, Duration>comparingByValue().reversed().thenComparing(Map.Entry.comparingByKey()))
+                .forEach(entry -> {
+                    int lightest = 0;
+                    for (int shard = 1; shard < shards; shard++) {
+                        if (loads[shard] < loads[lightest]) {
+                            lightest = shard;
+                        }
+                    }
+                    plan.get(lightest).add(entry.getKey());
+                    loads[lightest] += entry.getValue().toMillis();
+                });
+        return plan;
+    }
+
+    /**
+     * Uses the recorded duration of each class, and estimates classes without one from their number of tests and
+     * the average duration of a recorded test.
+     */
+    public static Map<String, Duration> estimate(Map<String, Integer> testCounts, Map<String, Duration> recorded) {
+        long recordedMillis = 0;
+        long recordedTests = 0;
+        for (Map.Entry<String, Integer> entry : testCounts.entrySet()) {
+            Duration duration = recorded.get(entry.getKey());
+            if (duration != null) {
+                recordedMillis += duration.toMillis();
+                recordedTests += entry.getValue();
+            }
+        }
+        Duration perTest = recordedTests > 0 ? Duration.ofMillis(recordedMillis / recordedTests) : DEFAULT_TEST_DURATION;
+
+        Map<String, Duration> durations = new LinkedHashMap<>();
+        testCounts.keySet().stream().sorted(Comparator.naturalOrder()).forEach(testClass -> durations.put(testClass,
+                recorded.getOrDefault(testClass, perTest.multipliedBy(testCounts.get(testClass)))));
+        return durations;
+    }
+
+}
@@ -0,0 +1,69 @@
+package com.example.todoapp.sharding;
+
+import lombok.Value;
+
+import java.nio.charset.StandardCharsets;
+import java.util.UUID;
+
+/**
+ * The part of the suite this JVM runs, from the {@code shard.index} and {@code shard.count} system properties.
+ * Unsharded runs are shard 0 of 1.
+ */
+@Value
+public class TestShard {
+
+    public static final String INDEX_PROPERTY = "shard.index";
+    public static final String COUNT_PROPERTY = "shard.count";
+    /**
+     * Identifier shared by all shards of one pipeline run, e.g. the CI build number.
+     */
+    public static final String RUN_ID_PROPERTY = "shard.run-id";
+    /**
+     * Runs only the tests of the {@code exclusive} group, serially, once every shard of the run has finished.
+     */
+    public static final String EXCLUSIVE_PROPERTY = "shard.exclusive";
+    private static final String LOCAL_RUN_ID = "local-" + UUID.randomUUID();
+
+    int index;
+    int count;
+
+    public TestShard(int index, int count) {
+        if (count < 1 || index < 0 || index >= count) {
+            throw new IllegalArgumentException("Shard " + index + " of " + count + " does not exist");
+        }
+        this.index = index;
+        this.count = count;
+    }
+
+    public static TestShard current() {
+        return new TestShard(Integer.getInteger(INDEX_PROPERTY, 0), Integer.getInteger(COUNT_PROPERTY, 1));
+    }
+
+    public boolean isSharded() {
+        return count > 1;
+    }
+
+    public static boolean isExclusiveRun() {
+        return Boolean.getBoolean(EXCLUSIVE_PROPERTY);
+    }
+
+    /**
+     * Returns {@code shard.run-id}, or an id of this JVM's own when it is not set.
+     */
+    public static String runId() {
+        String runId = System.getProperty(RUN_ID_PROPERTY);
+        return runId == null || runId.isBlank() ? LOCAL_RUN_ID : runId;
+    }
+
+    /**
+     * Key that is the same in every shard of a run with the same {@code shard.run-id}.
+     */
+    public static long runKey() {
+        return UUID.nameUUIDFromBytes(runId().getBytes(StandardCharsets.UTF_8)).getMostSignificantBits();
+    }
+
+    @Override
+    public String toString() {
+        return index + "-of-" + count;
+    }
+}
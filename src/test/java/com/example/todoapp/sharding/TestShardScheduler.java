@@ -0,0 +1,106 @@
+package com.example.todoapp.sharding;
+
+import com.example.todoapp.tests.BaseTodoTestingApplicationTests;
+import lombok.extern.slf4j.Slf4j;
+import org.testng.IAlterSuiteListener;
+import org.testng.annotations.Test;
+import org.testng.xml.XmlClass;
+import org.testng.xml.XmlSuite;
+import org.testng.xml.XmlTest;
+
+import java.lang.reflect.Method;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * Cuts the suite down to this JVM's {@link TestShard} before it runs. Classes are the unit of assignment, since their
+ * {@code @BeforeClass}/{@code @AfterClass} cleanup and shared state would otherwise run in several shards. The plan
+ * balances the class durations recorded by {@link TestTimingsListener}.
+ * <p>
+ * Shards run at the same time against one server, so tests of the {@code exclusive} group, which need the server to
+ * themselves, are left out of the shards. They run in a separate {@code shard.exclusive=true} run after the shards,
+ * which keeps only those tests and runs them serially.
+ */
+@Slf4j
+public class TestShardScheduler implements IAlterSuiteListener {
+
+    @Override
+    public void alter(List<XmlSuite> suites) {
+        TestShard shard = TestShard.current();
+        if (TestShard.isExclusiveRun()) {
+            suites.forEach(TestShardScheduler::keepExclusive);
+        } else if (shard.isSharded()) {
+            suites.forEach(suite -> assign(suite, shard));
+        }
+    }
+
+    private static void keepExclusive(XmlSuite suite) {
+        String group = BaseTodoTestingApplicationTests.EXCLUSIVE_GROUP;
+        List<XmlTest> tests = new ArrayList<>();
+        for (XmlTest test : suite.getTests()) {
+            List<XmlClass> exclusive = test.getXmlClasses().stream()
+                    .filter(xmlClass -> !testsInGroup(xmlClass.getName(), group).isEmpty()).toList();
+            if (!exclusive.isEmpty()) {
+                test.setXmlClasses(new ArrayList<>(exclusive));
+                test.setIncludedGroups(new ArrayList<>(List.of(group)));
+                test.setExcludedGroups(new ArrayList<>());
+                test.setParallel(XmlSuite.ParallelMode.NONE);
+                tests.add(test);
+            }
+        }
+        suite.setParallel(XmlSuite.ParallelMode.NONE);
+        suite.setTests(tests);
+        log.info("Exclusive run of the {} group in {}", group,
+                tests.stream().flatMap(test -> test.getXmlClasses().stream()).map(XmlClass::getName).distinct().toList());
+    }
+
+    private static void assign(XmlSuite suite, TestShard shard) {
+        if (System.getProperty(TestShard.RUN_ID_PROPERTY) == null) {
+            throw new IllegalStateException("Sharded runs need -D" + TestShard.RUN_ID_PROPERTY
+                    + ", the same in every shard, so that all shards plan from the same timings");
+        }
+        Map<String, Integer> testCounts = new TreeMap<>();
+        suite.getTests().forEach(test -> test.getXmlClasses()
+                .forEach(xmlClass -> testCounts.computeIfAbsent(xmlClass.getName(), TestShardScheduler::countTests)));
+        Map<String, Duration> durations = ShardPlanner.estimate(testCounts, TestTimings.read(TestTimings.directory(), TestShard.runId()));
+        Set<String> classes = ShardPlanner.plan(durations, shard.getCount()).get(shard.getIndex());
+        log.info("Shard {} runs {} of {} classes, about {} s: {}", shard, classes.size(), testCounts.size(),
+                classes.stream().mapToLong(testClass -> durations.get(testClass).toMillis()).sum() / 1000, classes);
+
+        List<XmlTest> tests = new ArrayList<>();
+        for (XmlTest test : suite.getTests()) {
+            List<XmlClass> assigned = test.getXmlClasses().stream()
+                    .filter(xmlClass -> classes.contains(xmlClass.getName())).toList();
+            if (!assigned.isEmpty()) {
+                test.setXmlClasses(new ArrayList<>(assigned));
+                test.addExcludedGroup(BaseTodoTestingApplicationTests.EXCLUSIVE_GROUP);
+                tests.add(test);
+            }
+        }
+        suite.setTests(tests);
+    }
+
+    private static int countTests(String className) {
+        return testMethods(className).size();
+    }
+
+    private static List<Method> testsInGroup(String className, String group) {
+        return testMethods(className).stream()
+                .filter(method -> Arrays.asList(method.getAnnotation(Test.class).groups()).contains(group)).toList();
+    }
+
+    private static List<Method> testMethods(String className) {
+        try {
+            return Arrays.stream(Class.forName(className, false, TestShardScheduler.class.getClassLoader()).getMethods())
+                    .filter(method -> method.isAnnotationPresent(Test.class)).toList();
+        } catch (ClassNotFoundException e) {
+            throw new IllegalStateException("Test class " + className + " not found", e);
+        }
+    }
+
+}
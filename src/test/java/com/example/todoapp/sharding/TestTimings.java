@@ -0,0 +1,118 @@
+package com.example.todoapp.sharding;
+
+import lombok.Value;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Durations of test classes measured by earlier runs. Every shard appends to its own CSV file in
+ * {@code test.timings-dir}, so the files of all shards can be collected into one directory. Reading takes each class's
+ * latest measurement, leaving out the current run: shards that finish early must not change the plan of shards that
+ * start later.
+ */
+public final class TestTimings {
+
+    public static final String DIR_PROPERTY = "test.timings-dir";
+    public static final String DEFAULT_DIR = "test-timings";
+    private static final String HEADER = "class,millis,recorded,run";
+    private static final String SUFFIX = ".csv";
+    /**
+     * Runs whose rows a file keeps; older rows are dropped when a run appends.
+     */
+    private static final int KEPT_RUNS = 5;
+
+    private TestTimings() {
+    }
+
+    public static Path directory() {
+        return Path.of(System.getProperty(DIR_PROPERTY, DEFAULT_DIR));
+    }
+
+    public static Path file(Path directory, TestShard shard) {
+        return directory.resolve("shard-" + shard + SUFFIX);
+    }
+
+    /**
+     * Returns the latest duration of every class found in the directory's CSV files that was not recorded by
+     * {@code currentRun}; empty if there are none.
+     */
+    public static Map<String, Duration> read(Path directory, String currentRun) {
+        Map<String, Row> latest = new HashMap<>();
+        if (Files.isDirectory(directory)) {
+            try (Stream<Path> files = Files.list(directory)) {
+                files.filter(path -> path.toString().endsWith(SUFFIX)).sorted()
+                        .flatMap(file -> readRows(file).stream())
+                        .filter(row -> !row.run.equals(currentRun))
+                        .forEach(row -> latest.merge(row.testClass, row, (a, b) -> b.recorded >= a.recorded ? b : a));
+            } catch (IOException e) {
+                throw new UncheckedIOException("Failed to read test timings from " + directory, e);
+            }
+        }
+        Map<String, Duration> durations = new TreeMap<>();
+        latest.forEach((testClass, row) -> durations.put(testClass, Duration.ofMillis(row.millis)));
+        return durations;
+    }
+
+    /**
+     * Appends the durations of one run to the file and drops the rows of all but the last few runs.
+     */
+    public static void append(Path file, Map<String, Duration> durations, Instant recorded, String run) {
+        List<Row> rows = new ArrayList<>(Files.exists(file) ? readRows(file) : List.of());
+        rows.removeIf(row -> row.run.equals(run));
+        new TreeMap<>(durations).forEach((testClass, duration) ->
+                rows.add(new Row(testClass, duration.toMillis(), recorded.toEpochMilli(), run)));
+
+        Map<String, Long> runEnds = rows.stream().collect(Collectors.toMap(row -> row.run, row -> row.recorded, Math::max));
+        Set<String> keptRuns = runEnds.entrySet().stream()
+                .sorted(Map.Entry.<String, Long>comparingByValue().reversed())
+                .limit(KEPT_RUNS).map(Map.Entry::getKey).collect(Collectors.toSet());
+
+        StringBuilder csv = new StringBuilder(HEADER).append('\n');
+        rows.stream().filter(row -> keptRuns.contains(row.run)).forEach(row -> csv.append(row.testClass).append(',')
+                .append(row.millis).append(',').append(row.recorded).append(',').append(row.run).append('\n'));
+        try {
+            Path directory = file.toAbsolutePath().getParent();
+            Files.createDirectories(directory);
+            Path temp = Files.createTempFile(directory, file.getFileName().toString(), ".tmp");
+            Files.writeString(temp, csv);
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to write test timings to " + file, e);
+        }
+    }
+
+    private static List<Row> readRows(Path file) {
+        try {
+            List<String> lines = Files.readAllLines(file);
+            return lines.stream().skip(1).filter(line -> !line.isBlank()).map(line -> {
+                String[] fields = line.split(",", 4);
+                return new Row(fields[0], Long.parseLong(fields[1]), Long.parseLong(fields[2]), fields[3]);
+            }).toList();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read test timings from " + file, e);
+        }
+    }
+
+    @Value
+    private static class Row {
+        String testClass;
+        long millis;
+        long recorded;
+        String run;
+    }
+
+}
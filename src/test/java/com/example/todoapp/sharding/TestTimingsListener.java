@@ -0,0 +1,75 @@
+package com.example.todoapp.sharding;
+
+import lombok.extern.slf4j.Slf4j;
+import org.testng.IConfigurationListener;
+import org.testng.ISuite;
+import org.testng.ISuiteListener;
+import org.testng.ITestListener;
+import org.testng.ITestResult;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Measures how long each test class takes, tests and configuration methods together, and writes the durations to
+ * this shard's file in {@code test.timings-dir} for {@link TestShardScheduler} to plan later runs with. Exclusive runs
+ * cover only part of their classes, so they write nothing.
+ */
+@Slf4j
+public class TestTimingsListener implements ITestListener, IConfigurationListener, ISuiteListener {
+
+    private final Map<String, LongAdder> classMillis = new ConcurrentHashMap<>();
+
+    @Override
+    public void onTestSuccess(ITestResult result) {
+        add(result);
+    }
+
+    @Override
+    public void onTestFailure(ITestResult result) {
+        add(result);
+    }
+
+    @Override
+    public void onTestSkipped(ITestResult result) {
+        add(result);
+    }
+
+    @Override
+    public void onTestFailedButWithinSuccessPercentage(ITestResult result) {
+        add(result);
+    }
+
+    @Override
+    public void onConfigurationSuccess(ITestResult result) {
+        add(result);
+    }
+
+    @Override
+    public void onConfigurationFailure(ITestResult result) {
+        add(result);
+    }
+
+    @Override
+    public void onFinish(ISuite suite) {
+        if (classMillis.isEmpty() || TestShard.isExclusiveRun()) {
+            return;
+        }
+        Map<String, Duration> durations = new TreeMap<>();
+        classMillis.forEach((testClass, millis) -> durations.put(testClass, Duration.ofMillis(millis.sum())));
+        Path file = TestTimings.file(TestTimings.directory(), TestShard.current());
+        TestTimings.append(file, durations, Instant.now(), TestShard.runId());
+        log.info("Wrote the durations of {} test classes to {}", durations.size(), file);
+    }
+
+    private void add(ITestResult result) {
+        classMillis.computeIfAbsent(result.getTestClass().getName(), testClass -> new LongAdder())
+                .add(Math.max(0, result.getEndMillis() - result.getStartMillis()));
+    }
+
+}
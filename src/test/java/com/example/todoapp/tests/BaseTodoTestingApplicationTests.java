@@ -1,92 +1,199 @@
 package com.example.todoapp.tests;
 
+import com.example.todoapp.cleanup.CleanupResult;
+import com.example.todoapp.cleanup.CleanupStrategy;
+import com.example.todoapp.cleanup.TodoCleanupEngine;
+import com.example.todoapp.cleanup.TodoReaper;
+import com.example.todoapp.clients.CreatedTodoRegistry;
 import com.example.todoapp.clients.TodoApiClient;
+import com.example.todoapp.config.CleanupConfig;
 import com.example.todoapp.fixtures.TestDataConstants;
+import com.example.todoapp.history.RunHistoryRecorder;
 import com.example.todoapp.model.TodoItem;
+import com.example.todoapp.service.TodoService;
+import com.example.todoapp.utils.TestNamespace;
 import io.qameta.allure.Step;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.test.context.testng.AbstractTestNGSpringContextTests;
+import org.testng.ITestContext;
 import org.testng.annotations.AfterClass;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.AfterSuite;
+import org.testng.annotations.BeforeClass;
 import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
 
-import java.util.List;
 
-import static org.awaitility.Awaitility.await;
-import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
 
 /**
- * Base test class for tests.
+ * Base test class for tests. All subclasses share one Spring context built from {@link TodoTestConfiguration}.
  */
 @Slf4j
-@SpringBootTest
+@SpringBootTest(classes = TodoTestConfiguration.class)
 public class BaseTodoTestingApplicationTests extends AbstractTestNGSpringContextTests implements TestDataConstants {
 
+    /**
+     * Group of tests that assert on the global Todo list and must not share the server with other tests.
+     */
+    public static final String EXCLUSIVE_GROUP = "exclusive";
+
+    /**
+     * Group of long-running performance tests, run only by {@code testng-perf.xml} and {@code testng-regression.xml}.
+     */
+    protected static final String PERF_GROUP = "perf";
+
+    private static final Set<RunHistoryRecorder> SUITE_HISTORY_RECORDERS = ConcurrentHashMap.newKeySet();
+
     @Autowired
     protected TodoApiClient todoApiClient;
 
+    @Autowired
+    protected TodoService todoService;
+
+    @Autowired
+    private TodoCleanupEngine todoCleanupEngine;
+
+    @Autowired
+    private TodoReaper todoReaper;
+
+    @Autowired
+    private CreatedTodoRegistry createdTodoRegistry;
+
+    @Autowired
+    private CleanupConfig cleanupConfig;
+
+    @Autowired
+    private RunHistoryRecorder runHistoryRecorder;
+
     @BeforeMethod(alwaysRun = true, groups = {"positive", "negative", "security"})
-    public void setUp() {
+    public void setUp(Method method) {
+        if (cleanupConfig.getStrategy() == CleanupStrategy.REGISTRY) {
+            if (isExclusive(method)) {
+                todoReaper.awaitPending();
+            }
+            createdTodoRegistry.begin();
+            return;
+        }
         log.debug("Starting data cleanup before test: {}", this.getClass().getSimpleName());
         clearAllTodosWithVerification();
     }
 
+    @AfterMethod(alwaysRun = true, groups = {"positive", "negative", "security"})
+    public void tearDown() {
+        if (cleanupConfig.getStrategy() == CleanupStrategy.REGISTRY) {
+            todoReaper.reap(createdTodoRegistry.end());
+        }
+    }
+
     @AfterClass(alwaysRun = true, groups = {"positive", "negative"})
     public void cleanUp() {
-        log.debug("Starting final data cleanup after tests in class: {}", this.getClass().getSimpleName());
-        boolean cleared = retryUntilSuccess(this::clearAllTodosWithVerification, MAX_ATTEMPTS, RETRY_DELAY_MS);
-        if (!cleared) {
-            log.error("Failed to clear all Todos after {} attempts", MAX_ATTEMPTS);
-            throw new RuntimeException("Failed to clear all Todos after maximum number of attempts");
+        if (cleanupConfig.getStrategy() == CleanupStrategy.REGISTRY) {
+            log.debug("Waiting for created Todos to be reaped after tests in class: {}", this.getClass().getSimpleName());
+            todoReaper.awaitPending();
+            return;
         }
+        log.debug("Starting final data cleanup after tests in class: {}", this.getClass().getSimpleName());
+        clearAllTodosWithVerification();
         log.debug("Successfully cleared all Todos after tests in class: {}", this.getClass().getSimpleName());
     }
 
-    @Step("Clearing all Todos with verification")
-    private void clearAllTodosWithVerification() {
-        List<TodoItem> todos = todoApiClient.getTodos(DEFAULT_OFFSET, LARGE_TOTAL_TODOS);
+    @BeforeClass(alwaysRun = true)
+    public void registerRunHistory() {
+        SUITE_HISTORY_RECORDERS.add(runHistoryRecorder);
+    }
 
-        if (todos.isEmpty()) {
-            log.trace("No Todos to delete");
-            return;
-        }
+    /**
+     * Appends the API latencies seen during the suite to the run history, under the suite's name. Should a class run
+     * in a context of its own, e.g. because of a {@code @MockBean}, every context's recorder is asked.
+     */
+    @AfterSuite(alwaysRun = true)
+    public void recordRunHistory(ITestContext context) {
+        SUITE_HISTORY_RECORDERS.forEach(recorder -> recorder.recordSession(context.getSuite().getName()));
+        SUITE_HISTORY_RECORDERS.clear();
+    }
 
-        log.trace("Found {} Todos to delete", todos.size());
+    private static boolean isExclusive(Method method) {
+        Test test = method.getAnnotation(Test.class);
+        return test != null && Arrays.asList(test.groups()).contains(EXCLUSIVE_GROUP);
+    }
 
-        todos.parallelStream().forEach(todo -> {
-            try {
-                todoApiClient.deleteTodo(todo.getId());
-                log.trace("Deleted Todo with id {}", todo.getId());
-            } catch (Exception e) {
-                log.warn("Failed to delete Todo with id {}: {}", todo.getId(), e.getMessage());
+    /**
+     * Fetches the Todos of the current thread's {@link TestNamespace}. The list is in creation order, so the Todos the
+     * current test created are near its end: pages are read backwards from the end until all of them are found, which
+     * costs the pages created since they were, not the whole server. Todos deleted meanwhile by tests running in
+     * parallel only shift the list towards the pages still to be read, so none is skipped. When the test has no
+     * recorded Todos, or one of them is gone, the whole list is read.
+     */
+    @Step("Fetch the Todos of this thread's namespace")
+    protected List<TodoItem> fetchNamespacedTodos() {
+        TestNamespace namespace = TestNamespace.current();
+        List<TodoItem> firstPage = todoApiClient.getTodos(0, NAMESPACE_PAGE_SIZE);
+        if (firstPage.size() < NAMESPACE_PAGE_SIZE) {
+            return firstPage.stream().filter(namespace::owns).collect(Collectors.toList());
+        }
+        Set<Long> missing = new HashSet<>(createdTodoRegistry.recorded());
+        boolean bounded = !missing.isEmpty();
+        Map<Long, TodoItem> todos = new LinkedHashMap<>();
+        for (int offset = lastPageOffset(); ; offset = Math.max(0, offset - NAMESPACE_PAGE_SIZE)) {
+            List<TodoItem> page = todoApiClient.getTodos(offset, NAMESPACE_PAGE_SIZE);
+            for (int position = page.size() - 1; position >= 0; position--) {
+                TodoItem todo = page.get(position);
+                missing.remove(todo.getId());
+                if (namespace.owns(todo)) {
+                    todos.putIfAbsent(todo.getId(), todo);
+                }
             }
-        });
-
-        await()
-                .atMost(RETRY_DELAY_MS * MAX_ATTEMPTS, MILLISECONDS)
-                .pollInterval(RETRY_DELAY_MS, MILLISECONDS)
-                .until(this::isTodoListEmpty);
+            if (offset == 0 || bounded && missing.isEmpty()) {
+                List<TodoItem> inListOrder = new ArrayList<>(todos.values());
+                Collections.reverse(inListOrder);
+                return inListOrder;
+            }
+        }
     }
 
-    private boolean isTodoListEmpty() {
-        List<TodoItem> todos = todoApiClient.getTodos(DEFAULT_OFFSET, LARGE_TOTAL_TODOS);
-        log.trace("Checking if Todo list is empty. Current size: {}", todos.size());
-        return todos.isEmpty();
+    /**
+     * Finds the offset of a page that reaches the end of a list known to fill its first page, with single-Todo probes
+     * at doubling and then halving offsets.
+     */
+    private int lastPageOffset() {
+        int filled = NAMESPACE_PAGE_SIZE;
+        int beyond = 2 * NAMESPACE_PAGE_SIZE;
+        while (!todoApiClient.getTodos(beyond - 1, 1).isEmpty()) {
+            filled = beyond;
+            beyond *= 2;
+        }
+        while (beyond - filled > NAMESPACE_PAGE_SIZE) {
+            int middle = filled + (beyond - filled) / 2;
+            if (todoApiClient.getTodos(middle - 1, 1).isEmpty()) {
+                beyond = middle;
+            } else {
+                filled = middle;
+            }
+        }
+        return filled;
     }
 
-    private boolean retryUntilSuccess(Runnable action, int maxRetries, long delayMs) {
-        try {
-            await()
-                    .atMost(delayMs * maxRetries, MILLISECONDS)
-                    .pollInterval(delayMs, MILLISECONDS)
-                    .untilAsserted(() -> {
-                        action.run();
-                    });
-            return true;
-        } catch (Exception e) {
-            log.warn("Action failed after {} attempts: {}", maxRetries, e.getMessage());
-            return false;
+    @Step("Clearing all Todos with verification")
+    private void clearAllTodosWithVerification() {
+        CleanupResult result = todoCleanupEngine.deleteAll();
+        log.trace("Deleted {} of {} Todos in {}", result.getDeleted(), result.getFound(), result.getElapsed());
+
+        if (!result.isVerified()) {
+            log.error("Failed to clear all Todos, {} deletes failed", result.getFailedIds().size());
+            throw new RuntimeException("Failed to clear all Todos after maximum number of attempts");
         }
     }
 
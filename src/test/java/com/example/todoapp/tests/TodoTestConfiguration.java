@@ -0,0 +1,65 @@
+package com.example.todoapp.tests;
+
+import com.example.todoapp.cleanup.TodoCleanupEngine;
+import com.example.todoapp.cleanup.TodoReaper;
+import com.example.todoapp.clients.CreatedTodoRegistry;
+import com.example.todoapp.clients.TodoApiClient;
+import com.example.todoapp.clients.transport.TodoTransportFactory;
+import com.example.todoapp.config.AppConfig;
+import com.example.todoapp.config.CacheConfig;
+import com.example.todoapp.config.CleanupConfig;
+import com.example.todoapp.config.EventLogConfig;
+import com.example.todoapp.config.HistoryConfig;
+import com.example.todoapp.config.HttpClientConfig;
+import com.example.todoapp.config.JsonConfig;
+import com.example.todoapp.config.LoadConfig;
+import com.example.todoapp.config.PaginationCostConfig;
+import com.example.todoapp.config.PayloadSizeConfig;
+import com.example.todoapp.config.RegressionGateConfig;
+import com.example.todoapp.config.ReplayConfig;
+import com.example.todoapp.config.StubServerConfig;
+import com.example.todoapp.config.TransportConfig;
+import com.example.todoapp.config.WarmupConfig;
+import com.example.todoapp.history.RunHistoryRecorder;
+import com.example.todoapp.metrics.LatencyRecorder;
+import com.example.todoapp.metrics.RequestEventLog;
+import com.example.todoapp.perf.PaginationCostSuite;
+import com.example.todoapp.perf.PayloadSizeSuite;
+import com.example.todoapp.perf.RegressionBenchmark;
+import com.example.todoapp.replay.TrafficRecorder;
+import com.example.todoapp.service.CachingTodoService;
+import com.example.todoapp.service.TodoServiceImpl;
+import com.example.todoapp.utils.ContextStartupTimer;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.context.ConfigurationPropertiesAutoConfiguration;
+import org.springframework.boot.autoconfigure.context.PropertyPlaceholderAutoConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+
+/**
+ * Spring context shared by all test classes. Instead of scanning the application and applying every
+ * auto-configuration, it imports only the client, services, cleanup and benchmark beans the tests use, so load
+ * runners, replay and distributed mode stay out of it. Tests that need other collaborators mock them with plain
+ * Mockito rather than {@code @MockBean}, which would start a context of its own.
+ */
+@Configuration
+@ImportAutoConfiguration({ConfigurationPropertiesAutoConfiguration.class, PropertyPlaceholderAutoConfiguration.class})
+@Import({
+        AppConfig.class, CacheConfig.class, CleanupConfig.class, EventLogConfig.class, HistoryConfig.class,
+        LoadConfig.class, PaginationCostConfig.class, PayloadSizeConfig.class, RegressionGateConfig.class,
+        ReplayConfig.class, WarmupConfig.class,
+        HttpClientConfig.class, JsonConfig.class, StubServerConfig.class, TransportConfig.class,
+        LatencyRecorder.class, RequestEventLog.class, TrafficRecorder.class, CreatedTodoRegistry.class,
+        TodoTransportFactory.class, TodoApiClient.class, TodoServiceImpl.class, CachingTodoService.class,
+        TodoCleanupEngine.class, TodoReaper.class, RunHistoryRecorder.class,
+        PaginationCostSuite.class, PayloadSizeSuite.class, RegressionBenchmark.class
+})
+public class TodoTestConfiguration {
+
+    @Bean
+    public ContextStartupTimer contextStartupTimer() {
+        return new ContextStartupTimer();
+    }
+
+}
@@ -54,7 +54,7 @@ public class TodoCreationTests extends BaseTodoTestingApplicationTests {
     private void createAndVerifyTodo(TodoItem todoItem) {
         todoApiClient.createTodo(todoItem);
 
-        List<TodoItem> todos = todoApiClient.getTodos(DEFAULT_OFFSET, DEFAULT_LIMIT);
+        List<TodoItem> todos = fetchNamespacedTodos();
         Assert.assertFalse(todos.isEmpty(), "Todo list is empty after creation");
 
         TodoItem createdTodo = todos.stream()
@@ -50,7 +50,7 @@ public class TodoDeletionTests extends BaseTodoTestingApplicationTests {
     @Step("Create a todo and verify its existence")
     private TodoItem createAndVerifyTodo(TodoItem todoItem) {
         todoApiClient.createTodo(todoItem);
-        List<TodoItem> todos = todoApiClient.getTodos(DEFAULT_OFFSET, DEFAULT_LIMIT);
+        List<TodoItem> todos = fetchNamespacedTodos();
 
         TodoItem createdTodo = todos.stream()
                 .filter(todo -> todo.getText().equals(todoItem.getText()))
@@ -65,7 +65,7 @@ public class TodoDeletionTests extends BaseTodoTestingApplicationTests {
     private void deleteTodoAndVerify(TodoItem todoItem) {
         todoApiClient.deleteTodo(todoItem.getId());
 
-        List<TodoItem> todos = todoApiClient.getTodos(DEFAULT_OFFSET, DEFAULT_LIMIT);
+        List<TodoItem> todos = fetchNamespacedTodos();
         boolean isTodoDeleted = todos.stream().noneMatch(todo -> todo.getId().equals(todoItem.getId()));
 
         Assert.assertTrue(isTodoDeleted, "Todo was not deleted");
@@ -1,6 +1,8 @@
 package com.example.todoapp.tests.api;
 
 import com.example.todoapp.model.TodoItem;
+import com.example.todoapp.service.BulkCreateOptions;
+import com.example.todoapp.service.BulkCreateResult;
 import com.example.todoapp.tests.BaseTodoTestingApplicationTests;
 import com.example.todoapp.utils.TestDataFactory;
 import io.qameta.allure.Description;
@@ -16,10 +18,12 @@ import static org.apache.http.HttpStatus.SC_BAD_REQUEST;
 
 /**
  * Tests related to Todo retrieval.
+ * <p>
+ * Tests in the {@code exclusive} group assert on positions in the global list and need the server to themselves.
  */
 public class TodoRetrievalTests extends BaseTodoTestingApplicationTests {
 
-    @Test(description = "Retrieve empty list of todos", groups = {"positive"})
+    @Test(description = "Retrieve empty list of todos", groups = {"positive", EXCLUSIVE_GROUP})
     @Tag("positive")
     @Description("Verify retrieving an empty list of todos")
     public void testGetTodosEmptyList() {
@@ -34,29 +38,30 @@ public class TodoRetrievalTests extends BaseTodoTestingApplicationTests {
         TodoItem todoItem = TestDataFactory.getValidTodoItem();
         createTodo(todoItem);
 
-        List<TodoItem> todos = retrieveTodos(DEFAULT_OFFSET, DEFAULT_LIMIT);
+        List<TodoItem> todos = fetchNamespacedTodos();
         Assert.assertFalse(todos.isEmpty(), "Todo list is empty");
         Assert.assertTrue(todos.stream().anyMatch(todo -> todo.getText().equals(todoItem.getText())),
                 "Created todo not found in the list");
     }
 
-    @Test(description = "Test offset and limit parameters", groups = {"positive"})
+    @Test(description = "Test offset and limit parameters", groups = {"positive", EXCLUSIVE_GROUP})
     @Tag("positive")
     @Description("Verify offset and limit query parameters")
     public void testGetTodosWithOffsetAndLimit() {
-        createMultipleTodos(SMALL_TOTAL_TODOS);
+        // One at a time, since the list is in creation order
+        createMultipleTodos(SMALL_TOTAL_TODOS, 1);
 
         List<TodoItem> todos = retrieveTodos(SMALL_OFFSET, SMALL_LIMIT);
         Assert.assertEquals(todos.size(), EXPECTED_SMALL_SIZ, "Todo list size does not match expected");
-        Assert.assertEquals(todos.get(0).getText(), "Todo 3", "First todo text does not match");
-        Assert.assertEquals(todos.get(1).getText(), "Todo 4", "Second todo text does not match");
+        Assert.assertEquals(todos.get(0).getText(), TestDataFactory.namespaced("Todo 3"), "First todo text does not match");
+        Assert.assertEquals(todos.get(1).getText(), TestDataFactory.namespaced("Todo 4"), "Second todo text does not match");
     }
 
-    @Test(description = "Test large offset and limit values", groups = {"positive"})
+    @Test(description = "Test large offset and limit values", groups = {"positive", EXCLUSIVE_GROUP})
     @Tag("positive")
     @Description("Verify handling of large offset and limit values")
     public void testGetTodosWithLargeOffsetAndLimit() {
-        createMultipleTodos(LARGE_TOTAL_TODOS);
+        createMultipleTodos(LARGE_TOTAL_TODOS, BULK_MAX_IN_FLIGHT);
 
         List<TodoItem> todos = retrieveTodos(LARGE_OFFSET, LARGE_LIMIT);
         Assert.assertEquals(todos.size(), EXPECTED_LARGE_SIZE, "Todo list size does not match expected");
@@ -80,11 +85,11 @@ public class TodoRetrievalTests extends BaseTodoTestingApplicationTests {
         todoApiClient.createTodo(todoItem);
     }
 
-    @Step("Create {totalTodos} todos")
-    private void createMultipleTodos(int totalTodos) {
-        IntStream.rangeClosed(START_ID, totalTodos)
-                .mapToObj(this::createTodoItem)
-                .forEach(this::createTodo);
+    @Step("Create {totalTodos} todos, {maxInFlight} at a time")
+    private void createMultipleTodos(int totalTodos, int maxInFlight) {
+        BulkCreateResult result = todoService.bulkCreate(IntStream.rangeClosed(START_ID, totalTodos).mapToObj(this::createTodoItem),
+                BulkCreateOptions.defaults().withMaxInFlight(maxInFlight));
+        Assert.assertTrue(result.isComplete(), "Failed to create todos: " + result.getFailures());
     }
 
     @Step("Attempt to retrieve todos with invalid offset {offset} and limit {limit}")
@@ -92,8 +97,8 @@ public class TodoRetrievalTests extends BaseTodoTestingApplicationTests {
         return todoApiClient.getTodosExpectingStatusCode(offset, limit);
     }
 
-    private TodoItem createTodoItem(int id) {
-        return new TodoItem((long) id, "Todo " + id, false);
+    private TodoItem createTodoItem(int number) {
+        return TestDataFactory.getTodoItemWithText("Todo " + number);
     }
 
 }
\ No newline at end of file
@@ -35,7 +35,7 @@ public class TodoSecurityTests extends BaseTodoTestingApplicationTests {
     @Step("Create a Todo item and verify it exists in the list")
     private void createTodoAndVerify(TodoItem todoItem) {
         createTodo(todoItem);
-        List<TodoItem> todos = fetchAllTodos();
+        List<TodoItem> todos = fetchNamespacedTodos();
         assertTodoExists(todos, todoItem);
     }
 
@@ -44,11 +44,6 @@ public class TodoSecurityTests extends BaseTodoTestingApplicationTests {
         todoApiClient.createTodo(todoItem);
     }
 
-    @Step("Fetch all todos")
-    private List<TodoItem> fetchAllTodos() {
-        return todoApiClient.getTodos(DEFAULT_OFFSET, DEFAULT_LIMIT);
-    }
-
     @Step("Verify that todo item exists in the list: {expectedTodo.text}")
     private void assertTodoExists(List<TodoItem> todos, TodoItem expectedTodo) {
         boolean exists = todos.stream().anyMatch(todo -> todo.getText().equals(expectedTodo.getText()));
@@ -25,9 +25,10 @@ public class TodoUpdateTests extends BaseTodoTestingApplicationTests {
         TodoItem todoItem = TestDataFactory.getValidTodoItem();
         TodoItem createdTodo = createAndVerifyTodo(todoItem);
 
-        TodoItem updatedTodo = updateTodoAndVerify(createdTodo, "Updated Text", true);
+        String newText = TestDataFactory.namespaced("Updated Text");
+        TodoItem updatedTodo = updateTodoAndVerify(createdTodo, newText, true);
 
-        Assert.assertEquals(updatedTodo.getText(), "Updated Text", "Todo text was not updated");
+        Assert.assertEquals(updatedTodo.getText(), newText, "Todo text was not updated");
         Assert.assertTrue(updatedTodo.getCompleted(), "Todo completion status was not updated");
     }
 
@@ -52,7 +53,7 @@ public class TodoUpdateTests extends BaseTodoTestingApplicationTests {
     @Step("Create and verify a Todo item")
     private TodoItem createAndVerifyTodo(TodoItem todoItem) {
         todoApiClient.createTodo(todoItem);
-        List<TodoItem> todos = todoApiClient.getTodos(DEFAULT_OFFSET, DEFAULT_LIMIT);
+        List<TodoItem> todos = fetchNamespacedTodos();
 
         TodoItem createdTodo = todos.stream()
                 .filter(todo -> todo.getText().equals(todoItem.getText()))
@@ -69,7 +70,7 @@ public class TodoUpdateTests extends BaseTodoTestingApplicationTests {
         todoItem.setCompleted(completed);
         todoApiClient.updateTodo(todoItem.getId(), todoItem);
 
-        List<TodoItem> todos = todoApiClient.getTodos(DEFAULT_OFFSET, DEFAULT_LIMIT);
+        List<TodoItem> todos = fetchNamespacedTodos();
         return todos.stream()
                 .filter(todo -> todo.getId().equals(todoItem.getId()))
                 .findFirst()
@@ -0,0 +1,226 @@
+package com.example.todoapp.tests.cleanup;
+
+import com.example.todoapp.cleanup.CleanupResult;
+import com.example.todoapp.cleanup.TodoCleanupEngine;
+import com.example.todoapp.clients.TodoApiClient;
+import com.example.todoapp.config.CleanupConfig;
+import com.example.todoapp.load.LoadThreads;
+import com.example.todoapp.load.RatePacer;
+import com.example.todoapp.model.TodoItem;
+import io.qameta.allure.Description;
+import io.qameta.allure.Step;
+import io.qameta.allure.testng.Tag;
+import org.testng.Assert;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.LongStream;
+
+import static org.apache.http.HttpStatus.*;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for TodoCleanupEngine and RatePacer against a mocked TodoApiClient.
+ */
+public class TodoCleanupEngineTests {
+
+    private static final Duration RETRY_BACKOFF = Duration.ofMillis(50);
+    private static final int MAX_RETRIES = 3;
+    private static final int CONCURRENCY = 4;
+    private static final long ALWAYS_FAILING_ID = 7;
+    private static final long FLAKY_ID = 3;
+    private static final long GONE_ID = 5;
+
+    private TodoApiClient todoApiClient;
+    private CleanupConfig cleanupConfig;
+    private TodoCleanupEngine engine;
+    private Map<Long, List<Long>> deleteCalls;
+
+    @BeforeMethod(alwaysRun = true)
+    public void setUp() {
+        todoApiClient = mock(TodoApiClient.class);
+        cleanupConfig = new CleanupConfig();
+        cleanupConfig.setConcurrency(CONCURRENCY);
+        cleanupConfig.setRate(0);
+        cleanupConfig.setPageSize(2);
+        cleanupConfig.setMaxRetries(MAX_RETRIES);
+        cleanupConfig.setRetryBackoff(RETRY_BACKOFF);
+        deleteCalls = new ConcurrentHashMap<>();
+    }
+
+    @AfterMethod(alwaysRun = true)
+    public void tearDown() {
+        if (engine != null) {
+            engine.shutdown();
+            engine = null;
+        }
+    }
+
+    @Test(description = "Failed deletes are retried with exponential backoff", groups = {"positive"})
+    @Tag("positive")
+    @Description("Verify that failing deletes are retried after a doubling backoff, that ids still failing after the last"
+            + " retry are reported and that todos gone already are counted apart")
+    public void testRetryWithBackoff() {
+        mockDeletes();
+        engine = new TodoCleanupEngine(todoApiClient, cleanupConfig);
+
+        CleanupResult result = engine.deleteIds(LongStream.rangeClosed(1, 10).boxed().toList());
+
+        Assert.assertEquals(result.getFound(), 10, "Found count does not match");
+        Assert.assertEquals(result.getDeleted(), 8, "Deleted count does not match");
+        Assert.assertEquals(result.getAlreadyDeleted(), 1, "Already deleted count does not match");
+        Assert.assertEquals(result.getFailedIds(), List.of(ALWAYS_FAILING_ID), "Failed ids do not match");
+        Assert.assertFalse(result.isVerified(), "Cleanup with failed ids is verified");
+        Assert.assertEquals(deleteCalls.get(FLAKY_ID).size(), 3, "Flaky delete not retried until it succeeded");
+        Assert.assertEquals(deleteCalls.get(1L).size(), 1, "Successful delete retried");
+        List<Long> attempts = deleteCalls.get(ALWAYS_FAILING_ID);
+        Assert.assertEquals(attempts.size(), 1 + MAX_RETRIES, "Failing delete not retried up to the limit");
+        for (int retry = 1; retry <= MAX_RETRIES; retry++) {
+            long gapNanos = attempts.get(retry) - attempts.get(retry - 1);
+            long backoffNanos = RETRY_BACKOFF.multipliedBy(1L << (retry - 1)).toNanos();
+            Assert.assertTrue(gapNanos >= backoffNanos,
+                    "Retry " + retry + " came after " + gapNanos + " ns, before its backoff of " + backoffNanos + " ns");
+        }
+    }
+
+    @Test(description = "Deletes respect the concurrency and rate caps", groups = {"positive"})
+    @Tag("positive")
+    @Description("Verify that no more than cleanup.concurrency deletes run at once and that they are paced to cleanup.rate")
+    public void testConcurrencyAndRateCap() {
+        cleanupConfig.setRate(100);
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger maxRunning = new AtomicInteger();
+        when(todoApiClient.deleteTodoExpectingStatusCode(anyLong())).thenAnswer(invocation -> {
+            maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+            try {
+                TimeUnit.MILLISECONDS.sleep(5);
+                return SC_NO_CONTENT;
+            } finally {
+                running.decrementAndGet();
+            }
+        });
+        engine = new TodoCleanupEngine(todoApiClient, cleanupConfig);
+
+        CleanupResult result = engine.deleteIds(LongStream.rangeClosed(1, 21).boxed().toList());
+
+        Assert.assertEquals(result.getDeleted(), 21, "Deleted count does not match");
+        Assert.assertTrue(maxRunning.get() <= CONCURRENCY, maxRunning.get() + " deletes ran at once");
+        Assert.assertTrue(result.getElapsed().compareTo(Duration.ofMillis(200)) >= 0,
+                "21 deletes at 100 per second took only " + result.getElapsed());
+    }
+
+    @Test(description = "Bulk cleanup verifies the list is empty", groups = {"positive"})
+    @Tag("positive")
+    @Description("Verify that deleteAll collects every page before deleting and checks the list afterwards")
+    public void testDeleteAllVerifies() {
+        mockPages(List.of());
+        when(todoApiClient.deleteTodoExpectingStatusCode(anyLong())).thenReturn(SC_NO_CONTENT);
+        engine = new TodoCleanupEngine(todoApiClient, cleanupConfig);
+
+        CleanupResult result = engine.deleteAll();
+
+        Assert.assertEquals(result.getFound(), 5, "Found count does not match");
+        Assert.assertEquals(result.getDeleted(), 5, "Deleted count does not match");
+        Assert.assertTrue(result.isVerified(), "Empty list not verified");
+        verify(todoApiClient, times(5)).deleteTodoExpectingStatusCode(anyLong());
+        verify(todoApiClient).getTodos(4, 2);
+        verify(todoApiClient).getTodos(0, 1);
+    }
+
+    @Test(description = "Bulk cleanup reports todos left behind", groups = {"negative"})
+    @Tag("negative")
+    @Description("Verify that deleteAll is not verified when the list still has todos after every delete succeeded")
+    public void testDeleteAllNotVerified() {
+        mockPages(List.of(todo(6)));
+        when(todoApiClient.deleteTodoExpectingStatusCode(anyLong())).thenReturn(SC_NO_CONTENT);
+        engine = new TodoCleanupEngine(todoApiClient, cleanupConfig);
+
+        CleanupResult result = engine.deleteAll();
+
+        Assert.assertEquals(result.getDeleted(), 5, "Deleted count does not match");
+        Assert.assertTrue(result.getFailedIds().isEmpty(), "Failed ids reported");
+        Assert.assertFalse(result.isVerified(), "Non-empty list verified");
+    }
+
+    @Test(description = "Rate pacer spaces out permits across threads", groups = {"positive"})
+    @Tag("positive")
+    @Description("Verify that permits taken concurrently are given slots at least one interval apart")
+    public void testRatePacerSpacing() throws Exception {
+        RatePacer ratePacer = new RatePacer(50);
+        long intervalNanos = TimeUnit.MILLISECONDS.toNanos(20);
+        List<Long> slots = Collections.synchronizedList(new ArrayList<>());
+        ExecutorService executor = LoadThreads.newPerTaskExecutor("rate-pacer-test", true);
+        try {
+            List<Future<?>> callers = new ArrayList<>();
+            for (int caller = 0; caller < CONCURRENCY; caller++) {
+                callers.add(executor.submit(() -> {
+                    for (int permit = 0; permit < 3; permit++) {
+                        long slot = ratePacer.acquire();
+                        Assert.assertTrue(System.nanoTime() >= slot, "Permit given before its slot");
+                        slots.add(slot);
+                    }
+                }));
+            }
+            for (Future<?> caller : callers) {
+                caller.get(10, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        List<Long> sorted = slots.stream().sorted().toList();
+        for (int i = 1; i < sorted.size(); i++) {
+            Assert.assertTrue(sorted.get(i) - sorted.get(i - 1) >= intervalNanos, "Slots closer than the interval: " + sorted);
+        }
+        long unlimited = System.nanoTime();
+        new RatePacer(0).acquire();
+        Assert.assertTrue(System.nanoTime() - unlimited < intervalNanos, "Unlimited pacer waited");
+    }
+
+    /**
+     * Id 3 fails twice before it is deleted, id 5 is gone already and id 7 never gets deleted.
+     */
+    @Step("Mock deletes that fail for some ids")
+    private void mockDeletes() {
+        when(todoApiClient.deleteTodoExpectingStatusCode(anyLong())).thenAnswer(invocation -> {
+            Long id = invocation.getArgument(0);
+            List<Long> calls = deleteCalls.computeIfAbsent(id, key -> Collections.synchronizedList(new ArrayList<>()));
+            calls.add(System.nanoTime());
+            if (id == ALWAYS_FAILING_ID) {
+                return SC_INTERNAL_SERVER_ERROR;
+            }
+            if (id == FLAKY_ID && calls.size() == 1) {
+                throw new IllegalStateException("Connection reset");
+            }
+            if (id == FLAKY_ID && calls.size() == 2) {
+                return SC_SERVICE_UNAVAILABLE;
+            }
+            return id == GONE_ID ? SC_NOT_FOUND : SC_NO_CONTENT;
+        });
+    }
+
+    @Step("Mock five todos in pages of two, leaving {remaining} after the cleanup")
+    private void mockPages(List<TodoItem> remaining) {
+        when(todoApiClient.getTodos(0, 2)).thenReturn(List.of(todo(1), todo(2)));
+        when(todoApiClient.getTodos(2, 2)).thenReturn(List.of(todo(3), todo(4)));
+        when(todoApiClient.getTodos(4, 2)).thenReturn(List.of(todo(5)));
+        when(todoApiClient.getTodos(0, 1)).thenReturn(remaining);
+    }
+
+    private static TodoItem todo(long id) {
+        return new TodoItem(id, "Todo " + id, false);
+    }
+
+}
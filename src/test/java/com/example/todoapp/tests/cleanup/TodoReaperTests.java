@@ -0,0 +1,149 @@
+package com.example.todoapp.tests.cleanup;
+
+import com.example.todoapp.cleanup.CleanupResult;
+import com.example.todoapp.cleanup.TodoCleanupEngine;
+import com.example.todoapp.cleanup.TodoReaper;
+import com.example.todoapp.clients.CreatedTodoRegistry;
+import com.example.todoapp.clients.TodoApiClient;
+import com.example.todoapp.config.CleanupConfig;
+import com.example.todoapp.load.LoadThreads;
+import io.qameta.allure.Description;
+import io.qameta.allure.testng.Tag;
+import org.testng.Assert;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import static org.apache.http.HttpStatus.*;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for TodoReaper and CreatedTodoRegistry.
+ */
+public class TodoReaperTests {
+
+    private static final long TIMEOUT_SECONDS = 10;
+
+    private TodoApiClient todoApiClient;
+    private TodoCleanupEngine engine;
+    private TodoReaper reaper;
+    private CreatedTodoRegistry registry;
+
+    @BeforeMethod(alwaysRun = true)
+    public void setUp() {
+        todoApiClient = mock(TodoApiClient.class);
+        CleanupConfig cleanupConfig = new CleanupConfig();
+        cleanupConfig.setConcurrency(2);
+        cleanupConfig.setRate(0);
+        cleanupConfig.setPageSize(10);
+        cleanupConfig.setMaxRetries(1);
+        cleanupConfig.setRetryBackoff(Duration.ofMillis(10));
+        engine = new TodoCleanupEngine(todoApiClient, cleanupConfig);
+        reaper = new TodoReaper(engine);
+        registry = new CreatedTodoRegistry();
+    }
+
+    @AfterMethod(alwaysRun = true)
+    public void tearDown() {
+        reaper.shutdown();
+        engine.shutdown();
+    }
+
+    @Test(description = "Todos are reaped in the background", groups = {"positive"})
+    @Tag("positive")
+    @Description("Verify that reap returns while the deletes are still held and that awaitPending waits for them")
+    public void testReapInBackground() throws Exception {
+        CountDownLatch deleting = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(todoApiClient.deleteTodoExpectingStatusCode(anyLong())).thenAnswer(invocation -> {
+            deleting.countDown();
+            release.await();
+            return SC_NO_CONTENT;
+        });
+
+        CompletableFuture<CleanupResult> reaping = reaper.reap(List.of(1L, 2L, 3L));
+        try {
+            Assert.assertTrue(deleting.await(TIMEOUT_SECONDS, TimeUnit.SECONDS), "Reaping did not start");
+            Assert.assertFalse(reaping.isDone(), "Reap finished before the deletes were released");
+        } finally {
+            release.countDown();
+        }
+        reaper.awaitPending();
+
+        Assert.assertTrue(reaping.isDone(), "awaitPending returned before the reap finished");
+        Assert.assertEquals(reaping.get().getDeleted(), 3, "Deleted count does not match");
+        Assert.assertTrue(reaper.reap(List.of()).isDone(), "Reaping nothing did not complete at once");
+    }
+
+    @Test(description = "Ids that cannot be reaped are reported", groups = {"negative"})
+    @Tag("negative")
+    @Description("Verify that a reap whose deletes keep failing completes with the failed ids instead of throwing")
+    public void testReapReportsFailedIds() throws Exception {
+        when(todoApiClient.deleteTodoExpectingStatusCode(anyLong())).thenReturn(SC_NO_CONTENT);
+        when(todoApiClient.deleteTodoExpectingStatusCode(2L)).thenReturn(SC_INTERNAL_SERVER_ERROR);
+
+        CleanupResult result = reaper.reap(List.of(1L, 2L)).get(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+
+        Assert.assertEquals(result.getFailedIds(), List.of(2L), "Failed ids do not match");
+        verify(todoApiClient, times(2)).deleteTodoExpectingStatusCode(2L);
+    }
+
+    @Test(description = "Created todos are registered per thread", groups = {"positive"})
+    @Tag("positive")
+    @Description("Verify that ids are only recorded between begin and end and only for the thread that recorded them")
+    public void testRegistryIsThreadConfined() throws Exception {
+        registry.record(1L);
+        registry.begin();
+        registry.record(2L);
+        registry.record(null);
+        CompletableFuture<List<Long>> otherThread = CompletableFuture.supplyAsync(() -> {
+            registry.begin();
+            registry.record(3L);
+            return registry.end();
+        });
+
+        Assert.assertEquals(otherThread.get(TIMEOUT_SECONDS, TimeUnit.SECONDS), List.of(3L), "Other thread's ids do not match");
+        List<Long> recorded = registry.recorded();
+        registry.record(4L);
+        Assert.assertEquals(recorded, List.of(2L), "Recorded ids are not a copy");
+        Assert.assertEquals(registry.end(), List.of(2L, 4L), "Ids do not match");
+        Assert.assertTrue(registry.end().isEmpty(), "Ids recorded after end");
+        Assert.assertTrue(registry.recorded().isEmpty(), "Ids recorded after end");
+    }
+
+    @Test(description = "Todos created by handed-off work are registered for the test", groups = {"positive"})
+    @Tag("positive")
+    @Description("Verify that a propagated task records for the thread that wrapped it and leaves the worker's own ids alone")
+    public void testRegistryPropagate() throws Exception {
+        ExecutorService executor = LoadThreads.newPerTaskExecutor("registry-test", false);
+        try {
+            registry.begin();
+            registry.record(1L);
+            Runnable task = registry.propagate(() -> registry.record(2L));
+            List<Long> workerIds = CompletableFuture.supplyAsync(() -> {
+                registry.begin();
+                registry.record(10L);
+                task.run();
+                registry.record(11L);
+                return registry.end();
+            }, executor).get(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+            executor.submit(task).get(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+
+            Assert.assertEquals(workerIds, List.of(10L, 11L), "Worker's own ids changed by a propagated task");
+            Assert.assertEquals(registry.end(), List.of(1L, 2L, 2L), "Ids of propagated tasks not recorded");
+        } finally {
+            executor.shutdownNow();
+        }
+        Runnable untracked = () -> { };
+        Assert.assertSame(registry.propagate(untracked), untracked, "Task wrapped without tracking");
+    }
+
+}
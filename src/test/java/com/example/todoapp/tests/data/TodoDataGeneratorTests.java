@@ -0,0 +1,93 @@
+package com.example.todoapp.tests.data;
+
+import com.example.todoapp.data.TodoIdGenerator;
+import com.example.todoapp.data.TodoPayloadTemplate;
+import com.example.todoapp.fixtures.TestDataConstants;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.qameta.allure.Description;
+import io.qameta.allure.testng.Tag;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.util.Arrays;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.IntStream;
+
+/**
+ * Unit tests for TodoIdGenerator and TodoPayloadTemplate.
+ */
+public class TodoDataGeneratorTests implements TestDataConstants {
+
+    private static final int GENERATING_THREADS = 8;
+    private static final int IDS_PER_THREAD = 50_000;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test(description = "Generated ids are unique across threads", groups = {"positive"})
+    @Tag("positive")
+    @Description("Verify that ids drawn concurrently from one generator never repeat and stay in range")
+    public void testIdsAreUniqueAcrossThreads() {
+        TodoIdGenerator idGenerator = new TodoIdGenerator(42);
+        Set<Long> ids = ConcurrentHashMap.newKeySet();
+
+        IntStream.range(0, GENERATING_THREADS).parallel().forEach(thread ->
+                IntStream.range(0, IDS_PER_THREAD).forEach(i -> ids.add(idGenerator.nextId())));
+
+        Assert.assertEquals(ids.size(), GENERATING_THREADS * IDS_PER_THREAD, "Generated ids are not unique");
+        Assert.assertTrue(ids.stream().allMatch(id -> id >= 1 && id <= TodoIdGenerator.CAPACITY), "Generated id is out of range");
+    }
+
+    @Test(description = "Generator keys change the id order", groups = {"positive"})
+    @Tag("positive")
+    @Description("Verify that generators with different keys do not issue the same sequence")
+    public void testKeysChangeIdOrder() {
+        TodoIdGenerator first = new TodoIdGenerator(1);
+        TodoIdGenerator second = new TodoIdGenerator(2);
+
+        long[] firstIds = IntStream.range(0, 10).mapToLong(i -> first.nextId()).toArray();
+        long[] secondIds = IntStream.range(0, 10).mapToLong(i -> second.nextId()).toArray();
+
+        Assert.assertFalse(Arrays.equals(firstIds, secondIds), "Different keys issued the same ids");
+    }
+
+    @Test(description = "Partitions of one key issue disjoint ids", groups = {"positive"})
+    @Tag("positive")
+    @Description("Verify that generators sharing a key but not a partition, as test shards do, never issue the same id")
+    public void testPartitionsIssueDisjointIds() {
+        int partitions = 3;
+        Set<Long> ids = ConcurrentHashMap.newKeySet();
+
+        IntStream.range(0, partitions).parallel().forEach(partition -> {
+            TodoIdGenerator idGenerator = new TodoIdGenerator(42, partition, partitions);
+            IntStream.range(0, IDS_PER_THREAD).forEach(i -> ids.add(idGenerator.nextId()));
+        });
+
+        Assert.assertEquals(ids.size(), partitions * IDS_PER_THREAD, "Partitions issued the same ids");
+    }
+
+    @Test(description = "Generator rejects a missing partition", groups = {"negative"})
+    @Tag("negative")
+    @Description("Verify that a partition index outside the partition count is rejected")
+    public void testMissingPartition() {
+        Assert.assertThrows(IllegalArgumentException.class, () -> new TodoIdGenerator(42, 3, 3));
+    }
+
+    @Test(description = "Template bodies match Jackson", groups = {"positive"})
+    @Tag("positive")
+    @Description("Verify that pre-serialized bodies equal the Jackson serialization of the same todo, special characters included")
+    public void testTemplateBodyMatchesJackson() throws Exception {
+        for (String text : new String[]{DEFAULT_TODO_TEXT, SPECIAL_CHARACTERS_TEXT, SQL_INJECTION_TEXT, XSS_TEXT}) {
+            TodoPayloadTemplate template = new TodoPayloadTemplate(text, true);
+            for (long id : new long[]{0, 7, 1234567890123L, Long.MAX_VALUE, Long.MIN_VALUE}) {
+                byte[] expected = objectMapper.writeValueAsBytes(template.item(id));
+                Assert.assertEquals(template.body(id), expected, "Template body does not match for id " + id);
+
+                byte[] buffer = new byte[template.maxBodyLength() + 1];
+                int length = template.writeBody(id, buffer, 1);
+                Assert.assertEquals(Arrays.copyOfRange(buffer, 1, 1 + length), expected, "Written body does not match for id " + id);
+            }
+        }
+    }
+
+}
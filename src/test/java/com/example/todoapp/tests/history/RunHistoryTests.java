@@ -0,0 +1,176 @@
+package com.example.todoapp.tests.history;
+
+import com.example.todoapp.history.HistoryMetric;
+import com.example.todoapp.history.OperationSummary;
+import com.example.todoapp.history.RunHistoryStore;
+import com.example.todoapp.history.RunHistoryTable;
+import com.example.todoapp.history.RunSummary;
+import com.example.todoapp.history.TrendChange;
+import com.example.todoapp.history.TrendReport;
+import com.example.todoapp.metrics.LatencyRecorder;
+import io.qameta.allure.Description;
+import io.qameta.allure.Step;
+import io.qameta.allure.testng.Tag;
+import org.testng.Assert;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import static com.example.todoapp.metrics.TodoOperation.CREATE_TODO;
+import static com.example.todoapp.metrics.TodoOperation.GET_TODOS;
+
+/**
+ * Unit tests for the columnar run history store and its trend report.
+ */
+public class RunHistoryTests {
+
+    private static final String KIND = "tests";
+    private static final String CONFIG = "app.transport=nio";
+    private static final Instant FIRST_RUN = Instant.parse("2024-01-01T00:00:00Z");
+    private static final double GET_P99 = 4.0;
+    private static final double CREATE_P99 = 10.0;
+    private static final int STABLE_RUNS = 4;
+    private static final int SLOW_RUNS = 3;
+
+    private Path directory;
+
+    @BeforeMethod(alwaysRun = true)
+    public void setUp() throws IOException {
+        directory = Files.createTempDirectory("run-history");
+    }
+
+    @AfterMethod(alwaysRun = true)
+    public void tearDown() throws IOException {
+        try (var files = Files.list(directory)) {
+            for (Path file : files.collect(Collectors.toList())) {
+                Files.delete(file);
+            }
+        }
+        Files.delete(directory);
+    }
+
+    @Test(description = "Runs round-trip through the columnar store", groups = {"positive"})
+    @Tag("positive")
+    @Description("Verify that every column of a run summarized from recorded latencies is read back, one row per "
+            + "called operation, and that repeated strings are stored once")
+    public void testRunRoundTrip() throws IOException {
+        LatencyRecorder latencyRecorder = new LatencyRecorder();
+        latencyRecorder.recordValue(GET_TODOS, TimeUnit.MILLISECONDS.toNanos(2));
+        latencyRecorder.recordValue(GET_TODOS, TimeUnit.MILLISECONDS.toNanos(8));
+        Assert.expectThrows(IllegalStateException.class, () -> latencyRecorder.record(CREATE_TODO, () -> {
+            throw new IllegalStateException("refused");
+        }));
+        RunSummary first = RunSummary.of(KIND, "abc123", CONFIG, FIRST_RUN, Duration.ofSeconds(2),
+                latencyRecorder.snapshot());
+        RunHistoryStore.append(directory, first);
+        RunHistoryStore.append(directory, run(1, "abc123", GET_P99, CREATE_P99));
+
+        RunHistoryTable table = RunHistoryStore.read(directory);
+
+        Assert.assertEquals(table.size(), 4, "Row count does not match");
+        Assert.assertEquals(table.getStartTime(0), FIRST_RUN, "Start time does not match");
+        Assert.assertEquals(table.getElapsedMillis(0), 2000, "Elapsed time does not match");
+        Assert.assertEquals(table.getKind(0), KIND, "Kind does not match");
+        Assert.assertEquals(table.getCommit(0), "abc123", "Commit does not match");
+        Assert.assertEquals(table.getConfig(0), CONFIG, "Config does not match");
+        Assert.assertEquals(table.getOperation(0), GET_TODOS.name(), "Operation does not match");
+        Assert.assertEquals(table.getCount(0), 2, "Call count does not match");
+        Assert.assertEquals(table.get(HistoryMetric.THROUGHPUT, 0), 1.0, 1e-9, "Throughput does not match");
+        Assert.assertEquals(table.get(HistoryMetric.MAX, 0), 8.0, 0.01, "Max latency does not match");
+        Assert.assertEquals(table.getOperation(1), CREATE_TODO.name(), "Second operation does not match");
+        Assert.assertEquals(table.getErrors(1), 1, "Error count does not match");
+        Assert.assertEquals(table.get(HistoryMetric.P99, 3), CREATE_P99, "P99 of the second run does not match");
+        Assert.assertEquals(Files.readAllLines(directory.resolve("commit.dict")), List.of("abc123"),
+                "Commit dictionary does not match");
+    }
+
+    @Test(description = "A torn append is ignored and repaired", groups = {"negative"})
+    @Tag("negative")
+    @Description("Verify that a column left longer by a crashed writer does not shift rows, and that the next append "
+            + "truncates it")
+    public void testTornAppend() throws IOException {
+        RunHistoryStore.append(directory, run(0, "c0", GET_P99, CREATE_P99));
+        Files.write(directory.resolve("p99-ms.f64"), new byte[Double.BYTES * 3], StandardOpenOption.APPEND);
+
+        Assert.assertEquals(RunHistoryStore.read(directory).size(), 2, "Torn rows were read");
+
+        RunHistoryStore.append(directory, run(1, "c1", GET_P99, 2 * CREATE_P99));
+        RunHistoryTable table = RunHistoryStore.read(directory);
+        Assert.assertEquals(table.size(), 4, "Row count after repair does not match");
+        Assert.assertEquals(table.getCommit(3), "c1", "Commit after repair does not match");
+        Assert.assertEquals(table.get(HistoryMetric.P99, 3), 2 * CREATE_P99, "P99 after repair does not match");
+    }
+
+    @Test(description = "The run where a p99 doubled is reported", groups = {"positive"})
+    @Tag("positive")
+    @Description("Verify that a doubled create p99 is reported once, at the first slow run and its commit, while "
+            + "the stable operation is not")
+    public void testStepChange() {
+        RunHistoryTable table = appendStepChange();
+
+        List<TrendChange> changes = TrendReport.changes(table, TrendReport.DEFAULT_RATIO, TrendReport.DEFAULT_WINDOW);
+
+        List<TrendChange> p99Changes = changes.stream()
+                .filter(change -> change.getMetric() == HistoryMetric.P99)
+                .collect(Collectors.toList());
+        Assert.assertEquals(p99Changes.size(), 1, "P99 step changes do not match: " + changes);
+        TrendChange change = p99Changes.get(0);
+        Assert.assertEquals(change.getOperation(), CREATE_TODO.name(), "Operation of the change does not match");
+        Assert.assertEquals(change.getCommit(), "c" + STABLE_RUNS, "Commit of the change does not match");
+        Assert.assertEquals(change.getPreviousCommit(), "c" + (STABLE_RUNS - 1), "Previous commit does not match");
+        Assert.assertEquals(change.getRatio(), 2.5, 1e-9, "Ratio does not match");
+        Assert.assertTrue(change.isRegression(), "Slower p99 not a regression");
+
+        String html = TrendReport.html(table, TrendReport.DEFAULT_RATIO, TrendReport.DEFAULT_WINDOW);
+        Assert.assertTrue(html.contains("<td>c" + STABLE_RUNS + "</td>"), "Change row missing from the report");
+        Assert.assertEquals(html.split("<svg").length - 1, 2, "Report does not chart both operations");
+    }
+
+    @Test(description = "A missing store reads as empty", groups = {"negative"})
+    @Tag("negative")
+    @Description("Verify that the report of a store without runs renders instead of failing")
+    public void testEmptyStore() {
+        RunHistoryTable table = RunHistoryStore.read(directory.resolve("missing"));
+
+        Assert.assertEquals(table.size(), 0, "Missing store is not empty");
+        Assert.assertTrue(TrendReport.html(table, TrendReport.DEFAULT_RATIO, TrendReport.DEFAULT_WINDOW)
+                .contains("No runs recorded yet"), "Empty report does not say so");
+    }
+
+    @Step("Append stable runs followed by slower create runs")
+    private RunHistoryTable appendStepChange() {
+        for (int run = 0; run < STABLE_RUNS + SLOW_RUNS; run++) {
+            double createP99 = run < STABLE_RUNS ? CREATE_P99 : 2.5 * CREATE_P99;
+            RunHistoryStore.append(directory, run(run, "c" + run, GET_P99 * (1 + 0.05 * (run % 2)), createP99));
+        }
+        return RunHistoryStore.read(directory);
+    }
+
+    private static RunSummary run(int index, String commit, double getP99, double createP99) {
+        return new RunSummary(FIRST_RUN.plus(Duration.ofHours(index)), Duration.ofSeconds(1), KIND, commit, CONFIG,
+                List.of(operation(GET_TODOS.name(), getP99), operation(CREATE_TODO.name(), createP99)));
+    }
+
+    private static OperationSummary operation(String name, double p99) {
+        Map<HistoryMetric, Double> metrics = new EnumMap<>(HistoryMetric.class);
+        metrics.put(HistoryMetric.THROUGHPUT, 100.0);
+        metrics.put(HistoryMetric.P50, p99 / 2);
+        metrics.put(HistoryMetric.P99, p99);
+        metrics.put(HistoryMetric.P999, p99);
+        metrics.put(HistoryMetric.MAX, p99);
+        return new OperationSummary(name, 100, 0, metrics);
+    }
+
+}
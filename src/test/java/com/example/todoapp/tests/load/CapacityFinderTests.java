@@ -0,0 +1,127 @@
+package com.example.todoapp.tests.load;
+
+import com.example.todoapp.config.CapacityConfig;
+import com.example.todoapp.config.LoadConfig;
+import com.example.todoapp.config.WorkloadConfig;
+import com.example.todoapp.load.CapacityFinder;
+import com.example.todoapp.load.CapacityStep;
+import com.example.todoapp.load.CapacityStrategy;
+import com.example.todoapp.load.GradientLimit;
+import com.example.todoapp.load.LoadScenario;
+import com.example.todoapp.metrics.LatencyRecorder;
+import com.example.todoapp.metrics.TodoOperation;
+import com.example.todoapp.service.TodoService;
+import io.qameta.allure.Description;
+import io.qameta.allure.Step;
+import io.qameta.allure.testng.Tag;
+import org.testng.Assert;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.Semaphore;
+
+import static org.mockito.Mockito.mock;
+
+/**
+ * Unit tests for CapacityFinder and GradientLimit against a simulated server with a fixed number of workers.
+ */
+public class CapacityFinderTests {
+
+    private static final int SERVER_WORKERS = 4;
+    private static final long SERVICE_TIME_MILLIS = 2;
+
+    private LatencyRecorder latencyRecorder;
+    private CapacityConfig capacityConfig;
+
+    @BeforeMethod(alwaysRun = true)
+    public void setUp() {
+        latencyRecorder = new LatencyRecorder();
+        capacityConfig = new CapacityConfig();
+        capacityConfig.setStrategy(CapacityStrategy.STEP);
+        capacityConfig.setStartConcurrency(1);
+        capacityConfig.setMaxConcurrency(256);
+        capacityConfig.setStepFactor(2);
+        capacityConfig.setStepDuration(Duration.ofMillis(300));
+        capacityConfig.setWindow(Duration.ofMillis(100));
+        capacityConfig.setSloP99(Duration.ofMillis(20));
+        capacityConfig.setSloErrorRate(0.01);
+    }
+
+    @Test(description = "Step ramp stops at the SLO breach", groups = {"positive"})
+    @Tag("positive")
+    @Description("Verify that concurrency doubles until queueing pushes p99 over the SLO and the best step is reported")
+    public void testStepRampFindsKnee() {
+        List<CapacityStep> steps = findCapacity(queueingScenario());
+
+        CapacityStep last = steps.get(steps.size() - 1);
+        Assert.assertFalse(last.isWithinSlo(), "Search ended without an SLO breach");
+        steps.subList(0, steps.size() - 1).forEach(step ->
+                Assert.assertTrue(step.isWithinSlo(), "Step before the breach is outside the SLO: " + step));
+        CapacityStep best = CapacityFinder.maxSustainable(steps).orElseThrow();
+        Assert.assertTrue(best.getConcurrency() >= SERVER_WORKERS, "Knee found below the server capacity: " + best);
+        Assert.assertTrue(best.getThroughput().get(TodoOperation.GET_TODOS) > 0, "Missing per-operation throughput");
+        Assert.assertTrue(CapacityFinder.capacityReport(steps).contains("Maximum sustainable throughput"),
+                "Report does not name the maximum sustainable throughput");
+    }
+
+    @Test(description = "Error rate breaches the SLO", groups = {"negative"})
+    @Tag("negative")
+    @Description("Verify that failing requests end the search at the first step")
+    public void testErrorRateBreach() {
+        List<CapacityStep> steps = findCapacity(() -> () -> {
+            Thread.sleep(SERVICE_TIME_MILLIS);
+            throw new IllegalStateException("boom");
+        });
+
+        Assert.assertEquals(steps.size(), 1, "Search continued after the error rate breached the SLO");
+        Assert.assertEquals(steps.get(0).getErrorRate(), 1.0, "Error rate does not match");
+        Assert.assertTrue(CapacityFinder.maxSustainable(steps).isEmpty(), "Breaching step reported as sustainable");
+    }
+
+    @Test(description = "Gradient limit follows latency", groups = {"positive"})
+    @Tag("positive")
+    @Description("Verify that the adaptive limit grows while latency is flat and shrinks once latency doubles")
+    public void testGradientLimit() {
+        GradientLimit limit = new GradientLimit(1, 100);
+        for (int i = 0; i < 20; i++) {
+            limit.update(10);
+        }
+        int grown = limit.getLimit();
+        Assert.assertTrue(grown > 10, "Limit did not grow at flat latency: " + grown);
+
+        for (int i = 0; i < 5; i++) {
+            limit.update(40);
+        }
+        Assert.assertTrue(limit.getLimit() < grown, "Limit did not shrink when latency rose: " + limit.getLimit());
+        Assert.assertTrue(limit.getLimit() >= 1, "Limit fell below one");
+    }
+
+    @Step("Search capacity")
+    private List<CapacityStep> findCapacity(LoadScenario scenario) {
+        LoadConfig loadConfig = new LoadConfig();
+        loadConfig.setVirtualThreads(true);
+        CapacityFinder finder = new CapacityFinder(capacityConfig, loadConfig, new WorkloadConfig(),
+                mock(TodoService.class), latencyRecorder);
+        return finder.find(scenario);
+    }
+
+    /**
+     * Requests queue for one of a few server workers, so latency grows linearly once concurrency exceeds them.
+     */
+    private LoadScenario queueingScenario() {
+        Semaphore workers = new Semaphore(SERVER_WORKERS, true);
+        return () -> () -> latencyRecorder.record(TodoOperation.GET_TODOS, () -> {
+            workers.acquireUninterruptibly();
+            try {
+                Thread.sleep(SERVICE_TIME_MILLIS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } finally {
+                workers.release();
+            }
+        });
+    }
+
+}
@@ -0,0 +1,174 @@
+package com.example.todoapp.tests.load;
+
+import com.example.todoapp.config.DistributedLoadConfig;
+import com.example.todoapp.config.HistoryConfig;
+import com.example.todoapp.config.LoadConfig;
+import com.example.todoapp.config.WarmupConfig;
+import com.example.todoapp.config.WorkloadConfig;
+import com.example.todoapp.history.RunHistoryRecorder;
+import com.example.todoapp.load.DistributedLoadResult;
+import com.example.todoapp.load.LoadCoordinator;
+import com.example.todoapp.load.LoadMode;
+import com.example.todoapp.load.LoadResult;
+import com.example.todoapp.load.LoadScenario;
+import com.example.todoapp.load.LoadWorker;
+import com.example.todoapp.load.WorkerAssignment;
+import com.example.todoapp.metrics.LatencyRecorder;
+import com.example.todoapp.service.TodoService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.qameta.allure.Description;
+import io.qameta.allure.Step;
+import io.qameta.allure.testng.Tag;
+import org.springframework.core.env.StandardEnvironment;
+import org.testng.Assert;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.ServerSocket;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import static com.example.todoapp.metrics.TodoOperation.GET_TODOS;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Runs a coordinator and in-process workers over localhost TCP with a simulated scenario.
+ */
+public class DistributedLoadTests {
+
+    private static final int WORKERS = 3;
+    private static final int USERS = 7;
+    private static final Duration RUN_DURATION = Duration.ofMillis(300);
+    private static final long SLOW_PREPARATION_MILLIS = 300;
+    private static final long MAX_START_SPREAD_MILLIS = 100;
+    private static final long SERVICE_TIME_MILLIS = 1;
+
+    private LoadConfig loadConfig;
+    private DistributedLoadConfig distributedLoadConfig;
+
+    @BeforeMethod(alwaysRun = true)
+    public void setUp() {
+        loadConfig = new LoadConfig();
+        loadConfig.setMode(LoadMode.CLOSED);
+        loadConfig.setUsers(USERS);
+        loadConfig.setRate(WORKERS);
+        loadConfig.setDuration(RUN_DURATION);
+        loadConfig.setMaxInFlight(100);
+        loadConfig.setVirtualThreads(true);
+        distributedLoadConfig = new DistributedLoadConfig();
+        distributedLoadConfig.setWorkers(WORKERS);
+        distributedLoadConfig.setSpawn(false);
+        distributedLoadConfig.setHost("127.0.0.1");
+        distributedLoadConfig.setPort(freePort());
+        distributedLoadConfig.setConnectTimeout(Duration.ofSeconds(10));
+        distributedLoadConfig.setStartDelay(Duration.ofMillis(200));
+    }
+
+    @Test(description = "Workers start together and their results are merged", groups = {"positive"})
+    @Tag("positive")
+    @Description("Verify that users are split between the workers, that a worker with a slow preparation does not "
+            + "start late, and that the merged counters and histograms add up over all workers")
+    public void testDistributedRun() {
+        Map<Integer, WorkerAssignment> assignments = new ConcurrentHashMap<>();
+        Map<Integer, Long> firstIterationMillis = new ConcurrentHashMap<>();
+        List<CompletableFuture<Void>> workers = new ArrayList<>();
+        for (int worker = 0; worker < WORKERS; worker++) {
+            // Each in-process worker records into its own recorder, like a separate JVM
+            LatencyRecorder recorder = new LatencyRecorder();
+            LoadWorker loadWorker = new LoadWorker(distributedLoadConfig, loadConfig, new WorkloadConfig(),
+                    new WarmupConfig(), mock(TodoService.class), recorder);
+            workers.add(CompletableFuture.runAsync(() -> loadWorker.work(assignment -> {
+                assignments.put(assignment.getIndex(), assignment);
+                if (assignment.getIndex() == 0) {
+                    sleep(SLOW_PREPARATION_MILLIS);
+                }
+                return timedScenario(assignment.getIndex(), recorder, firstIterationMillis);
+            })));
+        }
+
+        DistributedLoadResult result = coordinate();
+        CompletableFuture.allOf(workers.toArray(CompletableFuture[]::new)).join();
+
+        List<Integer> users = assignments.values().stream().map(WorkerAssignment::getUsers).sorted()
+                .collect(Collectors.toList());
+        Assert.assertEquals(users, List.of(2, 2, 3), "Users were not split evenly");
+        Assert.assertEquals(result.getWorkers().size(), WORKERS, "Worker result count does not match");
+        long iterations = result.getWorkers().stream().mapToLong(LoadResult::getIterations).sum();
+        Assert.assertTrue(iterations > 0, "Workers ran no iterations");
+        Assert.assertEquals(result.getTotal().getIterations(), iterations, "Total iterations do not match the workers' sum");
+        Assert.assertEquals(result.getLatency().getHistogram(GET_TODOS).getTotalCount(), iterations,
+                "Merged histogram does not contain every worker's iterations");
+        long spread = firstIterationMillis.values().stream().mapToLong(Long::longValue).max().orElseThrow()
+                - firstIterationMillis.values().stream().mapToLong(Long::longValue).min().orElseThrow();
+        Assert.assertTrue(spread < MAX_START_SPREAD_MILLIS, "Workers did not start together, spread " + spread + " ms");
+        Assert.assertTrue(LoadCoordinator.workersReport(result).contains("total"), "Workers report has no total row");
+    }
+
+    @Test(description = "Arrival rate is split between the workers", groups = {"positive"})
+    @Tag("positive")
+    @Description("Verify that an open-loop rate and the seeded todos are divided with the remainders on the first workers")
+    public void testRateSplit() {
+        loadConfig.setMode(LoadMode.OPEN);
+        loadConfig.setRate(10);
+
+        List<WorkerAssignment> assignments = WorkerAssignment.split(loadConfig, 5, WORKERS);
+
+        Assert.assertEquals(assignments.stream().map(WorkerAssignment::getRate).collect(Collectors.toList()),
+                List.of(4, 3, 3), "Rate was not split evenly");
+        Assert.assertEquals(assignments.stream().map(WorkerAssignment::getInitialTodos).collect(Collectors.toList()),
+                List.of(2, 2, 1), "Seeded todos were not split evenly");
+        Assert.assertEquals(assignments.get(1).toLoadConfig(loadConfig).getRate(), 3, "Worker load config rate does not match");
+    }
+
+    @Test(description = "A rate lower than the worker count is rejected", groups = {"negative"},
+            expectedExceptions = IllegalArgumentException.class)
+    @Tag("negative")
+    @Description("Verify that a load that leaves some workers idle cannot be split")
+    public void testRateBelowWorkerCountRejected() {
+        loadConfig.setMode(LoadMode.OPEN);
+        loadConfig.setRate(WORKERS - 1);
+        WorkerAssignment.split(loadConfig, 0, WORKERS);
+    }
+
+    @Step("Coordinate the workers")
+    private DistributedLoadResult coordinate() {
+        RunHistoryRecorder noHistory = new RunHistoryRecorder(new HistoryConfig(), new LatencyRecorder(),
+                new StandardEnvironment(), new ObjectMapper());
+        return new LoadCoordinator(distributedLoadConfig, loadConfig, new WorkloadConfig(), noHistory).coordinate(List.of());
+    }
+
+    /**
+     * Records every iteration as a GET_TODOS call taking {@link #SERVICE_TIME_MILLIS}.
+     */
+    private LoadScenario timedScenario(int worker, LatencyRecorder recorder, Map<Integer, Long> firstIterationMillis) {
+        return () -> () -> {
+            firstIterationMillis.putIfAbsent(worker, System.currentTimeMillis());
+            recorder.record(GET_TODOS, () -> sleep(SERVICE_TIME_MILLIS));
+        };
+    }
+
+    private static void sleep(long millis) {
+        try {
+            TimeUnit.MILLISECONDS.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static int freePort() {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+}
@@ -0,0 +1,265 @@
+package com.example.todoapp.tests.load;
+
+import com.example.todoapp.config.LoadConfig;
+import com.example.todoapp.config.WarmupConfig;
+import com.example.todoapp.load.LoadEngine;
+import com.example.todoapp.load.LoadMode;
+import com.example.todoapp.load.LoadResult;
+import com.example.todoapp.load.LoadScenario;
+import com.example.todoapp.load.SteadyStateDetector;
+import com.example.todoapp.load.Warmup;
+import com.example.todoapp.load.WarmupResult;
+import com.example.todoapp.metrics.LatencyRecorder;
+import com.example.todoapp.metrics.TodoOperation;
+import io.qameta.allure.Description;
+import io.qameta.allure.Step;
+import io.qameta.allure.testng.Tag;
+import org.HdrHistogram.Histogram;
+import org.testng.Assert;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Unit tests for the warm-up phase of the LoadEngine against simulated scenarios.
+ */
+public class WarmupTests {
+
+    private static final long COLD_MILLIS = 400;
+    private static final long WARM_MILLIS = 1;
+    private static final long WARM_SERVICE_MILLIS = 1;
+    /**
+     * How long a hung iteration is held, well past the end of a warm-up cut off after 500 ms.
+     */
+    private static final long HOLD_MILLIS = 2000;
+    private static final int RATE = 200;
+    private static final long DURATION_MILLIS = 300;
+
+    private LatencyRecorder latencyRecorder;
+    private WarmupConfig warmupConfig;
+
+    @BeforeMethod(alwaysRun = true)
+    public void setUp() {
+        latencyRecorder = new LatencyRecorder();
+        warmupConfig = new WarmupConfig();
+        warmupConfig.setEnabled(true);
+        warmupConfig.setWindow(Duration.ofMillis(100));
+        warmupConfig.setStableWindows(3);
+        warmupConfig.setTolerance(0.5);
+        warmupConfig.setMaxDuration(Duration.ofSeconds(5));
+    }
+
+    @Test(description = "Detector finds a steady state", groups = {"positive"})
+    @Tag("positive")
+    @Description("Verify that the detector waits for enough windows and rejects drifting throughput or latency")
+    public void testSteadyStateDetector() {
+        SteadyStateDetector stable = new SteadyStateDetector(3, 0.1);
+        Assert.assertFalse(stable.add(100, 2.0), "Steady after a single window");
+        Assert.assertFalse(stable.add(104, 2.1), "Steady after two windows");
+        Assert.assertFalse(stable.add(98, 2.0), "Steady with the first window among the stable ones");
+        Assert.assertTrue(stable.add(101, 2.0), "Stable windows not detected");
+
+        SteadyStateDetector warmingUp = new SteadyStateDetector(3, 0.1);
+        Assert.assertFalse(warmingUp.add(100, 20.0), "Steady after a single window");
+        Assert.assertFalse(warmingUp.add(100, 5.0), "Steady right after the median dropped");
+        Assert.assertFalse(warmingUp.add(100, 5.1), "Steady one window after the median dropped");
+        Assert.assertFalse(warmingUp.add(100, 5.0), "Window of the drop counted as stable");
+        Assert.assertTrue(warmingUp.add(100, 5.0), "Stable windows after the drop not detected");
+
+        SteadyStateDetector drifting = new SteadyStateDetector(3, 0.1);
+        for (int window = 1; window <= 10; window++) {
+            Assert.assertFalse(drifting.add(100 * window, 2.0), "Rising throughput detected as steady");
+        }
+        SteadyStateDetector slowing = new SteadyStateDetector(3, 0.1);
+        for (int window = 1; window <= 10; window++) {
+            Assert.assertFalse(slowing.add(100, window), "Rising latency detected as steady");
+        }
+        SteadyStateDetector creeping = new SteadyStateDetector(3, 0.1);
+        for (int window = 0; window < 20; window++) {
+            Assert.assertFalse(creeping.add(100, 10 * Math.pow(0.96, window)),
+                    "Median falling 4% per window detected as steady");
+        }
+    }
+
+    @Test(description = "Detector rejects a single window", groups = {"negative"})
+    @Tag("negative")
+    @Description("Verify that a steady state needs at least two windows to compare")
+    public void testDetectorNeedsTwoWindows() {
+        Assert.assertThrows(IllegalArgumentException.class, () -> new SteadyStateDetector(1, 0.1));
+    }
+
+    @Test(description = "Closed loop measures after the warm-up", groups = {"positive"})
+    @Tag("positive")
+    @Description("Verify that an iteration started during the warm-up is counted in the warm-up statistics even when it"
+            + " ends after the steady state was detected, and that no measured iteration starts before it has ended")
+    public void testClosedLoopExcludesColdIterations() throws InterruptedException {
+        warmupConfig.setWindow(Duration.ofMillis(50));
+        warmupConfig.setMaxDuration(Duration.ofMillis(1000));
+        Warmup warmup = new Warmup(warmupConfig, latencyRecorder);
+        CountDownLatch measuring = new CountDownLatch(1);
+        CountDownLatch stragglerEnded = new CountDownLatch(1);
+        AtomicBoolean stragglerStarted = new AtomicBoolean();
+        AtomicBoolean overlapped = new AtomicBoolean();
+        LoadScenario scenario = () -> () -> {
+            if (stragglerStarted.compareAndSet(false, true)) {
+                // Still in flight when the steady state is found, but done before the drain times out at max-duration
+                overlapped.set(await(measuring, COLD_MILLIS));
+                latencyRecorder.recordValue(TodoOperation.GET_TODOS, TimeUnit.MILLISECONDS.toNanos(COLD_MILLIS));
+                stragglerEnded.countDown();
+                return;
+            }
+            if (!warmup.isActive()) {
+                measuring.countDown();
+            }
+            latencyRecorder.recordValue(TodoOperation.GET_TODOS, TimeUnit.MILLISECONDS.toNanos(WARM_MILLIS));
+            sleep(WARM_SERVICE_MILLIS);
+        };
+        LoadResult result = runLoad(LoadMode.CLOSED, scenario, warmup);
+
+        Assert.assertTrue(stragglerEnded.await(0, TimeUnit.MILLISECONDS), "Iteration held over the warm-up never ended");
+        Assert.assertFalse(overlapped.get(), "A measured iteration started while a warm-up iteration was in flight");
+        WarmupResult warmupResult = warmup.getResult();
+        Assert.assertNotNull(warmupResult, "Warm-up did not finish");
+        Assert.assertEquals(warmupResult.getDiscarded(), 0, "Iteration finished within the drain was discarded");
+        Assert.assertEquals(maxMillis(warmupResult.getLatency().getHistogram(TodoOperation.GET_TODOS)), COLD_MILLIS, 1.0,
+                "Iteration started during the warm-up missing from the warm-up latency");
+
+        Histogram measured = latencyRecorder.snapshot().getHistogram(TodoOperation.GET_TODOS);
+        Assert.assertTrue(result.getIterations() > 0, "No measured iterations");
+        Assert.assertTrue(maxMillis(measured) < COLD_MILLIS, "Cold iterations leaked into the measured histogram");
+        Assert.assertTrue(result.getElapsed().toMillis() < HOLD_MILLIS,
+                "Measured elapsed time includes waiting for the warm-up's iterations: " + result.getElapsed());
+    }
+
+    @Test(description = "A hung warm-up iteration does not stall the run", groups = {"negative"})
+    @Tag("negative")
+    @Description("Verify that the warm-up stops waiting for an iteration hung past max-duration, discards it, and"
+            + " keeps its latency out of the measured histogram")
+    public void testHungIterationIsDiscarded() {
+        warmupConfig.setWindow(Duration.ofMillis(50));
+        warmupConfig.setMaxDuration(Duration.ofMillis(500));
+        Warmup warmup = new Warmup(warmupConfig, latencyRecorder);
+        CountDownLatch measuring = new CountDownLatch(1);
+        AtomicBoolean hungStarted = new AtomicBoolean();
+        LoadScenario scenario = () -> () -> {
+            if (hungStarted.compareAndSet(false, true)) {
+                // Hangs like a request to a stalled server, and only returns once the measured run is under way
+                latencyRecorder.record(TodoOperation.GET_TODOS, () -> await(measuring, HOLD_MILLIS));
+                return;
+            }
+            if (!warmup.isActive()) {
+                measuring.countDown();
+            }
+            latencyRecorder.record(TodoOperation.GET_TODOS, () -> sleep(WARM_SERVICE_MILLIS));
+        };
+        long start = System.nanoTime();
+        LoadResult result = runLoad(LoadMode.CLOSED, scenario, warmup);
+
+        Assert.assertTrue(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) < HOLD_MILLIS,
+                "Run waited for the hung warm-up iteration");
+        Assert.assertEquals(warmup.getResult().getDiscarded(), 1, "Hung iteration not discarded");
+        Assert.assertTrue(result.getIterations() > 0, "No measured iterations");
+        Assert.assertTrue(maxMillis(latencyRecorder.snapshot().getHistogram(TodoOperation.GET_TODOS)) < COLD_MILLIS,
+                "Hung warm-up iteration leaked into the measured histogram");
+    }
+
+    @Test(description = "Open loop counts arrivals after the warm-up", groups = {"positive"})
+    @Tag("positive")
+    @Description("Verify that the measured open-loop run covers only the configured duration at the configured rate")
+    public void testOpenLoopExcludesWarmupArrivals() {
+        Warmup warmup = new Warmup(warmupConfig, latencyRecorder);
+        LoadResult result = runLoad(LoadMode.OPEN, () -> () -> latencyRecorder.record(TodoOperation.GET_TODOS,
+                () -> sleep(WARM_SERVICE_MILLIS)), warmup);
+
+        WarmupResult warmupResult = warmup.getResult();
+        Assert.assertTrue(warmupResult.isSteady(), "No steady state detected:\n" + warmupResult.windowTable());
+        Assert.assertTrue(warmupResult.getIterations() > 0, "No warm-up iterations");
+        long expected = RATE * DURATION_MILLIS / 1000;
+        Assert.assertTrue(result.getIterations() <= expected + expected / 5,
+                "Warm-up arrivals counted in the measured run: " + result.getIterations());
+        Assert.assertTrue(result.getIterations() > 0, "No measured iterations");
+    }
+
+    @Test(description = "Warm-up is cut off without a steady state", groups = {"negative"})
+    @Tag("negative")
+    @Description("Verify that a scenario that keeps slowing down is measured after the maximum warm-up duration")
+    public void testWarmupCutOff() {
+        warmupConfig.setWindow(Duration.ofMillis(50));
+        warmupConfig.setTolerance(0.1);
+        warmupConfig.setMaxDuration(Duration.ofMillis(400));
+        Warmup warmup = new Warmup(warmupConfig, latencyRecorder);
+        long start = System.nanoTime();
+        LoadResult result = runLoad(LoadMode.CLOSED, () -> () -> latencyRecorder.record(TodoOperation.GET_TODOS,
+                () -> sleep(1 + TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) / 20)), warmup);
+
+        WarmupResult warmupResult = warmup.getResult();
+        Assert.assertFalse(warmupResult.isSteady(), "Slowing scenario detected as steady");
+        Assert.assertTrue(warmupResult.getElapsed().toMillis() >= 400, "Warm-up cut off early: " + warmupResult.getElapsed());
+        Assert.assertTrue(warmupResult.getElapsed().toMillis() < 2000, "Warm-up overran its maximum: " + warmupResult.getElapsed());
+        Assert.assertFalse(warmupResult.getWindows().isEmpty(), "No warm-up windows recorded");
+        Assert.assertTrue(result.getIterations() > 0, "No measured iterations");
+    }
+
+    @Test(description = "Load without users or arrivals is rejected", groups = {"negative"})
+    @Tag("negative")
+    @Description("Verify that a zero arrival rate in open mode or no users in closed mode fail before the run starts")
+    public void testInvalidLoadSettings() {
+        LoadConfig openConfig = newLoadConfig(LoadMode.OPEN);
+        openConfig.setRate(0);
+        IllegalArgumentException noRate = Assert.expectThrows(IllegalArgumentException.class,
+                () -> new LoadEngine(openConfig).run(() -> () -> { }));
+        Assert.assertTrue(noRate.getMessage().contains("load.rate"), "Message does not name the setting: " + noRate.getMessage());
+
+        LoadConfig closedConfig = newLoadConfig(LoadMode.CLOSED);
+        closedConfig.setRate(0);
+        closedConfig.setUsers(0);
+        IllegalArgumentException noUsers = Assert.expectThrows(IllegalArgumentException.class,
+                () -> new LoadEngine(closedConfig).run(() -> () -> { }));
+        Assert.assertTrue(noUsers.getMessage().contains("load.users"), "Message does not name the setting: " + noUsers.getMessage());
+    }
+
+    @Step("Run load with warm-up")
+    private LoadResult runLoad(LoadMode mode, LoadScenario scenario, Warmup warmup) {
+        return new LoadEngine(newLoadConfig(mode)).run(scenario, warmup);
+    }
+
+    private static LoadConfig newLoadConfig(LoadMode mode) {
+        LoadConfig loadConfig = new LoadConfig();
+        loadConfig.setMode(mode);
+        loadConfig.setUsers(4);
+        loadConfig.setRate(RATE);
+        loadConfig.setMaxInFlight(100);
+        loadConfig.setDuration(Duration.ofMillis(DURATION_MILLIS));
+        loadConfig.setVirtualThreads(true);
+        return loadConfig;
+    }
+
+    /**
+     * Waits for the latch and returns whether it opened within the time.
+     */
+    private static boolean await(CountDownLatch latch, long millis) {
+        try {
+            return latch.await(millis, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private static double maxMillis(Histogram histogram) {
+        return histogram.getMaxValue() / 1000.0;
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+}
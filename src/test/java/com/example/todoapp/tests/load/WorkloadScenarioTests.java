@@ -0,0 +1,188 @@
+package com.example.todoapp.tests.load;
+
+import com.example.todoapp.config.WorkloadConfig;
+import com.example.todoapp.load.Distribution;
+import com.example.todoapp.load.LoadScenario;
+import com.example.todoapp.load.WorkloadOperation;
+import com.example.todoapp.load.WorkloadScenario;
+import com.example.todoapp.service.TodoService;
+import io.qameta.allure.Description;
+import io.qameta.allure.Step;
+import io.qameta.allure.testng.Tag;
+import org.testng.Assert;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static com.example.todoapp.load.WorkloadOperation.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for WorkloadScenario and Distribution.
+ */
+public class WorkloadScenarioTests {
+
+    private static final int ITERATIONS = 20_000;
+    private static final int INITIAL_TODOS = 10;
+    private static final double MIX_TOLERANCE = 0.02;
+
+    private TodoService todoService;
+    private Set<Long> serverIds;
+    private WorkloadConfig workloadConfig;
+
+    @BeforeMethod(alwaysRun = true)
+    public void setUp() {
+        todoService = mock(TodoService.class);
+        serverIds = ConcurrentHashMap.newKeySet();
+        doAnswer(invocation -> serverIds.add(invocation.getArgument(0)))
+                .when(todoService).createTodo(anyLong(), any(byte[].class));
+        doAnswer(invocation -> assertLive(invocation.getArgument(0)))
+                .when(todoService).updateTodo(anyLong(), any(byte[].class));
+        doAnswer(invocation -> assertLive(invocation.getArgument(0)) && serverIds.remove(invocation.<Long>getArgument(0)))
+                .when(todoService).deleteTodo(anyLong());
+
+        workloadConfig = new WorkloadConfig();
+        workloadConfig.setOffset("uniform:0..100");
+        workloadConfig.setLimit("10");
+        workloadConfig.setThinkTimeMillis("0");
+    }
+
+    @Test(description = "Operations follow the configured mix", groups = {"positive"})
+    @Tag("positive")
+    @Description("Verify that operation counts match the configured weights and only live todos are updated or deleted")
+    public void testOperationMix() throws Exception {
+        workloadConfig.setWeights(weights(GET_TODOS, 70, CREATE_TODO, 20, UPDATE_TODO, 7, DELETE_TODO, 3));
+
+        WorkloadScenario scenario = runScenario(ITERATIONS);
+
+        assertShare(scenario, GET_TODOS, 0.70);
+        assertShare(scenario, CREATE_TODO, 0.20);
+        assertShare(scenario, UPDATE_TODO, 0.07);
+        assertShare(scenario, DELETE_TODO, 0.03);
+        Assert.assertEquals(scenario.getLiveTodos(), serverIds.size(), "Live id model does not match the server");
+    }
+
+    @Test(description = "Operations follow the Markov chain", groups = {"positive"})
+    @Tag("positive")
+    @Description("Verify that each session picks its next operation from the transition row of the previous one")
+    public void testMarkovChain() throws Exception {
+        workloadConfig.setWeights(weights(CREATE_TODO, 1));
+        workloadConfig.setTransitions(Map.of(
+                CREATE_TODO, weights(UPDATE_TODO, 1),
+                UPDATE_TODO, weights(DELETE_TODO, 1),
+                DELETE_TODO, weights(CREATE_TODO, 1)));
+
+        WorkloadScenario scenario = runScenario(3 * 100);
+
+        Assert.assertEquals(scenario.getCount(CREATE_TODO), 100, "Create count does not match");
+        Assert.assertEquals(scenario.getCount(UPDATE_TODO), 100, "Update count does not match");
+        Assert.assertEquals(scenario.getCount(DELETE_TODO), 100, "Delete count does not match");
+        Assert.assertEquals(scenario.getLiveTodos(), INITIAL_TODOS, "Chain did not delete each todo it created");
+    }
+
+    @Test(description = "Failures are counted per operation", groups = {"negative"})
+    @Tag("negative")
+    @Description("Verify that a failing operation is counted as an error and a failed update keeps its todo live")
+    public void testErrorsPerOperation() {
+        workloadConfig.setWeights(weights(UPDATE_TODO, 1));
+        doThrow(new IllegalStateException("boom")).when(todoService).updateTodo(anyLong(), any(byte[].class));
+        WorkloadScenario scenario = new WorkloadScenario(todoService, workloadConfig);
+        scenario.seed(1);
+
+        LoadScenario.Session session = scenario.newSession();
+        Assert.assertThrows(IllegalStateException.class, session::next);
+
+        Assert.assertEquals(scenario.getErrors(UPDATE_TODO), 1, "Error count does not match");
+        Assert.assertEquals(scenario.getLiveTodos(), 1, "Failed update lost its todo");
+    }
+
+    @Test(description = "Failed deletes keep their todo", groups = {"negative"})
+    @Tag("negative")
+    @Description("Verify that a todo whose delete fails stays live and is deleted when the scenario is closed")
+    public void testFailedDeleteKeepsTodo() {
+        workloadConfig.setWeights(weights(DELETE_TODO, 1));
+        WorkloadScenario scenario = new WorkloadScenario(todoService, workloadConfig);
+        scenario.seed(1);
+        Long id = serverIds.iterator().next();
+        doThrow(new IllegalStateException("boom")).doAnswer(invocation -> serverIds.remove(id))
+                .when(todoService).deleteTodo(id);
+
+        Assert.assertThrows(IllegalStateException.class, scenario.newSession()::next);
+        Assert.assertEquals(scenario.getErrors(DELETE_TODO), 1, "Error count does not match");
+        Assert.assertEquals(scenario.getLiveTodos(), 1, "Failed delete lost its todo");
+
+        scenario.close();
+        Assert.assertTrue(serverIds.isEmpty(), "Todo of the failed delete was not deleted on close");
+    }
+
+    @Test(description = "Updates and deletes fall back to creates", groups = {"negative"})
+    @Tag("negative")
+    @Description("Verify that an update or delete without a live todo creates one instead")
+    public void testFallbackToCreate() throws Exception {
+        workloadConfig.setWeights(weights(DELETE_TODO, 1));
+        WorkloadScenario scenario = new WorkloadScenario(todoService, workloadConfig);
+
+        LoadScenario.Session session = scenario.newSession();
+        session.next();
+        session.next();
+
+        Assert.assertEquals(scenario.getCount(CREATE_TODO), 1, "Missing fallback create");
+        Assert.assertEquals(scenario.getCount(DELETE_TODO), 1, "Delete count does not match");
+        Assert.assertTrue(serverIds.isEmpty(), "Created todo was not deleted");
+    }
+
+    @Test(description = "Distribution specs are parsed", groups = {"positive", "negative"})
+    @Tag("positive")
+    @Description("Verify parsing of distribution specs and rejection of invalid ones")
+    public void testDistributionParsing() {
+        Random random = new Random(42);
+        Assert.assertEquals(Distribution.parse("7").sample(random), 7, "Fixed value does not match");
+        Assert.assertEquals(Distribution.parse("fixed:3").sample(random), 3, "Fixed value does not match");
+        for (int i = 0; i < 1000; i++) {
+            long value = Distribution.parse("uniform:5..8").sample(random);
+            Assert.assertTrue(value >= 5 && value <= 8, "Uniform sample out of bounds: " + value);
+            Assert.assertTrue(Distribution.parse("normal:1,10").sample(random) >= 0, "Normal sample is negative");
+            Assert.assertTrue(Distribution.parse("exponential:50").sample(random) >= 0, "Exponential sample is negative");
+        }
+        for (String spec : new String[]{"", "uniform:9..1", "poisson:3", "normal:1", "fixed:-1"}) {
+            Assert.assertThrows(IllegalArgumentException.class, () -> Distribution.parse(spec));
+        }
+    }
+
+    @Step("Run {iterations} iterations of one session")
+    private WorkloadScenario runScenario(int iterations) throws Exception {
+        WorkloadScenario scenario = new WorkloadScenario(todoService, workloadConfig);
+        scenario.seed(INITIAL_TODOS);
+        LoadScenario.Session session = scenario.newSession();
+        for (int i = 0; i < iterations; i++) {
+            session.next();
+        }
+        return scenario;
+    }
+
+    private void assertShare(WorkloadScenario scenario, WorkloadOperation operation, double expected) {
+        double share = (double) scenario.getCount(operation) / ITERATIONS;
+        Assert.assertEquals(share, expected, MIX_TOLERANCE, "Share of " + operation + " does not match");
+    }
+
+    private boolean assertLive(Long id) {
+        Assert.assertTrue(serverIds.contains(id), "Operation targeted a todo that does not exist: " + id);
+        return true;
+    }
+
+    private static Map<WorkloadOperation, Double> weights(Object... operationsAndWeights) {
+        Map<WorkloadOperation, Double> weights = new EnumMap<>(WorkloadOperation.class);
+        for (int i = 0; i < operationsAndWeights.length; i += 2) {
+            weights.put((WorkloadOperation) operationsAndWeights[i], ((Number) operationsAndWeights[i + 1]).doubleValue());
+        }
+        return weights;
+    }
+
+}
@@ -0,0 +1,90 @@
+package com.example.todoapp.tests.metrics;
+
+import com.example.todoapp.metrics.IntendedStartTime;
+import com.example.todoapp.metrics.LatencyRecorder;
+import com.example.todoapp.metrics.LatencyReport;
+import com.example.todoapp.metrics.LatencySnapshot;
+import io.qameta.allure.Description;
+import io.qameta.allure.Step;
+import io.qameta.allure.testng.Tag;
+import org.testng.Assert;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+import static com.example.todoapp.metrics.TodoOperation.*;
+
+/**
+ * Unit tests for LatencyRecorder.
+ */
+public class LatencyRecorderTests {
+
+    private static final long SCHEDULE_DELAY_MS = 200;
+    private static final int RECORDING_THREADS = 8;
+    private static final int RECORDS_PER_THREAD = 10_000;
+
+    private LatencyRecorder latencyRecorder;
+
+    @BeforeMethod(alwaysRun = true)
+    public void setUp() {
+        latencyRecorder = new LatencyRecorder();
+        IntendedStartTime.clear();
+    }
+
+    @Test(description = "Latency is measured from the intended start time", groups = {"positive"})
+    @Tag("positive")
+    @Description("Verify that a request scheduled in the past is charged the time it waited to be sent")
+    public void testIntendedStartTimeCorrection() {
+        IntendedStartTime.set(System.nanoTime() - TimeUnit.MILLISECONDS.toNanos(SCHEDULE_DELAY_MS));
+        recordCall();
+        recordCall();
+
+        LatencySnapshot snapshot = latencyRecorder.snapshot();
+        Assert.assertEquals(snapshot.getHistogram(GET_TODOS).getTotalCount(), 2, "Recorded count does not match");
+        Assert.assertTrue(snapshot.getHistogram(GET_TODOS).getMaxValue() >= TimeUnit.MILLISECONDS.toMicros(SCHEDULE_DELAY_MS),
+                "Scheduling delay was not included in the latency");
+        Assert.assertTrue(snapshot.getHistogram(GET_TODOS).getMinValue() < TimeUnit.MILLISECONDS.toMicros(SCHEDULE_DELAY_MS),
+                "Intended start time was applied to more than one request");
+    }
+
+    @Test(description = "Concurrent recordings are all merged", groups = {"positive"})
+    @Tag("positive")
+    @Description("Verify that values recorded from many threads end up in a single snapshot")
+    public void testConcurrentRecording() {
+        IntStream.range(0, RECORDING_THREADS).parallel().forEach(thread ->
+                IntStream.range(0, RECORDS_PER_THREAD).forEach(i -> latencyRecorder.recordValue(CREATE_TODO, i)));
+
+        LatencySnapshot snapshot = latencyRecorder.snapshot();
+        Assert.assertEquals(snapshot.getHistogram(CREATE_TODO).getTotalCount(), (long) RECORDING_THREADS * RECORDS_PER_THREAD,
+                "Recorded count does not match");
+        Assert.assertTrue(LatencyReport.percentileTable(snapshot).contains(CREATE_TODO.name()),
+                "Percentile table does not contain the recorded operation");
+    }
+
+    @Test(description = "Failed calls are counted as errors", groups = {"negative"})
+    @Tag("negative")
+    @Description("Verify that a failing call is recorded and counted as an error")
+    public void testFailedCallCountedAsError() {
+        try {
+            latencyRecorder.record(DELETE_TODO, () -> {
+                throw new IllegalStateException("Server unavailable");
+            });
+            Assert.fail("Expected exception was not rethrown");
+        } catch (IllegalStateException e) {
+            Assert.assertEquals(e.getMessage(), "Server unavailable", "Exception message does not match");
+        }
+
+        LatencySnapshot snapshot = latencyRecorder.snapshot();
+        Assert.assertEquals(snapshot.getErrors(DELETE_TODO), 1, "Error count does not match");
+        Assert.assertEquals(snapshot.getHistogram(DELETE_TODO).getTotalCount(), 1, "Recorded count does not match");
+    }
+
+    @Step("Record a call")
+    private void recordCall() {
+        latencyRecorder.record(GET_TODOS, () -> {
+        });
+    }
+
+}
@@ -0,0 +1,200 @@
+package com.example.todoapp.tests.metrics;
+
+import com.example.todoapp.clients.CreatedTodoRegistry;
+import com.example.todoapp.clients.TodoApiClient;
+import com.example.todoapp.clients.transport.TodoTransport;
+import com.example.todoapp.clients.transport.TodoTransportFactory;
+import com.example.todoapp.clients.transport.Transport;
+import com.example.todoapp.config.AppConfig;
+import com.example.todoapp.config.EventLogConfig;
+import com.example.todoapp.config.ReplayConfig;
+import com.example.todoapp.metrics.LatencyRecorder;
+import com.example.todoapp.metrics.RequestEvent;
+import com.example.todoapp.metrics.RequestEventLog;
+import com.example.todoapp.metrics.RequestEventLogReader;
+import com.example.todoapp.model.TodoItem;
+import com.example.todoapp.replay.TrafficRecorder;
+import com.example.todoapp.stub.StubTodoServer;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.qameta.allure.Description;
+import io.qameta.allure.Step;
+import io.qameta.allure.testng.Tag;
+import org.testng.Assert;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.net.http.HttpClient;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static com.example.todoapp.metrics.TodoOperation.*;
+import static org.apache.http.HttpStatus.*;
+
+/**
+ * Unit tests for RequestEventLog and RequestEventLogReader.
+ */
+public class RequestEventLogTests {
+
+    private static final String ENDPOINT = "/todos";
+    private static final int RECORDING_THREADS = 8;
+    private static final int RECORDS_PER_THREAD = 20_000;
+    private static final int RING_SIZE = 1024;
+
+    private Path directory;
+
+    @BeforeMethod(alwaysRun = true)
+    public void setUp() throws IOException {
+        directory = Files.createTempDirectory("request-events");
+    }
+
+    @AfterMethod(alwaysRun = true)
+    public void tearDown() throws IOException {
+        try (var files = Files.list(directory)) {
+            for (Path file : files.collect(Collectors.toList())) {
+                Files.delete(file);
+            }
+        }
+        Files.delete(directory);
+    }
+
+    @Test(description = "Events round-trip through the binary log", groups = {"positive"})
+    @Tag("positive")
+    @Description("Verify that every field of a recorded event is decoded, and that the CSV and summary table show it")
+    public void testEventRoundTrip() {
+        RequestEventLog eventLog = openLog(directory.resolve("events.bin"), RING_SIZE);
+        long start = System.nanoTime();
+        eventLog.record(CREATE_TODO, 42, start, start + 3_000_000, SC_CREATED, 0);
+        eventLog.record(GET_TODOS, RequestEventLog.NO_ID, start + 5_000_000, start + 6_000_000, SC_OK, 512);
+        eventLog.record(DELETE_TODO, 42, start + 7_000_000, start + 8_000_000, RequestEventLog.NO_RESPONSE, 0);
+        eventLog.close();
+
+        List<RequestEvent> events = RequestEventLogReader.read(directory.resolve("events.bin"));
+        Assert.assertEquals(events.size(), 3, "Event count does not match");
+        RequestEvent create = events.get(0);
+        Assert.assertEquals(create.getOperation(), CREATE_TODO, "Operation does not match");
+        Assert.assertEquals(create.getId(), 42, "Id does not match");
+        Assert.assertEquals(create.getLatencyNanos(), 3_000_000, "Latency does not match");
+        Assert.assertEquals(create.getStatusCode(), SC_CREATED, "Status code does not match");
+        Assert.assertEquals(events.get(1).getBytes(), 512, "Response bytes do not match");
+        Assert.assertTrue(events.get(1).getStartNanos() > create.getStartNanos(), "Start times are out of order");
+
+        String csv = RequestEventLogReader.toCsv(events);
+        Assert.assertTrue(csv.contains("GET_TODOS,,"), "Requests without an id should have an empty id column");
+        Assert.assertTrue(csv.contains("CREATE_TODO,42,"), "CSV does not contain the created todo");
+        String summary = RequestEventLogReader.summaryTable(events);
+        Assert.assertTrue(summary.contains("-1x1"), "Summary does not count the request without a response");
+    }
+
+    @Test(description = "Concurrent producers never lose an event silently", groups = {"positive"})
+    @Tag("positive")
+    @Description("Verify that events published from many threads through a small ring are either written or counted "
+            + "as dropped, and that no event is written twice")
+    public void testConcurrentProducers() {
+        Path file = directory.resolve("concurrent.bin");
+        RequestEventLog eventLog = openLog(file, RING_SIZE);
+        IntStream.range(0, RECORDING_THREADS).parallel().forEach(thread ->
+                IntStream.range(0, RECORDS_PER_THREAD).forEach(i -> {
+                    long now = System.nanoTime();
+                    eventLog.record(UPDATE_TODO, (long) thread * RECORDS_PER_THREAD + i, now, now, SC_OK, 0);
+                }));
+        eventLog.close();
+
+        List<RequestEvent> events = RequestEventLogReader.read(file);
+        Set<Long> ids = events.stream().map(RequestEvent::getId).collect(Collectors.toSet());
+        Assert.assertEquals(ids.size(), events.size(), "An event was written more than once");
+        Assert.assertEquals(events.size() + eventLog.getDropped(), (long) RECORDING_THREADS * RECORDS_PER_THREAD,
+                "Written and dropped events do not add up to the published ones");
+    }
+
+    @DataProvider
+    public Object[][] transports() {
+        return new Object[][]{{Transport.JDK}, {Transport.REST_ASSURED}};
+    }
+
+    @Test(description = "Client requests are published to the log", groups = {"positive"}, dataProvider = "transports")
+    @Tag("positive")
+    @Description("Verify that the API client records operation, id, status code and response size of its requests")
+    public void testClientRequestsRecorded(Transport transport) {
+        Path file = directory.resolve(transport + ".bin");
+        StubTodoServer server = new StubTodoServer(0, ENDPOINT, "admin", "admin");
+        server.start();
+        RequestEventLog eventLog = openLog(file, RING_SIZE);
+        try (TodoTransport todoTransport = newTransportFactory(server.getPort()).create(transport)) {
+            TodoApiClient client = newClient(server.getPort(), todoTransport, eventLog);
+            client.createTodo(new TodoItem(7L, "Logged", false));
+            Assert.assertEquals(client.getTodos(0, 10).size(), 1, "Created todo was not listed");
+            client.deleteTodo(7L);
+        } finally {
+            eventLog.close();
+            server.stop();
+        }
+
+        List<RequestEvent> events = RequestEventLogReader.read(file);
+        Assert.assertEquals(events.stream().map(RequestEvent::getOperation).collect(Collectors.toList()),
+                List.of(CREATE_TODO, GET_TODOS, DELETE_TODO), "Recorded operations do not match");
+        Assert.assertEquals(events.get(0).getId(), 7, "Created todo id does not match");
+        Assert.assertEquals(events.get(0).getStatusCode(), SC_CREATED, "Create status code does not match");
+        Assert.assertEquals(events.get(1).getId(), RequestEventLog.NO_ID, "A list request should not carry an id");
+        Assert.assertTrue(events.get(1).getBytes() > 0, "List response size was not recorded");
+    }
+
+    @Test(description = "A disabled log records nothing", groups = {"negative"})
+    @Tag("negative")
+    @Description("Verify that a disabled event log does not create its file")
+    public void testDisabledLog() {
+        EventLogConfig config = new EventLogConfig();
+        config.setFile(directory.resolve("disabled.bin"));
+        RequestEventLog eventLog = new RequestEventLog(config);
+        eventLog.record(GET_TODOS, RequestEventLog.NO_ID, 0, 1, SC_OK, 0);
+        eventLog.close();
+
+        Assert.assertFalse(eventLog.isEnabled(), "Log should be disabled");
+        Assert.assertFalse(Files.exists(directory.resolve("disabled.bin")), "Disabled log created its file");
+    }
+
+    @Test(description = "Reading a file that is not an event log fails", groups = {"negative"},
+            expectedExceptions = IllegalArgumentException.class)
+    @Tag("negative")
+    @Description("Verify that the reader rejects a file without the event log header")
+    public void testReadRejectsForeignFile() throws IOException {
+        Path file = Files.writeString(directory.resolve("foreign.bin"), "operation,id,start_ms,latency_ms,status,bytes\n");
+        RequestEventLogReader.read(file);
+    }
+
+    @Step("Open an event log with a ring of {ringSize} events")
+    private RequestEventLog openLog(Path file, int ringSize) {
+        EventLogConfig config = new EventLogConfig();
+        config.setEnabled(true);
+        config.setFile(file);
+        config.setRingSize(ringSize);
+        return new RequestEventLog(config);
+    }
+
+    private static TodoTransportFactory newTransportFactory(int port) {
+        return new TodoTransportFactory(newAppConfig(port), HttpClient.newHttpClient(), new ObjectMapper());
+    }
+
+    private static TodoApiClient newClient(int port, TodoTransport todoTransport, RequestEventLog eventLog) {
+        return new TodoApiClient(newAppConfig(port), new LatencyRecorder(), todoTransport, new CreatedTodoRegistry(),
+                eventLog, new TrafficRecorder(new ReplayConfig(), new ObjectMapper()));
+    }
+
+    private static AppConfig newAppConfig(int port) {
+        AppConfig appConfig = new AppConfig();
+        appConfig.setBaseUrl("http://localhost:" + port);
+        appConfig.setTodosEndpoint(ENDPOINT);
+        appConfig.setContentType("application/json");
+        appConfig.setAdminUsername("admin");
+        appConfig.setAdminPassword("admin");
+        appConfig.setMaxConnections(4);
+        return appConfig;
+    }
+
+}
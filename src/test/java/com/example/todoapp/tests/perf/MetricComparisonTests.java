@@ -0,0 +1,140 @@
+package com.example.todoapp.tests.perf;
+
+import com.example.todoapp.metrics.TodoOperation;
+import com.example.todoapp.perf.BenchmarkMetric;
+import com.example.todoapp.perf.BenchmarkTrials;
+import com.example.todoapp.perf.MetricComparison;
+import com.example.todoapp.perf.RegressionBenchmark;
+import io.qameta.allure.Description;
+import io.qameta.allure.testng.Tag;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Unit tests for the bootstrap comparison of the performance regression gate.
+ */
+public class MetricComparisonTests {
+
+    private static final int RESAMPLES = 10_000;
+    private static final double CONFIDENCE = 0.99;
+    private static final double TOLERANCE = 0.05;
+    private static final double[] BASELINE_P99 = {10.2, 9.8, 10.5, 9.6, 10.1, 10.4, 9.9, 10.0, 9.7, 10.3};
+
+    @Test(description = "Trial noise is not a regression", groups = {"positive"})
+    @Tag("positive")
+    @Description("Verify that trials from the same distribution, in a different order, are neither a regression nor an "
+            + "improvement")
+    public void testSameDistribution() {
+        double[] current = {10.0, 10.4, 9.6, 10.3, 9.9, 10.2, 9.7, 10.5, 9.8, 10.1};
+
+        MetricComparison comparison = compare(BenchmarkMetric.P99, BASELINE_P99, current);
+
+        Assert.assertEquals(comparison.getChange(), 0.0, 1e-9, "Change of equal means does not match");
+        Assert.assertTrue(comparison.getChangeLow() < 0 && comparison.getChangeHigh() > 0, "Interval does not contain 0");
+        Assert.assertFalse(comparison.isRegression(), "Noise flagged as a regression");
+        Assert.assertFalse(comparison.isImprovement(), "Noise flagged as an improvement");
+    }
+
+    @Test(description = "Slower latency is a regression", groups = {"negative"})
+    @Tag("negative")
+    @Description("Verify that a p99 30% above the baseline across all trials is flagged")
+    public void testLatencyRegression() {
+        MetricComparison comparison = compare(BenchmarkMetric.P99, BASELINE_P99, scaled(BASELINE_P99, 1.3));
+
+        Assert.assertEquals(comparison.getChange(), 0.3, 1e-9, "Change does not match");
+        Assert.assertTrue(comparison.getChangeLow() > TOLERANCE, "Interval not beyond the tolerance");
+        Assert.assertTrue(comparison.isRegression(), "Slower p99 not flagged");
+    }
+
+    @Test(description = "Lower throughput is a regression", groups = {"negative"})
+    @Tag("negative")
+    @Description("Verify that for a metric where higher is better a drop is flagged and a rise is an improvement")
+    public void testThroughputDirection() {
+        double[] baseline = scaled(BASELINE_P99, 100);
+
+        Assert.assertTrue(compare(BenchmarkMetric.THROUGHPUT, baseline, scaled(baseline, 0.7)).isRegression(),
+                "Throughput drop not flagged");
+        MetricComparison rise = compare(BenchmarkMetric.THROUGHPUT, baseline, scaled(baseline, 1.3));
+        Assert.assertFalse(rise.isRegression(), "Throughput rise flagged as a regression");
+        Assert.assertTrue(rise.isImprovement(), "Throughput rise not an improvement");
+    }
+
+    @Test(description = "A shift within the tolerance is not a regression", groups = {"positive"})
+    @Tag("positive")
+    @Description("Verify that a small but consistent slowdown does not fail the gate when it stays within the tolerance")
+    public void testShiftWithinTolerance() {
+        MetricComparison comparison = compare(BenchmarkMetric.P50, BASELINE_P99, scaled(BASELINE_P99, 1.02));
+
+        Assert.assertFalse(comparison.isRegression(), "Slowdown within the tolerance flagged");
+    }
+
+    @Test(description = "A rise from a zero baseline is a change", groups = {"negative"})
+    @Tag("negative")
+    @Description("Verify that latency rising from a zero baseline is a regression, throughput rising from zero an "
+            + "improvement, and zero staying zero neither")
+    public void testRiseFromZeroBaseline() {
+        double[] zero = new double[BASELINE_P99.length];
+
+        MetricComparison latency = compare(BenchmarkMetric.P99, zero, BASELINE_P99);
+        Assert.assertEquals(latency.getChange(), Double.POSITIVE_INFINITY, "Rise from zero is not an infinite change");
+        Assert.assertTrue(latency.isRegression(), "Latency rising from zero not flagged");
+        Assert.assertTrue(compare(BenchmarkMetric.THROUGHPUT, zero, BASELINE_P99).isImprovement(),
+                "Throughput rising from zero not an improvement");
+        MetricComparison unchanged = compare(BenchmarkMetric.P99, zero, zero);
+        Assert.assertEquals(unchanged.getChange(), 0.0, "Zero staying zero is a change");
+        Assert.assertFalse(unchanged.isRegression(), "Zero staying zero flagged");
+    }
+
+    @Test(description = "Invalid bootstrap settings are rejected", groups = {"negative"})
+    @Tag("negative")
+    @Description("Verify that a comparison without resamples or with a confidence outside (0, 1) is rejected")
+    public void testInvalidBootstrapSettings() {
+        Assert.assertThrows(IllegalArgumentException.class, () -> MetricComparison.compare(TodoOperation.GET_TODOS,
+                BenchmarkMetric.P99, BASELINE_P99, BASELINE_P99, 0, CONFIDENCE, TOLERANCE, new SplittableRandom(1)));
+        Assert.assertThrows(IllegalArgumentException.class, () -> MetricComparison.compare(TodoOperation.GET_TODOS,
+                BenchmarkMetric.P99, BASELINE_P99, BASELINE_P99, RESAMPLES, 1, TOLERANCE, new SplittableRandom(1)));
+    }
+
+    @Test(description = "Trials survive a CSV round trip", groups = {"positive"})
+    @Tag("positive")
+    @Description("Verify that stored baseline trials are read back in order and render in the comparison table")
+    public void testTrialsCsvRoundTrip() {
+        BenchmarkTrials trials = new BenchmarkTrials();
+        for (double value : BASELINE_P99) {
+            trials.add(TodoOperation.GET_TODOS, BenchmarkMetric.P99, value);
+        }
+
+        BenchmarkTrials read = BenchmarkTrials.fromCsv(trials.toCsv());
+
+        Assert.assertEquals(read.get(TodoOperation.GET_TODOS, BenchmarkMetric.P99), BASELINE_P99, "Trials do not match");
+        Assert.assertEquals(read.get(TodoOperation.CREATE_TODO, BenchmarkMetric.P99).length, 0, "Unmeasured metric has trials");
+        String table = RegressionBenchmark.comparisonTable(List.of(compare(BenchmarkMetric.P99, BASELINE_P99,
+                scaled(BASELINE_P99, 1.3))), CONFIDENCE);
+        Assert.assertTrue(table.contains("REGRESSION"), "Table has no regression verdict:\n" + table);
+    }
+
+    @Test(description = "A file without the trials header is rejected", groups = {"negative"},
+            expectedExceptions = IllegalArgumentException.class)
+    @Tag("negative")
+    @Description("Verify that a foreign file is not silently read as an empty baseline")
+    public void testForeignCsvRejected() {
+        BenchmarkTrials.fromCsv("operation,count\nGET_TODOS,10\n");
+    }
+
+    private static MetricComparison compare(BenchmarkMetric metric, double[] baseline, double[] current) {
+        return MetricComparison.compare(TodoOperation.GET_TODOS, metric, baseline, current, RESAMPLES, CONFIDENCE,
+                TOLERANCE, new SplittableRandom(1));
+    }
+
+    private static double[] scaled(double[] trials, double factor) {
+        double[] scaled = new double[trials.length];
+        for (int i = 0; i < trials.length; i++) {
+            scaled[i] = trials[i] * factor;
+        }
+        return scaled;
+    }
+
+}
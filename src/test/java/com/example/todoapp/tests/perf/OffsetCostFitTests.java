@@ -0,0 +1,71 @@
+package com.example.todoapp.tests.perf;
+
+import com.example.todoapp.perf.OffsetCostFit;
+import com.example.todoapp.perf.PaginationCostReport;
+import com.example.todoapp.perf.PaginationSample;
+import io.qameta.allure.Description;
+import io.qameta.allure.testng.Tag;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.util.List;
+import java.util.function.IntToDoubleFunction;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * Unit tests for the offset cost analysis of the pagination suite.
+ */
+public class OffsetCostFitTests {
+
+    private static final int DATASET_SIZE = 1_000_000;
+    private static final int LIMIT = 10;
+    private static final double MAX_SLOPE = 0.2;
+    private static final double MIN_RATIO = 1.5;
+
+    @Test(description = "Constant offset cost is not flagged", groups = {"positive"})
+    @Tag("positive")
+    @Description("Verify that noisy but flat latency curves fit a slope near zero")
+    public void testFlatCurve() {
+        OffsetCostFit fit = fit(offset -> 2.0 + (offset % 3) * 0.05);
+
+        Assert.assertEquals(fit.getSlope(), 0.0, 0.05, "Slope of a flat curve does not match");
+        Assert.assertFalse(fit.isSuperlinear(), "Flat curve flagged as superlinear");
+    }
+
+    @Test(description = "Scanning offset cost is flagged", groups = {"negative"})
+    @Tag("negative")
+    @Description("Verify that latency growing with the offset, as with a scan past skipped rows, is flagged")
+    public void testScanningCurve() {
+        OffsetCostFit fit = fit(offset -> 1.0 + offset * 1e-5);
+
+        Assert.assertTrue(fit.getSlope() > MAX_SLOPE, "Slope of a scanning curve is too low: " + fit.getSlope());
+        Assert.assertTrue(fit.getDeepToShallowRatio() > MIN_RATIO, "Deep page ratio does not match");
+        Assert.assertTrue(fit.isSuperlinear(), "Scanning curve not flagged");
+    }
+
+    @Test(description = "Report renders CSV and chart", groups = {"positive"})
+    @Tag("positive")
+    @Description("Verify that the report lists every sample and fit and plots one line per curve")
+    public void testReportRendering() {
+        List<PaginationSample> curve = curve(offset -> 1.0);
+        PaginationCostReport report = new PaginationCostReport(curve, List.of(OffsetCostFit.fit(curve, MAX_SLOPE, MIN_RATIO)));
+
+        Assert.assertEquals(report.samplesCsv().lines().count(), curve.size() + 1, "Sample rows do not match");
+        Assert.assertTrue(report.fitsCsv().contains(DATASET_SIZE + "," + LIMIT + ",0.000,1.00,false"), "Fit row does not match");
+        Assert.assertTrue(report.latencyChartSvg().contains("<polyline"), "Chart has no curve");
+        Assert.assertTrue(report.getSuperlinear().isEmpty(), "Flat curve reported as superlinear");
+    }
+
+    private static OffsetCostFit fit(IntToDoubleFunction millisAtOffset) {
+        return OffsetCostFit.fit(curve(millisAtOffset), MAX_SLOPE, MIN_RATIO);
+    }
+
+    private static List<PaginationSample> curve(IntToDoubleFunction millisAtOffset) {
+        return IntStream.concat(IntStream.of(0), IntStream.rangeClosed(1, 5).map(power -> (int) Math.pow(10, power)))
+                .mapToObj(offset -> new PaginationSample(DATASET_SIZE, LIMIT, offset, LIMIT,
+                        millisAtOffset.applyAsDouble(offset), millisAtOffset.applyAsDouble(offset)))
+                .collect(Collectors.toList());
+    }
+
+}
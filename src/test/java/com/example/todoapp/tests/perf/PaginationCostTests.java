@@ -0,0 +1,46 @@
+package com.example.todoapp.tests.perf;
+
+import com.example.todoapp.perf.PaginationCostReport;
+import com.example.todoapp.perf.PaginationCostSuite;
+import com.example.todoapp.tests.BaseTodoTestingApplicationTests;
+import io.qameta.allure.Allure;
+import io.qameta.allure.Description;
+import io.qameta.allure.Step;
+import io.qameta.allure.testng.Tag;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+/**
+ * Characterizes page latency against offset on datasets of {@code perf.pagination.dataset-sizes} todos.
+ * <p>
+ * Part of the {@code perf} group, which only {@code testng-perf.xml} runs.
+ */
+public class PaginationCostTests extends BaseTodoTestingApplicationTests {
+
+    @Autowired
+    private PaginationCostSuite paginationCostSuite;
+
+    @Test(description = "Page latency does not grow with the offset", groups = {PERF_GROUP})
+    @Tag(PERF_GROUP)
+    @Description("Verify that no dataset size and page size shows page latency growing with the offset")
+    public void testOffsetCostIsFlat() {
+        PaginationCostReport report = runSuite();
+
+        attach(report);
+        Assert.assertTrue(report.getSuperlinear().isEmpty(), "Page latency grows with the offset: " + report.getSuperlinear());
+    }
+
+    @Step("Seed datasets and sweep offsets and limits")
+    private PaginationCostReport runSuite() {
+        return paginationCostSuite.run();
+    }
+
+    @Step("Attach latency curves")
+    private void attach(PaginationCostReport report) {
+        Allure.addAttachment(PaginationCostSuite.CHART_FILE, "image/svg+xml", report.latencyChartSvg(), ".svg");
+        Allure.addAttachment(PaginationCostSuite.SAMPLES_FILE, "text/csv", report.samplesCsv(), ".csv");
+        Allure.addAttachment(PaginationCostSuite.FITS_FILE, "text/csv", report.fitsCsv(), ".csv");
+    }
+
+}
@@ -0,0 +1,103 @@
+package com.example.todoapp.tests.perf;
+
+import com.example.todoapp.clients.transport.ByteBufferBody;
+import com.example.todoapp.clients.transport.Transport;
+import com.example.todoapp.clients.transport.TodoTransport;
+import com.example.todoapp.clients.transport.TodoTransportFactory;
+import com.example.todoapp.clients.transport.TransportRequest;
+import com.example.todoapp.config.AppConfig;
+import com.example.todoapp.model.TodoItem;
+import com.example.todoapp.perf.PayloadBodies;
+import com.example.todoapp.perf.PayloadBodySource;
+import com.example.todoapp.stub.StubTodoServer;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.qameta.allure.Description;
+import io.qameta.allure.Step;
+import io.qameta.allure.testng.Tag;
+import org.testng.Assert;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+
+import java.net.http.HttpClient;
+import java.util.List;
+
+import static org.apache.http.HttpStatus.SC_CREATED;
+
+/**
+ * Sends buffer-backed todo bodies through every transport to an in-process stub server.
+ */
+public class PayloadBodyTests {
+
+    private static final String ENDPOINT = "/todos";
+    private static final int TEXT_BYTES = 300_000;
+
+    private StubTodoServer server;
+    private TodoTransportFactory transportFactory;
+
+    @BeforeClass(alwaysRun = true)
+    public void startServer() {
+        server = new StubTodoServer(0, ENDPOINT, "admin", "admin");
+        server.start();
+        AppConfig appConfig = new AppConfig();
+        appConfig.setBaseUrl("http://localhost:" + server.getPort());
+        appConfig.setTodosEndpoint(ENDPOINT);
+        appConfig.setContentType("application/json");
+        appConfig.setMaxConnections(4);
+        transportFactory = new TodoTransportFactory(appConfig, HttpClient.newHttpClient(), new ObjectMapper());
+    }
+
+    @AfterClass(alwaysRun = true)
+    public void stopServer() {
+        server.stop();
+    }
+
+    @DataProvider
+    public Object[][] transportsAndSources() {
+        return new Object[][]{
+                {Transport.NIO, PayloadBodySource.MAPPED},
+                {Transport.NIO, PayloadBodySource.DIRECT},
+                {Transport.JDK, PayloadBodySource.MAPPED},
+                {Transport.APACHE, PayloadBodySource.DIRECT},
+                {Transport.REST_ASSURED, PayloadBodySource.MAPPED},
+        };
+    }
+
+    @Test(description = "Buffer-backed bodies arrive intact", groups = {"positive"}, dataProvider = "transportsAndSources")
+    @Tag("positive")
+    @Description("Verify that a todo body built from a mapped file or direct buffer is stored with its full text, "
+            + "and that a body can be sent more than once")
+    public void testBufferBodyRoundTrip(Transport transport, PayloadBodySource source) {
+        long firstId = 1 + transport.ordinal() * 10L + source.ordinal() * 2L;
+        try (PayloadBodies bodies = new PayloadBodies(source); TodoTransport todoTransport = transportFactory.create(transport)) {
+            ByteBufferBody body = bodies.body(firstId, TEXT_BYTES);
+            Assert.assertEquals(send(todoTransport, body), SC_CREATED, "First send was not accepted");
+            Assert.assertEquals(send(todoTransport, bodies.body(firstId + 1, TEXT_BYTES)), SC_CREATED, "Second send was not accepted");
+            Assert.assertEquals(body.toByteArray().length, body.length(), "Body was consumed by sending it");
+        }
+
+        for (long id = firstId; id <= firstId + 1; id++) {
+            long todoId = id;
+            TodoItem stored = server.getStore().page(0, Long.MAX_VALUE).stream()
+                    .filter(todo -> todo.getId() == todoId)
+                    .findFirst()
+                    .orElseThrow(() -> new AssertionError("Todo " + todoId + " was not stored"));
+            assertText(stored.getText());
+        }
+    }
+
+    @Step("Post the body")
+    private static int send(TodoTransport transport, ByteBufferBody body) {
+        return transport.execute(TransportRequest.post(ENDPOINT, body)).getStatusCode();
+    }
+
+    private static void assertText(String text) {
+        Assert.assertEquals(text.length(), TEXT_BYTES, "Stored text length does not match");
+        for (int position : List.of(0, 1, TEXT_BYTES / 2, TEXT_BYTES - 1)) {
+            Assert.assertEquals((byte) text.charAt(position), PayloadBodies.textByteAt(position),
+                    "Stored text differs at " + position);
+        }
+    }
+
+}
@@ -0,0 +1,44 @@
+package com.example.todoapp.tests.perf;
+
+import com.example.todoapp.perf.PayloadSizeResult;
+import com.example.todoapp.perf.PayloadSizeSuite;
+import com.example.todoapp.tests.BaseTodoTestingApplicationTests;
+import io.qameta.allure.Allure;
+import io.qameta.allure.Description;
+import io.qameta.allure.Step;
+import io.qameta.allure.testng.Tag;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.util.List;
+
+/**
+ * Creates and reads back todos with texts of {@code perf.payload.sizes} bytes.
+ * <p>
+ * Part of the {@code perf} group, which only {@code testng-perf.xml} runs.
+ */
+public class PayloadSizeTests extends BaseTodoTestingApplicationTests {
+
+    @Autowired
+    private PayloadSizeSuite payloadSizeSuite;
+
+    @Test(description = "Accepted payloads are returned intact", groups = {PERF_GROUP})
+    @Tag(PERF_GROUP)
+    @Description("Verify that every todo the server accepts, at any text size, is read back with its full text")
+    public void testPayloadSizeSweep() {
+        List<PayloadSizeResult> results = runSweep();
+
+        Allure.addAttachment(PayloadSizeSuite.RESULTS_FILE, "text/csv", PayloadSizeSuite.resultsCsv(results), ".csv");
+        Assert.assertTrue(results.get(0).isAccepted(), "Smallest payload was rejected: " + results.get(0).getRejected());
+        for (PayloadSizeResult result : results) {
+            Assert.assertEquals(result.getMismatches(), 0, "Texts of " + result.getTextBytes() + " bytes came back altered");
+        }
+    }
+
+    @Step("Sweep text sizes")
+    private List<PayloadSizeResult> runSweep() {
+        return payloadSizeSuite.run();
+    }
+
+}
@@ -0,0 +1,66 @@
+package com.example.todoapp.tests.perf;
+
+import com.example.todoapp.config.RegressionGateConfig;
+import com.example.todoapp.perf.BenchmarkTrials;
+import com.example.todoapp.perf.MetricComparison;
+import com.example.todoapp.perf.RegressionBenchmark;
+import com.example.todoapp.tests.BaseTodoTestingApplicationTests;
+import io.qameta.allure.Allure;
+import io.qameta.allure.Description;
+import io.qameta.allure.Step;
+import io.qameta.allure.testng.Tag;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Runs the fixed regression benchmark and compares it with the baseline in {@code perf.regression.baseline-file}, or
+ * stores it as the new baseline with {@code -Dperf.regression.update-baseline=true}. Without a baseline the test fails,
+ * since a skipped gate would let the build pass unchecked.
+ * <p>
+ * Part of the {@code perf} group, which only {@code testng-regression.xml} ({@code mvn -Pperf test}) runs.
+ */
+public class PerformanceRegressionTests extends BaseTodoTestingApplicationTests {
+
+    @Autowired
+    private RegressionBenchmark regressionBenchmark;
+
+    @Autowired
+    private RegressionGateConfig regressionGateConfig;
+
+    @Test(description = "Throughput and latency have not regressed from the baseline", groups = {PERF_GROUP})
+    @Tag(PERF_GROUP)
+    @Description("Verify that no operation's throughput, p50 or p99 is significantly worse than in the baseline trials")
+    public void testNoRegressionAgainstBaseline() {
+        Path baselineFile = Path.of(regressionGateConfig.getBaselineFile());
+        if (!regressionGateConfig.isUpdateBaseline() && !Files.exists(baselineFile)) {
+            Assert.fail("No baseline at " + baselineFile + ", store one with -Dperf.regression.update-baseline=true");
+        }
+        BenchmarkTrials current = runBenchmark();
+        Allure.addAttachment(RegressionBenchmark.TRIALS_FILE, "text/csv", current.toCsv(), ".csv");
+        if (regressionGateConfig.isUpdateBaseline()) {
+            current.write(baselineFile);
+            return;
+        }
+
+        List<MetricComparison> comparisons = regressionBenchmark.compare(BenchmarkTrials.read(baselineFile), current);
+        String report = regressionBenchmark.writeReport(comparisons);
+        Allure.addAttachment(RegressionBenchmark.REPORT_FILE, "text/plain", report, ".txt");
+        List<String> regressions = comparisons.stream()
+                .filter(MetricComparison::isRegression)
+                .map(comparison -> comparison.getOperation() + " " + comparison.getMetric())
+                .collect(Collectors.toList());
+        Assert.assertTrue(regressions.isEmpty(), "Regressions against " + baselineFile + ": " + regressions + "\n" + report);
+    }
+
+    @Step("Run the benchmark trials")
+    private BenchmarkTrials runBenchmark() {
+        return regressionBenchmark.run();
+    }
+
+}
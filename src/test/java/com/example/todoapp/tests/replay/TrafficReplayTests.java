@@ -0,0 +1,240 @@
+package com.example.todoapp.tests.replay;
+
+import com.example.todoapp.clients.CreatedTodoRegistry;
+import com.example.todoapp.clients.TodoApiClient;
+import com.example.todoapp.clients.transport.TodoTransport;
+import com.example.todoapp.clients.transport.TodoTransportFactory;
+import com.example.todoapp.clients.transport.Transport;
+import com.example.todoapp.clients.transport.TransportRequest;
+import com.example.todoapp.config.AppConfig;
+import com.example.todoapp.config.EventLogConfig;
+import com.example.todoapp.config.ReplayConfig;
+import com.example.todoapp.metrics.LatencyRecorder;
+import com.example.todoapp.metrics.RequestEventLog;
+import com.example.todoapp.model.TodoItem;
+import com.example.todoapp.replay.RecordedExchange;
+import com.example.todoapp.replay.ReplayResult;
+import com.example.todoapp.replay.TrafficRecorder;
+import com.example.todoapp.replay.TrafficRecording;
+import com.example.todoapp.replay.TrafficReplayer;
+import com.example.todoapp.stub.StubTodoServer;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.qameta.allure.Description;
+import io.qameta.allure.Step;
+import io.qameta.allure.testng.Tag;
+import org.testng.Assert;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.net.http.HttpClient;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import static com.example.todoapp.metrics.TodoOperation.*;
+import static org.apache.http.HttpStatus.*;
+
+/**
+ * Records API client traffic against one in-process stub server and replays it against another.
+ */
+public class TrafficReplayTests {
+
+    private static final String ENDPOINT = "/todos";
+    private static final long[] RECORDED_IDS = {11, 12, 13};
+    private static final long STEP_MS = 100;
+    private static final int TIMED_STEPS = 3;
+    private static final int RECORDED_EXCHANGES = 1000;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private Path directory;
+    private StubTodoServer recordedServer;
+    private StubTodoServer replayServer;
+
+    @BeforeMethod(alwaysRun = true)
+    public void setUp() throws IOException {
+        directory = Files.createTempDirectory("traffic");
+        recordedServer = startServer();
+        replayServer = startServer();
+    }
+
+    @AfterMethod(alwaysRun = true)
+    public void tearDown() throws IOException {
+        recordedServer.stop();
+        replayServer.stop();
+        try (var files = Files.list(directory)) {
+            for (Path file : files.collect(Collectors.toList())) {
+                Files.delete(file);
+            }
+        }
+        Files.delete(directory);
+    }
+
+    @DataProvider
+    public Object[][] replayTransports() {
+        return new Object[][]{{Transport.JDK}, {Transport.REST_ASSURED}};
+    }
+
+    @Test(description = "Recorded traffic replays against a fresh server", groups = {"positive"},
+            dataProvider = "replayTransports")
+    @Tag("positive")
+    @Description("Verify that client traffic is recorded with its bodies and statuses, and that replaying it against an "
+            + "empty server reproduces the same todos under rewritten ids with the same status codes")
+    public void testRecordAndReplay(Transport transport) {
+        Path recording = directory.resolve("traffic.bin");
+        recordTraffic(recording);
+
+        List<RecordedExchange> exchanges = TrafficRecording.read(recording);
+        Assert.assertEquals(exchanges.stream().map(RecordedExchange::getOperation).collect(Collectors.toList()),
+                List.of(CREATE_TODO, CREATE_TODO, CREATE_TODO, UPDATE_TODO, GET_TODOS, DELETE_TODO,
+                        DELETE_TODO_EXPECTING_STATUS_CODE), "Recorded operations do not match");
+        Assert.assertEquals(exchanges.get(6).getStatusCode(), SC_NOT_FOUND, "Recorded status code does not match");
+        Assert.assertTrue(new String(exchanges.get(3).getBody()).contains("Updated"), "Recorded body does not match");
+
+        ReplayResult result = replay(replayServer, transport, exchanges, 0);
+        Assert.assertEquals(result.getExchanges(), exchanges.size(), "Replayed exchange count does not match");
+        Assert.assertEquals(result.getFailures(), 0, "Replayed requests failed");
+        Assert.assertEquals(result.getStatusMismatches(), 0, "Replayed status codes differ from the recording");
+
+        List<TodoItem> replayed = listTodos(replayServer);
+        Assert.assertEquals(replayed.stream().map(TodoItem::getText).collect(Collectors.toSet()),
+                Set.of("Updated 11", "Todo 12"), "Replayed todos do not match the recorded ones");
+        Set<Long> recordedIds = Set.of(RECORDED_IDS[0], RECORDED_IDS[1], RECORDED_IDS[2]);
+        Assert.assertTrue(replayed.stream().noneMatch(todo -> recordedIds.contains(todo.getId())),
+                "Replay reused the recorded ids");
+    }
+
+    @Test(description = "Replay follows the recorded schedule scaled by the speed", groups = {"positive"})
+    @Tag("positive")
+    @Description("Verify that replaying at 1x keeps the recorded spacing, 4x compresses it, and max speed ignores it")
+    public void testReplaySpeed() {
+        List<RecordedExchange> exchanges = timedCreates();
+
+        Duration original = replay(replayServer, Transport.JDK, exchanges, 1).getElapsed();
+        Duration faster = replay(replayServer, Transport.JDK, exchanges, 4).getElapsed();
+        Duration unpaced = replay(replayServer, Transport.JDK, exchanges, 0).getElapsed();
+
+        long recordedMs = STEP_MS * (TIMED_STEPS - 1);
+        Assert.assertTrue(original.toMillis() >= recordedMs, "1x replay finished before the recorded duration: " + original);
+        Assert.assertTrue(faster.toMillis() >= recordedMs / 4, "4x replay finished too early: " + faster);
+        Assert.assertTrue(faster.compareTo(original) < 0, "4x replay was not faster than 1x: " + faster + " vs " + original);
+        Assert.assertTrue(unpaced.toMillis() < recordedMs / 4, "Max speed replay waited for the schedule: " + unpaced);
+    }
+
+    @Test(description = "Reading a file that is not a recording fails", groups = {"negative"},
+            expectedExceptions = IllegalArgumentException.class)
+    @Tag("negative")
+    @Description("Verify that the reader rejects a file without the recording header")
+    public void testReadRejectsForeignFile() throws IOException {
+        Path file = Files.writeString(directory.resolve("foreign.bin"), "GET /todos?offset=0&limit=10\n");
+        TrafficRecording.read(file);
+    }
+
+    @Test(description = "Recording drops what it cannot keep", groups = {"negative"})
+    @Tag("negative")
+    @Description("Verify that recording never throws into the request path: a body that cannot be serialized and"
+            + " exchanges beyond a full queue are dropped and counted")
+    public void testRecordingDropsInsteadOfFailing() {
+        Path recording = directory.resolve("dropped.bin");
+        ReplayConfig replayConfig = new ReplayConfig();
+        replayConfig.setRecordFile(recording);
+        replayConfig.setRecordQueueSize(1);
+        TrafficRecorder recorder = new TrafficRecorder(replayConfig, objectMapper);
+        try {
+            long now = System.nanoTime();
+            recorder.record(CREATE_TODO, 1, TransportRequest.post(ENDPOINT, new Object()), now, now, SC_CREATED);
+            Assert.assertEquals(recorder.getDropped(), 1, "Unserializable body not counted as dropped");
+            for (int i = 0; i < RECORDED_EXCHANGES; i++) {
+                recorder.record(GET_TODOS, -1, TransportRequest.get(ENDPOINT, i, 10), now, now, SC_OK);
+            }
+        } finally {
+            recorder.close();
+        }
+
+        Assert.assertEquals(TrafficRecording.read(recording).size() + recorder.getDropped(), RECORDED_EXCHANGES + 1,
+                "Exchanges neither written nor counted as dropped");
+    }
+
+    @Step("Record client traffic")
+    private void recordTraffic(Path recording) {
+        ReplayConfig replayConfig = new ReplayConfig();
+        replayConfig.setRecordFile(recording);
+        replayConfig.setRecordQueueSize(RECORDED_EXCHANGES);
+        TrafficRecorder recorder = new TrafficRecorder(replayConfig, objectMapper);
+        try (TodoTransport todoTransport = newTransportFactory(recordedServer.getPort()).create(Transport.JDK)) {
+            TodoApiClient client = new TodoApiClient(newAppConfig(recordedServer.getPort()), new LatencyRecorder(),
+                    todoTransport, new CreatedTodoRegistry(), new RequestEventLog(new EventLogConfig()), recorder);
+            for (long id : RECORDED_IDS) {
+                client.createTodo(new TodoItem(id, "Todo " + id, false));
+            }
+            client.updateTodo(RECORDED_IDS[0], new TodoItem(RECORDED_IDS[0], "Updated " + RECORDED_IDS[0], true));
+            client.getTodos(0, 10);
+            client.deleteTodo(RECORDED_IDS[2]);
+            client.deleteTodoExpectingStatusCode(RECORDED_IDS[2]);
+        } finally {
+            recorder.close();
+        }
+    }
+
+    @Step("Replay {exchanges.size} exchanges through {transport} at speed {speed}")
+    private ReplayResult replay(StubTodoServer server, Transport transport, List<RecordedExchange> exchanges, double speed) {
+        try (TodoTransport todoTransport = newTransportFactory(server.getPort()).create(transport)) {
+            return new TrafficReplayer(newAppConfig(server.getPort()), todoTransport, new LatencyRecorder(), objectMapper)
+                    .replay(exchanges, speed);
+        }
+    }
+
+    /**
+     * Two lanes creating todos {@link #STEP_MS} apart.
+     */
+    private List<RecordedExchange> timedCreates() {
+        List<RecordedExchange> exchanges = new ArrayList<>();
+        for (int step = 0; step < TIMED_STEPS; step++) {
+            for (int lane = 0; lane < 2; lane++) {
+                long id = 100 + step * 2L + lane;
+                byte[] body = ("{\"id\":" + id + ",\"text\":\"Timed\",\"completed\":false}").getBytes();
+                exchanges.add(new RecordedExchange(TimeUnit.MILLISECONDS.toNanos(step * STEP_MS), 0, lane, CREATE_TODO,
+                        "POST", ENDPOINT, RecordedExchange.NO_PAGE, RecordedExchange.NO_PAGE, id, false, body, SC_CREATED));
+            }
+        }
+        Path file = directory.resolve("timed.bin");
+        TrafficRecording.write(file, Instant.now(), exchanges);
+        return TrafficRecording.read(file);
+    }
+
+    private List<TodoItem> listTodos(StubTodoServer server) {
+        try (TodoTransport todoTransport = newTransportFactory(server.getPort()).create(Transport.JDK)) {
+            return todoTransport.execute(TransportRequest.get(ENDPOINT, 0, 100)).getTodos();
+        }
+    }
+
+    private static StubTodoServer startServer() {
+        StubTodoServer server = new StubTodoServer(0, ENDPOINT, "admin", "admin");
+        server.start();
+        return server;
+    }
+
+    private TodoTransportFactory newTransportFactory(int port) {
+        return new TodoTransportFactory(newAppConfig(port), HttpClient.newHttpClient(), objectMapper);
+    }
+
+    private static AppConfig newAppConfig(int port) {
+        AppConfig appConfig = new AppConfig();
+        appConfig.setBaseUrl("http://localhost:" + port);
+        appConfig.setTodosEndpoint(ENDPOINT);
+        appConfig.setContentType("application/json");
+        appConfig.setAdminUsername("admin");
+        appConfig.setAdminPassword("admin");
+        appConfig.setMaxConnections(4);
+        return appConfig;
+    }
+
+}
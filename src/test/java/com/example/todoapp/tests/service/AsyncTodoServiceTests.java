@@ -0,0 +1,230 @@
+package com.example.todoapp.tests.service;
+
+import com.example.todoapp.clients.AsyncTodoApiClient;
+import com.example.todoapp.clients.CreatedTodoRegistry;
+import com.example.todoapp.clients.UnexpectedStatusCodeException;
+import com.example.todoapp.config.AppConfig;
+import com.example.todoapp.load.LoadThreads;
+import com.example.todoapp.metrics.LatencyRecorder;
+import com.example.todoapp.metrics.TodoOperation;
+import com.example.todoapp.model.TodoItem;
+import com.example.todoapp.service.AsyncTodoService;
+import com.example.todoapp.service.AsyncTodoServiceImpl;
+import com.example.todoapp.stub.StubTodoServer;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpServer;
+import io.qameta.allure.Description;
+import io.qameta.allure.Step;
+import io.qameta.allure.testng.Tag;
+import org.testng.Assert;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.net.InetSocketAddress;
+import java.net.http.HttpClient;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import static org.apache.http.HttpStatus.*;
+
+/**
+ * Tests AsyncTodoServiceImpl and AsyncTodoApiClient against an in-process stub server.
+ */
+public class AsyncTodoServiceTests {
+
+    private static final String ENDPOINT = "/todos";
+    private static final String ADMIN = "admin";
+    private static final int CONCURRENT_CALLS = 20;
+    private static final long TIMEOUT_SECONDS = 10;
+
+    private StubTodoServer server;
+    private LatencyRecorder latencyRecorder;
+    private CreatedTodoRegistry registry;
+    private AsyncTodoApiClient client;
+    private AsyncTodoService service;
+
+    @BeforeMethod(alwaysRun = true)
+    public void setUp() {
+        server = new StubTodoServer(0, ENDPOINT, ADMIN, ADMIN);
+        server.start();
+        latencyRecorder = new LatencyRecorder();
+        registry = new CreatedTodoRegistry();
+        client = newClient(server.getPort(), ADMIN);
+        service = new AsyncTodoServiceImpl(client);
+    }
+
+    @AfterMethod(alwaysRun = true)
+    public void tearDown() {
+        server.stop();
+    }
+
+    @Test(description = "Todos are listed", groups = {"positive"})
+    @Tag("positive")
+    @Description("Verify that getTodos completes with the requested page")
+    public void testGetTodos() {
+        join(service.createTodo(todo(1)));
+        join(service.createTodo(todo(2)));
+
+        Assert.assertEquals(join(service.getTodos(1, 10)), List.of(todo(2)), "Listed page does not match");
+        Assert.assertEquals(join(client.getTodosExpectingStatusCode(0, 10)), SC_OK, "Status code does not match");
+        Assert.assertEquals(latencyRecorder.snapshot().getHistogram(TodoOperation.GET_TODOS).getTotalCount(), 1,
+                "List latency not recorded");
+    }
+
+    @Test(description = "Invalid list requests fail", groups = {"negative"})
+    @Tag("negative")
+    @Description("Verify that getTodos completes exceptionally with the status code when the server rejects the page")
+    public void testGetTodosUnexpectedStatus() {
+        assertUnexpectedStatus(service.getTodos(-1, 10), SC_BAD_REQUEST);
+        Assert.assertEquals(join(client.getTodosExpectingStatusCode(-1, 10)), SC_BAD_REQUEST, "Status code does not match");
+    }
+
+    @Test(description = "Todos are created", groups = {"positive"})
+    @Tag("positive")
+    @Description("Verify that createTodo stores the todo and that a duplicate id completes exceptionally")
+    public void testCreateTodo() {
+        join(service.createTodo(todo(1)));
+
+        Assert.assertEquals(server.getStore().page(0, Long.MAX_VALUE), List.of(todo(1)), "Todo not stored");
+        assertUnexpectedStatus(service.createTodo(todo(1)), SC_BAD_REQUEST);
+        Assert.assertEquals(join(client.createTodoExpectingStatusCode(todo(1))), SC_BAD_REQUEST, "Status code does not match");
+    }
+
+    @Test(description = "Created todos are registered for the calling thread", groups = {"positive"})
+    @Tag("positive")
+    @Description("Verify that todos created asynchronously are recorded for the thread that made the call, and only on 201")
+    public void testCreatedTodosAreRegistered() {
+        join(client.createTodoExpectingStatusCode(todo(3)));
+        registry.begin();
+
+        join(service.createTodo(todo(1)));
+        Assert.assertEquals(join(client.createTodoExpectingStatusCode(todo(2))), SC_CREATED, "Status code does not match");
+        assertUnexpectedStatus(service.createTodo(todo(1)), SC_BAD_REQUEST);
+        Assert.assertEquals(join(client.createTodoExpectingStatusCode(todo(3))), SC_BAD_REQUEST, "Status code does not match");
+
+        Assert.assertEquals(registry.end(), List.of(1L, 2L), "Created ids do not match");
+    }
+
+    @Test(description = "Todos are updated", groups = {"positive"})
+    @Tag("positive")
+    @Description("Verify that updateTodo changes the todo and that an unknown or malformed id is rejected")
+    public void testUpdateTodo() {
+        join(service.createTodo(todo(1)));
+        TodoItem updated = new TodoItem(1L, "Updated", true);
+
+        join(service.updateTodo(1L, updated));
+
+        Assert.assertEquals(server.getStore().page(0, Long.MAX_VALUE), List.of(updated), "Todo not updated");
+        assertUnexpectedStatus(service.updateTodo(2L, todo(2)), SC_NOT_FOUND);
+        Assert.assertEquals(join(client.updateTodoExpectingStatusCode(2L, todo(2))), SC_NOT_FOUND, "Status code does not match");
+        Assert.assertEquals(join(client.updateTodoWithInvalidIdFormatExpectingStatusCode("not a number", todo(1))), SC_NOT_FOUND,
+                "Status code does not match");
+    }
+
+    @Test(description = "Todos are deleted with Basic authentication", groups = {"positive"})
+    @Tag("positive")
+    @Description("Verify that deleteTodo sends the admin credentials and removes the todo")
+    public void testDeleteTodo() {
+        join(service.createTodo(todo(1)));
+        join(service.createTodo(todo(2)));
+
+        join(service.deleteTodo(1L));
+        Assert.assertEquals(join(client.deleteTodoExpectingStatusCode(2L)), SC_NO_CONTENT, "Status code does not match");
+
+        Assert.assertTrue(server.getStore().page(0, Long.MAX_VALUE).isEmpty(), "Todos not deleted");
+        assertUnexpectedStatus(service.deleteTodo(1L), SC_NOT_FOUND);
+    }
+
+    @Test(description = "Deletes without valid credentials fail", groups = {"negative"})
+    @Tag("negative")
+    @Description("Verify that deletes without credentials or with a wrong password are rejected with 401 Unauthorized")
+    public void testDeleteTodoUnauthorized() {
+        join(service.createTodo(todo(1)));
+
+        Assert.assertEquals(join(client.deleteTodoWithoutAuthorizationExpectingStatusCode(1L)), SC_UNAUTHORIZED,
+                "Delete without credentials not rejected");
+        assertUnexpectedStatus(newClient(server.getPort(), "wrong").deleteTodo(1L), SC_UNAUTHORIZED);
+        Assert.assertEquals(server.getStore().page(0, Long.MAX_VALUE), List.of(todo(1)), "Unauthorized delete removed the todo");
+    }
+
+    @Test(description = "Calls do not block the caller", groups = {"positive"})
+    @Tag("positive")
+    @Description("Verify that one thread can have many requests in flight at once, all waiting on a held server")
+    public void testConcurrentCallsDoNotBlock() throws Exception {
+        CountDownLatch arrived = new CountDownLatch(CONCURRENT_CALLS);
+        CountDownLatch release = new CountDownLatch(1);
+        HttpServer heldServer = HttpServer.create(new InetSocketAddress(0), CONCURRENT_CALLS);
+        ExecutorService executor = LoadThreads.newPerTaskExecutor("held-server", true);
+        heldServer.setExecutor(executor);
+        heldServer.createContext(ENDPOINT, exchange -> {
+            try (exchange) {
+                exchange.getRequestBody().close();
+                arrived.countDown();
+                release.await();
+                exchange.sendResponseHeaders(SC_CREATED, -1);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        heldServer.start();
+        try {
+            AsyncTodoService heldService = new AsyncTodoServiceImpl(newClient(heldServer.getAddress().getPort(), ADMIN));
+            List<CompletableFuture<Void>> calls = new ArrayList<>();
+            for (int id = 1; id <= CONCURRENT_CALLS; id++) {
+                calls.add(heldService.createTodo(todo(id)));
+            }
+
+            Assert.assertTrue(arrived.await(TIMEOUT_SECONDS, TimeUnit.SECONDS), "Requests were not in flight at the same time");
+            Assert.assertTrue(calls.stream().noneMatch(CompletableFuture::isDone), "A call completed before the server answered");
+            release.countDown();
+            CompletableFuture.allOf(calls.toArray(CompletableFuture[]::new)).get(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        } finally {
+            release.countDown();
+            heldServer.stop(0);
+            executor.shutdownNow();
+        }
+    }
+
+    private AsyncTodoApiClient newClient(int port, String adminPassword) {
+        AppConfig appConfig = new AppConfig();
+        appConfig.setBaseUrl("http://localhost:" + port);
+        appConfig.setTodosEndpoint(ENDPOINT);
+        appConfig.setContentType("application/json");
+        appConfig.setAdminUsername(ADMIN);
+        appConfig.setAdminPassword(adminPassword);
+        HttpClient httpClient = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+        return new AsyncTodoApiClient(appConfig, httpClient, new ObjectMapper(), latencyRecorder, registry);
+    }
+
+    @Step("Verify the call fails with status code {statusCode}")
+    private static void assertUnexpectedStatus(CompletableFuture<?> call, int statusCode) {
+        UnexpectedStatusCodeException exception = Assert.expectThrows(UnexpectedStatusCodeException.class, () -> join(call));
+        Assert.assertEquals(exception.getStatusCode(), statusCode, "Status code does not match");
+    }
+
+    private static <T> T join(CompletableFuture<T> call) {
+        try {
+            return call.get(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new CompletionException(e.getCause());
+        } catch (InterruptedException | TimeoutException e) {
+            throw new AssertionError("Call did not complete", e);
+        }
+    }
+
+    private static TodoItem todo(long id) {
+        return new TodoItem(id, "Todo " + id, false);
+    }
+
+}
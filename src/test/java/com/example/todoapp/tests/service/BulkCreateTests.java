@@ -0,0 +1,165 @@
+package com.example.todoapp.tests.service;
+
+import com.example.todoapp.clients.TodoApiClient;
+import com.example.todoapp.clients.UnexpectedStatusCodeException;
+import com.example.todoapp.model.TodoItem;
+import com.example.todoapp.service.BulkCreateFailure;
+import com.example.todoapp.service.BulkCreateOptions;
+import com.example.todoapp.service.BulkCreateProgress;
+import com.example.todoapp.service.BulkCreateResult;
+import com.example.todoapp.service.TodoServiceImpl;
+import io.qameta.allure.Description;
+import io.qameta.allure.Step;
+import io.qameta.allure.testng.Tag;
+import org.testng.Assert;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.LongPredicate;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for TodoService.bulkCreate against a mocked client.
+ */
+public class BulkCreateTests {
+
+    private static final int TOTAL_TODOS = 1000;
+    private static final int MAX_IN_FLIGHT = 8;
+
+    private TodoApiClient todoApiClient;
+    private TodoServiceImpl todoService;
+    private Map<Long, Integer> createCounts;
+    private AtomicInteger inFlight;
+    private AtomicInteger maxInFlight;
+    private volatile LongPredicate failing;
+
+    @BeforeMethod(alwaysRun = true)
+    public void setUp() {
+        todoApiClient = mock(TodoApiClient.class);
+        todoService = new TodoServiceImpl(todoApiClient);
+        createCounts = new ConcurrentHashMap<>();
+        inFlight = new AtomicInteger();
+        maxInFlight = new AtomicInteger();
+        failing = id -> false;
+        doAnswer(invocation -> {
+            maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+            try {
+                Thread.sleep(1);
+                long id = invocation.<TodoItem>getArgument(0).getId();
+                if (failing.test(id)) {
+                    throw new UnexpectedStatusCodeException("CREATE_TODO", 500);
+                }
+                createCounts.merge(id, 1, Integer::sum);
+                return null;
+            } finally {
+                inFlight.decrementAndGet();
+            }
+        }).when(todoApiClient).createTodo(any());
+        when(todoApiClient.inCallerScope(any())).thenAnswer(invocation -> invocation.getArgument(0));
+    }
+
+    @Test(description = "Bulk create sends every todo within the window", groups = {"positive"})
+    @Tag("positive")
+    @Description("Verify that all todos are created, concurrency stays within the window and progress is reported")
+    public void testBulkCreate() {
+        List<BulkCreateProgress> progress = new CopyOnWriteArrayList<>();
+
+        BulkCreateResult result = todoService.bulkCreate(todos(TOTAL_TODOS), options()
+                .withProgressListener(progress::add)
+                .withProgressEvery(100));
+
+        Assert.assertTrue(result.isComplete(), "Bulk create is not complete");
+        Assert.assertEquals(result.getCreated(), TOTAL_TODOS, "Created count does not match");
+        assertCreatedOnce(TOTAL_TODOS);
+        Assert.assertTrue(maxInFlight.get() <= MAX_IN_FLIGHT, "Window exceeded: " + maxInFlight.get());
+        Assert.assertTrue(maxInFlight.get() > 1, "Creates did not run concurrently");
+        Assert.assertEquals(progress.size(), TOTAL_TODOS / 100 + 1, "Progress report count does not match");
+        Assert.assertEquals(progress.get(progress.size() - 1).getCreated(), TOTAL_TODOS, "Final progress does not match");
+    }
+
+    @Test(description = "Failed todos are reported and retried on resume", groups = {"negative"})
+    @Tag("negative")
+    @Description("Verify that failures are reported per item and a resumed run sends only the failed todos")
+    public void testResumeRetriesFailures() throws IOException {
+        Path checkpoint = Files.createTempDirectory("bulk-create").resolve("seed.checkpoint");
+        failing = id -> id % 10 == 0;
+
+        BulkCreateResult first = todoService.bulkCreate(todos(TOTAL_TODOS), options().withCheckpoint(checkpoint));
+
+        Assert.assertFalse(first.isComplete(), "Run with failures reported as complete");
+        Assert.assertEquals(first.getFailed(), TOTAL_TODOS / 10, "Failure count does not match");
+        Set<Long> failedIds = first.getFailures().stream().map(BulkCreateFailure::getId).collect(Collectors.toSet());
+        Assert.assertTrue(failedIds.stream().allMatch(id -> id % 10 == 0), "Wrong todos reported as failed");
+        Assert.assertTrue(first.getFailures().get(0).getError().contains("500"), "Failure does not name the error");
+
+        failing = id -> false;
+        BulkCreateResult second = todoService.bulkCreate(todos(TOTAL_TODOS), options().withCheckpoint(checkpoint));
+
+        Assert.assertTrue(second.isComplete(), "Resumed run is not complete");
+        Assert.assertEquals(second.getCreated(), TOTAL_TODOS / 10, "Resumed run did not send exactly the failed todos");
+        Assert.assertEquals(second.getSkipped(), TOTAL_TODOS - TOTAL_TODOS / 10, "Skipped count does not match");
+        assertCreatedOnce(TOTAL_TODOS);
+    }
+
+    @Test(description = "Interrupted run resumes where it stopped", groups = {"negative"})
+    @Tag("negative")
+    @Description("Verify that a run aborted by a failing stream resumes without creating any todo twice")
+    public void testResumeAfterInterruption() throws IOException {
+        Path checkpoint = Files.createTempDirectory("bulk-create").resolve("seed.checkpoint");
+        Stream<TodoItem> interrupted = todos(TOTAL_TODOS).peek(todo -> {
+            if (todo.getId() == TOTAL_TODOS / 2) {
+                throw new IllegalStateException("Seed process killed");
+            }
+        });
+
+        Assert.assertThrows(IllegalStateException.class, () -> todoService.bulkCreate(interrupted, options().withCheckpoint(checkpoint)));
+        int createdBefore = createCounts.size();
+        BulkCreateResult resumed = todoService.bulkCreate(todos(TOTAL_TODOS), options().withCheckpoint(checkpoint));
+
+        Assert.assertTrue(resumed.isComplete(), "Resumed run is not complete");
+        Assert.assertEquals(resumed.getSkipped(), createdBefore, "Resumed run did not skip the created todos");
+        assertCreatedOnce(TOTAL_TODOS);
+    }
+
+    @Test(description = "Bulk create stops after too many failures", groups = {"negative"})
+    @Tag("negative")
+    @Description("Verify that no further todos are sent once the failure limit is reached")
+    public void testStopsAfterMaxFailures() {
+        failing = id -> true;
+
+        BulkCreateResult result = todoService.bulkCreate(todos(TOTAL_TODOS), options().withMaxFailures(20));
+
+        Assert.assertFalse(result.isComplete(), "Aborted run reported as complete");
+        Assert.assertTrue(result.getFailed() >= 20 && result.getFailed() <= 20 + MAX_IN_FLIGHT,
+                "Run did not stop at the failure limit: " + result.getFailed());
+    }
+
+    private BulkCreateOptions options() {
+        return BulkCreateOptions.defaults().withMaxInFlight(MAX_IN_FLIGHT).withCheckpointEvery(50);
+    }
+
+    @Step("Stream {count} todos")
+    private static Stream<TodoItem> todos(int count) {
+        return LongStream.rangeClosed(1, count).mapToObj(id -> new TodoItem(id, "Bulk " + id, false));
+    }
+
+    private void assertCreatedOnce(int count) {
+        Assert.assertEquals(createCounts.size(), count, "Not every todo was created");
+        Assert.assertTrue(createCounts.values().stream().allMatch(times -> times == 1), "A todo was created twice");
+    }
+
+}
@@ -0,0 +1,209 @@
+package com.example.todoapp.tests.service;
+
+import com.example.todoapp.clients.TodoApiClient;
+import com.example.todoapp.clients.TodoPage;
+import com.example.todoapp.config.CacheConfig;
+import com.example.todoapp.model.TodoItem;
+import com.example.todoapp.service.CacheStats;
+import com.example.todoapp.service.CachingTodoService;
+import com.example.todoapp.service.TodoServiceImpl;
+import io.qameta.allure.Description;
+import io.qameta.allure.Step;
+import io.qameta.allure.testng.Tag;
+import org.testng.Assert;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for CachingTodoService.
+ */
+public class CachingTodoServiceTests {
+
+    private static final String ETAG = "\"v1\"";
+    private static final int OFFSET = 0;
+    private static final int LIMIT = 10;
+
+    private TodoServiceImpl delegate;
+    private TodoApiClient todoApiClient;
+    private CacheConfig cacheConfig;
+
+    @BeforeMethod(alwaysRun = true)
+    public void setUp() {
+        delegate = mock(TodoServiceImpl.class);
+        todoApiClient = mock(TodoApiClient.class);
+        cacheConfig = new CacheConfig();
+        cacheConfig.setEnabled(true);
+        cacheConfig.setMaxPages(2);
+        cacheConfig.setTtl(Duration.ofMinutes(1));
+        cacheConfig.setConditional(true);
+    }
+
+    @Test(description = "Fresh pages are served from the cache", groups = {"positive"})
+    @Tag("positive")
+    @Description("Verify that a repeated page request within the TTL does not reach the server")
+    public void testRepeatedReadIsCacheHit() {
+        CachingTodoService service = mockPages(todos(1, 2));
+
+        service.getTodos(OFFSET, LIMIT);
+        List<TodoItem> todos = service.getTodos(OFFSET, LIMIT);
+
+        Assert.assertEquals(todos, todos(1, 2), "Cached page does not match");
+        verify(todoApiClient, times(1)).getTodosIfModified(anyInt(), anyInt(), any(), any());
+        assertStats(service.getStats(), 1, 1, 0);
+    }
+
+    @Test(description = "Writes are applied to the cached pages", groups = {"positive"})
+    @Tag("positive")
+    @Description("Verify that create, update and delete are reflected in the last page without another request")
+    public void testWriteThrough() {
+        CachingTodoService service = mockPages(todos(1, 2));
+        service.getTodos(OFFSET, LIMIT);
+
+        service.createTodo(todo(3));
+        service.updateTodo(1L, new TodoItem(1L, "Updated", true));
+        service.deleteTodo(2L);
+
+        List<TodoItem> todos = service.getTodos(OFFSET, LIMIT);
+        Assert.assertEquals(todos, List.of(new TodoItem(1L, "Updated", true), todo(3)), "Writes were not applied");
+        verify(todoApiClient, times(1)).getTodosIfModified(anyInt(), anyInt(), any(), any());
+    }
+
+    @Test(description = "Pre-serialized writes drop the pages they touch", groups = {"positive"})
+    @Tag("positive")
+    @Description("Verify that a create from a JSON body drops the page ending the list and an update drops the page"
+            + " holding the todo, leaving other pages cached")
+    public void testBodyWritesDropPages() {
+        CachingTodoService service = mockPages(todos(1, 2));
+        when(todoApiClient.getTodosIfModified(eq(2), eq(2), any(), any())).thenReturn(new TodoPage(todos(3), ETAG, null));
+        service.getTodos(OFFSET, 2);
+        service.getTodos(2, 2);
+
+        service.createTodo(4L, new byte[0]);
+        service.getTodos(OFFSET, 2);
+        service.updateTodo(1L, new byte[0]);
+        service.getTodos(OFFSET, 2);
+
+        verify(delegate).createTodo(4L, new byte[0]);
+        verify(todoApiClient, times(2)).getTodosIfModified(eq(OFFSET), eq(2), any(), any());
+        verify(todoApiClient, times(1)).getTodosIfModified(eq(2), eq(2), any(), any());
+        Assert.assertEquals(service.getStats().getInvalidations(), 2, "Invalidation count does not match");
+    }
+
+    @Test(description = "Deletes drop the pages they shift", groups = {"positive"})
+    @Tag("positive")
+    @Description("Verify that deleting a todo before a full page invalidates that page")
+    public void testDeleteInvalidatesShiftedPages() {
+        CachingTodoService service = mockPages(todos(1, 2));
+        when(todoApiClient.getTodosIfModified(eq(2), eq(2), any(), any())).thenReturn(new TodoPage(todos(3, 4), ETAG, null));
+        service.getTodos(OFFSET, 2);
+        service.getTodos(2, 2);
+
+        service.deleteTodo(1L);
+        service.getTodos(2, 2);
+
+        verify(todoApiClient, times(2)).getTodosIfModified(eq(2), eq(2), any(), any());
+        Assert.assertEquals(service.getStats().getInvalidations(), 2, "Invalidation count does not match");
+    }
+
+    @Test(description = "Deletes beyond a short page drop it", groups = {"negative"})
+    @Tag("negative")
+    @Description("Verify that deleting a todo past the end of a cached short page drops that page instead of failing")
+    public void testDeleteBeyondShortPage() {
+        CachingTodoService service = mockPages(todos(1, 2, 3));
+        when(todoApiClient.getTodosIfModified(eq(5), eq(LIMIT), any(), any())).thenReturn(new TodoPage(todos(6), ETAG, null));
+        service.getTodos(OFFSET, LIMIT);
+        service.getTodos(5, LIMIT);
+
+        service.deleteTodo(6L);
+
+        verify(delegate).deleteTodo(6L);
+        Assert.assertTrue(service.getTodos(5, LIMIT).isEmpty(), "Deleted todo still on its page");
+        Assert.assertEquals(service.getTodos(OFFSET, LIMIT), todos(1, 2, 3), "Short page does not match");
+        verify(todoApiClient, times(2)).getTodosIfModified(eq(OFFSET), eq(LIMIT), any(), any());
+        verify(todoApiClient, times(1)).getTodosIfModified(eq(5), eq(LIMIT), any(), any());
+        Assert.assertEquals(service.getStats().getInvalidations(), 1, "Invalidation count does not match");
+    }
+
+    @Test(description = "Expired pages are revalidated", groups = {"positive"})
+    @Tag("positive")
+    @Description("Verify that an expired page is revalidated with its ETag and kept on 304 Not Modified")
+    public void testExpiredPageIsRevalidated() {
+        cacheConfig.setTtl(Duration.ZERO);
+        CachingTodoService service = mockPages(todos(1, 2));
+        when(todoApiClient.getTodosIfModified(OFFSET, LIMIT, ETAG, null)).thenReturn(new TodoPage(null, ETAG, null));
+
+        service.getTodos(OFFSET, LIMIT);
+        List<TodoItem> todos = service.getTodos(OFFSET, LIMIT);
+
+        Assert.assertEquals(todos, todos(1, 2), "Revalidated page does not match");
+        verify(todoApiClient).getTodosIfModified(OFFSET, LIMIT, ETAG, null);
+        assertStats(service.getStats(), 0, 1, 1);
+    }
+
+    @Test(description = "Least recently used pages are evicted", groups = {"positive"})
+    @Tag("positive")
+    @Description("Verify that the cache holds at most cache.max-pages pages")
+    public void testEviction() {
+        CachingTodoService service = mockPages(todos(1, 2));
+
+        service.getTodos(0, LIMIT);
+        service.getTodos(1, LIMIT);
+        service.getTodos(2, LIMIT);
+        service.getTodos(0, LIMIT);
+
+        Assert.assertEquals(service.getStats().getEvictions(), 2, "Eviction count does not match");
+        assertStats(service.getStats(), 0, 4, 0);
+    }
+
+    @Test(description = "Conditional requests can be disabled", groups = {"negative"})
+    @Tag("negative")
+    @Description("Verify that with cache.conditional=false expired pages are reloaded through the delegate")
+    public void testUnconditionalReload() {
+        cacheConfig.setConditional(false);
+        cacheConfig.setTtl(Duration.ZERO);
+        when(delegate.getTodos(OFFSET, LIMIT)).thenReturn(todos(1, 2));
+        CachingTodoService service = new CachingTodoService(delegate, todoApiClient, cacheConfig);
+
+        service.getTodos(OFFSET, LIMIT);
+        service.getTodos(OFFSET, LIMIT);
+
+        verify(delegate, times(2)).getTodos(OFFSET, LIMIT);
+        verifyNoInteractions(todoApiClient);
+        assertStats(service.getStats(), 0, 2, 0);
+    }
+
+    @Step("Serve every page as {todos}")
+    private CachingTodoService mockPages(List<TodoItem> todos) {
+        when(todoApiClient.getTodosIfModified(anyInt(), anyInt(), any(), any())).thenReturn(new TodoPage(todos, ETAG, null));
+        return new CachingTodoService(delegate, todoApiClient, cacheConfig);
+    }
+
+    @Step("Verify {hits} hits, {misses} misses and {revalidations} revalidations")
+    private void assertStats(CacheStats stats, long hits, long misses, long revalidations) {
+        Assert.assertEquals(stats.getHits(), hits, "Hit count does not match");
+        Assert.assertEquals(stats.getMisses(), misses, "Miss count does not match");
+        Assert.assertEquals(stats.getRevalidations(), revalidations, "Revalidation count does not match");
+    }
+
+    private static List<TodoItem> todos(long... ids) {
+        List<TodoItem> todos = new ArrayList<>();
+        for (long id : ids) {
+            todos.add(todo(id));
+        }
+        return todos;
+    }
+
+    private static TodoItem todo(long id) {
+        return new TodoItem(id, "Todo " + id, false);
+    }
+
+}
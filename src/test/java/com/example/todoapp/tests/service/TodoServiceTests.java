@@ -1,37 +1,43 @@
 package com.example.todoapp.tests.service;
 
 import com.example.todoapp.clients.TodoApiClient;
+import com.example.todoapp.fixtures.TestDataConstants;
 import com.example.todoapp.model.TodoItem;
 import com.example.todoapp.service.TodoServiceImpl;
-import com.example.todoapp.tests.BaseTodoTestingApplicationTests;
 import com.example.todoapp.utils.TestDataFactory;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import io.qameta.allure.Description;
 import io.qameta.allure.Step;
 import io.qameta.allure.testng.Tag;
-import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.boot.test.context.SpringBootTest;
-import org.springframework.boot.test.mock.mockito.MockBean;
-import org.springframework.test.annotation.DirtiesContext;
 import org.testng.Assert;
+import org.testng.annotations.BeforeMethod;
 import org.testng.annotations.Test;
 
+import java.io.ByteArrayInputStream;
 import java.util.Arrays;
 import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
 
 import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.Mockito.*;
 
 /**
- * Unit tests for TodoService.
+ * Unit tests for TodoService. The client is a plain Mockito mock rather than a {@code @MockBean}, so these tests do
+ * not start a Spring context of their own.
  */
-public class TodoServiceTests extends BaseTodoTestingApplicationTests {
+public class TodoServiceTests implements TestDataConstants {
 
-    @MockBean
     private TodoApiClient todoApiClient;
-
-    @Autowired
     private TodoServiceImpl todoService;
 
+    @BeforeMethod(alwaysRun = true)
+    public void setUp() {
+        todoApiClient = mock(TodoApiClient.class);
+        todoService = new TodoServiceImpl(todoApiClient);
+    }
+
     @Test(description = "Test retrieving list of todos", groups = {"positive"})
     @Tag("positive")
     @Description("Verify retrieving list of todos")
@@ -79,6 +85,21 @@ public class TodoServiceTests extends BaseTodoTestingApplicationTests {
         deleteTodoAndVerify(todoId);
     }
 
+    @Test(description = "Test streaming all todos across pages", groups = {"positive"})
+    @Tag("positive")
+    @Description("Verify streaming all todos page by page returns every todo in order")
+    public void testStreamAllTodos() {
+        List<TodoItem> mockTodos = IntStream.rangeClosed(START_ID, SMALL_TOTAL_TODOS)
+                .mapToObj(id -> new TodoItem((long) id, DEFAULT_TODO_TEXT + id, false))
+                .collect(Collectors.toList());
+        mockGetTodosAsStream(mockTodos);
+
+        List<TodoItem> todos = streamAllTodos(SMALL_LIMIT);
+
+        Assert.assertEquals(todos, mockTodos, "Streamed todos don't match");
+        verify(todoApiClient, times(SMALL_TOTAL_TODOS / SMALL_LIMIT + 1)).getTodosAsStream(anyInt(), eq(SMALL_LIMIT));
+    }
+
     @Test(description = "Test getTodos with invalid parameters", groups = {"negative"})
     @Tag("negative")
     @Description("Verify service response when getTodos is called with invalid parameters")
@@ -113,6 +134,17 @@ public class TodoServiceTests extends BaseTodoTestingApplicationTests {
         when(todoApiClient.getTodos(anyInt(), anyInt())).thenReturn(mockTodos);
     }
 
+    @Step("Mock API to return pages of todos as JSON")
+    private void mockGetTodosAsStream(List<TodoItem> mockTodos) {
+        ObjectMapper objectMapper = new ObjectMapper();
+        when(todoApiClient.getTodosAsStream(anyInt(), anyInt())).thenAnswer(invocation -> {
+            int offset = invocation.getArgument(0);
+            int limit = invocation.getArgument(1);
+            List<TodoItem> page = mockTodos.subList(Math.min(offset, mockTodos.size()), Math.min(offset + limit, mockTodos.size()));
+            return new ByteArrayInputStream(objectMapper.writeValueAsBytes(page));
+        });
+    }
+
     @Step("Mock API to throw an exception")
     private void mockGetTodosWithException(Exception exception) {
         when(todoApiClient.getTodos(anyInt(), anyInt())).thenThrow(exception);
@@ -148,6 +180,13 @@ public class TodoServiceTests extends BaseTodoTestingApplicationTests {
         return todoService.getTodos(offset, limit);
     }
 
+    @Step("Stream all todos with page size {pageSize}")
+    private List<TodoItem> streamAllTodos(int pageSize) {
+        try (Stream<TodoItem> todos = todoService.streamAll(pageSize)) {
+            return todos.collect(Collectors.toList());
+        }
+    }
+
     @Step("Create a todo and verify")
     private void createTodoAndVerify(TodoItem todoItem) {
         todoService.createTodo(todoItem);
@@ -0,0 +1,154 @@
+package com.example.todoapp.tests.sharding;
+
+import com.example.todoapp.sharding.ShardPlanner;
+import com.example.todoapp.sharding.TestShard;
+import com.example.todoapp.sharding.TestShardScheduler;
+import com.example.todoapp.sharding.TestTimings;
+import com.example.todoapp.tests.BaseTodoTestingApplicationTests;
+import com.example.todoapp.tests.api.TodoCreationTests;
+import com.example.todoapp.tests.api.TodoRetrievalTests;
+import io.qameta.allure.Description;
+import io.qameta.allure.Step;
+import io.qameta.allure.testng.Tag;
+import org.testng.Assert;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+import org.testng.xml.XmlClass;
+import org.testng.xml.XmlSuite;
+import org.testng.xml.XmlTest;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Stream;
+
+/**
+ * Unit tests for ShardPlanner, TestTimings and the exclusive run of TestShardScheduler.
+ */
+public class ShardPlannerTests {
+
+    private Path timingsDir;
+
+    @BeforeMethod(alwaysRun = true)
+    public void setUp() throws IOException {
+        timingsDir = Files.createTempDirectory("test-timings");
+    }
+
+    @AfterMethod(alwaysRun = true)
+    public void tearDown() throws IOException {
+        try (Stream<Path> files = Files.walk(timingsDir)) {
+            for (Path file : files.sorted(Comparator.reverseOrder()).toList()) {
+                Files.delete(file);
+            }
+        }
+    }
+
+    @Test(description = "Longest classes are spread first", groups = {"positive"})
+    @Tag("positive")
+    @Description("Verify that longest-processing-time-first assignment balances the shards and covers every class once")
+    public void testPlanBalancesShards() {
+        Map<String, Duration> durations = durations(7, 5, 4, 3, 3, 2);
+
+        List<Set<String>> plan = ShardPlanner.plan(durations, 2);
+
+        Assert.assertEquals(load(plan.get(0), durations), 12, "First shard is unbalanced: " + plan);
+        Assert.assertEquals(load(plan.get(1), durations), 12, "Second shard is unbalanced: " + plan);
+        Set<String> assigned = new HashSet<>(plan.get(0));
+        assigned.addAll(plan.get(1));
+        Assert.assertEquals(assigned, durations.keySet(), "Classes lost or duplicated: " + plan);
+        Assert.assertEquals(ShardPlanner.plan(durations, 2), plan, "Plan is not deterministic");
+    }
+
+    @Test(description = "Unrecorded classes are estimated", groups = {"positive"})
+    @Tag("positive")
+    @Description("Verify that a class without timings is estimated from its test count and the average recorded test")
+    public void testEstimateUnrecordedClass() {
+        Map<String, Duration> durations = ShardPlanner.estimate(Map.of("Recorded", 4, "New", 2),
+                Map.of("Recorded", Duration.ofSeconds(8)));
+
+        Assert.assertEquals(durations.get("Recorded"), Duration.ofSeconds(8), "Recorded duration not used");
+        Assert.assertEquals(durations.get("New"), Duration.ofSeconds(4), "Unrecorded class estimated wrongly");
+    }
+
+    @Test(description = "Latest timings of earlier runs are read", groups = {"positive"})
+    @Tag("positive")
+    @Description("Verify that timings of several shards merge, the latest measurement wins and the current run is left out")
+    public void testTimingsMergeShardFiles() {
+        appendTimings(new TestShard(0, 2), Map.of("A", Duration.ofSeconds(1), "B", Duration.ofSeconds(2)), 1000, "run-1");
+        appendTimings(new TestShard(1, 2), Map.of("B", Duration.ofSeconds(5), "C", Duration.ofSeconds(3)), 2000, "run-1");
+        appendTimings(new TestShard(0, 2), Map.of("A", Duration.ofSeconds(9)), 3000, "run-2");
+
+        Assert.assertEquals(TestTimings.read(timingsDir, "run-2"),
+                Map.of("A", Duration.ofSeconds(1), "B", Duration.ofSeconds(5), "C", Duration.ofSeconds(3)),
+                "Timings for the second run do not match");
+        Assert.assertEquals(TestTimings.read(timingsDir, "run-3").get("A"), Duration.ofSeconds(9),
+                "Latest timing of a class not used");
+        Assert.assertTrue(TestTimings.read(timingsDir.resolve("missing"), "run-3").isEmpty(), "Missing directory has timings");
+    }
+
+    @Test(description = "Shard outside the shard count is rejected", groups = {"negative"})
+    @Tag("negative")
+    @Description("Verify that a shard index that is not below the shard count is rejected")
+    public void testInvalidShard() {
+        Assert.assertThrows(IllegalArgumentException.class, () -> new TestShard(2, 2));
+        Assert.assertThrows(IllegalArgumentException.class, () -> ShardPlanner.plan(Map.of(), 0));
+    }
+
+    @Test(description = "Exclusive run keeps only the exclusive group", groups = {"positive"})
+    @Tag("positive")
+    @Description("Verify that shard.exclusive=true keeps only the classes with exclusive tests and runs that group serially")
+    public void testExclusiveRun() {
+        XmlSuite suite = new XmlSuite();
+        suite.setParallel(XmlSuite.ParallelMode.METHODS);
+        XmlTest apiTests = new XmlTest(suite);
+        apiTests.setXmlClasses(new ArrayList<>(List.of(new XmlClass(TodoCreationTests.class.getName(), false),
+                new XmlClass(TodoRetrievalTests.class.getName(), false))));
+        apiTests.addIncludedGroup("positive");
+        apiTests.addExcludedGroup(BaseTodoTestingApplicationTests.EXCLUSIVE_GROUP);
+        XmlTest shardingTests = new XmlTest(suite);
+        shardingTests.setXmlClasses(new ArrayList<>(List.of(new XmlClass(ShardPlannerTests.class.getName(), false))));
+
+        System.setProperty(TestShard.EXCLUSIVE_PROPERTY, "true");
+        try {
+            new TestShardScheduler().alter(List.of(suite));
+        } finally {
+            System.clearProperty(TestShard.EXCLUSIVE_PROPERTY);
+        }
+
+        Assert.assertEquals(suite.getTests(), List.of(apiTests), "Tests without exclusive classes were kept");
+        Assert.assertEquals(apiTests.getXmlClasses().stream().map(XmlClass::getName).toList(),
+                List.of(TodoRetrievalTests.class.getName()), "Classes do not match");
+        Assert.assertEquals(apiTests.getIncludedGroups(), List.of(BaseTodoTestingApplicationTests.EXCLUSIVE_GROUP),
+                "Included groups do not match");
+        Assert.assertTrue(apiTests.getExcludedGroups().isEmpty(), "Exclusive group still excluded");
+        Assert.assertEquals(suite.getParallel(), XmlSuite.ParallelMode.NONE, "Exclusive run is parallel");
+    }
+
+    @Step("Append timings of shard {shard} in run {run}")
+    private void appendTimings(TestShard shard, Map<String, Duration> durations, long recordedMillis, String run) {
+        TestTimings.append(TestTimings.file(timingsDir, shard), durations, Instant.ofEpochMilli(recordedMillis), run);
+    }
+
+    private static Map<String, Duration> durations(long... seconds) {
+        Map<String, Duration> durations = new LinkedHashMap<>();
+        for (int i = 0; i < seconds.length; i++) {
+            durations.put("Class" + i, Duration.ofSeconds(seconds[i]));
+        }
+        return durations;
+    }
+
+    private static long load(Set<String> classes, Map<String, Duration> durations) {
+        return classes.stream().mapToLong(testClass -> durations.get(testClass).toSeconds()).sum();
+    }
+
+}
@@ -0,0 +1,38 @@
+package com.example.todoapp.tests.startup;
+
+import com.example.todoapp.tests.BaseTodoTestingApplicationTests;
+import com.example.todoapp.utils.ContextStartupTimer;
+import com.example.todoapp.utils.SingleContextListener;
+import io.qameta.allure.Description;
+import io.qameta.allure.testng.Tag;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.time.Duration;
+
+/**
+ * Guards the cold start of the test suite, which every sharded job pays: the shared Spring context must start within
+ * {@code test.startup-budget}. {@link SingleContextListener} checks that no test class started a second one.
+ */
+public class ContextStartupTests extends BaseTodoTestingApplicationTests {
+
+    @Autowired
+    private ContextStartupTimer contextStartupTimer;
+
+    @Value("${test.startup-budget:5s}")
+    private Duration startupBudget;
+
+    @Test(description = "Test context starts within its budget", groups = {"positive"})
+    @Tag("positive")
+    @Description("Verify that the shared Spring test context started within test.startup-budget")
+    public void testStartupWithinBudget() {
+        Duration startupTime = contextStartupTimer.getStartupTime();
+
+        Assert.assertNotNull(startupTime, "Context startup was not timed");
+        Assert.assertTrue(startupTime.compareTo(startupBudget) <= 0,
+                "Test context took " + startupTime.toMillis() + " ms to start, budget is " + startupBudget.toMillis() + " ms");
+    }
+
+}
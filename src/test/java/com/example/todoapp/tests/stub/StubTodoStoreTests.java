@@ -0,0 +1,86 @@
+package com.example.todoapp.tests.stub;
+
+import com.example.todoapp.model.TodoItem;
+import com.example.todoapp.stub.StubTodoStore;
+import io.qameta.allure.Description;
+import io.qameta.allure.testng.Tag;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Unit tests for StubTodoStore.
+ */
+public class StubTodoStoreTests {
+
+    private static final int ROUNDS = 20_000;
+
+    @Test(description = "Todos are served in insertion order", groups = {"positive"})
+    @Tag("positive")
+    @Description("Verify that pages follow the creation order, duplicates are rejected and changes bump the version")
+    public void testInsertionOrder() {
+        StubTodoStore store = new StubTodoStore();
+
+        Assert.assertTrue(store.create(todo(3)), "Todo not created");
+        Assert.assertTrue(store.create(todo(1)), "Todo not created");
+        Assert.assertTrue(store.create(todo(2)), "Todo not created");
+        Assert.assertFalse(store.create(todo(1)), "Duplicate id created");
+        Assert.assertTrue(store.delete(1), "Todo not deleted");
+        Assert.assertFalse(store.delete(1), "Deleted todo deleted again");
+
+        Assert.assertEquals(store.page(0, 10), List.of(todo(3), todo(2)), "Page does not match");
+        Assert.assertEquals(store.page(1, 1), List.of(todo(2)), "Page does not match");
+        Assert.assertEquals(store.size(), 2, "Size does not match");
+        Assert.assertEquals(store.version(), 4, "Version does not match");
+    }
+
+    @Test(description = "Concurrent create and delete of one id stay consistent", groups = {"positive"})
+    @Tag("positive")
+    @Description("Verify that a delete racing the create of the same id never leaves a todo that is listed but neither"
+            + " counted nor deletable")
+    public void testConcurrentCreateAndDelete() throws Exception {
+        StubTodoStore store = new StubTodoStore();
+        CyclicBarrier barrier = new CyclicBarrier(2);
+        boolean[] deleted = new boolean[ROUNDS];
+
+        CompletableFuture<Void> creator = CompletableFuture.runAsync(() -> {
+            for (int id = 0; id < ROUNDS; id++) {
+                await(barrier);
+                store.create(todo(id));
+            }
+        });
+        CompletableFuture<Void> deleter = CompletableFuture.runAsync(() -> {
+            for (int id = 0; id < ROUNDS; id++) {
+                await(barrier);
+                deleted[id] = store.delete(id);
+            }
+        });
+        CompletableFuture.allOf(creator, deleter).get(60, TimeUnit.SECONDS);
+
+        List<TodoItem> listed = store.page(0, Long.MAX_VALUE);
+        Assert.assertEquals(listed.size(), store.size(), "Listed todos are not all counted");
+        for (TodoItem todo : listed) {
+            Assert.assertFalse(deleted[todo.getId().intValue()], "Todo " + todo.getId() + " listed after its delete succeeded");
+            Assert.assertTrue(store.delete(todo.getId()), "Listed todo " + todo.getId() + " cannot be deleted");
+        }
+        Assert.assertTrue(store.page(0, Long.MAX_VALUE).isEmpty(), "Todos left after deleting every listed one");
+        Assert.assertEquals(store.size(), 0, "Size does not match");
+    }
+
+    private static void await(CyclicBarrier barrier) {
+        try {
+            barrier.await(10, TimeUnit.SECONDS);
+        } catch (Exception e) {
+            throw new IllegalStateException("Racing thread did not arrive", e);
+        }
+    }
+
+    private static TodoItem todo(long id) {
+        return new TodoItem(id, "Todo " + id, false);
+    }
+
+}
@@ -0,0 +1,342 @@
+package com.example.todoapp.tests.transport;
+
+import com.example.todoapp.clients.transport.TodoTransport;
+import com.example.todoapp.clients.transport.TodoTransportFactory;
+import com.example.todoapp.clients.transport.Transport;
+import com.example.todoapp.clients.transport.TransportRequest;
+import com.example.todoapp.config.AppConfig;
+import com.example.todoapp.model.TodoItem;
+import com.example.todoapp.stub.StubTodoServer;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.qameta.allure.Description;
+import io.qameta.allure.Step;
+import io.qameta.allure.testng.Tag;
+import org.testng.Assert;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+
+import java.io.BufferedInputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.http.HttpClient;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static java.nio.charset.StandardCharsets.US_ASCII;
+import static org.apache.http.HttpStatus.*;
+
+/**
+ * Checks connection handling and response framing of every transport against an in-process stub server, and against
+ * a scripted raw socket server where the stub cannot produce the response.
+ */
+public class TodoTransportTests {
+
+    private static final String ENDPOINT = "/todos";
+    private static final String TODOS_JSON = "[{\"id\":1,\"text\":\"first\",\"completed\":false},"
+            + "{\"id\":2,\"text\":\"second\",\"completed\":true}]";
+    private static final String CREATED = "HTTP/1.1 201 Created\r\nContent-Length: 0\r\n\r\n";
+    private static final long READ_TIMEOUT_MILLIS = 300;
+    private static final String EMPTY_LIST = "HTTP/1.1 200 OK\r\nContent-Type: application/json\r\nContent-Length: 2\r\n\r\n[]";
+
+    private StubTodoServer server;
+    private ScriptedServer scriptedServer;
+
+    @BeforeMethod(alwaysRun = true)
+    public void startServer() {
+        server = new StubTodoServer(0, ENDPOINT, "admin", "admin");
+        server.start();
+    }
+
+    @AfterMethod(alwaysRun = true)
+    public void stopServers() throws IOException {
+        server.stop();
+        if (scriptedServer != null) {
+            scriptedServer.close();
+            scriptedServer = null;
+        }
+    }
+
+    @DataProvider
+    public Object[][] transports() {
+        return new Object[][]{{Transport.REST_ASSURED}, {Transport.JDK}, {Transport.APACHE}, {Transport.NIO}};
+    }
+
+    /**
+     * RestAssured opens a new client, and with it a new connection, for every request.
+     */
+    @DataProvider
+    public Object[][] pooledTransports() {
+        return new Object[][]{{Transport.JDK}, {Transport.APACHE}, {Transport.NIO}};
+    }
+
+    @Test(description = "Keep-alive connections are reused", groups = {"positive"}, dataProvider = "pooledTransports")
+    @Tag("positive")
+    @Description("Verify that sequential requests of a pooling transport share one connection")
+    public void testKeepAliveReuse(Transport transport) {
+        try (TodoTransport todoTransport = create(transport, server.getPort())) {
+            Assert.assertEquals(post(todoTransport, 1), SC_CREATED, "Todo not created");
+            for (int request = 0; request < 4; request++) {
+                Assert.assertEquals(listTodos(todoTransport).size(), 1, "Created todo not listed");
+            }
+        }
+        Assert.assertEquals(server.getConnectionCount(), 1, "Keep-alive connection not reused");
+    }
+
+    @Test(description = "Chunked responses are read", groups = {"positive"}, dataProvider = "transports")
+    @Tag("positive")
+    @Description("Verify that a chunked list response is read completely, leaving the connection usable for the next one")
+    public void testChunkedResponse(Transport transport) {
+        server.setChunkedResponses(true);
+        try (TodoTransport todoTransport = create(transport, server.getPort())) {
+            post(todoTransport, 1);
+            post(todoTransport, 2);
+            Assert.assertEquals(listTodos(todoTransport).stream().map(TodoItem::getId).toList(), List.of(1L, 2L),
+                    "Chunked list response read wrongly");
+            Assert.assertEquals(listTodos(todoTransport).size(), 2, "Second chunked response read wrongly");
+        }
+    }
+
+    @Test(description = "Close-delimited responses are read", groups = {"positive"}, dataProvider = "transports")
+    @Tag("positive")
+    @Description("Verify that a response without a length, ended by the server closing the connection, is read to its end")
+    public void testCloseDelimitedResponse(Transport transport) throws IOException {
+        scriptedServer = new ScriptedServer(List.of(socket -> {
+            write(socket, "HTTP/1.1 200 OK\r\nContent-Type: application/json\r\nConnection: close\r\n\r\n" + TODOS_JSON);
+            socket.close();
+        }));
+        try (TodoTransport todoTransport = create(transport, scriptedServer.getPort())) {
+            Assert.assertEquals(listTodos(todoTransport).stream().map(TodoItem::getText).toList(), List.of("first", "second"),
+                    "Close-delimited response read wrongly");
+            Assert.assertEquals(listTodos(todoTransport).size(), 2, "Request after a closed connection failed");
+        }
+    }
+
+    @Test(description = "Requests on a stale connection are retried", groups = {"positive"}, dataProvider = "transports")
+    @Tag("positive")
+    @Description("Verify that a GET succeeds after the server closed the idle keep-alive connection it would have used")
+    public void testStaleConnectionRetry(Transport transport) {
+        try (TodoTransport todoTransport = create(transport, server.getPort())) {
+            Assert.assertEquals(post(todoTransport, 1), SC_CREATED, "Todo not created");
+            restartServer();
+            Assert.assertTrue(listTodos(todoTransport).isEmpty(), "Restarted server still lists the todo");
+            Assert.assertEquals(post(todoTransport, 2), SC_CREATED, "Todo not created after the restart");
+        }
+    }
+
+    @Test(description = "NIO transport resends a request the server dropped unanswered", groups = {"positive"})
+    @Tag("positive")
+    @Description("Verify that a POST is sent again when its pooled connection was closed before any response byte")
+    public void testNioRetriesUnansweredPost() {
+        try (TodoTransport todoTransport = create(Transport.NIO, server.getPort())) {
+            Assert.assertEquals(post(todoTransport, 1), SC_CREATED, "Todo not created");
+            restartServer();
+            Assert.assertEquals(post(todoTransport, 2), SC_CREATED, "POST on the closed connection not retried");
+        }
+        Assert.assertEquals(server.getStore().page(0, Long.MAX_VALUE).size(), 1, "Retried POST stored twice");
+    }
+
+    @Test(description = "NIO transport does not resend an accepted non-GET request", groups = {"negative"})
+    @Tag("negative")
+    @Description("Verify that a POST is not sent again when the connection was reset or closed mid-response after the"
+            + " server had read it, since the server may have acted on it")
+    public void testNioDoesNotRetryAcceptedPost() throws IOException {
+        scriptedServer = new ScriptedServer(List.of(
+                socket -> write(socket, CREATED),
+                ScriptedServer::reset,
+                socket -> write(socket, CREATED),
+                socket -> {
+                    write(socket, "HTTP/1.1 201");
+                    socket.close();
+                }));
+        try (TodoTransport todoTransport = create(Transport.NIO, scriptedServer.getPort())) {
+            Assert.assertEquals(post(todoTransport, 1), SC_CREATED, "First POST failed");
+            Assert.assertThrows(UncheckedIOException.class, () -> post(todoTransport, 2));
+            Assert.assertEquals(scriptedServer.getRequests(), 2, "POST resent after a reset");
+
+            Assert.assertEquals(post(todoTransport, 3), SC_CREATED, "POST on a new connection failed");
+            Assert.assertThrows(UncheckedIOException.class, () -> post(todoTransport, 4));
+            Assert.assertEquals(scriptedServer.getRequests(), 4, "POST resent after a partial response");
+        }
+    }
+
+    @Test(description = "NIO transport resends a GET after a reset", groups = {"positive"})
+    @Tag("positive")
+    @Description("Verify that a GET, which changes nothing on the server, is sent again after its connection was reset")
+    public void testNioRetriesGetAfterReset() throws IOException {
+        scriptedServer = new ScriptedServer(List.of(socket -> write(socket, EMPTY_LIST), ScriptedServer::reset,
+                socket -> write(socket, EMPTY_LIST)));
+        try (TodoTransport todoTransport = create(Transport.NIO, scriptedServer.getPort())) {
+            Assert.assertTrue(listTodos(todoTransport).isEmpty(), "First GET failed");
+            Assert.assertTrue(listTodos(todoTransport).isEmpty(), "GET not retried after a reset");
+        }
+        Assert.assertEquals(scriptedServer.getRequests(), 3, "GET not resent exactly once");
+    }
+
+    @Test(description = "Requests to a silent server time out", groups = {"negative"}, dataProvider = "transports")
+    @Tag("negative")
+    @Description("Verify that a request the server never answers fails after app.read-timeout instead of hanging")
+    public void testReadTimeout(Transport transport) throws IOException {
+        scriptedServer = new ScriptedServer(List.of(socket -> {
+            // read the request, never answer
+        }));
+        AppConfig appConfig = newAppConfig(scriptedServer.getPort());
+        appConfig.setConnectTimeout(Duration.ofSeconds(5));
+        appConfig.setReadTimeout(Duration.ofMillis(READ_TIMEOUT_MILLIS));
+        long start = System.nanoTime();
+        try (TodoTransport todoTransport = create(transport, appConfig)) {
+            Assert.expectThrows(Exception.class, () -> listTodos(todoTransport));
+        }
+        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        Assert.assertTrue(elapsedMillis >= READ_TIMEOUT_MILLIS, "Request failed before the read timeout: " + elapsedMillis + " ms");
+        Assert.assertTrue(elapsedMillis < 10 * READ_TIMEOUT_MILLIS, "Read timeout not applied: " + elapsedMillis + " ms");
+    }
+
+    @Test(description = "NIO transport rejects https", groups = {"negative"})
+    @Tag("negative")
+    @Description("Verify that the NIO transport, which only speaks plain HTTP, refuses an https base URL")
+    public void testNioRejectsHttps() {
+        AppConfig appConfig = newAppConfig(server.getPort());
+        appConfig.setBaseUrl("https://localhost:" + server.getPort());
+
+        Assert.assertThrows(IllegalArgumentException.class, () -> create(Transport.NIO, appConfig));
+    }
+
+    @Step("Restart the stub server on the same port")
+    private void restartServer() {
+        int port = server.getPort();
+        server.stop();
+        server = new StubTodoServer(port, ENDPOINT, "admin", "admin");
+        server.start();
+    }
+
+    private static TodoTransport create(Transport transport, int port) {
+        return create(transport, newAppConfig(port));
+    }
+
+    private static TodoTransport create(Transport transport, AppConfig appConfig) {
+        return new TodoTransportFactory(appConfig, HttpClient.newHttpClient(), new ObjectMapper()).create(transport);
+    }
+
+    private static AppConfig newAppConfig(int port) {
+        AppConfig appConfig = new AppConfig();
+        appConfig.setBaseUrl("http://localhost:" + port);
+        appConfig.setTodosEndpoint(ENDPOINT);
+        appConfig.setContentType("application/json");
+        appConfig.setAdminUsername("admin");
+        appConfig.setAdminPassword("admin");
+        appConfig.setMaxConnections(4);
+        return appConfig;
+    }
+
+    @Step("Create todo {id}")
+    private static int post(TodoTransport transport, long id) {
+        return transport.execute(TransportRequest.post(ENDPOINT, new TodoItem(id, "todo " + id, false))).getStatusCode();
+    }
+
+    @Step("List todos")
+    private static List<TodoItem> listTodos(TodoTransport transport) {
+        return transport.execute(TransportRequest.get(ENDPOINT, 0, 100)).getTodos();
+    }
+
+    private static void write(Socket socket, String response) throws IOException {
+        socket.getOutputStream().write(response.getBytes(US_ASCII));
+        socket.getOutputStream().flush();
+    }
+
+    /**
+     * Answers one request on a raw socket, e.g. by writing a response or closing the connection.
+     */
+    private interface Reply {
+        void answer(Socket socket) throws IOException;
+    }
+
+    /**
+     * HTTP/1.1 server that answers the n-th request it reads with the n-th reply of a script, repeating the last one.
+     */
+    private static final class ScriptedServer implements Closeable {
+
+        private final ServerSocket serverSocket = new ServerSocket(0);
+        private final List<Reply> script;
+        private final AtomicInteger requests = new AtomicInteger();
+
+        ScriptedServer(List<Reply> script) throws IOException {
+            this.script = script;
+            Thread acceptor = new Thread(this::accept, "scripted-server");
+            acceptor.setDaemon(true);
+            acceptor.start();
+        }
+
+        int getPort() {
+            return serverSocket.getLocalPort();
+        }
+
+        int getRequests() {
+            return requests.get();
+        }
+
+        /**
+         * Closes the connection with a TCP reset instead of an orderly shutdown.
+         */
+        static void reset(Socket socket) throws IOException {
+            socket.setSoLinger(true, 0);
+            socket.close();
+        }
+
+        private void accept() {
+            while (!serverSocket.isClosed()) {
+                try (Socket socket = serverSocket.accept()) {
+                    InputStream in = new BufferedInputStream(socket.getInputStream());
+                    while (!socket.isClosed() && readRequest(in)) {
+                        int request = requests.getAndIncrement();
+                        script.get(Math.min(request, script.size() - 1)).answer(socket);
+                    }
+                } catch (IOException e) {
+                    // the client went away or the server was closed
+                }
+            }
+        }
+
+        /**
+         * Reads a request head and its {@code Content-Length} body; returns {@code false} at the end of the stream.
+         */
+        private static boolean readRequest(InputStream in) throws IOException {
+            if (readLine(in).isEmpty()) {
+                return false;
+            }
+            int contentLength = 0;
+            String line;
+            while (!(line = readLine(in)).isEmpty()) {
+                if (line.toLowerCase().startsWith("content-length:")) {
+                    contentLength = Integer.parseInt(line.substring("content-length:".length()).trim());
+                }
+            }
+            return in.readNBytes(contentLength).length == contentLength;
+        }
+
+        private static String readLine(InputStream in) throws IOException {
+            StringBuilder line = new StringBuilder();
+            int b;
+            while ((b = in.read()) != -1 && b != '\n') {
+                if (b != '\r') {
+                    line.append((char) b);
+                }
+            }
+            return line.toString();
+        }
+
+        @Override
+        public void close() throws IOException {
+            serverSocket.close();
+        }
+
+    }
+
+}
@@ -0,0 +1,35 @@
+package com.example.todoapp.utils;
+
+import org.springframework.boot.context.event.ApplicationStartedEvent;
+import org.springframework.context.ApplicationListener;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Records how long the test context took to start, and how many test contexts this JVM has started.
+ */
+public class ContextStartupTimer implements ApplicationListener<ApplicationStartedEvent> {
+
+    private static final AtomicInteger STARTED_CONTEXTS = new AtomicInteger();
+
+    private volatile Duration startupTime;
+
+    @Override
+    public void onApplicationEvent(ApplicationStartedEvent event) {
+        startupTime = event.getTimeTaken();
+        STARTED_CONTEXTS.incrementAndGet();
+    }
+
+    /**
+     * Time from the start of the Spring application until its context was refreshed, as logged by "Started ... in".
+     */
+    public Duration getStartupTime() {
+        return startupTime;
+    }
+
+    public static int getStartedContexts() {
+        return STARTED_CONTEXTS.get();
+    }
+
+}
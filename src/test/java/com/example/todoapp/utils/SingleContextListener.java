@@ -0,0 +1,21 @@
+package com.example.todoapp.utils;
+
+import org.testng.ISuite;
+import org.testng.ISuiteListener;
+
+/**
+ * Fails the suite once it has finished if its test classes started more than one Spring context, e.g. through a
+ * {@code @MockBean}. Checking at the end of the suite catches contexts started by any class, whatever the run order.
+ */
+public class SingleContextListener implements ISuiteListener {
+
+    @Override
+    public void onFinish(ISuite suite) {
+        int startedContexts = ContextStartupTimer.getStartedContexts();
+        if (startedContexts > 1) {
+            throw new IllegalStateException("Test classes of " + suite.getName() + " started " + startedContexts
+                    + " Spring contexts instead of sharing one");
+        }
+    }
+
+}
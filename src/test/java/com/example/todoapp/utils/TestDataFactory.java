@@ -3,21 +3,23 @@ package com.example.todoapp.utils;
 import com.example.todoapp.model.TodoItem;
 import com.example.todoapp.fixtures.TestDataConstants;
 
-import java.util.concurrent.ConcurrentSkipListSet;
-import java.util.concurrent.ThreadLocalRandom;
-import java.util.stream.Stream;
-
 /**
  * Factory for creating test data for TodoItems.
+ * <p>
+ * Ids come from the current thread's {@link TestNamespace} and texts carry its prefix.
  */
 public class TestDataFactory implements TestDataConstants {
 
-    private static final ConcurrentSkipListSet<Long> usedIds = new ConcurrentSkipListSet<>();
+    private static final String LARGE_TEXT = "Test text ".repeat(LARGE_TEXT_REPEAT_COUNT).trim();
 
     public static TodoItem getValidTodoItem() {
         return createTodoItem(DEFAULT_TODO_TEXT + generateUniqueId());
     }
 
+    public static TodoItem getTodoItemWithText(String text) {
+        return createTodoItem(text);
+    }
+
     public static TodoItem getTodoItemWithSpecialCharacters() {
         return createTodoItem(SPECIAL_CHARACTERS_TEXT);
     }
@@ -31,20 +33,20 @@ public class TestDataFactory implements TestDataConstants {
     }
 
     public static TodoItem getTodoItemWithLargeText() {
-        String largeText = "Test text ".repeat(LARGE_TEXT_REPEAT_COUNT).trim();
-        return createTodoItem(largeText);
+        return createTodoItem(LARGE_TEXT);
+    }
+
+    public static String namespaced(String text) {
+        return TestNamespace.current().apply(text);
     }
 
     private static Long generateUniqueId() {
-        return Stream.generate(() -> ThreadLocalRandom.current().nextLong(1, Long.MAX_VALUE))
-                .filter(usedIds::add)
-                .findFirst()
-                .orElseThrow(() -> new IllegalStateException("Unable to generate unique ID"));
+        return TestNamespace.current().nextId();
     }
 
     private static TodoItem createTodoItem(String text) {
         Long id = generateUniqueId();
-        return new TodoItem(id, text, false);
+        return new TodoItem(id, namespaced(text), false);
     }
 
-}
\ No newline at end of file
+}
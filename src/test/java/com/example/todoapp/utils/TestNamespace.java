@@ -0,0 +1,54 @@
+package com.example.todoapp.utils;
+
+import com.example.todoapp.data.TodoIdGenerator;
+import com.example.todoapp.model.TodoItem;
+import com.example.todoapp.sharding.TestShard;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Per-thread data namespace: unique ids and a text prefix for the todos a test thread creates, so tests running in
+ * parallel can tell their own todos apart from everybody else's. The prefix names the {@link TestShard}, and shards
+ * draw ids from disjoint partitions, so shards of one run sharing a server stay apart as well.
+ */
+public final class TestNamespace {
+
+    private static final TestShard SHARD = TestShard.current();
+    private static final TodoIdGenerator ID_GENERATOR = new TodoIdGenerator(TestShard.runKey(), SHARD.getIndex(), SHARD.getCount());
+    private static final String RUN_ID = Long.toString(ThreadLocalRandom.current().nextLong(1L << 30, 1L << 35), Character.MAX_RADIX)
+            + (SHARD.isSharded() ? "-s" + SHARD.getIndex() : "");
+    private static final AtomicInteger THREADS = new AtomicInteger();
+    private static final ThreadLocal<TestNamespace> CURRENT = ThreadLocal.withInitial(() -> new TestNamespace(THREADS.getAndIncrement()));
+
+    private final String prefix;
+
+    private TestNamespace(int thread) {
+        this.prefix = "[" + RUN_ID + "-" + thread + "] ";
+    }
+
+    public static TestNamespace current() {
+        return CURRENT.get();
+    }
+
+    public String getPrefix() {
+        return prefix;
+    }
+
+    public String apply(String text) {
+        return prefix + text;
+    }
+
+    public boolean owns(TodoItem todoItem) {
+        return todoItem.getText() != null && todoItem.getText().startsWith(prefix);
+    }
+
+    /**
+     * Returns an id no other thread of this run is given; ids are striped per thread by {@link TodoIdGenerator}. Other
+     * shards are never given it either, provided all shards share {@code shard.run-id}.
+     */
+    public long nextId() {
+        return ID_GENERATOR.nextId();
+    }
+
+}